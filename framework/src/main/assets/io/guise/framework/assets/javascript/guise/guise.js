@@ -102,7 +102,10 @@
 /*Guise AJAX Response Format, content type application/x-guise-ajax-response+xml
 <response>
 	<patch></patch>	<!--XML element trees to be patched into the existing DOM tree.-->
-	<attribute id="" name="" value=""></attribute>	<!--the new name and value of an attribute of an element with the given ID to be set (or removed if the value is null)-->
+	<attribute id="" name="" value=""></attribute>	<!--the new name and value of an attribute of an element with the given ID to be set (or removed if the value is missing)-->
+	<value id="">value</value>	<!--the new value of a form control with the given ID-->
+	<class id="" name="" present="true|false"/>	<!--a class to be added to or removed from an element with the given ID-->
+	<style id="" name="" value=""/>	<!--the new value of an inline style property of an element with the given ID (or removed if the value is missing)-->
 	<remove id=""/>	<!--ID of the XML element to be removed from the existing DOM tree-->
 	<navigate>uri</navigate>	<!--URI of another page to which to navigate-->
 	<frame></frame>	<!--definition of a frame to show-->
@@ -110,6 +113,34 @@
 </response>
 */
 
+/*Guise AJAX JSON Request Format, content type application/x-guise-ajax-request+json
+{
+	"events":	//the list of events (zero or more), with the same information as the XML request format
+	[
+		{"type":"action", "objectID":"", "targetID":"", "actionID":"", "option":0},
+		{"type":"change", "objectID":"", "properties":{"name":value}},
+		{"type":"log", "level":"", "text":""},
+		{"type":"mouseclick", "altKey":false, "controlKey":false, "shiftKey":false, "button":0, "clickCount":1,
+			"viewport":{"x":0, "y":0, "width":0, "height":0}, "component":{"id":"", "x":0, "y":0, "width":0, "height":0}, "mouse":{"x":0, "y":0}},
+		{"type":"poll"}
+	]
+}
+*/
+
+/*Guise AJAX JSON Response Format, content type application/x-guise-ajax-response+json; sent in response to a JSON request
+[
+	["patch", "<xhtml:patch>...</xhtml:patch>"],	//XML element trees to be patched into the existing DOM tree, as markup
+	["attribute", "id", "name", "value"],	//the new value of an attribute of an element with the given ID; the value may be null to remove the attribute
+	["value", "id", "value"],	//the new value of a form control with the given ID
+	["class", "id", "name", true],	//a class to be added to (true) or removed from (false) an element with the given ID
+	["style", "id", "name", "value"],	//the new value of an inline style property of an element with the given ID; the value may be null to remove the property
+	["remove", "id"],	//ID of the XML element to be removed from the existing DOM tree
+	["navigate", "uri", "viewportID"],	//URI of another page to which to navigate, with an optional viewport ID
+	["reload"],	//reload the page
+	["command", "objectID", "command", {parameters}]	//a command with parameters; the object ID may be null
+]
+*/
+
 var DOM = com.globalmentor.dom.DOM; //import DOM utilities
 
 /**
@@ -132,6 +163,8 @@ var isUserAgentChrome = !!window.chrome;
 
 /** Whether Guise AJAX communication is initially enabled. */
 var GUISE_AJAX_ENABLED = true;
+/** Whether Guise AJAX communication uses the compact JSON format rather than the XML format. */
+var GUISE_AJAX_JSON = false;
 /** The interval, in milliseconds, for polling the server under normal conditions, or -1 if no polling should occur. */
 var GUISE_AJAX_POLL_INTERVAL = -1; //TODO del when new server-directed poll interval works
 /** The interval, in milliseconds, for polling the server during file uploads, or -1 if no polling should occur. */
@@ -858,21 +891,42 @@ io.guise.framework.Guise = function()
 			POLL : "poll"
 		};
 
+		/** The content type of a Guise AJAX request in the compact JSON format. */
+		proto.JSON_REQUEST_CONTENT_TYPE = "application/x-guise-ajax-request+json";
+
+		/**
+		 * The enumeration of the names of the JSON request properties that have no equivalent in the XML format; other
+		 * properties use the names of the request elements.
+		 */
+		proto.JSONRequestProperty =
+		{
+			EVENTS : "events",
+			PROPERTIES : "properties",
+			TEXT : "text",
+			TYPE : "type"
+		};
+
 		/** The content type of a Guise AJAX response. */
 		proto.RESPONSE_CONTENT_TYPE = "application/x-guise-ajax-response+xml";
 
+		/** The content type of a Guise AJAX response in the compact JSON format, sent in response to a JSON request. */
+		proto.JSON_RESPONSE_CONTENT_TYPE = "application/x-guise-ajax-response+json";
+
 		/** The enumeration of the names of the response elements. */
 		proto.ResponseElement =
 		{
 			ATTRIBUTE : "attribute",
+			CLASS : "class",
 			COMMAND : "command",
 			NAME : "name",
 			NAVIGATE : "navigate",
 			OBJECT_ID : "objectID",
 			PATCH : "patch",
+			PRESENT : "present",
 			RELOAD : "reload",
 			REMOVE : "remove",
 			RESPONSE : "response",
+			STYLE : "style",
 			VALUE : "value",
 			VIEWPORT_ID : "viewportID"
 		};
@@ -1008,55 +1062,67 @@ io.guise.framework.Guise = function()
 				this.processingAJAXRequests = true; //we are processing AJAX requests now
 				try
 				{
-					var requestStringBuilder = new StringBuilder(); //create a string builder to hold the request string					
-					DOM.appendXMLStartTag(requestStringBuilder, this.RequestElement.REQUEST); //<request>
-					DOM.appendXMLStartTag(requestStringBuilder, this.RequestElement.EVENTS); //<event>
-					while(this.ajaxRequests.length > 0) //there are more AJAX requests
+					var requestBody; //the serialized request
+					var requestContentType; //the content type of the request
+					if(GUISE_AJAX_JSON) //if we should use the compact JSON format
 					{
-						var ajaxRequest = this.ajaxRequests.dequeue(); //get the next AJAX request to process
-						if(ajaxRequest instanceof ActionAJAXEvent) //if this is an action event
-						{
-							this._appendActionAJAXEvent(requestStringBuilder, ajaxRequest); //append the action event
-						}
-						else if(ajaxRequest instanceof ChangeAJAXEvent) //if this is an change event
-						{
-							this._appendChangeAJAXEvent(requestStringBuilder, ajaxRequest); //append the change event
-						}
-						else if(ajaxRequest instanceof DropAJAXEvent) //if this is a drop event
-						{
-							this._appendDropAJAXEvent(requestStringBuilder, ajaxRequest); //append the drop event
-						}
-						else if(ajaxRequest instanceof FocusAJAXEvent) //if this is a focus event
-						{
-							this._appendFocusAJAXEvent(requestStringBuilder, ajaxRequest); //append the focus event
-						}
-						else if(ajaxRequest instanceof KeyAJAXEvent) //if this is a key event
-						{
-							this._appendKeyAJAXEvent(requestStringBuilder, ajaxRequest); //append the key event
-						}
-						else if(ajaxRequest instanceof LogAJAXEvent) //if this is a log event
-						{
-							this._appendLogAJAXEvent(requestStringBuilder, ajaxRequest); //append the log event
-						}
-						else if(ajaxRequest instanceof MouseAJAXEvent) //if this is a mouse event
-						{
-							this._appendMouseAJAXEvent(requestStringBuilder, ajaxRequest); //append the mouse event
-						}
-						else if(ajaxRequest instanceof InitAJAXEvent) //if this is an initialization event
-						{
-							this._appendInitAJAXEvent(requestStringBuilder, ajaxRequest); //append the init event
-						}
-						else if(ajaxRequest instanceof PollAJAXEvent) //if this is a poll event
+						requestBody = this._serializeJSONAJAXRequest(); //serialize all the waiting requests as JSON
+						requestContentType = this.JSON_REQUEST_CONTENT_TYPE;
+					}
+					else
+					//if we should use the XML format
+					{
+						var requestStringBuilder = new StringBuilder(); //create a string builder to hold the request string					
+						DOM.appendXMLStartTag(requestStringBuilder, this.RequestElement.REQUEST); //<request>
+						DOM.appendXMLStartTag(requestStringBuilder, this.RequestElement.EVENTS); //<event>
+						while(this.ajaxRequests.length > 0) //there are more AJAX requests
 						{
-							this._appendPollAJAXEvent(requestStringBuilder, ajaxRequest); //append the poll event
+							var ajaxRequest = this.ajaxRequests.dequeue(); //get the next AJAX request to process
+							if(ajaxRequest instanceof ActionAJAXEvent) //if this is an action event
+							{
+								this._appendActionAJAXEvent(requestStringBuilder, ajaxRequest); //append the action event
+							}
+							else if(ajaxRequest instanceof ChangeAJAXEvent) //if this is an change event
+							{
+								this._appendChangeAJAXEvent(requestStringBuilder, ajaxRequest); //append the change event
+							}
+							else if(ajaxRequest instanceof DropAJAXEvent) //if this is a drop event
+							{
+								this._appendDropAJAXEvent(requestStringBuilder, ajaxRequest); //append the drop event
+							}
+							else if(ajaxRequest instanceof FocusAJAXEvent) //if this is a focus event
+							{
+								this._appendFocusAJAXEvent(requestStringBuilder, ajaxRequest); //append the focus event
+							}
+							else if(ajaxRequest instanceof KeyAJAXEvent) //if this is a key event
+							{
+								this._appendKeyAJAXEvent(requestStringBuilder, ajaxRequest); //append the key event
+							}
+							else if(ajaxRequest instanceof LogAJAXEvent) //if this is a log event
+							{
+								this._appendLogAJAXEvent(requestStringBuilder, ajaxRequest); //append the log event
+							}
+							else if(ajaxRequest instanceof MouseAJAXEvent) //if this is a mouse event
+							{
+								this._appendMouseAJAXEvent(requestStringBuilder, ajaxRequest); //append the mouse event
+							}
+							else if(ajaxRequest instanceof InitAJAXEvent) //if this is an initialization event
+							{
+								this._appendInitAJAXEvent(requestStringBuilder, ajaxRequest); //append the init event
+							}
+							else if(ajaxRequest instanceof PollAJAXEvent) //if this is a poll event
+							{
+								this._appendPollAJAXEvent(requestStringBuilder, ajaxRequest); //append the poll event
+							}
 						}
+						DOM.appendXMLEndTag(requestStringBuilder, this.RequestElement.EVENTS); //</events>
+						DOM.appendXMLEndTag(requestStringBuilder, this.RequestElement.REQUEST); //</request>
+						requestBody = requestStringBuilder.toString();
+						requestContentType = this.REQUEST_CONTENT_TYPE;
 					}
-					DOM.appendXMLEndTag(requestStringBuilder, this.RequestElement.EVENTS); //</events>
-					DOM.appendXMLEndTag(requestStringBuilder, this.RequestElement.REQUEST); //</request>
 					try
 					{
-						//TODO del alert("ready to post: "+requestStringBuilder.toString());
-						this.httpCommunicator.post(window.location.href, requestStringBuilder.toString(), this.REQUEST_CONTENT_TYPE); //post the HTTP request information back to the same URI
+						this.httpCommunicator.post(window.location.href, requestBody, requestContentType); //post the HTTP request information back to the same URI
 					}
 					catch(exception) //if a problem occurred
 					{
@@ -1250,6 +1316,199 @@ io.guise.framework.Guise = function()
 			return stringBuilder; //return the string builder
 		};
 
+		/**
+		 * Serializes all waiting AJAX requests in the compact JSON format, removing them from the queue. Each event is an
+		 * object with the same information as the XML format: attributes become properties, and child elements become
+		 * object properties.
+		 * @return The serialized JSON request.
+		 * @see #ajaxRequests
+		 */
+		proto._serializeJSONAJAXRequest = function()
+		{
+			var events = new Array(); //create an array of JSON events
+			while(this.ajaxRequests.length > 0) //there are more AJAX requests
+			{
+				var event = this._createJSONAJAXEvent(this.ajaxRequests.dequeue()); //create a JSON event from the next AJAX request
+				if(event != null) //if we recognized the request
+				{
+					events.add(event); //add the event
+				}
+			}
+			return JSON.serialize(new Map(this.JSONRequestProperty.EVENTS, events)); //{"events":[...]}
+		};
+
+		/**
+		 * Creates an object representing an AJAX event in the compact JSON format.
+		 * @param ajaxRequest The AJAX event information.
+		 * @return An object representing the event, or null if the event is not recognized.
+		 */
+		proto._createJSONAJAXEvent = function(ajaxRequest)
+		{
+			var RequestElement = this.RequestElement; //get local references to the names
+			var TYPE = this.JSONRequestProperty.TYPE;
+			if(ajaxRequest instanceof ActionAJAXEvent) //if this is an action event
+			{
+				return new Map(TYPE, RequestElement.ACTION, RequestElement.OBJECT_ID, ajaxRequest.objectID, RequestElement.TARGET_ID, ajaxRequest.targetID,
+						RequestElement.ACTION_ID, ajaxRequest.actionID, RequestElement.OPTION, ajaxRequest.option);
+			}
+			else if(ajaxRequest instanceof ChangeAJAXEvent) //if this is an change event
+			{
+				return new Map(TYPE, RequestElement.CHANGE, RequestElement.OBJECT_ID, ajaxRequest.objectID, this.JSONRequestProperty.PROPERTIES, ajaxRequest.properties);
+			}
+			else if(ajaxRequest instanceof DropAJAXEvent) //if this is a drop event
+			{
+				return new Map(TYPE, RequestElement.DROP, RequestElement.OBJECT_ID, ajaxRequest.dropTarget.id, RequestElement.DRAG_SOURCE_ID, ajaxRequest.dragSource.id,
+						RequestElement.MOUSE, new Map(RequestElement.X, ajaxRequest.mousePosition.x, RequestElement.Y, ajaxRequest.mousePosition.y));
+			}
+			else if(ajaxRequest instanceof FocusAJAXEvent) //if this is a focus event
+			{
+				return new Map(TYPE, RequestElement.FOCUS, RequestElement.OBJECT_ID, ajaxRequest.objectID);
+			}
+			else if(ajaxRequest instanceof KeyAJAXEvent) //if this is a key event
+			{
+				return new Map(TYPE, ajaxRequest.eventType, RequestElement.CODE, ajaxRequest.code, RequestElement.ALT_KEY, ajaxRequest.altKey, RequestElement.CONTROL_KEY,
+						ajaxRequest.controlKey, RequestElement.SHIFT_KEY, ajaxRequest.shiftKey);
+			}
+			else if(ajaxRequest instanceof LogAJAXEvent) //if this is a log event
+			{
+				return new Map(TYPE, RequestElement.LOG, RequestElement.LEVEL, ajaxRequest.level, this.JSONRequestProperty.TEXT, ajaxRequest.text);
+			}
+			else if(ajaxRequest instanceof MouseAJAXEvent) //if this is a mouse event
+			{
+				return new Map(TYPE, ajaxRequest.eventType, RequestElement.ALT_KEY, ajaxRequest.altKey, RequestElement.CONTROL_KEY, ajaxRequest.controlKey,
+						RequestElement.SHIFT_KEY, ajaxRequest.shiftKey, RequestElement.BUTTON, ajaxRequest.button, RequestElement.CLICK_COUNT, ajaxRequest.clickCount,
+						RequestElement.VIEWPORT, this._createJSONBounds(null, ajaxRequest.viewportBounds), RequestElement.COMPONENT, this._createJSONBounds(ajaxRequest.componentID,
+								ajaxRequest.componentBounds), RequestElement.TARGET, this._createJSONBounds(ajaxRequest.targetID, ajaxRequest.targetBounds), RequestElement.MOUSE,
+						new Map(RequestElement.X, ajaxRequest.mousePosition.x, RequestElement.Y, ajaxRequest.mousePosition.y));
+			}
+			else if(ajaxRequest instanceof InitAJAXEvent) //if this is an initialization event
+			{
+				return new Map(TYPE, RequestElement.INIT, "javascriptVersion", ajaxRequest.javascriptVersion, "utcOffset", ajaxRequest.utcOffset, "utcOffset01",
+						ajaxRequest.utcOffset01, "utcOffset06", ajaxRequest.utcOffset06, "hour", ajaxRequest.hour, "language", ajaxRequest.language, "colorDepth",
+						ajaxRequest.colorDepth, "screenWidth", ajaxRequest.screenWidth, "screenHeight", ajaxRequest.screenHeight, "javaEnabled", Boolean(ajaxRequest.javaEnabled),
+						"browserWidth", ajaxRequest.browserWidth, "browserHeight", ajaxRequest.browserHeight, "referrer", ajaxRequest.referrer);
+			}
+			else if(ajaxRequest instanceof PollAJAXEvent) //if this is a poll event
+			{
+				return new Map(TYPE, RequestElement.POLL);
+			}
+			return null; //we don't recognize the event
+		};
+
+		/**
+		 * Creates an object representing bounds in the compact JSON format.
+		 * @param id The ID of the element with the given bounds, or null if there is no element ID.
+		 * @param bounds The bounds to represent.
+		 * @return An object representing the bounds.
+		 */
+		proto._createJSONBounds = function(id, bounds)
+		{
+			var jsonBounds = new Map(this.RequestElement.X, bounds.x, this.RequestElement.Y, bounds.y, this.RequestElement.WIDTH, bounds.width, this.RequestElement.HEIGHT,
+					bounds.height);
+			if(id != null) //if there is an element ID
+			{
+				jsonBounds[this.RequestElement.ID] = id; //id="id"
+			}
+			return jsonBounds;
+		};
+
+		/**
+		 * Creates a response document in the XML format from messages in the compact JSON format, so that the messages can be
+		 * processed in the same way as an XML response. Patch markup is parsed into the equivalent patch element.
+		 * @param messages The array of JSON response messages, each an array beginning with the message name.
+		 * @return An XML document with a response document element containing the equivalent response elements.
+		 */
+		proto._createJSONResponseDocument = function(messages)
+		{
+			var ResponseElement = this.ResponseElement; //get a local reference to the names
+			var responseDocument = document.implementation.createDocument(null, ResponseElement.RESPONSE, null); //<response>
+			var responseElement = responseDocument.documentElement;
+			var messageCount = messages.length;
+			for( var i = 0; i < messageCount; ++i) //for each message
+			{
+				var message = messages[i];
+				var name = message[0]; //the message name is the first item
+				var element = null; //we'll create an equivalent element for each recognized message
+				switch(name)
+				{
+					case ResponseElement.PATCH: //["patch", "markup"]
+						var patchDocument = new DOMParser().parseFromString(message[1], "text/xml"); //parse the patch markup
+						element = responseDocument.importNode(patchDocument.documentElement, true);
+						break;
+					case ResponseElement.ATTRIBUTE: //["attribute", "id", "name", "value"|null]
+						element = this._createJSONResponseElement(responseDocument, name, new Map("id", message[1], ResponseElement.NAME, message[2]));
+						if(message[3] != null) //if there is a value
+						{
+							element.setAttribute(ResponseElement.VALUE, message[3]); //value="value"
+						}
+						else
+						//if the attribute should be removed
+						{
+							element.setAttribute(ResponseElement.REMOVE, "true"); //remove="true"
+						}
+						break;
+					case ResponseElement.VALUE: //["value", "id", "value"]
+						element = this._createJSONResponseElement(responseDocument, name, new Map("id", message[1]), message[2]);
+						break;
+					case ResponseElement.CLASS: //["class", "id", "name", true|false]
+						element = this._createJSONResponseElement(responseDocument, name, new Map("id", message[1], ResponseElement.NAME, message[2], ResponseElement.PRESENT,
+								Boolean(message[3]).toString()));
+						break;
+					case ResponseElement.STYLE: //["style", "id", "name", "value"|null]
+						element = this._createJSONResponseElement(responseDocument, name, new Map("id", message[1], ResponseElement.NAME, message[2]));
+						if(message[3] != null) //if there is a value
+						{
+							element.setAttribute(ResponseElement.VALUE, message[3]); //value="value"
+						}
+						break;
+					case ResponseElement.REMOVE: //["remove", "id"]
+						element = this._createJSONResponseElement(responseDocument, name, new Map("id", message[1]));
+						break;
+					case ResponseElement.NAVIGATE: //["navigate", "uri", "viewportID"]
+						element = this._createJSONResponseElement(responseDocument, name, message.length > 2 ? new Map(ResponseElement.VIEWPORT_ID, message[2]) : new Map(),
+								message[1]);
+						break;
+					case ResponseElement.RELOAD: //["reload"]
+						element = this._createJSONResponseElement(responseDocument, name, new Map());
+						break;
+					case ResponseElement.COMMAND: //["command", "objectID"|null, "command", {parameters}]
+						element = this._createJSONResponseElement(responseDocument, name, new Map(ResponseElement.COMMAND, message[2]), JSON.serialize(message[3]));
+						if(message[1] != null) //if the command is for a depicted object
+						{
+							element.setAttribute(ResponseElement.OBJECT_ID, message[1]); //objectID="objectID"
+						}
+						break;
+				}
+				if(element != null) //if we recognized the message
+				{
+					responseElement.appendChild(element);
+				}
+			}
+			return responseDocument;
+		};
+
+		/**
+		 * Creates a response element with the given attributes and optional text.
+		 * @param responseDocument The document in which to create the element.
+		 * @param name The name of the element.
+		 * @param attributes The map of attribute values keyed to attribute names.
+		 * @param text The text content of the element, or null if the element should have no content.
+		 * @return The new element.
+		 */
+		proto._createJSONResponseElement = function(responseDocument, name, attributes, text)
+		{
+			var element = responseDocument.createElement(name);
+			for( var attributeName in attributes) //for each attribute
+			{
+				element.setAttribute(attributeName, attributes[attributeName]);
+			}
+			if(text != null) //if there is text
+			{
+				element.appendChild(responseDocument.createTextNode(text));
+			}
+			return element;
+		};
+
 		/**
 		 * The callback method for processing HTTP communication.
 		 * @param xmlHTTP The XML HTTP object.
@@ -1271,7 +1530,15 @@ io.guise.framework.Guise = function()
 				if(status == 200) //if everything went OK
 				{
 					//TODO del if not needed						if(this.isEnabled())	//if AJAX is enabled (if a user browsers to a page in Mozilla and the old page sent a request, GUISE_AJAX_ENABLED will be undefined by now; check it so that Mozilla won't throw an exception accessing AJAXResponse, which doesn't exist either)
-					if((typeof AJAXResponse) != "undefined" //if the page scope hasn't disappeared (if a user browsers to a page in Mozilla and the old page sent a request, AJAXResponse will be undefined here)
+					var contentType = xmlHTTP.getResponseHeader("Content-Type"); //see what sort of response this is
+					if((typeof AJAXResponse) != "undefined" //if the page scope hasn't disappeared
+							&& xmlHTTP.responseText && contentType && contentType.indexOf(this.JSON_RESPONSE_CONTENT_TYPE) == 0) //if we have a JSON response
+					{
+						var responseDocument = this._createJSONResponseDocument(JSON.evaluate(xmlHTTP.responseText)); //process the JSON messages as the equivalent XML
+						this.ajaxResponses.enqueue(new AJAXResponse(responseDocument, xmlHTTP.responseText.length)); //enqueue the response
+						this.processAJAXResponses(); //process enqueued AJAX responses
+					}
+					else if((typeof AJAXResponse) != "undefined" //if the page scope hasn't disappeared (if a user browsers to a page in Mozilla and the old page sent a request, AJAXResponse will be undefined here)
 							&& xmlHTTP.responseText && xmlHTTP.responseXML && xmlHTTP.responseXML.documentElement) //if we have XML (if there is no content or there is an error, IE sends back a document has a null xmlHTTP.responseXML.documentElement)
 					{
 						this.ajaxResponses.enqueue(new AJAXResponse(xmlHTTP.responseXML, xmlHTTP.responseText.length)); //enqueue the response
@@ -1344,11 +1611,18 @@ io.guise.framework.Guise = function()
 										case this.ResponseElement.PATCH: //patch
 											this._processPatch(childNode); //patch the document with this patch information
 											break;
-										/*TODO del when works
-																			case this.ResponseElement.ATTRIBUTE:	//attribute
-																				this._processAttribute(childNode);	//patch the document with this attribute information
-																				break;
-										*/
+										case this.ResponseElement.ATTRIBUTE: //attribute
+											this._processAttribute(childNode); //patch the document with this attribute information
+											break;
+										case this.ResponseElement.VALUE: //value
+											this._processValue(childNode); //patch the form control with this value information
+											break;
+										case this.ResponseElement.CLASS: //class
+											this._processClass(childNode); //patch the document with this class information
+											break;
+										case this.ResponseElement.STYLE: //style
+											this._processStyle(childNode); //patch the document with this style information
+											break;
 										case this.ResponseElement.COMMAND: //command
 											//TODO del alert("this is a remove");
 											this._processCommand(childNode);
@@ -1786,6 +2060,118 @@ io.guise.framework.Guise = function()
 			}
 		};
 
+		/**
+		 * Processes the AJAX attribute response, setting or removing an attribute of an existing element. Attributes reflected by form control properties, such
+		 * as "checked" and "disabled", are updated using their properties as well, as the attributes only indicate the default state after user interaction.
+		 * @param element The element representing the attribute response.
+		 */
+		proto._processAttribute = function(element)
+		{
+			var oldElement = document.getElementById(element.getAttribute("id")); //get the element to change
+			if(oldElement != null) //if we found the element
+			{
+				var attributeName = element.getAttribute(this.ResponseElement.NAME); //get the attribute name
+				var isRemove = element.getAttribute(this.ResponseElement.REMOVE) == "true"; //see if the attribute should be removed; an empty value is a value like any other
+				var attributeValue = isRemove ? null : element.getAttribute(this.ResponseElement.VALUE); //get the attribute value
+				if(!isRemove) //if there is a value
+				{
+					oldElement.setAttribute(attributeName, attributeValue != null ? attributeValue : ""); //set the attribute
+				}
+				else
+				//if the attribute should be removed
+				{
+					oldElement.removeAttribute(attributeName); //remove the attribute
+				}
+				switch(attributeName)
+				//update the properties reflecting boolean attributes
+				{
+					case "checked":
+					case "disabled":
+					case "readonly":
+					case "selected":
+						oldElement[attributeName == "readonly" ? "readOnly" : attributeName] = !isRemove;
+						break;
+				}
+				this._invalidateAttributes(oldElement); //the element attributes no longer match the attribute hash
+				this._updateComponents(oldElement, false); //update any components that rely on the element
+			}
+		};
+
+		/**
+		 * Processes the AJAX value response, changing the value of an existing form control.
+		 * @param element The element representing the value response.
+		 */
+		proto._processValue = function(element)
+		{
+			var oldElement = document.getElementById(element.getAttribute("id")); //get the form control to change
+			if(oldElement != null) //if we found the form control
+			{
+				var value = DOM.getNodeText(element); //get the new value
+				if(oldElement.value != value) //if the value is really changing
+				{
+					oldElement.value = value; //update the value
+					if(oldElement.nodeName.toLowerCase() == "textarea") //a text area represents its value as content
+					{
+						oldElement.removeAttribute("data-guise-c"); //the content hash still indicates the old value
+					}
+					this._invalidateAttributes(oldElement); //an input represents its value as an attribute, and either way the ancestors no longer match their content hashes
+					this._updateComponents(oldElement.parentNode, false); //update any components that rely on the form control, such as a slider relying on its position input
+				}
+			}
+		};
+
+		/**
+		 * Processes the AJAX class response, adding or removing a class of an existing element.
+		 * @param element The element representing the class response.
+		 */
+		proto._processClass = function(element)
+		{
+			var oldElement = document.getElementById(element.getAttribute("id")); //get the element to change
+			if(oldElement != null) //if we found the element
+			{
+				var className = element.getAttribute(this.ResponseElement.NAME); //get the class name
+				if(element.getAttribute(this.ResponseElement.PRESENT) == "true") //if the class should be present
+				{
+					Element.addClassName(oldElement, className); //add the class
+				}
+				else
+				//if the class should not be present
+				{
+					Element.removeClassName(oldElement, className); //remove the class
+				}
+				this._invalidateAttributes(oldElement); //the class attribute no longer matches the attribute hash
+				this._updateComponents(oldElement, false); //update any components that rely on the element
+			}
+		};
+
+		/**
+		 * Processes the AJAX style response, setting or removing an inline style property of an existing element.
+		 * @param element The element representing the style response.
+		 */
+		proto._processStyle = function(element)
+		{
+			var oldElement = document.getElementById(element.getAttribute("id")); //get the element to change
+			if(oldElement != null) //if we found the element
+			{
+				var styleName = element.getAttribute(this.ResponseElement.NAME); //get the style property name
+				var styleValue = element.getAttribute(this.ResponseElement.VALUE); //get the style property value, if any
+				oldElement.style[styleName] = styleValue ? styleValue : ""; //set the style property, removing it if there is no value
+				this._invalidateAttributes(oldElement); //the style attribute no longer matches the attribute hash
+				this._updateComponents(oldElement, false); //update any components that rely on the element
+			}
+		};
+
+		/**
+		 * Indicates that the attributes of an element have been changed outside of synchronization, by removing the "data-guise-a" attribute hash of the element
+		 * and invalidating the content of all its ancestors, so that the next synchronization doesn't mistake the element or its ancestors for being unchanged.
+		 * @param element The element the attributes of which have changed.
+		 */
+		proto._invalidateAttributes = function(element)
+		{
+			element.removeAttribute("data-guise-a"); //the attribute hash still indicates the old attributes
+			this.invalidateAncestorContent(element); //the content hashes of the ancestors include the attributes of this element
+		};
+
 		/**
 		 * Processes the AJAX remove response.
 		 * @param element The element representing removal response.
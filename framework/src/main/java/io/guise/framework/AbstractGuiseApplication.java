@@ -434,6 +434,17 @@ public File getLogDirectory() {
 		return logDirectory; //return the log directory;
 	}
 
+	/** The cache of depiction fragments shared by all sessions of this application. */
+	private final DepictionCache depictionCache = new DepictionCache();
+
+	@Override
+	public DepictionCache getDepictionCache() {
+		return depictionCache;
+	}
+
+	/** The cache of resource bundles loaded from the class loader of this application, shared by all sessions. */
+	private final ResourceBundles.Cache resourceBundleCache = new ResourceBundles.Cache();
+
 	/** The temporary directory shared by all sessions of this application. */
 	private File tempDirectory = null;
 
@@ -531,6 +542,19 @@ public void run() {
 		}
 	};
 
+	/** The map of asynchronous logs keyed to log base filenames. */
+	private final Map<String, AsynchronousLog> baseNameAsynchronousLogMap = new ConcurrentHashMap<String, AsynchronousLog>();
+
+	@Override
+	public AsynchronousLog getAsynchronousLog(final String baseFilename, final IOOperation<Writer> initializer, final IOOperation<Writer> uninitializer) {
+		final File logDirectory = getLogDirectory(); //get the application log directory, making sure the application is installed
+		return baseNameAsynchronousLogMap.computeIfAbsent(baseFilename, filename -> {
+			final ThreadGroup guiseSessionThreadGroup = Guise.getInstance().getGuiseSessionThreadGroup(Thread.currentThread()); //get the Guise session thread group, if any
+			final ThreadGroup threadGroup = guiseSessionThreadGroup != null ? guiseSessionThreadGroup.getParent() : Thread.currentThread().getThreadGroup(); //the log's thread will live past this session's thread group
+			return new AsynchronousLog(threadGroup, logDirectory, filename, initializer, uninitializer);
+		});
+	}
+
 	/** The hash code, which we'll update after installation. The value is only used after installation, so the initial value is irrelevant. */
 	//TODO del if not needed	private int hashCode=-1;
 
@@ -615,6 +639,12 @@ public void uninstall(final GuiseContainer container) {
 			}
 			baseNameLogWriterInfoMap.clear(); //remove all log writer information
 		}
+		for(final AsynchronousLog asynchronousLog : baseNameAsynchronousLogMap.values()) { //close all asynchronous logs, writing any waiting entries
+			asynchronousLog.close();
+		}
+		baseNameAsynchronousLogMap.clear();
+		depictionCache.clear(); //the cached depictions may refer to resources of this installation
+		resourceBundleCache.clear(); //the resources may change before the application is installed again
 		/* TODO close logging concern if needed after bringing back back feature parity with legacy log library
 		try {
 			loggingConcern.close(); //close our main application log configuration, closing files as necessary
@@ -1075,14 +1105,14 @@ public URL getAssetURL(final URIPath path, final GuiseSession guiseSession) thro
 	public ResourceBundle loadResourceBundle(final Theme theme, final Locale locale) throws IOException {
 		final ClassLoader loader = getClass().getClassLoader(); //get our class loader
 		//default resources
-		ResourceBundle resourceBundle = ResourceBundles.getResourceBundle(DEFAULT_RESOURCE_BUNDLE_BASE_NAME, locale, loader, null, resourcesIO); //load the default resource bundle
+		ResourceBundle resourceBundle = resourceBundleCache.getResourceBundle(DEFAULT_RESOURCE_BUNDLE_BASE_NAME, locale, loader, null, resourcesIO, isDebug()); //load the default resource bundle, checking for changes when debugging
 		//theme resources
 		resourceBundle = loadResourceBundle(theme, locale, resourceBundle); //load any resources for this theme and resolving parents
 		//application resources
 		final String resourceBundleBaseName = getResourceBundleBaseName(); //get the specified resource bundle base name
 		//TODO del getLogger().trace("ready to load application resources; resource bundle base name: {}", resourceBundleBaseName);
 		if(resourceBundleBaseName != null && !resourceBundleBaseName.equals(DEFAULT_RESOURCE_BUNDLE_BASE_NAME)) { //if a distinct resource bundle base name was specified
-			resourceBundle = ResourceBundles.getResourceBundle(resourceBundleBaseName, locale, loader, resourceBundle, resourcesIO); //load the new resource bundle, specifying the current resource bundle as the parent					
+			resourceBundle = resourceBundleCache.getResourceBundle(resourceBundleBaseName, locale, loader, resourceBundle, resourcesIO, isDebug()); //load the new resource bundle, specifying the current resource bundle as the parent					
 		}
 		return resourceBundle; //return the resource bundle
 	}
@@ -1120,40 +1150,58 @@ protected ResourceBundle loadResourceBundle(final Theme theme, final Locale loca
 		return resourceBundle; //return the end of the resource bundle chain
 	}
 
-	/** A thread-safe cache of softly-referenced resource maps keyed to resource bundle URIs. */
-	private static final Map<URI, Map<Object, Object>> cachedResourceMapMap = new DecoratorReadWriteLockMap<URI, Map<Object, Object>>( //TODO restrict this to string keys again
-			new PurgeOnWriteSoftValueHashMap<URI, Map<Object, Object>>());
+	/**
+	 * A thread-safe cache of softly-referenced resource bundles keyed to lists of resource bundle URIs and parent resource bundles. Caching the resource bundle
+	 * rather than just its resources allows resource bundle chains built on shared parents to be shared as well.
+	 */
+	private static final Map<List<Object>, ResourceBundle> cachedResourceBundleMap = new DecoratorReadWriteLockMap<List<Object>, ResourceBundle>(
+			new PurgeOnWriteSoftValueHashMap<List<Object>, ResourceBundle>());
 
 	/**
-	 * Loads a resource bundle from the given URI.
+	 * Loads a resource bundle from the given URI. The resource bundle is shared with all other requests for the same URI with the same parent resource bundle.
 	 * @param resourceBundleURI The URI of the resource bundle to load.
 	 * @param parentResourceBundle The resource bundle to serve as the parent, or <code>null</code> if there is no parent resource bundle.
 	 * @return The loaded resource bundle.
 	 * @throws IOException if there was an error loading the resource bundle.
 	 */
 	protected ResourceBundle loadResourceBundle(final URI resourceBundleURI, ResourceBundle parentResourceBundle) throws IOException {
-		Map<Object, Object> resourceMap = cachedResourceMapMap.get(resourceBundleURI); //see if we already have a map representing the resources in the bundle TODO first check to see if the file has changed
-		if(resourceMap == null) { //if there is no cached resource map; don't worry about the benign race condition, which at worst will cause the resource bundle to be loaded more than once; blocking would be less efficient
-			//TODO del Debug.info("resource bundle cache miss for", resourceBundleURI);
+		final List<Object> key = Arrays.asList(resourceBundleURI, parentResourceBundle);
+		ResourceBundle resourceBundle = cachedResourceBundleMap.get(key); //see if we already have the resource bundle TODO first check to see if the file has changed
+		if(resourceBundle == null) { //if there is no cached resource bundle; don't worry about the benign race condition, which at worst will cause the resource bundle to be loaded more than once; blocking would be less efficient
 			//TODO make sure this is a TURF file; if not, load the properties from the properties file
+			final Map<Object, Object> resourceMap;
 			try (final InputStream resourcesInputStream = new BufferedInputStream(getInputStream(resourceBundleURI))) { //get a buffered input stream to the resources
 				resourceMap = getResourcesIO().read(resourcesInputStream, resourceBundleURI); //load the resources
-				cachedResourceMapMap.put(resourceBundleURI, resourceMap); //cache the map for later
 			} catch(final IOException ioException) { //if there was an error loading the resource bundle
 				throw new IOException("Error loading resource bundle (" + resourceBundleURI + "): " + ioException.getMessage(), ioException);
 			}
+			resourceBundle = new HashMapResourceBundle(resourceMap, parentResourceBundle); //create a new hash map resource bundle with resources and the given parent
+			cachedResourceBundleMap.put(key, resourceBundle); //cache the resource bundle for later
 		}
-		/*TODO del
-				else {	//TODO del
-					Debug.info("resource bundle cache hit for", resourceBundleURI);			
-				}
-		*/
-		return new HashMapResourceBundle(resourceMap, parentResourceBundle); //create a new hash map resource bundle with resources and the given parent and return it
+		return resourceBundle;
 	}
 
+	/** The thread-safe map of loaded themes, with their parents loaded and rules updated, keyed to their resolved URIs. */
+	private final Map<URI, Theme> resolvedURIThemeMap = new ConcurrentHashMap<URI, Theme>();
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation loads each theme, along with its parent themes, only once and shares it among all sessions of the application, unless the application
+	 * is in debug mode, in which case the theme is loaded anew each time so that changes will be seen.
+	 * </p>
+	 * @see #releaseThemes()
+	 */
 	@Override
 	public Theme loadTheme(final URI themeURI) throws IOException {
 		final URI resolvedThemeURI = resolveURI(themeURI); //resolve the theme URI against the application path; getInputStream() will do this to, but we will need this resolved URI later in this method
+		final boolean debug = isDebug();
+		if(!debug) {
+			final Theme cachedTheme = resolvedURIThemeMap.get(resolvedThemeURI);
+			if(cachedTheme != null) {
+				return cachedTheme;
+			}
+		}
 		final InputStream themeInputStream = getInputStream(resolvedThemeURI); //ask the application to get the input stream, so that the resource can be loaded directly if possible
 		if(themeInputStream == null) { //if there is no such theme
 			throw new FileNotFoundException("Missing theme resource: " + resolvedThemeURI); //indicate that the theme cannot be found
@@ -1179,9 +1227,17 @@ public Theme loadTheme(final URI themeURI) throws IOException {
 		} catch(final ClassNotFoundException classNotFoundException) { //if a class specified by a rule selector cannot be found
 			throw new IOException("Error loading theme (" + resolvedThemeURI + "): " + classNotFoundException.getMessage(), classNotFoundException);
 		}
+		if(!debug) { //only cache the theme after it is completely loaded; the race condition is benign, and at worst will cause the theme to be loaded more than once
+			resolvedURIThemeMap.put(resolvedThemeURI, theme);
+		}
 		return theme; //return the theme
 	}
 
+	@Override
+	public void releaseThemes() {
+		resolvedURIThemeMap.clear();
+	}
+
 	@Override
 	public Properties loadProperties(final String propertiesPath) throws IOException {
 		final File propertiesFile = new File(getHomeDirectory(), requireNonNull(propertiesPath, "Properties path cannot be null.")); //create the properties file object
@@ -29,7 +29,6 @@
 import com.globalmentor.net.http.HTTPResource;
 
 import static com.globalmentor.io.Files.*;
-import static com.globalmentor.java.Threads.*;
 import static com.globalmentor.net.URIs.*;
 
 /**
@@ -74,7 +73,7 @@ protected void addGuiseSession(final GuiseSession guiseSession) {
 		guise.addGuiseSession(guiseSession); //add the Guise session to Guise
 		guiseSession.getApplication().registerSession(guiseSession); //register the session from the application
 		final GuiseSessionThreadGroup guiseSessionThreadGroup = guise.getThreadGroup(guiseSession); //get the thread group for this session
-		call(guiseSessionThreadGroup, new Runnable() { //initialize the Guise session in its own thread group
+		guiseSessionThreadGroup.call(new Runnable() { //initialize the Guise session in its own thread group
 
 			@Override
 			public void run() {
@@ -94,7 +93,7 @@ public void run() {
 	protected void removeGuiseSession(final GuiseSession guiseSession) {
 		final Guise guise = Guise.getInstance(); //get the Guise instance
 		final GuiseSessionThreadGroup guiseSessionThreadGroup = guise.getThreadGroup(guiseSession); //get the thread group for this session
-		call(guiseSessionThreadGroup, new Runnable() { //destroy the Guise session in its own thread group
+		guiseSessionThreadGroup.call(new Runnable() { //destroy the Guise session in its own thread group
 
 			@Override
 			public void run() {
@@ -356,10 +356,11 @@ public ResourceBundle getResourceBundle() throws MissingResourceException {
 
 	/**
 	 * Unloads the current resource bundle so that the next call to {@link #getResourceBundle()} will load the resource bundle anew. This method also releases the
-	 * current collator.
+	 * current collator and discards all cached dereferenced strings.
 	 */
 	protected void releaseResourceBundle() {
 		resourceBundle = null; //release our reference to the resource bundle
+		cachedDereferencedStrings = new LRUCache<String, String>(MAX_CACHED_DEREFERENCED_STRING_COUNT); //strings dereferenced with the old resource bundle are no longer valid
 		collator = null; //release the current collator
 	}
 
@@ -1203,17 +1204,49 @@ public void notify(final Runnable afterNotify, final Throwable... errors) {
 	/** The set of string reference delimiters, <code>SOS</code> and <code>ST</code>. */
 	private static final Characters STRING_REFERENCE_DELIMITERS = Characters.of(START_OF_STRING_CHAR, STRING_TERMINATOR_CHAR);
 
-	@Override
-	public String dereferenceString(final String string) throws MissingResourceException {
-		//TODO add later if we create a Guise-specific parameter feature; for now we use {}		int parameterCount=0;	//keep track of how many parameters have appeared
-		List<String> argumentList = null; //the lazily-created list of arguments
-		int fromIndex = 0; //keep track of where we are in the string
-		int stringStartIndex = string.indexOf(START_OF_STRING_CHAR, fromIndex); //see if there is a string reference in the string
-		if(stringStartIndex >= 0) { //if there is a string reference
-			final StringBuilder stringBuilder = new StringBuilder(); //create a new string builder
-			do {
+	/**
+	 * A string containing string references, parsed into a sequence of literal text, resource references, and value references. A template is independent of
+	 * any resource bundle, and is therefore immutable and may be shared among all sessions.
+	 */
+	private static class StringReferenceTemplate {
+
+		/** A reference to a string resource, the value of which is dereferenced and inserted into the string. */
+		private static class ResourceReference {
+
+			/** The key of the referenced string resource. */
+			private final String resourceKey;
+
+			/**
+			 * Constructor.
+			 * @param resourceKey The key of the referenced string resource.
+			 */
+			public ResourceReference(final String resourceKey) {
+				this.resourceKey = resourceKey;
+			}
+		}
+
+		/**
+		 * The parts of the string, each either a {@link String} of literal text, a {@link ResourceReference}, or a {@link StringReferenceTemplate} of a string
+		 * value reference to be used as a format argument.
+		 */
+		private final Object[] parts;
+
+		/** Whether there are string value references, in which case the string is used as a format pattern. */
+		private final boolean hasValueReferences;
+
+		/**
+		 * Parses a string containing string references.
+		 * @param string The string to parse.
+		 * @throws IllegalArgumentException if a string reference is missing a string terminator.
+		 */
+		public StringReferenceTemplate(final String string) {
+			final List<Object> parts = new ArrayList<Object>();
+			boolean hasValueReferences = false;
+			int fromIndex = 0; //keep track of where we are in the string
+			int stringStartIndex = string.indexOf(START_OF_STRING_CHAR, fromIndex); //see if there is a string reference in the string
+			while(stringStartIndex >= 0) { //while there are more string references
 				if(stringStartIndex > fromIndex) { //if there is literal text to add
-					stringBuilder.append(string.substring(fromIndex, stringStartIndex)); //append the literal text
+					parts.add(string.substring(fromIndex, stringStartIndex)); //add the literal text
 				}
 				int terminatorsRemaining = 1; //we currently expect to find one more string terminator
 				int searchStartIndex = stringStartIndex + 1; //start searching after the SOS character
@@ -1224,7 +1257,7 @@ public String dereferenceString(final String string) throws MissingResourceExcep
 						throw new IllegalArgumentException("String reference missing String Terminator (U+009C).");
 					}
 					final char delimiter = string.charAt(stringEndIndex); //get the delimiter we encountered
-					switch(string.charAt(stringEndIndex)) { //see if we encountered a string terminator or another start of string
+					switch(delimiter) { //see if we encountered a string terminator or another start of string
 						case STRING_TERMINATOR_CHAR: //if we ended the string
 							--terminatorsRemaining; //we have one less terminator left
 							break;
@@ -1235,33 +1268,98 @@ public String dereferenceString(final String string) throws MissingResourceExcep
 							throw new AssertionError("Unrecognized delimiter: " + delimiter);
 					}
 					searchStartIndex = stringEndIndex + 1; //if we need to search some more, we'll start searching immediately after the last delimiter
-				} while(terminatorsRemaining > 0); //keep searching until 
+				} while(terminatorsRemaining > 0); //keep searching until we find the matching terminator
 				final String stringReference = string.substring(stringStartIndex + 1, stringEndIndex); //get the string reference
 				if(startsWith(stringReference, STRING_VALUE_REFERENCE_PREFIX_CHAR)) { //if this is a value reference
-					final String stringValue = dereferenceString(stringReference.substring(1)); //dereference the actual reference (i.e. ignore the string value reference prefix character)
-					if(argumentList == null) { //if we don't yet have an argument list
-						argumentList = new ArrayList<String>(); //create a new argument list
-					}
-					argumentList.add(stringValue); //add this string value to our argument list
+					parts.add(new StringReferenceTemplate(stringReference.substring(1))); //parse the actual reference (i.e. ignore the string value reference prefix character)
+					hasValueReferences = true;
 				} else { //if this is not a value reference, it must be a resource reference
-					final String stringResource = getStringResource(stringReference); //look up the string resource, using the reference as a resource key
-					stringBuilder.append(dereferenceString(stringResource)); //dereference and append the value of the string reference
+					parts.add(new ResourceReference(stringReference)); //the reference is a resource key
 				}
 				fromIndex = stringEndIndex + 1; //show the new search location
 				stringStartIndex = string.indexOf(START_OF_STRING_CHAR, fromIndex); //see if there is another string reference in the string
-			} while(stringStartIndex >= 0); //keep building the string as long as there are more string references
+			}
 			final int length = string.length(); //get the string length
 			if(fromIndex < length) { //if there is remaining literal text
-				stringBuilder.append(string.substring(fromIndex, length)); //append the remaining text
+				parts.add(fromIndex > 0 ? string.substring(fromIndex, length) : string); //add the remaining text
+			}
+			this.parts = parts.toArray();
+			this.hasValueReferences = hasValueReferences;
+		}
+
+		/**
+		 * Resolves the string references of the template using the resources of the given session.
+		 * @param session The session from which to retrieve string resources.
+		 * @return The string with all string references resolved.
+		 * @throws MissingResourceException if no resource could be found associated with a string reference.
+		 */
+		public String resolve(final GuiseSession session) throws MissingResourceException {
+			final StringBuilder stringBuilder = new StringBuilder(); //create a new string builder
+			List<String> argumentList = null; //the lazily-created list of arguments
+			for(final Object part : parts) {
+				if(part instanceof String) { //literal text
+					stringBuilder.append((String)part);
+				} else if(part instanceof ResourceReference) { //resource reference
+					final String stringResource = session.getStringResource(((ResourceReference)part).resourceKey); //look up the string resource, using the reference as a resource key
+					stringBuilder.append(session.dereferenceString(stringResource)); //dereference and append the value of the string reference
+				} else { //value reference
+					if(argumentList == null) { //if we don't yet have an argument list
+						argumentList = new ArrayList<String>(); //create a new argument list
+					}
+					argumentList.add(((StringReferenceTemplate)part).resolve(session)); //add this string value to our argument list
+				}
 			}
 			String dereferencedString = stringBuilder.toString(); //get the string we constructed
-			if(argumentList != null) { //if we have string value arguments
+			if(hasValueReferences) { //if we have string value arguments
 				dereferencedString = format(dereferencedString, argumentList.toArray()); //use the string as a format pattern, formatted using the collected arguments
 			}
-			return dereferencedString; //return the string we dereferenced
-		} else { //if there is no string reference
+			return dereferencedString;
+		}
+	}
+
+	/** The maximum number of string reference templates to cache. */
+	private static final int MAX_CACHED_STRING_REFERENCE_TEMPLATE_COUNT = 4096;
+
+	/** The thread-safe shared cache of parsed string reference templates keyed to the strings containing string references. */
+	private static final LRUCache<String, StringReferenceTemplate> cachedStringReferenceTemplates = new LRUCache<String, StringReferenceTemplate>(
+			MAX_CACHED_STRING_REFERENCE_TEMPLATE_COUNT);
+
+	/** The maximum number of dereferenced strings to cache for each session. */
+	private static final int MAX_CACHED_DEREFERENCED_STRING_COUNT = 4096;
+
+	/**
+	 * The thread-safe cache of dereferenced strings keyed to the strings containing string references, valid for the current resource bundle; replaced whenever
+	 * the resource bundle is released, so that strings being dereferenced concurrently with the old resource bundle are not cached with the new one.
+	 * @see #releaseResourceBundle()
+	 */
+	private volatile LRUCache<String, String> cachedDereferencedStrings = new LRUCache<String, String>(MAX_CACHED_DEREFERENCED_STRING_COUNT);
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation parses each string containing string references only once while it remains cached, sharing the parsed template among all sessions. The
+	 * dereferenced string is cached until the resource bundle is released, unless the application is in debug mode, in which case resources may change.
+	 * </p>
+	 */
+	@Override
+	public String dereferenceString(final String string) throws MissingResourceException {
+		if(string.indexOf(START_OF_STRING_CHAR) < 0) { //if there is no string reference
 			return string; //return the string as-is
 		}
+		final LRUCache<String, String> cachedDereferencedStrings = this.cachedDereferencedStrings; //if the resource bundle is released while we're resolving the string, the result will be cached in the discarded map
+		String dereferencedString = cachedDereferencedStrings.get(string);
+		if(dereferencedString == null) { //if we haven't dereferenced the string for this resource bundle; the race condition is benign, and at worst will cause the string to be dereferenced more than once
+			StringReferenceTemplate template = cachedStringReferenceTemplates.get(string);
+			if(template == null) { //if we haven't parsed the string yet; the race condition here is benign as well
+				template = new StringReferenceTemplate(string);
+				cachedStringReferenceTemplates.put(string, template);
+			}
+			dereferencedString = template.resolve(this);
+			if(!getApplication().isDebug()) {
+				cachedDereferencedStrings.put(string, dereferencedString);
+			}
+		}
+		return dereferencedString;
 	}
 
 	@Override
@@ -0,0 +1,328 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework;
+
+import java.io.*;
+import java.text.DateFormat;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Objects.*;
+
+import static com.globalmentor.io.Filenames.*;
+import static com.globalmentor.time.Calendars.*;
+
+import com.globalmentor.io.IOOperation;
+import com.globalmentor.text.W3CDateFormat;
+
+import io.clogr.Clogged;
+
+/**
+ * A log that accepts entries without blocking and writes them to a log file in batches from a background thread. Entries are placed in a bounded queue; if
+ * the queue is full, the entry is dropped and counted rather than making the caller wait. The background thread writes queued entries whenever
+ * {@link #getBatchSize()} entries are waiting, or at least every {@link #getFlushInterval()} milliseconds, flushing the file after each batch.
+ * <p>
+ * The log file is named by appending the current date to the base filename, and a new file is begun at midnight. The initializer is performed on each new
+ * file writer before entries are written, and the uninitializer is performed before a file writer is closed.
+ * </p>
+ * @author Garret Wilson
+ * @see AbstractGuiseApplication#getAsynchronousLog(String, IOOperation, IOOperation)
+ */
+public class AsynchronousLog implements Closeable, Clogged {
+
+	/** The default maximum number of entries waiting to be written. */
+	public static final int DEFAULT_CAPACITY = 10000;
+
+	/** The default number of waiting entries that causes a batch to be written before the flush interval has elapsed. */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	/** The default maximum number of milliseconds an entry waits before being written. */
+	public static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+	/** The directory in which log files are created. */
+	private final File logDirectory;
+
+	/** The base filename (e.g. "base.log") used in generating a log file for the current date (e.g. "base-2003-02-01.log"). */
+	private final String baseFilename;
+
+	/** @return The base filename (e.g. "base.log") used in generating a log file for the current date (e.g. "base-2003-02-01.log"). */
+	public String getBaseFilename() {
+		return baseFilename;
+	}
+
+	/** The initialization to perform on each new writer, or <code>null</code> if no initialization is requested. */
+	private final IOOperation<Writer> initializer;
+
+	/** The uninitialization to perform on each writer before it is closed, or <code>null</code> if no uninitialization is requested. */
+	private final IOOperation<Writer> uninitializer;
+
+	/** The maximum number of entries waiting to be written. */
+	private final int capacity;
+
+	/** @return The maximum number of entries waiting to be written. */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/** The number of waiting entries that causes a batch to be written before the flush interval has elapsed. */
+	private final int batchSize;
+
+	/** @return The number of waiting entries that causes a batch to be written before the flush interval has elapsed. */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/** The maximum number of milliseconds an entry waits before being written. */
+	private final long flushInterval;
+
+	/** @return The maximum number of milliseconds an entry waits before being written. */
+	public long getFlushInterval() {
+		return flushInterval;
+	}
+
+	/** The entries waiting to be written. */
+	private final Queue<String> entryQueue = new ConcurrentLinkedQueue<String>();
+
+	/** The number of entries in the queue, kept separately because determining the size of a concurrent queue is not a constant-time operation. */
+	private final AtomicInteger queuedCount = new AtomicInteger(0);
+
+	/** @return The number of entries currently waiting to be written. */
+	public int getQueuedCount() {
+		return queuedCount.get();
+	}
+
+	/** The number of entries dropped because the queue was full or the log was closed. */
+	private final AtomicLong droppedCount = new AtomicLong(0);
+
+	/** @return The number of entries dropped because the queue was full or the log was closed. */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/** The number of entries written to the log file. */
+	private final AtomicLong writtenCount = new AtomicLong(0);
+
+	/** @return The number of entries written to the log file. */
+	public long getWrittenCount() {
+		return writtenCount.get();
+	}
+
+	/** The number of log files begun. */
+	private final AtomicLong rolloverCount = new AtomicLong(0);
+
+	/** @return The number of log files begun, including the first. */
+	public long getRolloverCount() {
+		return rolloverCount.get();
+	}
+
+	/** Whether the log has been closed. */
+	private volatile boolean closed = false;
+
+	/** The background thread writing entries. */
+	private final Thread writerThread;
+
+	/** The current log file writer, or <code>null</code> if no file has yet been begun. Only accessed by the writer thread. */
+	private Writer writer = null;
+
+	/** The time at which the current log file writer expires. Only accessed by the writer thread. */
+	private long writerExpireTime = 0;
+
+	/**
+	 * Default settings constructor.
+	 * @param threadGroup The thread group in which to create the background writer thread.
+	 * @param logDirectory The directory in which log files are created.
+	 * @param baseFilename The base filename (e.g. "base.log") used in generating a log file for the current date (e.g. "base-2003-02-01.log").
+	 * @param initializer The initialization to perform on each new writer, or <code>null</code> if no initialization is requested.
+	 * @param uninitializer The uninitialization to perform on each writer before it is closed, or <code>null</code> if no uninitialization is requested.
+	 * @throws NullPointerException if the given thread group, log directory, and/or base filename is <code>null</code>.
+	 */
+	public AsynchronousLog(final ThreadGroup threadGroup, final File logDirectory, final String baseFilename, final IOOperation<Writer> initializer,
+			final IOOperation<Writer> uninitializer) {
+		this(threadGroup, logDirectory, baseFilename, initializer, uninitializer, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+	}
+
+	/**
+	 * Full constructor. The background writer thread is started immediately.
+	 * @param threadGroup The thread group in which to create the background writer thread.
+	 * @param logDirectory The directory in which log files are created.
+	 * @param baseFilename The base filename (e.g. "base.log") used in generating a log file for the current date (e.g. "base-2003-02-01.log").
+	 * @param initializer The initialization to perform on each new writer, or <code>null</code> if no initialization is requested.
+	 * @param uninitializer The uninitialization to perform on each writer before it is closed, or <code>null</code> if no uninitialization is requested.
+	 * @param capacity The maximum number of entries waiting to be written.
+	 * @param batchSize The number of waiting entries that causes a batch to be written before the flush interval has elapsed.
+	 * @param flushInterval The maximum number of milliseconds an entry waits before being written.
+	 * @throws NullPointerException if the given thread group, log directory, and/or base filename is <code>null</code>.
+	 * @throws IllegalArgumentException if the capacity, batch size, and/or flush interval is not positive.
+	 */
+	public AsynchronousLog(final ThreadGroup threadGroup, final File logDirectory, final String baseFilename, final IOOperation<Writer> initializer,
+			final IOOperation<Writer> uninitializer, final int capacity, final int batchSize, final long flushInterval) {
+		this.logDirectory = requireNonNull(logDirectory, "Log directory cannot be null.");
+		this.baseFilename = requireNonNull(baseFilename, "Base filename cannot be null.");
+		this.initializer = initializer;
+		this.uninitializer = uninitializer;
+		if(capacity <= 0 || batchSize <= 0 || flushInterval <= 0) {
+			throw new IllegalArgumentException("Capacity " + capacity + ", batch size " + batchSize + ", and flush interval " + flushInterval + " must be positive.");
+		}
+		this.capacity = capacity;
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+		writerThread = new Thread(requireNonNull(threadGroup, "Thread group cannot be null."), this::run, getClass().getSimpleName() + " " + baseFilename);
+		writerThread.setDaemon(true); //don't let logging keep the JVM alive
+		writerThread.start();
+	}
+
+	/**
+	 * Queues an entry to be written to the log. This method never blocks. If the queue is full or the log has been closed, the entry is dropped.
+	 * <p>
+	 * Because the log may be closed at any time, the closed status is checked again after an entry is queued. If the log was closed in the meantime and the entry
+	 * is still in the queue, the entry is removed and counted as dropped, as the writer thread may already have finished writing. Removing an equal entry logged
+	 * by another thread instead is harmless, as the entries are identical.
+	 * </p>
+	 * @param entry The entry text to write.
+	 * @return <code>true</code> if the entry was queued, or <code>false</code> if it was dropped.
+	 * @throws NullPointerException if the given entry is <code>null</code>.
+	 * @see #getDroppedCount()
+	 */
+	public boolean log(final String entry) {
+		requireNonNull(entry, "Entry cannot be null.");
+		if(closed) {
+			droppedCount.incrementAndGet();
+			return false;
+		}
+		final int count = queuedCount.incrementAndGet(); //reserve a place in the queue
+		if(count > capacity) { //if the queue is full, give back the place
+			queuedCount.decrementAndGet();
+			droppedCount.incrementAndGet();
+			return false;
+		}
+		entryQueue.add(entry);
+		if(closed) { //if the log was closed after we checked, the writer thread may already have written its final batch
+			if(entryQueue.remove(entry)) { //if the entry is still waiting, it will never be written; otherwise the writer thread took it
+				queuedCount.decrementAndGet();
+				droppedCount.incrementAndGet();
+				return false;
+			}
+			return true;
+		}
+		if(count == batchSize) { //if there are enough entries for a batch, there's no need to wait for the flush interval
+			LockSupport.unpark(writerThread);
+		}
+		return true;
+	}
+
+	/**
+	 * Closes the log, writing all waiting entries, performing the uninitializer, and closing the log file. Entries logged after this method is called are
+	 * dropped. This method waits for the background thread to finish.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		LockSupport.unpark(writerThread);
+		try {
+			writerThread.join();
+		} catch(final InterruptedException interruptedException) {
+			Thread.currentThread().interrupt(); //the writer thread will still finish on its own
+		}
+	}
+
+	/** The main loop of the background writer thread, writing batches until the log is closed. */
+	private void run() {
+		final long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushInterval);
+		while(!closed) {
+			if(queuedCount.get() < batchSize) { //if there isn't already a batch waiting, wait for one or for the flush interval
+				LockSupport.parkNanos(this, flushIntervalNanos);
+			}
+			writeBatch();
+		}
+		writeBatch(); //write anything that was queued before closing
+		if(writer != null) {
+			closeWriter();
+		}
+	}
+
+	/** Writes all waiting entries to the log file and flushes the file, beginning a new log file if needed. Errors are logged and the entries discarded. */
+	private void writeBatch() {
+		if(queuedCount.get() == 0) {
+			return;
+		}
+		try {
+			if(writer == null || System.currentTimeMillis() >= writerExpireTime) { //roll over to a new file if needed
+				if(writer != null) {
+					closeWriter();
+				}
+				openWriter();
+			}
+			int count = 0;
+			String entry;
+			while((entry = entryQueue.poll()) != null) {
+				queuedCount.decrementAndGet();
+				writer.write(entry);
+				++count;
+			}
+			writer.flush();
+			writtenCount.addAndGet(count);
+		} catch(final IOException ioException) {
+			getLogger().error("Error writing log {}.", baseFilename, ioException);
+			String entry;
+			while((entry = entryQueue.poll()) != null) { //discard the waiting entries so that the queue doesn't stay full
+				queuedCount.decrementAndGet();
+				droppedCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Opens a writer to the log file for the current date, performing the initializer.
+	 * @throws IOException if there is an error opening or initializing the log file.
+	 */
+	private void openWriter() throws IOException {
+		final DateFormat logFilenameDateFormat = new W3CDateFormat(W3CDateFormat.Style.DATE); //create a formatter for the log filename
+		final String logFilename = appendBase(baseFilename, "-" + logFilenameDateFormat.format(new Date())); //create a filename in the form "baseFilename-date.ext"
+		final Writer writer = new OutputStreamWriter(new BufferedOutputStream(new FileOutputStream(new File(logDirectory, logFilename), true)), UTF_8); //create a buffered UTF-8 log writer, appending if the file already exists
+		final Calendar calendar = Calendar.getInstance(); //create a new default calendar for the current date and time
+		calendar.add(Calendar.DAY_OF_YEAR, 1); //go to the next day to find out when this writer should expire
+		clearTime(calendar); //clear the calendar's time, concentrating on just the date (i.e. set the writer to expire at midnight)
+		this.writer = writer;
+		writerExpireTime = calendar.getTimeInMillis();
+		rolloverCount.incrementAndGet();
+		if(initializer != null) {
+			initializer.perform(writer);
+		}
+	}
+
+	/** Performs the uninitializer on the current log file writer and closes it. Errors are logged. */
+	private void closeWriter() {
+		try {
+			try {
+				if(uninitializer != null) {
+					uninitializer.perform(writer);
+				}
+			} finally {
+				writer.close();
+			}
+		} catch(final IOException ioException) {
+			getLogger().warn("Error closing log {}.", baseFilename, ioException);
+		} finally {
+			writer = null;
+		}
+	}
+
+}
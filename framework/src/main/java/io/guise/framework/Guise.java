@@ -21,13 +21,16 @@
 import java.net.*;
 import java.time.LocalDate;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+
+import static java.util.Objects.*;
 
 import static com.globalmentor.io.InputStreams.*;
 import static com.globalmentor.java.Characters.*;
 
 import com.globalmentor.java.Threads;
 
+import io.clogr.Clogged;
 import io.confound.config.Configuration;
 import io.confound.config.ConfigurationException;
 import io.confound.config.file.ResourcesConfigurationManager;
@@ -41,7 +44,7 @@
  * </p>
  * @author Garret Wilson
  */
-public final class Guise {
+public final class Guise implements Clogged {
 
 	//properties keys for the properties resources
 	private static final String VERSION_PROPERTIES_KEY = "version"; //String
@@ -191,6 +194,26 @@ public InputStream getAssetInputStream(final String guiseAssetKey) throws IOExce
 		}
 	}
 
+	/** The number of seconds to wait for session threads to finish when a session is removed. */
+	private static final long SESSION_THREAD_SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+	/** The factory for creating executors for new Guise session thread groups. */
+	private volatile GuiseSessionExecutorFactory sessionExecutorFactory = GuiseSessionExecutorFactory.pooled();
+
+	/** @return The factory for creating executors for new Guise session thread groups. */
+	public GuiseSessionExecutorFactory getSessionExecutorFactory() {
+		return sessionExecutorFactory;
+	}
+
+	/**
+	 * Sets the factory for creating executors for new Guise session thread groups. Existing sessions are not affected.
+	 * @param sessionExecutorFactory The factory for creating executors for new Guise session thread groups.
+	 * @throws NullPointerException if the given factory is <code>null</code>.
+	 */
+	public void setSessionExecutorFactory(final GuiseSessionExecutorFactory sessionExecutorFactory) {
+		this.sessionExecutorFactory = requireNonNull(sessionExecutorFactory, "Guise session executor factory cannot be null.");
+	}
+
 	/** The thread-safe map of Guise session thread groups for Guise sessions. */
 	private final Map<GuiseSession, GuiseSessionThreadGroup> sessionThreadGroupMap = new ConcurrentHashMap<GuiseSession, GuiseSessionThreadGroup>();
 
@@ -199,7 +222,7 @@ public InputStream getAssetInputStream(final String guiseAssetKey) throws IOExce
 	 * @param guiseSession The Guise session to add.
 	 */
 	void addGuiseSession(final GuiseSession guiseSession) {
-		final GuiseSessionThreadGroup threadGroup = new GuiseSessionThreadGroup(guiseSession); //create a new thread group for the session
+		final GuiseSessionThreadGroup threadGroup = new GuiseSessionThreadGroup(guiseSession, getSessionExecutorFactory()); //create a new thread group for the session
 		sessionThreadGroupMap.put(guiseSession, threadGroup); //associate the thread group with the Guise session and vice versa
 	}
 
@@ -224,8 +247,64 @@ void removeGuiseSession(final GuiseSession guiseSession) {
 					Log.trace("active thread:", activeThread.getName());
 				}
 		*/
-		//TODO maybe interrupt the thread group first as a safety precaution to make sure it can be destroyed, but when we reach here there shouldn't be any session-related threads running (see comment above) 
-		guiseSessionThreadGroup.destroy(); //destroy the thread group (otherwise it would continue to maintain a reference to the Guise session, causing a memory leak)
+		try {
+			guiseSessionThreadGroup.shutdown(SESSION_THREAD_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS); //stop the session's pooled threads so that the thread group can be destroyed
+		} catch(final InterruptedException interruptedException) { //if we were interrupted, the thread group will be destroyed later once its threads finish
+			Thread.currentThread().interrupt();
+		}
+		destroyThreadGroup(guiseSessionThreadGroup, 0); //destroy the thread group (otherwise it would continue to maintain a reference to the Guise session, causing a memory leak)
+	}
+
+	/** The number of seconds to wait before trying again to destroy the thread group of a removed session the threads of which are still running. */
+	private static final long SESSION_THREAD_GROUP_DESTROY_RETRY_SECONDS = 30;
+
+	/** The maximum number of times to try again to destroy the thread group of a removed session. */
+	private static final int SESSION_THREAD_GROUP_DESTROY_MAX_RETRY_COUNT = 20;
+
+	/** The lazily-created executor for retrying the destruction of session thread groups, or <code>null</code> if it has not yet been created. */
+	private ScheduledThreadPoolExecutor threadGroupDestroyExecutor = null;
+
+	/**
+	 * Returns the executor for retrying the destruction of session thread groups, creating it if needed. The executor's thread is created in the given thread
+	 * group, and is discarded when there are no more pending retries.
+	 * @param threadGroup The thread group in which to create the executor's thread, which must not be a session thread group.
+	 * @return The executor for retrying the destruction of session thread groups.
+	 */
+	private synchronized ScheduledExecutorService getThreadGroupDestroyExecutor(final ThreadGroup threadGroup) {
+		if(threadGroupDestroyExecutor == null) {
+			threadGroupDestroyExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+				final Thread thread = new Thread(threadGroup, runnable, "Guise Session Thread Group Destroyer");
+				thread.setDaemon(true);
+				return thread;
+			});
+			threadGroupDestroyExecutor.setKeepAliveTime(SESSION_THREAD_GROUP_DESTROY_RETRY_SECONDS * 2, TimeUnit.SECONDS);
+			threadGroupDestroyExecutor.allowCoreThreadTimeOut(true); //don't keep a thread around when there is nothing to destroy
+		}
+		return threadGroupDestroyExecutor;
+	}
+
+	/**
+	 * Destroys the thread group of a removed session. If threads of the thread group are still running, another attempt is scheduled, up to
+	 * {@value #SESSION_THREAD_GROUP_DESTROY_MAX_RETRY_COUNT} times, after which the failure is logged.
+	 * @param guiseSessionThreadGroup The thread group to destroy.
+	 * @param retryCount The number of previous attempts to destroy the thread group.
+	 */
+	private void destroyThreadGroup(final GuiseSessionThreadGroup guiseSessionThreadGroup, final int retryCount) {
+		try {
+			if(!guiseSessionThreadGroup.isDestroyed()) { //don't fail if the thread group was already destroyed
+				guiseSessionThreadGroup.destroy();
+			}
+		} catch(final IllegalThreadStateException illegalThreadStateException) { //if some thread of the group is still running, such as a pooled thread that is still exiting
+			if(retryCount < SESSION_THREAD_GROUP_DESTROY_MAX_RETRY_COUNT) {
+				getLogger().debug("Session thread group {} still has {} active threads; will try again to destroy it.", guiseSessionThreadGroup.getName(),
+						guiseSessionThreadGroup.activeCount());
+				getThreadGroupDestroyExecutor(guiseSessionThreadGroup.getParent()).schedule(() -> destroyThreadGroup(guiseSessionThreadGroup, retryCount + 1),
+						SESSION_THREAD_GROUP_DESTROY_RETRY_SECONDS, TimeUnit.SECONDS);
+			} else {
+				getLogger().warn("Unable to destroy session thread group {}, which still has {} active threads; its Guise session cannot be garbage-collected.",
+						guiseSessionThreadGroup.getName(), guiseSessionThreadGroup.activeCount(), illegalThreadStateException);
+			}
+		}
 	}
 
 	/**
@@ -243,11 +322,38 @@ public final GuiseSessionThreadGroup getThreadGroup(final GuiseSession guiseSess
 	}
 
 	/**
-	 * Retrieves the Guise session information for the current thread. This method calls {@link #getGuiseSession(Thread)} with the current thread.
+	 * The Guise session thread group explicitly bound to the current thread for the task it is running, if any. This binding is consulted before searching the
+	 * thread group hierarchy, which remains as a fallback for threads spawned by the application.
+	 */
+	private final ThreadLocal<GuiseSessionThreadGroup> boundSessionThreadGroup = new ThreadLocal<GuiseSessionThreadGroup>();
+
+	/**
+	 * Binds a Guise session thread group to the current thread.
+	 * @param guiseSessionThreadGroup The Guise session thread group to bind to the current thread, or <code>null</code> if any binding should be removed.
+	 * @return The Guise session thread group previously bound to the current thread, or <code>null</code> if there was no binding.
+	 * @see #getGuiseSession()
+	 */
+	GuiseSessionThreadGroup bindSessionThreadGroup(final GuiseSessionThreadGroup guiseSessionThreadGroup) {
+		final GuiseSessionThreadGroup oldSessionThreadGroup = boundSessionThreadGroup.get();
+		if(guiseSessionThreadGroup != null) {
+			boundSessionThreadGroup.set(guiseSessionThreadGroup);
+		} else {
+			boundSessionThreadGroup.remove(); //don't leave empty entries in pooled threads
+		}
+		return oldSessionThreadGroup;
+	}
+
+	/**
+	 * Retrieves the Guise session information for the current thread. The session thread group explicitly bound to the current thread is used if present;
+	 * otherwise this method calls {@link #getGuiseSession(Thread)} with the current thread.
 	 * @return The Guise session for the current thread.
 	 * @throws IllegalStateException if the current thread is not associated with any Guise session.
 	 */
 	public final GuiseSession getGuiseSession() {
+		final GuiseSessionThreadGroup boundThreadGroup = boundSessionThreadGroup.get(); //see if a session is bound to this thread
+		if(boundThreadGroup != null) {
+			return boundThreadGroup.getGuiseSession();
+		}
 		final Thread currentThread = Thread.currentThread(); //get the current thread
 		final GuiseSession guiseSession = getGuiseSession(currentThread); //get the session for the current thread
 		if(guiseSession == null) { //if there is no Guise session for the current thread
@@ -268,10 +374,21 @@ final GuiseSession getGuiseSession(final Thread thread) {
 	}
 
 	/**
-	 * Retrieves the Guise session thread group. All thread groups up the hierarchy are searched for an instance of {@link GuiseSessionThreadGroup}.
+	 * Retrieves the Guise session thread group. If the given thread is the current thread and a session thread group is bound to it, that thread group is
+	 * returned. Otherwise all thread groups up the hierarchy are searched for an instance of {@link GuiseSessionThreadGroup}.
 	 * @return The Guise session thread group for the given thread, or <code>null</code> if the given thread is not in a Guise session thread group.
 	 */
 	final GuiseSessionThreadGroup getGuiseSessionThreadGroup(final Thread thread) {
+		if(thread == Thread.currentThread()) {
+			final GuiseSessionThreadGroup boundThreadGroup = boundSessionThreadGroup.get(); //see if a session is bound to this thread
+			if(boundThreadGroup != null) {
+				return boundThreadGroup;
+			}
+		}
+		final ThreadGroup threadGroup = thread.getThreadGroup(); //session threads are normally directly in the session thread group
+		if(threadGroup instanceof GuiseSessionThreadGroup) {
+			return (GuiseSessionThreadGroup)threadGroup;
+		}
 		return Threads.getThreadGroup(thread, GuiseSessionThreadGroup.class); //return the Guise session thread group for this class
 	}
 
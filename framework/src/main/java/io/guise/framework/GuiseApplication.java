@@ -378,6 +378,12 @@ public interface GuiseApplication extends Resource, PropertyBindable, Concerned
 	 */
 	public File getLogDirectory();
 
+	/**
+	 * Returns the cache of depiction fragments shared by all sessions of this application.
+	 * @return The depiction cache of the application.
+	 */
+	public DepictionCache getDepictionCache();
+
 	/**
 	 * Returns the temporary directory shared by all sessions of this application. This value is not available before the application is installed.
 	 * @return The temporary directory of the application.
@@ -401,6 +407,21 @@ public interface GuiseApplication extends Resource, PropertyBindable, Concerned
 	public Writer getLogWriter(final String baseFilename, /*TODO fix final CalendarResolution calendarResolution, */final IOOperation<Writer> initializer,
 			final IOOperation<Writer> uninitializer) throws IOException;
 
+	/**
+	 * Retrieves a log that queues entries and writes them in batches from a background thread, so that recording log information never blocks the caller on
+	 * file I/O. The given base filename is appended with a representation of the current date, and the log begins a new file each day. There is one log for each
+	 * base filename; the initializer and uninitializer are only used when the log is first created. All logs are closed when the application is uninstalled.
+	 * @param baseFilename The base filename (e.g. "base.log") that will be used in generating a log file for the current date (e.g. "base 2003-02-01.log").
+	 * @param initializer The encapsulation of any initialization that should be performed on any new writer, or <code>null</code> if no initialization is
+	 *          requested.
+	 * @param uninitializer The encapsulation of any uninitialization that should be performed on any new writer, or <code>null</code> if no uninitialization is
+	 *          requested.
+	 * @return The asynchronous log for the given base filename.
+	 * @throws IllegalStateException if the application is not installed.
+	 * @see GuiseApplication#getLogDirectory()
+	 */
+	public AsynchronousLog getAsynchronousLog(final String baseFilename, final IOOperation<Writer> initializer, final IOOperation<Writer> uninitializer);
+
 	/**
 	 * @return Whether this application has been installed into a container at some base path.
 	 * @see #getContainer()
@@ -649,7 +670,7 @@ public Writer getLogWriter(final String baseFilename, /*TODO fix final CalendarR
 
 	/**
 	 * Loads a theme from the given URI. All relative URIs are considered relative to the application. If the theme specifies no parent theme, the default parent
-	 * theme will be assigned unless the theme is the default theme.
+	 * theme will be assigned unless the theme is the default theme. The returned theme may be shared among sessions, and must not be modified.
 	 * @param themeURI The URI of the theme to load.
 	 * @return A loaded theme with resolving parents loaded as well.
 	 * @throws NullPointerException if the given theme URI is <code>null</code>.
@@ -657,6 +678,13 @@ public Writer getLogWriter(final String baseFilename, /*TODO fix final CalendarR
 	 */
 	public Theme loadTheme(final URI themeURI) throws IOException;
 
+	/**
+	 * Discards any themes that have been loaded and shared, so that each theme will be loaded anew the next time it is requested. Sessions that have already
+	 * retrieved a theme will continue to use that theme until their theme is changed.
+	 * @see #loadTheme(URI)
+	 */
+	public void releaseThemes();
+
 	/**
 	 * Loads properties from a file in the home directory. The properties can be stored in XML or in the traditional properties format.
 	 * @param propertiesPath The path to the properties file, relative to the application home directory.
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2005-2013 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Strategy for creating the executor that runs tasks on behalf of a Guise session. Every thread created by the executor must belong to the given
+ * {@link GuiseSessionThreadGroup} so that {@link Guise#getGuiseSession()} can locate the session for the running task.
+ * @author Garret Wilson
+ * @see GuiseSessionThreadGroup#call(Runnable)
+ */
+@FunctionalInterface
+public interface GuiseSessionExecutorFactory {
+
+	/** The number of seconds an idle pooled session thread is kept alive before being discarded. */
+	public static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+
+	/**
+	 * Creates an executor for running tasks inside a Guise session thread group.
+	 * @param threadGroup The thread group to which all threads created by the executor must belong.
+	 * @return A new executor for the given session thread group.
+	 */
+	public ExecutorService createExecutor(final GuiseSessionThreadGroup threadGroup);
+
+	/**
+	 * Returns a factory that reuses threads in each session thread group, creating new threads only when all existing threads are busy. Idle threads are
+	 * discarded after {@value #THREAD_KEEP_ALIVE_SECONDS} seconds.
+	 * @return A factory producing unbounded thread pools for each session.
+	 */
+	public static GuiseSessionExecutorFactory pooled() {
+		return threadGroup -> new ThreadPoolExecutor(0, Integer.MAX_VALUE, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+				createThreadFactory(threadGroup));
+	}
+
+	/**
+	 * Returns a factory that reuses threads in each session thread group, never running more than the given number of threads at the same time for a single
+	 * session. Tasks submitted while all threads are busy wait in order of submission. Idle threads are discarded after {@value #THREAD_KEEP_ALIVE_SECONDS}
+	 * seconds.
+	 * @param maxThreadCount The maximum number of threads to run for each session.
+	 * @return A factory producing bounded thread pools for each session.
+	 * @throws IllegalArgumentException if the given maximum thread count is not positive.
+	 */
+	public static GuiseSessionExecutorFactory bounded(final int maxThreadCount) {
+		if(maxThreadCount <= 0) {
+			throw new IllegalArgumentException("Maximum session thread count must be positive: " + maxThreadCount);
+		}
+		return threadGroup -> {
+			final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreadCount, maxThreadCount, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(), createThreadFactory(threadGroup));
+			executor.allowCoreThreadTimeOut(true); //don't keep threads around for sessions that are idle
+			return executor;
+		};
+	}
+
+	/**
+	 * Creates a thread factory that creates daemon threads in the given thread group.
+	 * @param threadGroup The thread group in which new threads should be created.
+	 * @return A factory for session threads.
+	 */
+	private static ThreadFactory createThreadFactory(final GuiseSessionThreadGroup threadGroup) {
+		final AtomicInteger threadCount = new AtomicInteger(0);
+		return runnable -> {
+			final Thread thread = new Thread(threadGroup, runnable, threadGroup.getName() + " Thread " + threadCount.incrementAndGet());
+			thread.setDaemon(true); //don't let idle session threads keep the JVM alive
+			return thread;
+		};
+	}
+
+}
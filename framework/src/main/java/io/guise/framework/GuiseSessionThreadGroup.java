@@ -18,7 +18,10 @@
 
 import static java.util.Objects.*;
 
+import java.io.InterruptedIOException;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.Optional;
+import java.util.concurrent.*;
 
 import io.csar.*;
 
@@ -29,6 +32,10 @@
  * configuration first in the Guise session using {@link GuiseSession#findConcern(Class)}, and second in the Guise application using
  * {@link GuiseApplication#findConcern(Class)}.
  * </p>
+ * <p>
+ * Tasks are run in the thread group using {@link #call(Runnable)}, which reuses threads provided by an executor created by a
+ * {@link GuiseSessionExecutorFactory} rather than creating a new thread for each task.
+ * </p>
  * @author Garret Wilson
  */
 public class GuiseSessionThreadGroup extends ThreadGroup implements Concerned {
@@ -41,14 +48,129 @@ public GuiseSession getGuiseSession() {
 		return guiseSession;
 	}
 
+	/** The factory for creating the executor that runs tasks in this thread group. */
+	private final GuiseSessionExecutorFactory executorFactory;
+
+	/** The executor for running tasks in this thread group, or <code>null</code> if the executor has not yet been created. */
+	private volatile ExecutorService executor = null;
+
+	/** The lock guarding creation and shutdown of the executor; the thread group itself is not used, as {@link ThreadGroup} locks on itself internally. */
+	private final Object executorLock = new Object();
+
+	/** Whether this thread group has been shut down; guarded by {@link #executorLock}. */
+	private boolean shutdown = false;
+
+	/**
+	 * Returns the executor for running tasks in this thread group, creating it if needed.
+	 * @return The executor for running tasks in this thread group.
+	 * @throws RejectedExecutionException if this thread group was shut down before an executor was created.
+	 */
+	protected ExecutorService getExecutor() {
+		ExecutorService executor = this.executor;
+		if(executor == null) { //if the executor hasn't been created yet
+			synchronized(executorLock) {
+				executor = this.executor; //check again while we have the lock
+				if(executor == null) {
+					if(shutdown) {
+						throw new RejectedExecutionException("Guise session thread group " + getName() + " has been shut down.");
+					}
+					executor = requireNonNull(executorFactory.createExecutor(this), "Guise session executor factory created no executor.");
+					this.executor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
 	/**
-	 * Guise session constructor.
+	 * Guise session constructor using a {@link GuiseSessionExecutorFactory#pooled()} executor.
 	 * @param guiseSession The Guise session to which this thread group belongs and in which its related threads run.
 	 * @throws NullPointerException if the given Guise session is <code>null</code>.
 	 */
 	public GuiseSessionThreadGroup(final GuiseSession guiseSession) {
+		this(guiseSession, GuiseSessionExecutorFactory.pooled());
+	}
+
+	/**
+	 * Guise session and executor factory constructor.
+	 * @param guiseSession The Guise session to which this thread group belongs and in which its related threads run.
+	 * @param executorFactory The factory for creating the executor that runs tasks in this thread group.
+	 * @throws NullPointerException if the given Guise session and/or executor factory is <code>null</code>.
+	 */
+	public GuiseSessionThreadGroup(final GuiseSession guiseSession, final GuiseSessionExecutorFactory executorFactory) {
 		super("Guise Session Thread Group " + guiseSession.toString()); //construct the parent class TODO improve name
 		this.guiseSession = requireNonNull(guiseSession, "Guise session cannot be null.");
+		this.executorFactory = requireNonNull(executorFactory, "Guise session executor factory cannot be null.");
+	}
+
+	/**
+	 * Runs the given runnable in a thread of this thread group and waits for it to finish. If the current thread is already in this thread group, the runnable is
+	 * run directly in the current thread. While the runnable runs this thread group is explicitly bound to the thread, so that {@link Guise#getGuiseSession()}
+	 * need not search the thread group hierarchy. Any runtime exception or error thrown by the runnable is thrown from this method.
+	 * @param runnable The runnable to run in this thread group.
+	 * @throws RejectedExecutionException if this thread group has been shut down.
+	 * @throws UndeclaredThrowableException if the current thread is interrupted while waiting, wrapping an {@link InterruptedIOException}.
+	 * @see #shutdown(long, TimeUnit)
+	 */
+	public void call(final Runnable runnable) {
+		if(Thread.currentThread().getThreadGroup() == this) { //if we're already in this thread group, there's no need to switch threads (and waiting on ourselves in a bounded pool could deadlock)
+			runBound(runnable);
+			return;
+		}
+		final Future<?> future = getExecutor().submit(() -> runBound(runnable)); //run the runnable in one of our threads
+		try {
+			future.get(); //wait for the runnable to finish
+		} catch(final InterruptedException interruptedException) {
+			future.cancel(true);
+			Thread.currentThread().interrupt(); //restore the interrupted status
+			throw new UndeclaredThrowableException((InterruptedIOException)new InterruptedIOException(interruptedException.getMessage()).initCause(interruptedException));
+		} catch(final ExecutionException executionException) {
+			final Throwable cause = executionException.getCause(); //pass along whatever the runnable threw
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			} else if(cause instanceof Error) {
+				throw (Error)cause;
+			}
+			throw new UndeclaredThrowableException(cause);
+		}
+	}
+
+	/**
+	 * Runs the given runnable in the current thread with this thread group bound as the current Guise session context, restoring any previous binding afterwards.
+	 * @param runnable The runnable to run.
+	 */
+	protected void runBound(final Runnable runnable) {
+		final Guise guise = Guise.getInstance();
+		final GuiseSessionThreadGroup oldSessionThreadGroup = guise.bindSessionThreadGroup(this);
+		try {
+			runnable.run();
+		} finally {
+			guise.bindSessionThreadGroup(oldSessionThreadGroup);
+		}
+	}
+
+	/**
+	 * Shuts down the executor of this thread group, waiting up to the given time for running tasks to finish so that the thread group can be destroyed. No new
+	 * tasks will be accepted after this method is called.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The time unit of the timeout argument.
+	 * @return <code>true</code> if all threads of the executor terminated, or <code>false</code> if the timeout elapsed first.
+	 * @throws InterruptedException if the current thread is interrupted while waiting.
+	 */
+	public boolean shutdown(final long timeout, final TimeUnit unit) throws InterruptedException {
+		final ExecutorService executor;
+		synchronized(executorLock) {
+			shutdown = true; //make sure no executor gets created after shutdown
+			executor = this.executor;
+		}
+		if(executor == null) { //if no task was ever run, there is nothing to wait for
+			return true;
+		}
+		executor.shutdown();
+		if(Thread.currentThread().getThreadGroup() == this) { //we can't wait for our own thread to terminate
+			return false;
+		}
+		return executor.awaitTermination(timeout, unit);
 	}
 
 	@Override
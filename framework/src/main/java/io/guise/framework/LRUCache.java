@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework;
+
+import java.util.*;
+
+import static java.util.Objects.*;
+
+/**
+ * A thread-safe cache holding at most a given number of values, discarding the least recently used value when a new value is added to a full cache. Neither
+ * keys nor values may be <code>null</code>.
+ * @param <K> The type of key.
+ * @param <V> The type of value.
+ * @author Garret Wilson
+ */
+public class LRUCache<K, V> {
+
+	/** The maximum number of values to cache. */
+	private final int capacity;
+
+	/** @return The maximum number of values to cache. */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/** The cached values keyed to their keys, in least-recently-used order; access must be synchronized on the map. */
+	private final LinkedHashMap<K, V> map;
+
+	/**
+	 * Capacity constructor.
+	 * @param capacity The maximum number of values to cache.
+	 * @throws IllegalArgumentException if the given capacity is not positive.
+	 */
+	public LRUCache(final int capacity) {
+		if(capacity <= 0) {
+			throw new IllegalArgumentException("Capacity " + capacity + " must be positive.");
+		}
+		this.capacity = capacity;
+		map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+				return size() > LRUCache.this.capacity;
+			}
+		};
+	}
+
+	/** @return The number of values currently cached. */
+	public int size() {
+		synchronized(map) {
+			return map.size();
+		}
+	}
+
+	/**
+	 * Retrieves a cached value, marking it as recently used.
+	 * @param key The key of the value.
+	 * @return The cached value, or <code>null</code> if no value is cached for the given key.
+	 * @throws NullPointerException if the given key is <code>null</code>.
+	 */
+	public V get(final K key) {
+		requireNonNull(key, "Key cannot be null.");
+		synchronized(map) {
+			return map.get(key);
+		}
+	}
+
+	/**
+	 * Caches a value, discarding the least recently used value if the cache is full.
+	 * @param key The key of the value.
+	 * @param value The value to cache.
+	 * @throws NullPointerException if the given key and/or value is <code>null</code>.
+	 */
+	public void put(final K key, final V value) {
+		requireNonNull(key, "Key cannot be null.");
+		requireNonNull(value, "Value cannot be null.");
+		synchronized(map) {
+			map.put(key, value);
+		}
+	}
+
+	/** Removes all cached values. */
+	public void clear() {
+		synchronized(map) {
+			map.clear();
+		}
+	}
+
+}
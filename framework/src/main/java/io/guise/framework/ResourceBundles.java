@@ -41,8 +41,193 @@
 public class ResourceBundles //TODO moved out of globalmentor-core to allow org.urframework project extraction; refactor to allow flexibility and storage format pluggability
 {
 
-	/** The map of resource bundles softly keyed to resource bundle base paths. This serves as a soft cache to resource bundles. */
-	//TODO fix caching; the problem is currently how to verify the same loader and resource path while keeping a weak reference to the loader private static final Map<String, ResourceBundle> resourceBundleMap=synchronizedMap(new SoftValueHashMap<String, ResourceBundle>());
+	/**
+	 * A resource bundle that has been loaded, along with the information needed to detect whether its resource has changed.
+	 * @author Garret Wilson
+	 */
+	private static class CachedResourceBundle {
+
+		/** The loaded resource bundle. */
+		private final ResourceBundle resourceBundle;
+
+		/** The URL from which the resource bundle was loaded. */
+		private final URL resourceURL;
+
+		/** The last modification time of the resource when it was loaded, or 0 if the modification time is not known. */
+		private final long lastModified;
+
+		/** The time at which the resource was last found not to have been modified. */
+		private volatile long lastValidated;
+
+		/**
+		 * Constructor.
+		 * @param resourceBundle The loaded resource bundle.
+		 * @param resourceURL The URL from which the resource bundle was loaded.
+		 * @param lastModified The last modification time of the resource when it was loaded, or 0 if the modification time is not known.
+		 */
+		public CachedResourceBundle(final ResourceBundle resourceBundle, final URL resourceURL, final long lastModified) {
+			this.resourceBundle = resourceBundle;
+			this.resourceURL = resourceURL;
+			this.lastModified = lastModified;
+			this.lastValidated = System.currentTimeMillis();
+		}
+
+		/**
+		 * Determines whether the resource has been modified since it was loaded. The resource is checked at most once during the given interval.
+		 * @param revalidationInterval The number of milliseconds during which the resource is assumed to be unchanged after it was last checked.
+		 * @return <code>true</code> if the resource has not been modified since it was loaded, or if its modification time cannot be determined.
+		 */
+		public boolean isCurrent(final long revalidationInterval) {
+			if(lastModified == 0) {
+				return true;
+			}
+			final long now = System.currentTimeMillis();
+			if(now - lastValidated < revalidationInterval) { //if we checked the resource recently, don't check it again yet
+				return true;
+			}
+			if(getLastModified(resourceURL) != lastModified) {
+				return false;
+			}
+			lastValidated = now;
+			return true;
+		}
+	}
+
+	/**
+	 * A thread-safe, bounded cache of loaded resource bundles, each keyed to the base name, locale, class loader, parent resource bundle, and TURF resource I/O
+	 * with which it was loaded. A cache is intended to be held by whatever owns the class loader, such as an application, so that the cached resource bundles
+	 * don't outlive the class loader from which they were loaded. The least recently used resource bundles are discarded when the cache is full.
+	 * <p>
+	 * Resource bundles are shared among all callers requesting the same base name and locale from the same class loader with the same parent resource bundle
+	 * and TURF resource I/O; they must therefore not be modified. A parent resource bundle that was itself retrieved from the cache allows the entire chain of
+	 * resource bundles to be shared. When a resource bundle is reloaded because its resource changed, the resource bundles cached with the old resource bundle as
+	 * their parent are discarded as well.
+	 * </p>
+	 * @author Garret Wilson
+	 */
+	public static class Cache {
+
+		/** The default maximum number of resource bundles to cache. */
+		public static final int DEFAULT_CAPACITY = 256;
+
+		/** The default number of milliseconds during which a resource is assumed to be unchanged after it was last checked for modification. */
+		public static final long DEFAULT_REVALIDATION_INTERVAL = 1000;
+
+		/** The number of milliseconds during which a resource is assumed to be unchanged after it was last checked for modification. */
+		private final long revalidationInterval;
+
+		/** The index of the parent resource bundle in each key. */
+		private static final int KEY_PARENT_INDEX = 3;
+
+		/** The cached resource bundles keyed to the information with which they were loaded, in least-recently-used order; access must be synchronized on the map. */
+		private final LinkedHashMap<List<Object>, CachedResourceBundle> keyResourceBundleMap;
+
+		/** Default constructor with the default capacity and revalidation interval. */
+		public Cache() {
+			this(DEFAULT_CAPACITY, DEFAULT_REVALIDATION_INTERVAL);
+		}
+
+		/**
+		 * Capacity and revalidation interval constructor.
+		 * @param capacity The maximum number of resource bundles to cache.
+		 * @param revalidationInterval The number of milliseconds during which a resource is assumed to be unchanged after it was last checked for modification.
+		 * @throws IllegalArgumentException if the capacity is not positive or the revalidation interval is negative.
+		 */
+		public Cache(final int capacity, final long revalidationInterval) {
+			if(capacity <= 0 || revalidationInterval < 0) {
+				throw new IllegalArgumentException("Capacity " + capacity + " must be positive and revalidation interval " + revalidationInterval + " not negative.");
+			}
+			this.revalidationInterval = revalidationInterval;
+			keyResourceBundleMap = new LinkedHashMap<List<Object>, CachedResourceBundle>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<List<Object>, CachedResourceBundle> eldest) {
+					return size() > capacity;
+				}
+			};
+		}
+
+		/** @return The number of resource bundles currently cached. */
+		public int size() {
+			synchronized(keyResourceBundleMap) {
+				return keyResourceBundleMap.size();
+			}
+		}
+
+		/** Removes all cached resource bundles. */
+		public void clear() {
+			synchronized(keyResourceBundleMap) {
+				keyResourceBundleMap.clear();
+			}
+		}
+
+		/**
+		 * Retrieves a resource bundle for a given base name and locale, loading it only if it has not already been loaded.
+		 * @param baseName The base name of the resource bundle, which is a fully qualified class name, such as "myProperties".
+		 * @param locale The locale for which a resource bundle is desired.
+		 * @param loader The class loader from which to load the resource bundle.
+		 * @param parent The parent resource bundle, or <code>null</code> if there should be no parent for resolving resources.
+		 * @param turfResourceIO The I/O support for loading resources from a TURF representation, or <code>null</code> if TURF resource bundles are not supported.
+		 * @param revalidate <code>true</code> if a previously loaded resource bundle should be loaded again if its resource has been modified, such as during
+		 *          debugging.
+		 * @return A resource bundle for the given base name and locale.
+		 * @throws MissingResourceException if no resource bundle for the specified base name can be found, or if there is an error loading the resource bundle.
+		 * @see ResourceBundles#getResourceBundle(String, Locale, ClassLoader, ResourceBundle, IO)
+		 */
+		public ResourceBundle getResourceBundle(final String baseName, final Locale locale, final ClassLoader loader, final ResourceBundle parent,
+				final IO<Map<Object, Object>> turfResourceIO, final boolean revalidate) throws MissingResourceException {
+			final List<Object> key = Arrays.asList(baseName, locale, loader, parent, turfResourceIO);
+			CachedResourceBundle cachedResourceBundle;
+			synchronized(keyResourceBundleMap) {
+				cachedResourceBundle = keyResourceBundleMap.get(key);
+			}
+			if(cachedResourceBundle != null && (!revalidate || cachedResourceBundle.isCurrent(revalidationInterval))) { //if we have already loaded a current resource bundle
+				return cachedResourceBundle.resourceBundle;
+			}
+			//load the resource bundle without blocking; the race condition is benign, and will at worst cause a resource bundle to be loaded more than once
+			final CachedResourceBundle newCachedResourceBundle = loadResourceBundle(baseName, locale, loader, parent, turfResourceIO);
+			synchronized(keyResourceBundleMap) {
+				final CachedResourceBundle oldCachedResourceBundle = keyResourceBundleMap.put(key, newCachedResourceBundle);
+				if(oldCachedResourceBundle != null) { //if we replaced a stale resource bundle, no one will ask for its children again
+					removeChildren(oldCachedResourceBundle.resourceBundle);
+				}
+			}
+			return newCachedResourceBundle.resourceBundle;
+		}
+
+		/**
+		 * Removes all cached resource bundles with the given parent, along with their own children. Access must be synchronized on the map.
+		 * @param parent The parent resource bundle that has been replaced.
+		 */
+		private void removeChildren(final ResourceBundle parent) {
+			final List<ResourceBundle> removedResourceBundles = new ArrayList<ResourceBundle>();
+			final Iterator<Map.Entry<List<Object>, CachedResourceBundle>> entryIterator = keyResourceBundleMap.entrySet().iterator();
+			while(entryIterator.hasNext()) {
+				final Map.Entry<List<Object>, CachedResourceBundle> entry = entryIterator.next();
+				if(entry.getKey().get(KEY_PARENT_INDEX) == parent) {
+					removedResourceBundles.add(entry.getValue().resourceBundle);
+					entryIterator.remove();
+				}
+			}
+			for(final ResourceBundle removedResourceBundle : removedResourceBundles) {
+				removeChildren(removedResourceBundle);
+			}
+		}
+	}
+
+	/**
+	 * Determines the last modification time of the resource at the given URL.
+	 * @param resourceURL The URL of the resource.
+	 * @return The last modification time of the resource, or 0 if the modification time is not known.
+	 */
+	private static long getLastModified(final URL resourceURL) {
+		try {
+			final URLConnection urlConnection = resourceURL.openConnection();
+			urlConnection.setUseCaches(false); //don't let a cached JAR file hide changes
+			return urlConnection.getLastModified();
+		} catch(final IOException ioException) { //if we can't determine the modification time, consider it unknown
+			return 0;
+		}
+	}
 
 	/**
 	 * The format in which a resource bundle is serialized, in order of preference.
@@ -90,6 +275,22 @@ private ResourceBundleFormat(final String extension) {
 	 */
 	public static ResourceBundle getResourceBundle(final String baseName, final Locale locale, final ClassLoader loader, final ResourceBundle parent,
 			final IO<Map<Object, Object>> turfResourceIO) throws MissingResourceException {
+		return loadResourceBundle(baseName, locale, loader, parent, turfResourceIO).resourceBundle;
+	}
+
+	/**
+	 * Loads a resource bundle for a given base name and locale.
+	 * @param baseName The base name of the resource bundle, which is a fully qualified class name, such as "myProperties".
+	 * @param locale The locale for which a resource bundle is desired.
+	 * @param loader The class loader from which to load the resource bundle.
+	 * @param parent The parent resource bundle, or <code>null</code> if there should be no parent for resolving resources.
+	 * @param turfResourceIO The I/O support for loading resources from a TURF representation, or <code>null</code> if TURF resource bundles are not supported.
+	 * @return The loaded resource bundle, along with information for detecting changes to its resource.
+	 * @throws MissingResourceException if no resource bundle for the specified base name can be found, or if there is an error loading the resource bundle.
+	 * @see Cache#getResourceBundle(String, Locale, ClassLoader, ResourceBundle, IO, boolean)
+	 */
+	private static CachedResourceBundle loadResourceBundle(final String baseName, final Locale locale, final ClassLoader loader, final ResourceBundle parent,
+			final IO<Map<Object, Object>> turfResourceIO) throws MissingResourceException {
 		final String basePath = baseName.replace(PACKAGE_SEPARATOR, PATH_SEPARATOR); //create a base path from base name
 		final ResourceBundleFormat[] resourceBundleFormats = ResourceBundleFormat.values(); //get the available resource bundle formats
 		final int resourceBundleFormatCount = resourceBundleFormats.length; //see how many resource bundle formats there are
@@ -105,44 +306,42 @@ public static ResourceBundle getResourceBundle(final String baseName, final Loca
 				}
 				final String resourcePath = getLocaleCandidatePath(paths[resourceBundleFormatIndex], locale, depth); //get a candidate path for the resource bundle at this locale depth, using the path for this resource bundle type
 				if(resourcePath != null) { //if we can generate a candidate path for the locale at this depth
-					/*TODO fix
-									final ResourceBundle cachedResourceBundle=resourceBundleMap.get(resourcePath);	//see if we have a cached XML resource bundle
-									if(cachedResourceBundle!=null) {	//if there is a cached XML resource bundle
-										return cachedResourceBundle;	//return the cached bundle
+					final URL resourceURL = loader.getResource(resourcePath); //see if this resource bundle exists
+					if(resourceURL != null) { //if we found an existing resource bundle
+						try {
+							final URLConnection urlConnection = resourceURL.openConnection();
+							final long lastModified = urlConnection.getLastModified(); //note the modification time so that changes can be detected
+							try (final InputStream inputStream = urlConnection.getInputStream()) { //open an input stream to the resource URL
+								final ResourceBundle resourceBundle;
+								switch(resourceBundleFormat) { //see which type of resource bundle we're loading
+									case TURF: {
+										final Map<Object, Object> resourceMap = turfResourceIO.read(inputStream, resourceURL.toURI()); //try to read the resource
+										resourceBundle = new HashMapResourceBundle(resourceMap, parent); //create a new hash map resource bundle with resources and the given parent
+										break;
+									}
+									case XML: {
+										final Properties properties = new Properties(); //we'll load a properties file
+										properties.loadFromXML(inputStream); //load the properties file from the XML
+										resourceBundle = new HashMapResourceBundle(properties, parent); //create a resource bundle with the given parent
+										break;
 									}
-									else	//if there is no cached bundle, try to load one
-					*/
-					{
-						final URL resourceURL = loader.getResource(resourcePath); //see if this resource bundle exists
-						if(resourceURL != null) { //if we found an existing resource bundle
-							try {
-								try (final InputStream inputStream = resourceURL.openConnection().getInputStream()) { //open an input stream to the resource URL
-									switch(resourceBundleFormat) { //see which type of resource bundle we're loading
-										case TURF: {
-											final Map<Object, Object> resourceMap = turfResourceIO.read(inputStream, resourceURL.toURI()); //try to read the resource
-											return new HashMapResourceBundle(resourceMap, parent); //create a new hash map resource bundle with resources and the given parent and return it
-										}
-										case XML: {
-											final Properties properties = new Properties(); //we'll load a properties file
-											properties.loadFromXML(inputStream); //load the properties file from the XML
-											return new HashMapResourceBundle(properties, parent); //create and return a resource bundle with the given parent
-										}
-										case PROPERTIES: {
-											final Properties properties = new Properties(); //we'll load a properties file
-											properties.load(inputStream); //load the traditional properties file
-											return new HashMapResourceBundle(properties, parent); //create and return a resource bundle with the given parent
-										}
-										default:
-											throw new AssertionError("Unrecognized resource bundle format: " + resourceBundleFormat);
+									case PROPERTIES: {
+										final Properties properties = new Properties(); //we'll load a properties file
+										properties.load(inputStream); //load the traditional properties file
+										resourceBundle = new HashMapResourceBundle(properties, parent); //create a resource bundle with the given parent
+										break;
 									}
+									default:
+										throw new AssertionError("Unrecognized resource bundle format: " + resourceBundleFormat);
 								}
-							} catch(final URISyntaxException uriSyntaxException) { //if the resource URL wasn't strictly in compliance with URI syntax								
-								throw (MissingResourceException)new MissingResourceException(uriSyntaxException.getMessage(), baseName + Locales.LOCALE_SEPARATOR + locale, "")
-										.initCause(uriSyntaxException);
-							} catch(final IOException ioException) { //if there is an error loading the resource
-								throw (MissingResourceException)new MissingResourceException("I/O error in " + resourceURL + ": " + ioException.getMessage(),
-										baseName + Locales.LOCALE_SEPARATOR + locale, "").initCause(ioException);
+								return new CachedResourceBundle(resourceBundle, resourceURL, lastModified);
 							}
+						} catch(final URISyntaxException uriSyntaxException) { //if the resource URL wasn't strictly in compliance with URI syntax								
+							throw (MissingResourceException)new MissingResourceException(uriSyntaxException.getMessage(), baseName + Locales.LOCALE_SEPARATOR + locale, "")
+									.initCause(uriSyntaxException);
+						} catch(final IOException ioException) { //if there is an error loading the resource
+							throw (MissingResourceException)new MissingResourceException("I/O error in " + resourceURL + ": " + ioException.getMessage(),
+									baseName + Locales.LOCALE_SEPARATOR + locale, "").initCause(ioException);
 						}
 					}
 				}
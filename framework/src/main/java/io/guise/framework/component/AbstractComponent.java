@@ -34,6 +34,7 @@
 import com.globalmentor.net.MediaType;
 import com.globalmentor.util.*;
 
+import io.clogr.Clogr;
 import io.guise.framework.*;
 import io.guise.framework.component.effect.*;
 import io.guise.framework.component.layout.*;
@@ -1081,6 +1082,59 @@ public static List<Component> getDirtyComponents(final Component component, fina
 		return dirtyComponents;
 	}
 
+	/**
+	 * Retrieves all components that have views needing updated, using the dirty depicted objects registered with the platform rather than traversing the
+	 * component hierarchy. Only components within the hierarchy of the given component are returned, and a dirty component is not returned if it has a dirty
+	 * ancestor. The result is therefore the same as that of {@link #getDirtyComponents(Component)}, although not necessarily in the same order.
+	 * @param component The component that should be checked, along with its descendants, for out-of-date views.
+	 * @return The components with views needing to be updated.
+	 * @see Platform#getDirtyDepictedObjects()
+	 */
+	public static List<Component> getRegisteredDirtyComponents(final Component component) {
+		return getRegisteredDirtyComponents(component, false);
+	}
+
+	/**
+	 * Retrieves all components that have views needing updated, using the dirty depicted objects registered with the platform rather than traversing the
+	 * component hierarchy. Only components within the hierarchy of the given component are returned, and a dirty component is not returned if it has a dirty
+	 * ancestor. The result is therefore the same as that of {@link #getDirtyComponents(Component)}, although not necessarily in the same order.
+	 * <p>
+	 * If verification is requested, the result is checked against a full traversal of the component hierarchy, and any mismatch is logged as a warning. This is
+	 * as expensive as the traversal itself, and is meant for debugging. The registered dirty components are returned either way, so that verification does not
+	 * change the behavior being verified.
+	 * </p>
+	 * @param component The component that should be checked, along with its descendants, for out-of-date views.
+	 * @param verify Whether the registered dirty components should be checked against those found by traversing the component hierarchy.
+	 * @return The components with views needing to be updated.
+	 * @see Platform#getDirtyDepictedObjects()
+	 */
+	public static List<Component> getRegisteredDirtyComponents(final Component component, final boolean verify) {
+		final List<Component> dirtyComponents = new ArrayList<Component>();
+		for(final DepictedObject dirtyDepictedObject : component.getSession().getPlatform().getDirtyDepictedObjects()) {
+			if(dirtyDepictedObject instanceof Component) { //we're only interested in components
+				final Component dirtyComponent = (Component)dirtyDepictedObject;
+				Component ancestor = dirtyComponent;
+				while(ancestor != null && ancestor != component) { //make sure the component is in the hierarchy and no ancestor is dirty
+					ancestor = ancestor.getParent();
+					if(ancestor != null && !ancestor.getDepictor().isDepicted()) { //if an ancestor is dirty, it will be updated instead
+						ancestor = null;
+					}
+				}
+				if(ancestor == component) { //if we made it up to the given component
+					dirtyComponents.add(dirtyComponent);
+				}
+			}
+		}
+		if(verify) { //if we should verify the registry
+			final List<Component> traversedDirtyComponents = getDirtyComponents(component);
+			if(!new HashSet<Component>(traversedDirtyComponents).equals(new HashSet<Component>(dirtyComponents))) {
+				Clogr.getLogger(AbstractComponent.class).warn("Registered dirty components {} do not match dirty components {} found by traversal.", dirtyComponents,
+						traversedDirtyComponents);
+			}
+		}
+		return dirtyComponents;
+	}
+
 	/**
 	 * Changes the updated status of the views of an entire component descendant hierarchy.
 	 * @param component The component from which, along with its descendants, notifications should be retrieved.
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.component;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A single pass making sure that a theme has been applied to the components about to be depicted, such as during the depiction phase of one request. The theme
+ * of each component hierarchy is updated using {@link Component#updateTheme()}, so that any component overriding that method is updated as it would be
+ * otherwise; but a hierarchy is only updated once during the pass, even if it is requested again for the hierarchy itself or for one of its descendants.
+ * <p>
+ * A pass remembers which hierarchies it has updated, so it should only be used while the component hierarchy is not changing, such as after request events
+ * have been processed; a component added to an updated hierarchy later would not be noticed.
+ * </p>
+ * <p>
+ * This class is not thread-safe; a pass is meant to be used by a single thread, while the components are locked for depiction.
+ * </p>
+ * @author Garret Wilson
+ * @see Component#updateTheme()
+ */
+public class ThemeApplicationPass {
+
+	/** The components the hierarchies of which have been updated during this pass. */
+	private final Set<Component> updatedComponents = new HashSet<Component>();
+
+	/**
+	 * Makes sure a theme has been applied to each of the given components and to their descendants.
+	 * @param components The components the themes of which should be updated.
+	 * @throws IOException if there was an error loading or applying a theme.
+	 * @see #updateTheme(Component)
+	 */
+	public void updateThemes(final Iterable<? extends Component> components) throws IOException {
+		for(final Component component : components) {
+			updateTheme(component);
+		}
+	}
+
+	/**
+	 * Makes sure a theme has been applied to the given component and to its descendants by calling {@link Component#updateTheme()}, unless the component or one
+	 * of its ancestors has already been updated during this pass.
+	 * @param component The component the theme of which should be updated.
+	 * @throws IOException if there was an error loading or applying a theme.
+	 * @see Component#updateTheme()
+	 */
+	public void updateTheme(final Component component) throws IOException {
+		for(Component ancestor = component; ancestor != null; ancestor = ancestor.getParent()) { //see if this hierarchy was already updated as part of another
+			if(updatedComponents.contains(ancestor)) {
+				return;
+			}
+		}
+		component.updateTheme();
+		updatedComponents.add(component);
+	}
+
+}
@@ -63,13 +63,15 @@ protected DepictedCompositeComponentListener getDepictedCompositeComponentListen
 		return depictedCompositeComponentListener;
 	}
 
-	/** The listener that listens for the change of a child's property, such as a value model's value, and marks the view as dirty. */
+	/**
+	 * The listener that listens for the change of a child's property, such as a property of a value model's value, and marks the view as dirty. Only the value
+	 * property is marked as modified, so that the depiction of the value can be patched without replacing the entire depiction.
+	 */
 	protected final PropertyChangeListener childPropertyChangeListener = new PropertyChangeListener() { //TODO only create this if needed
 
 		@Override
 		public void propertyChange(final PropertyChangeEvent propertyChangeEvent) { //if a property changes
-			//TODO del Log.trace("hey, a value property", propertyChangeEvent.getPropertyName(), "just changed!");
-			setDepicted(false); //show that we need general updates TODO improve to only indicate that the relevant property, such as VALUE_PROPERTY, changed			
+			setPropertyModified(ValueModel.VALUE_PROPERTY, true); //only the depicted value is out of date
 		}
 
 	};
@@ -102,7 +104,7 @@ public void installed(final C component) {
 		if(component instanceof ValueModel) { //if the component holds a value, listen for the value's properties changing
 			final Object value = ((ValueModel<?>)component).getValue(); //get the current value
 			if(value instanceof PropertyBindable) { //if there is a value that supports bound properties
-				((PropertyBindable)value).addPropertyChangeListener(getDepictedPropertyChangeListener()); //listen for changes in the properties of the value
+				((PropertyBindable)value).addPropertyChangeListener(childPropertyChangeListener); //listen for changes in the properties of the value
 			}
 		}
 	}
@@ -129,7 +131,7 @@ public void uninstalled(final C component) {
 		if(component instanceof ValueModel) { //if the component holds a value, stop listening for the value's properties changing
 			final Object value = ((ValueModel<?>)component).getValue(); //get the current value
 			if(value instanceof PropertyBindable) { //if there is a value that supports bound properties
-				((PropertyBindable)value).removePropertyChangeListener(getDepictedPropertyChangeListener()); //stop listening for changes in the properties of the value
+				((PropertyBindable)value).removePropertyChangeListener(childPropertyChangeListener); //stop listening for changes in the properties of the value
 			}
 		}
 	}
@@ -261,7 +263,7 @@ protected void depictedObjectPropertyChange(final PropertyChangeEvent propertyCh
 		final Object source = propertyChangeEvent.getSource(); //get the source of the event
 		final String propertyName = propertyChangeEvent.getPropertyName(); //get the name of the changing property
 		final Object oldValue = propertyChangeEvent.getOldValue(); //get the old value
-		final Object newValue = propertyChangeEvent.getOldValue(); //get the new value
+		final Object newValue = propertyChangeEvent.getNewValue(); //get the new value
 		//Log.trace("property", propertyChangeEvent.getPropertyName(), "of source", source, "ID", source instanceof Component ? ((Component)source).getID() : "(non-component)", "change from", propertyChangeEvent.getOldValue(), "to", propertyChangeEvent.getNewValue());
 		if(source == depictedObject) { //if this property change was on the depicted object
 			if(source instanceof Container && Container.LAYOUT_PROPERTY.equals(propertyName)) { //if the source is a container and the container layout changed
@@ -292,14 +294,14 @@ protected class DepictedCompositeComponentListener implements CompositeComponent
 		@Override
 		public void childComponentAdded(final ComponentEvent childComponentEvent) {
 			if(childComponentEvent.getTarget() == getDepictedObject()) { //if the component as added as a direct child of this component
-				setDepicted(false); //show that we need general updates
+				setPropertyModified(GENERAL_PROPERTY, true); //adding a child is a structural change that can only be depicted by replacing the entire depiction
 			}
 		}
 
 		@Override
 		public void childComponentRemoved(final ComponentEvent childComponentEvent) {
 			if(childComponentEvent.getTarget() == getDepictedObject()) { //if the component as removed as a direct child of this component
-				setDepicted(false); //show that we need general updates
+				setPropertyModified(GENERAL_PROPERTY, true); //removing a child is a structural change that can only be depicted by replacing the entire depiction
 			}
 		}
 
@@ -89,7 +89,7 @@ protected Set<String> getModifiedProperties() {
 	protected void setPropertyModified(final String property, final boolean modified) {
 		if(modified) { //if the property is modified
 			modifiedProperties.add(property); //add this property to the list of modified properties
-			depicted = false; //note that the depiction is not updated
+			setUndepicted(); //note that the depiction is not updated
 		} else { //if the property is not modified
 			if(modifiedProperties.remove(property)) { //remove the property from the set of modified properties; if the property was in the set
 				if(modifiedProperties.isEmpty()) { //if there are no modified properties
@@ -130,7 +130,23 @@ public void setDepicted(final boolean newDepicted) {
 		} else { //if the depiction is being marked as not updated
 			modifiedProperties.add(GENERAL_PROPERTY); //add the general property to the list of modified properties				
 		}
-		depicted = newDepicted; //update the depicted status
+		if(newDepicted) {
+			depicted = true; //update the depicted status
+		} else {
+			setUndepicted(); //update the depicted status
+		}
+	}
+
+	/**
+	 * Marks the depiction as not up to date and registers the depicted object, if any, with the platform as dirty.
+	 * @see Platform#registerDirtyDepictedObject(DepictedObject)
+	 */
+	private void setUndepicted() {
+		depicted = false; //mark the depiction as dirty before registering it, so that the platform will not discard the registration
+		final O depictedObject = this.depictedObject; //get a local reference to the depicted object, which could be uninstalled at any time
+		if(depictedObject != null) {
+			getPlatform().registerDirtyDepictedObject(depictedObject);
+		}
 	}
 
 	/** Default constructor. */
@@ -156,6 +172,9 @@ public void installed(final O depictedObject) {
 			throw new IllegalStateException("Depictor is already installed in a depicted object.");
 		}
 		this.depictedObject = depictedObject; //change depicted objects
+		if(!depicted) { //if the depicted object hasn't yet been depicted, let the platform know it needs to be
+			getPlatform().registerDirtyDepictedObject(depictedObject);
+		}
 		if(depictedObject instanceof PropertyBindable) { //if the depicted object allows bound properties
 			((PropertyBindable)depictedObject).addPropertyChangeListener(getDepictedPropertyChangeListener()); //listen for property changes
 		}
@@ -241,7 +260,7 @@ public void propertyChange(final PropertyChangeEvent propertyChangeEvent) {
 
 		@Override
 		public void listModified(final ListEvent<Object> listEvent) {
-			setDepicted(false); //show that we need general updates			
+			setPropertyModified(GENERAL_PROPERTY, true); //a change to the list contents is a structural change
 		}
 
 	};
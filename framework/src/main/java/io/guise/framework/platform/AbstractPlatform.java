@@ -23,13 +23,12 @@
 
 import static java.util.Objects.*;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.*;
+import java.util.function.Supplier;
 
-import static com.globalmentor.java.Classes.*;
+import static java.lang.invoke.MethodType.*;
 
-import com.globalmentor.collections.DecoratorReadWriteLockMap;
-import com.globalmentor.collections.PurgeOnWriteWeakValueHashMap;
-import com.globalmentor.collections.ReadWriteLockMap;
+import static com.globalmentor.java.Classes.*;
 
 import io.guise.framework.GuiseApplication;
 
@@ -47,12 +46,17 @@ public GuiseApplication getApplication() {
 		return application;
 	}
 
-	/** The lock used for exclusive depiction on the platform. */
-	private Lock depictLock = new ReentrantLock();
+	/** The read/write lock providing exclusive depiction and shared read-only access on the platform. */
+	private final ReadWriteLock depictReadWriteLock = new ReentrantReadWriteLock();
 
 	@Override
 	public Lock getDepictLock() {
-		return depictLock;
+		return depictReadWriteLock.writeLock();
+	}
+
+	@Override
+	public Lock getDepictReadLock() {
+		return depictReadWriteLock.readLock();
 	}
 
 	/** The map of depictors for depicted object types. */
@@ -69,7 +73,10 @@ public Lock getDepictLock() {
 	//it would be nice to guarantee Class<? extends Depictor<? super O>> access here, but Java classes do not support more than one level of generics
 	protected <O extends DepictedObject> Class<? extends Depictor<? super O>> registerDepictorClass(final Class<O> depictedObjectClass,
 			final Class<?> depictorClass) {
-		return (Class<? extends Depictor<? super O>>)depictorMap.put(depictedObjectClass, (Class<? extends Depictor<?>>)depictorClass); //register the depictor and return the old registration, if any
+		final Class<? extends Depictor<? super O>> oldDepictorClass = (Class<? extends Depictor<? super O>>)depictorMap.put(depictedObjectClass,
+				(Class<? extends Depictor<?>>)depictorClass); //register the depictor
+		depictorFactoryMap.clear(); //the registration may change the depictor resolved for any depicted object class
+		return oldDepictorClass; //return the old registration, if any
 	}
 
 	/**
@@ -102,45 +109,111 @@ protected <O extends DepictedObject> Class<? extends Depictor<? super O>> getDep
 		return null;
 	}
 
+	/**
+	 * The thread-safe map of factories creating depictors, keyed to the concrete depicted object classes for which they were resolved. The map is cleared
+	 * whenever a depictor class is registered.
+	 */
+	private final Map<Class<? extends DepictedObject>, Supplier<Depictor<?>>> depictorFactoryMap = new ConcurrentHashMap<Class<? extends DepictedObject>, Supplier<Depictor<?>>>();
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation resolves the depictor class for each concrete depicted object class only once, and creates depictors through a pre-bound constructor
+	 * method handle rather than reflective instantiation. Depicted object classes for which no depictor is registered are resolved each time.
+	 * </p>
+	 */
 	@SuppressWarnings("unchecked")
 	@Override
-	//casting is needed because Object.getClass() doesn't return a class for THIS type
+	//casting is needed because Object.getClass() doesn't return a class for THIS type, and because the factory map guarantees the depictor type
 	public <O extends DepictedObject> Depictor<? super O> getDepictor(final O depictedObject) {
 		final Class<O> depictedObjectClass = (Class<O>)depictedObject.getClass(); //get the depicted object class
-		final Class<? extends Depictor<? super O>> depictorClass = getDepictorClass(depictedObjectClass); //walk the hierarchy to see if there is a depictor class registered for this component type
-		if(depictorClass != null) { //if we found a depictor class
-			try {
-				return depictorClass.getDeclaredConstructor().newInstance(); //return a new instance of the class
-			} catch(final InstantiationException instantiationException) {
-				throw new IllegalStateException(instantiationException);
-			} catch(final IllegalAccessException illegalAccessException) {
-				throw new IllegalStateException(illegalAccessException);
-			} catch(final NoSuchMethodException noSuchMethodException) {
-				throw new IllegalStateException(noSuchMethodException);
-			} catch(final InvocationTargetException invocationTargetException) {
-				throw new IllegalStateException(invocationTargetException);
+		Supplier<Depictor<?>> depictorFactory = depictorFactoryMap.get(depictedObjectClass); //see if we've already resolved a depictor for this class
+		if(depictorFactory == null) { //if we haven't resolved a depictor yet (the race condition here is benign and not worth the synchronization overhead)
+			final Class<? extends Depictor<? super O>> depictorClass = getDepictorClass(depictedObjectClass); //walk the hierarchy to see if there is a depictor class registered for this component type
+			if(depictorClass == null) { //if there is no depictor class
+				return null; //show that we could not find a registered depictor
 			}
+			depictorFactory = createDepictorFactory(depictorClass);
+			depictorFactoryMap.put(depictedObjectClass, depictorFactory);
 		}
-		return null; //show that we could not find a registered depictor
+		return (Depictor<? super O>)depictorFactory.get(); //create a new depictor
 	}
 
-	/** The weakly-referenced thread-safe map of depicted objects, keyed to their IDs. */
-	private final ReadWriteLockMap<Long, DepictedObject> idDepictedObjectMap = new DecoratorReadWriteLockMap<Long, DepictedObject>(
-			new PurgeOnWriteWeakValueHashMap<Long, DepictedObject>());
+	/**
+	 * Creates a factory that creates new instances of the given depictor class using its default constructor.
+	 * @param depictorClass The class of depictor to create.
+	 * @return A factory for creating depictors of the given class.
+	 * @throws IllegalStateException if the depictor class has no accessible default constructor.
+	 */
+	protected static Supplier<Depictor<?>> createDepictorFactory(final Class<? extends Depictor<?>> depictorClass) {
+		final MethodHandle constructorHandle;
+		try {
+			constructorHandle = MethodHandles.lookup().unreflectConstructor(depictorClass.getDeclaredConstructor()).asType(methodType(Depictor.class)); //bind the default constructor
+		} catch(final IllegalAccessException illegalAccessException) {
+			throw new IllegalStateException(illegalAccessException);
+		} catch(final NoSuchMethodException noSuchMethodException) {
+			throw new IllegalStateException(noSuchMethodException);
+		}
+		return () -> {
+			try {
+				return (Depictor<?>)constructorHandle.invokeExact(); //return a new instance of the class
+			} catch(final RuntimeException | Error unchecked) {
+				throw unchecked;
+			} catch(final Throwable throwable) {
+				throw new IllegalStateException(throwable);
+			}
+		};
+	}
+
+	/** The weakly-referenced thread-safe registry of depicted objects, keyed to their IDs. */
+	private final DepictedObjectRegistry depictedObjectRegistry = new DepictedObjectRegistry();
+
+	/**
+	 * Returns the registry of depicted objects on this platform, which reports how many depicted objects are registered and how many have been collected.
+	 * @return The weakly-referenced thread-safe registry of depicted objects, keyed to their IDs.
+	 */
+	public DepictedObjectRegistry getDepictedObjectRegistry() {
+		return depictedObjectRegistry;
+	}
 
 	@Override
 	public void registerDepictedObject(final DepictedObject depictedObject) {
-		idDepictedObjectMap.put(Long.valueOf(requireNonNull(depictedObject, "Depicted object cannot be null.").getDepictID()), depictedObject);
+		depictedObjectRegistry.register(depictedObject);
 	}
 
 	@Override
 	public void unregisterDepictedObject(final DepictedObject depictedObject) {
-		idDepictedObjectMap.remove(Long.valueOf(requireNonNull(depictedObject, "Depicted object cannot be null.").getDepictID()));
+		depictedObjectRegistry.unregister(requireNonNull(depictedObject, "Depicted object cannot be null.").getDepictID());
+	}
+
+	/** The weakly-referenced thread-safe set of depicted objects the depictions of which may not be up to date. */
+	private final Set<DepictedObject> dirtyDepictedObjects = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<DepictedObject, Boolean>()));
+
+	@Override
+	public void registerDirtyDepictedObject(final DepictedObject depictedObject) {
+		dirtyDepictedObjects.add(requireNonNull(depictedObject, "Depicted object cannot be null."));
+	}
+
+	@Override
+	public Collection<DepictedObject> getDirtyDepictedObjects() {
+		synchronized(dirtyDepictedObjects) { //iteration over a synchronized set must be synchronized
+			final List<DepictedObject> currentDirtyDepictedObjects = new ArrayList<DepictedObject>(dirtyDepictedObjects.size());
+			final Iterator<DepictedObject> dirtyDepictedObjectIterator = dirtyDepictedObjects.iterator();
+			while(dirtyDepictedObjectIterator.hasNext()) {
+				final DepictedObject dirtyDepictedObject = dirtyDepictedObjectIterator.next();
+				if(dirtyDepictedObject.getDepictor().isDepicted()) { //if the object has been depicted since it was registered, forget about it
+					dirtyDepictedObjectIterator.remove();
+				} else {
+					currentDirtyDepictedObjects.add(dirtyDepictedObject);
+				}
+			}
+			return currentDirtyDepictedObjects;
+		}
 	}
 
 	@Override
 	public DepictedObject getDepictedObject(final long depictedObjectID) {
-		return idDepictedObjectMap.get(Long.valueOf(depictedObjectID)); //return the depicted object, if any, with the given ID
+		return depictedObjectRegistry.get(depictedObjectID); //return the depicted object, if any, with the given ID
 	}
 
 	/** The variable used to generate unique depict IDs. */
@@ -16,11 +16,14 @@
 
 package io.guise.framework.platform;
 
-import java.io.IOException;
+import java.io.*;
+import java.util.function.UnaryOperator;
 
 import io.guise.framework.Destination;
 import io.guise.framework.GuiseSession;
 
+import static java.util.Objects.*;
+
 import static com.globalmentor.java.Characters.*;
 import static com.globalmentor.java.StringBuilders.*;
 
@@ -38,16 +41,196 @@ public StringBuilder getDepictStringBuilder() {
 		return depictStringBuilder;
 	}
 
+	/** The default number of committed characters to collect before writing them to the output. */
+	public static final int DEFAULT_DEPICT_TEXT_FLUSH_THRESHOLD = 64 * 1024;
+
+	/** The size of the buffer used for copying collected characters to the output. */
+	private static final int DEPICT_TEXT_WRITE_BUFFER_SIZE = 8 * 1024;
+
+	/** The number of committed characters to collect before writing them to the output. */
+	private int depictTextFlushThreshold = DEFAULT_DEPICT_TEXT_FLUSH_THRESHOLD;
+
+	/** @return The number of committed characters to collect before writing them to the output. */
+	public int getDepictTextFlushThreshold() {
+		return depictTextFlushThreshold;
+	}
+
+	/**
+	 * Sets the number of committed characters to collect before writing them to the output.
+	 * @param depictTextFlushThreshold The number of characters to collect before writing them to the output.
+	 * @throws IllegalArgumentException if the given threshold is not positive.
+	 */
+	public void setDepictTextFlushThreshold(final int depictTextFlushThreshold) {
+		if(depictTextFlushThreshold <= 0) {
+			throw new IllegalArgumentException("Depict text flush threshold must be positive: " + depictTextFlushThreshold);
+		}
+		this.depictTextFlushThreshold = depictTextFlushThreshold;
+	}
+
+	/** Whether the depiction text has been committed. */
+	private boolean depictTextCommitted = false;
+
+	@Override
+	public boolean isDepictTextCommitted() {
+		return depictTextCommitted;
+	}
+
+	/** Whether an attempt has been made to open the depiction writer. */
+	private boolean depictWriterOpened = false;
+
+	/** The writer to the output, or <code>null</code> if there is no output or the writer has not yet been opened. */
+	private Writer depictWriter = null;
+
+	/** Whether some of the collected text has been written to the output. */
+	private boolean depictTextWritten = false;
+
+	/** The number of times collected text has been written to the output and removed from the string builder. */
+	private int depictTextFlushCount = 0;
+
+	/** @return The number of times collected text has been written to the output and removed from the string builder. */
+	protected int getDepictTextFlushCount() {
+		return depictTextFlushCount;
+	}
+
+	/** The encoding applied to collected text as it is written to the output, or <code>null</code> if collected text is written unchanged. */
+	private UnaryOperator<String> depictTextOutputEncoding = null;
+
+	/** The index in the string builder of the first collected character to which the output encoding applies. */
+	private int depictTextOutputEncodingBeginIndex = 0;
+
+	/**
+	 * Begins encoding the text collected from this point on as it is written to the output, such as when the depiction is to be embedded as a string in another
+	 * format. The collected text itself remains unencoded, so that it can still be examined and fingerprinted, and committed text can still be written to the
+	 * output as it is collected.
+	 * @param encoding The encoding to apply to collected text as it is written to the output; it must be able to encode the text in arbitrary pieces.
+	 * @throws NullPointerException if the given encoding is <code>null</code>.
+	 * @throws IllegalStateException if an output encoding is already in effect.
+	 * @see #endDepictTextOutputEncoding()
+	 */
+	public void beginDepictTextOutputEncoding(final UnaryOperator<String> encoding) {
+		if(depictTextOutputEncoding != null) {
+			throw new IllegalStateException("Depict text output encoding already in progress.");
+		}
+		depictTextOutputEncoding = requireNonNull(encoding, "Encoding cannot be null.");
+		depictTextOutputEncodingBeginIndex = depictStringBuilder.length();
+	}
+
+	/**
+	 * Ends the output encoding begun with {@link #beginDepictTextOutputEncoding(UnaryOperator)}. Any text collected since then that has not yet been written is
+	 * replaced in the string builder by its encoded form, so that text collected afterwards is written unchanged.
+	 * @throws IllegalStateException if no output encoding is in effect.
+	 */
+	public void endDepictTextOutputEncoding() {
+		if(depictTextOutputEncoding == null) {
+			throw new IllegalStateException("No depict text output encoding in progress.");
+		}
+		final int beginIndex = Math.min(depictTextOutputEncodingBeginIndex, depictStringBuilder.length());
+		depictStringBuilder.replace(beginIndex, depictStringBuilder.length(), depictTextOutputEncoding.apply(depictStringBuilder.substring(beginIndex)));
+		depictTextOutputEncoding = null;
+	}
+
 	@Override
 	public void clearDepictText() {
+		if(depictTextCommitted) { //if we've committed the text, some of it might already have been sent
+			throw new IllegalStateException("Committed depiction text cannot be cleared.");
+		}
 		clear(depictStringBuilder); //clear the string builder
 	}
 
 	@Override
 	public String getDepictText() {
+		if(depictTextWritten) { //if we no longer have all the text
+			throw new IllegalStateException("Depiction text has already been written to the output.");
+		}
 		return depictStringBuilder.toString(); //return a string version of the text collected so far
 	}
 
+	@Override
+	public void commitDepictText() throws IOException {
+		depictTextCommitted = true;
+		checkDepictTextFlushThreshold(); //we may already have collected enough text to send
+	}
+
+	/**
+	 * Opens a writer to the output for writing committed depiction text. This method is called at most once, the first time committed text is to be written.
+	 * <p>
+	 * This version returns <code>null</code>, indicating that there is no output and that all text should be kept in memory.
+	 * </p>
+	 * @return A writer to the output, or <code>null</code> if committed text should not be written.
+	 * @throws IOException if there is an error opening the output.
+	 */
+	protected Writer openDepictWriter() throws IOException {
+		return null;
+	}
+
+	/**
+	 * Determines whether committed text will be written to the output when flushed, rather than kept in memory. The output is opened if this has not yet been
+	 * attempted.
+	 * @return <code>true</code> if the depiction text has been committed and there is an output to which it can be written.
+	 * @throws IOException if there is an error opening the output.
+	 * @see #openDepictWriter()
+	 */
+	protected boolean isDepictTextWritable() throws IOException {
+		if(!depictTextCommitted) { //never open the output before the text is committed
+			return false;
+		}
+		if(!depictWriterOpened) { //open the writer lazily, so that nothing is sent for small depictions until they are finished
+			depictWriter = openDepictWriter();
+			depictWriterOpened = true;
+		}
+		return depictWriter != null;
+	}
+
+	/**
+	 * Writes committed text collected in the root string builder to the output if at least {@link #getDepictTextFlushThreshold()} characters have been
+	 * collected. Text is only ever written from the root string builder, which always contains text that precedes any text still being collected for unfinished
+	 * content. If the depiction text has not been committed, no action occurs.
+	 * @throws IOException if there is an error writing to the output.
+	 */
+	protected void checkDepictTextFlushThreshold() throws IOException {
+		if(depictTextCommitted && depictStringBuilder.length() >= getDepictTextFlushThreshold()) {
+			flushDepictText();
+		}
+	}
+
+	/**
+	 * Writes all committed text collected in the root string builder to the output, if there is an output, and removes it from the string builder.
+	 * @throws IllegalStateException if the depiction text has not been committed.
+	 * @throws IOException if there is an error writing to the output.
+	 */
+	protected void flushDepictText() throws IOException {
+		if(!depictTextCommitted) {
+			throw new IllegalStateException("Depiction text has not been committed.");
+		}
+		final int length = depictStringBuilder.length();
+		if(isDepictTextWritable() && length > 0) { //if we have somewhere to write text, and text to write
+			final int encodingBeginIndex = depictTextOutputEncoding != null ? Math.min(depictTextOutputEncodingBeginIndex, length) : length; //only text collected since the encoding began is encoded
+			if(encodingBeginIndex > 0) {
+				final char[] buffer = new char[Math.min(encodingBeginIndex, DEPICT_TEXT_WRITE_BUFFER_SIZE)]; //copy the characters in chunks rather than creating a string of the entire content
+				for(int start = 0; start < encodingBeginIndex; start += buffer.length) {
+					final int end = Math.min(start + buffer.length, encodingBeginIndex);
+					depictStringBuilder.getChars(start, end, buffer, 0);
+					depictWriter.write(buffer, 0, end - start);
+				}
+			}
+			if(encodingBeginIndex < length) {
+				depictWriter.write(depictTextOutputEncoding.apply(depictStringBuilder.substring(encodingBeginIndex)));
+			}
+			clear(depictStringBuilder); //the text has been sent
+			depictTextOutputEncodingBeginIndex = 0; //any text collected from now on is collected after the encoding began
+			depictTextWritten = true;
+			++depictTextFlushCount;
+		}
+	}
+
+	@Override
+	public void closeDepictText() throws IOException {
+		flushDepictText(); //write whatever remains
+		if(depictWriter != null) {
+			depictWriter.close(); //close the writer, finishing writing any compressed contents
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -101,6 +284,7 @@ public AbstractTextDepictContext(final GuiseSession session, final Destination d
 	@Override
 	public void writeLiteral(final String text) throws IOException {
 		getDepictStringBuilder().append(text); //append the text directly to the string builder
+		checkDepictTextFlushThreshold(); //send the text if we've collected enough
 	}
 
 	@Override
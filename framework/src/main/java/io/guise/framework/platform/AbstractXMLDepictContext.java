@@ -18,9 +18,13 @@
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.*;
+import java.nio.charset.*;
 import java.security.*;
 import java.util.*;
+import java.util.function.UnaryOperator;
 
+import static java.nio.charset.StandardCharsets.*;
 import static java.util.Objects.*;
 
 import com.globalmentor.java.Strings;
@@ -45,16 +49,82 @@
  */
 public abstract class AbstractXMLDepictContext extends AbstractTextDepictContext implements XMLDepictContext {
 
+	/** The name of the default algorithm for generating hash attributes. */
+	public static final String DEFAULT_HASH_ALGORITHM = "SHA-1";
+
 	/** The message digest for creating hashes on the platform. */
-	private final MessageDigest messageDigest;
+	private MessageDigest messageDigest;
 
 	/** @return The message digest for creating hashes on the platform. */
 	protected MessageDigest getMessageDigest() {
 		return messageDigest;
 	}
 
+	/**
+	 * Sets the message digest for creating hashes on the platform.
+	 * @param messageDigest The message digest for creating hashes of element attributes and content.
+	 * @throws NullPointerException if the given message digest is <code>null</code>.
+	 */
+	protected void setMessageDigest(final MessageDigest messageDigest) {
+		this.messageDigest = requireNonNull(messageDigest, "Message digest cannot be null.");
+	}
+
+	/**
+	 * Sets the algorithm used for generating hash attributes. The hashes are only used for detecting changes in attributes and content, so a fast
+	 * non-cryptographic algorithm such as {@value FNV1a64MessageDigest#ALGORITHM} is appropriate.
+	 * @param algorithm The name of the hash algorithm.
+	 * @throws NullPointerException if the given algorithm is <code>null</code>.
+	 * @throws NoSuchAlgorithmException if the given algorithm is not supported.
+	 * @see #newHashMessageDigest(String)
+	 */
+	public void setHashAlgorithm(final String algorithm) throws NoSuchAlgorithmException {
+		setMessageDigest(newHashMessageDigest(algorithm));
+	}
+
+	/**
+	 * Creates a message digest for generating hash attributes.
+	 * @param algorithm The name of the hash algorithm: either {@value FNV1a64MessageDigest#ALGORITHM} or the name of an algorithm supported by
+	 *          {@link MessageDigest#getInstance(String)}, such as "SHA-1" or "MD5".
+	 * @return A new message digest for the given algorithm.
+	 * @throws NullPointerException if the given algorithm is <code>null</code>.
+	 * @throws NoSuchAlgorithmException if the given algorithm is not supported.
+	 */
+	public static MessageDigest newHashMessageDigest(final String algorithm) throws NoSuchAlgorithmException {
+		if(FNV1a64MessageDigest.ALGORITHM.equalsIgnoreCase(requireNonNull(algorithm, "Hash algorithm cannot be null."))) {
+			return new FNV1a64MessageDigest();
+		}
+		return MessageDigest.getInstance(algorithm);
+	}
+
 	/** The stack of elements states. */
-	private final LinkedList<ElementState> elementStateStack = new LinkedList<ElementState>();
+	private final LinkedList<DepictElementState> elementStateStack = new LinkedList<DepictElementState>();
+
+	/**
+	 * The states of the elements, in the order begun, whose start tags have not yet been placed in the string builder. All element content is collected in a
+	 * single string builder; the start tag of each element is only serialized when the element ends, and is placed in the string builder when the outermost open
+	 * element ends. This list is empty whenever there are no open elements other than those already streamed.
+	 */
+	private final ArrayList<DepictElementState> startTagElementStates = new ArrayList<DepictElementState>();
+
+	/**
+	 * The number of open elements, at the bottom of the element state stack, the start tags of which have already been placed and sent to the output before the
+	 * elements ended. Elements still open when the text reaches the flush threshold are streamed, so that a large depiction is not kept in memory until its
+	 * outermost element ends.
+	 */
+	private int streamedElementCount = 0;
+
+	/** The string builder used for serializing start tags. */
+	private final StringBuilder startTagStringBuilder = new StringBuilder();
+
+	/** The size of the buffer used for encoding content to be hashed. */
+	private static final int DIGEST_BYTE_BUFFER_SIZE = 4 * 1024;
+
+	/** The encoder for converting content to UTF-8 for hashing, without first creating a string of the content. */
+	private final CharsetEncoder digestEncoder = UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+	/** The buffer for content encoded for hashing. */
+	private final ByteBuffer digestByteBuffer = ByteBuffer.allocate(DIGEST_BYTE_BUFFER_SIZE);
 
 	/** The manager of prefixes paired with XML namespaces. */
 	private final XMLNamespacePrefixManager xmlNamespacePrefixManager;
@@ -101,19 +171,82 @@ public AbstractXMLDepictContext(final GuiseSession session, final Destination de
 
 	@Override
 	public void clearDepictText() {
-		elementStateStack.clear(); //clear the element states
 		super.clearDepictText(); //do the default clearing, which will clear the root string buffer
+		recordingValid = false; //any depiction being recorded is no longer available
+		elementStateStack.clear(); //clear the element states
+		startTagElementStates.clear(); //there are no start tags left to place
+		streamedElementCount = 0;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 * <p>
-	 * This version returns the string builder of the current element state, if there is an element state available.
+	 * This version does not include the content of any elements that have not yet ended.
 	 * </p>
 	 */
 	@Override
-	public StringBuilder getDepictStringBuilder() {
-		return hasElementState() ? getElementState().getDepictStringBuilder() : super.getDepictStringBuilder(); //if there is an element state, return its string builder; otherwise, return the default string builder
+	public String getDepictText() {
+		final String depictText = super.getDepictText();
+		return hasElementState() ? depictText.substring(0, elementStateStack.getFirst().getContentBeginIndex()) : depictText; //leave out unfinished elements
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version discards the content of any elements that have not yet ended, unless their start tags have already been sent.
+	 * </p>
+	 */
+	@Override
+	public void closeDepictText() throws IOException {
+		if(hasElementState()) { //if there are unfinished elements, their start tags are unknown
+			if(elementStateStack.size() > streamedElementCount) {
+				getDepictStringBuilder().setLength(elementStateStack.get(streamedElementCount).getContentBeginIndex()); //remove the unfinished content
+			}
+			elementStateStack.clear();
+			startTagElementStates.clear();
+			streamedElementCount = 0;
+		}
+		super.closeDepictText();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If there are open elements, the start tag of an element is normally not known until the element ends. Once the threshold is reached, this version sends
+	 * the open elements as well, with start tags that have no content hash.
+	 * </p>
+	 * @see #streamDepictText()
+	 */
+	@Override
+	protected void checkDepictTextFlushThreshold() throws IOException {
+		if(!hasElementState()) {
+			super.checkDepictTextFlushThreshold();
+		} else if(getDepictStringBuilder().length() >= getDepictTextFlushThreshold() && isDepictTextWritable()) { //only stream if the text will actually be sent
+			streamDepictText();
+		}
+	}
+
+	/**
+	 * Sends all the text collected so far to the output, even though some elements are still open. The start tags of the open elements that have not yet been
+	 * streamed are serialized with their attributes, but without a content hash, as their content is not yet known; and all start tags are placed before the
+	 * text is flushed. Attributes can no longer be added to the streamed elements, and when they end only their end tags are written.
+	 * @throws IOException if there is an error writing to the output.
+	 */
+	private void streamDepictText() throws IOException {
+		final ListIterator<DepictElementState> elementStateIterator = elementStateStack.listIterator(streamedElementCount);
+		while(elementStateIterator.hasNext()) { //for each open element not yet streamed
+			final DepictElementState elementState = elementStateIterator.next();
+			elementState.startTag = serializeStartTag(elementState, false, false); //the element is open, so its content can't be empty or hashed
+			elementState.streamed = true;
+		}
+		streamedElementCount = elementStateStack.size();
+		placeStartTags();
+		final int length = getDepictStringBuilder().length();
+		for(final DepictElementState elementState : elementStateStack) { //all the text after the start tag of each open element is part of its content
+			elementState.flushedContentLength += length - elementState.getContentBeginIndex();
+			elementState.contentBeginIndex = 0; //further content will begin at the start of the emptied string builder
+		}
+		flushDepictText();
 	}
 
 	/**
@@ -141,24 +274,59 @@ protected String encode(final String string) { //TODO check somewhere for invali
 	 * Starts a new element by pushing the given element state onto the stack.
 	 * @param elementState The state of the element to begin.
 	 */
-	private void pushElementState(final ElementState elementState) {
+	private void pushElementState(final DepictElementState elementState) {
+		elementState.startTagIndex = startTagElementStates.size(); //the start tag will be placed after those of all elements begun so far
+		startTagElementStates.add(elementState);
 		elementStateStack.addLast(elementState); //push the element state onto the top of the stack		
 	}
 
 	/**
-	 * Ends an element by popping the element state from the stack. The serialization of the element is added to the next string builder.
+	 * Ends an element by popping the element state from the stack. The element content is left in place in the string builder; the start tag of the element is
+	 * serialized and recorded to be placed before the content, and the end tag, if any, is appended to the string builder. When the outermost open element ends
+	 * that has not been streamed, all the recorded start tags are placed in the string builder. If the element has been streamed, its start tag has already
+	 * been sent, and only its end tag is appended.
 	 * @return The state of the element that has ended.
 	 * @throws NoSuchElementException if the element state stack is empty.
 	 */
-	private ElementState popElementState() {
-		final ElementState elementState = elementStateStack.removeLast(); //remove the top element state from the stack, as we finished the element
+	private DepictElementState popElementState() {
+		final DepictElementState elementState = elementStateStack.removeLast(); //remove the top element state from the stack, as we finished the element
 		elementState.open = false; //show that this element is no longer open TODO maybe remove this entire facility, because no views seem to close the elements early in order to write other content
-		final boolean generateHashAttributes = isHashAttributesGenerated(); //see if we should generate hash attributes
 		final String qname = elementState.getElementName().getQualifiedName(); //get the element qname in prefix:localName form
-		final String elementContent = elementState.getDepictStringBuilder().toString(); //get the content of the element
-		final StringBuilder stringBuilder = getDepictStringBuilder(); //get the remaining string builder, which is either the string builder from the next open element or the root string builder
+		final StringBuilder depictStringBuilder = getDepictStringBuilder(); //get the string builder holding the content of all elements
+		if(elementState.streamed) { //if the start tag has already been sent, only the end tag remains
+			--streamedElementCount;
+			appendEndTag(depictStringBuilder, qname);
+			return elementState;
+		}
+		//the element is empty if no content was added and no child elements were begun
+		final boolean isContentEmpty = depictStringBuilder.length() == elementState.getContentBeginIndex()
+				&& elementState.startTagIndex == startTagElementStates.size() - 1;
+		elementState.contentEndIndex = depictStringBuilder.length();
+		elementState.nextStartTagIndex = startTagElementStates.size(); //all descendants have already begun
+		final boolean isEmptyElement = isContentEmpty && elementState.isEmptyElementAllowed(); //see if there is no content and we're allowed to make an empty element
+		elementState.startTag = serializeStartTag(elementState, !isContentEmpty, isEmptyElement); //record the start tag to be placed before the content
+		if(!isEmptyElement) { //if the element is not empty, or we're not allowed to create an empty element serialization
+			appendEndTag(depictStringBuilder, qname);
+		}
+		if(elementStateStack.size() == streamedElementCount) { //if this was the outermost element not yet streamed, place all the start tags
+			placeStartTags();
+		}
+		return elementState; //return the element state
+	}
+
+	/**
+	 * Serializes the start tag of an element, including its attributes and, if hash attributes are generated, the attribute hash and content hash.
+	 * @param elementState The state of the element.
+	 * @param isContentHashed Whether the element content is known and not empty, so that a content hash should be generated if hashes are being generated.
+	 * @param isEmptyElement Whether an empty element serialization should be created.
+	 * @return The serialized start tag, or the serialization of the entire element if an empty element was requested.
+	 */
+	private String serializeStartTag(final DepictElementState elementState, final boolean isContentHashed, final boolean isEmptyElement) {
+		final boolean generateHashAttributes = isHashAttributesGenerated(); //see if we should generate hash attributes
+		final StringBuilder stringBuilder = startTagStringBuilder; //serialize the start tag separately
+		stringBuilder.setLength(0);
 		stringBuilder.append(TAG_START); //<
-		stringBuilder.append(qname); //prefix:localName
+		stringBuilder.append(elementState.getElementName().getQualifiedName()); //prefix:localName
 		final NsQualifiedName guiseAttributeHashQualifiedName = getAttributeHashAttributeQualifiedName(); //determine the qualified name to be used for the attribute hash attribute
 		final NsQualifiedName guiseContentHashQualifiedName = getContentHashAttributeQualifiedName(); //determine the qualified name to be used for the content hash attribute
 		final MessageDigest messageDigest = getMessageDigest(); //get the message digest
@@ -183,26 +351,463 @@ private ElementState popElementState() {
 					appendAttribute(stringBuilder, guiseAttributeHashQualifiedName, Base64.getEncoder().withoutPadding().encodeToString(digestBytes)); //guise:contentHash="base64Hex"
 				}
 			}
-			if(generateHashAttributes && elementContent.length() > 0) { //if there is content and we're generating hashes, add a guise:contentHash attribute
+			if(generateHashAttributes && isContentHashed) { //if there is content and we're generating hashes, add a guise:contentHash attribute
 				messageDigest.reset(); //reset the message digest so that we can use it for hashing the content
-				final byte[] digestBytes = digest(messageDigest, elementContent); //create a digest of the element content
+				updateDigestContent(messageDigest, elementState); //hash the element's own content and the start tags of its children
+				final byte[] digestBytes = messageDigest.digest(); //create a digest of the element content
 				stringBuilder.append(' '); //separate attributes
 				appendAttribute(stringBuilder, guiseContentHashQualifiedName, Base64.getEncoder().withoutPadding().encodeToString(digestBytes)); //guise:contentHash="base64Hex"
 			}
 		} catch(final IOException ioException) { //we don't expect I/O exceptions appending to a string builder
 			throw unexpected(ioException);
 		}
-		if(elementContent.length() == 0 && elementState.isEmptyElementAllowed()) { //if there is no content and we're allowed to make an empty element
+		if(isEmptyElement) { //if we should create an empty element
 			stringBuilder.append(END_TAG_IDENTIFIER_CHAR); //write the ending tag identifier
-		} else { //if the element is not empty, or we're not allowed to create an empty element serialization
-			stringBuilder.append(TAG_END); //>
-			stringBuilder.append(elementContent); //append the content collected for this element, if any
-			stringBuilder.append(TAG_START); //<
-			stringBuilder.append(END_TAG_IDENTIFIER_CHAR); //write the ending tag identifier
-			stringBuilder.append(qname); //prefix:localName		
 		}
 		stringBuilder.append(TAG_END); //>
-		return elementState; //return the element state
+		return stringBuilder.toString();
+	}
+
+	/**
+	 * Appends the end tag of an element to the given string builder.
+	 * @param stringBuilder The string builder to which the end tag should be appended.
+	 * @param qname The combined <var>prefix</var>:<var>localName</var> qualified name of the element.
+	 */
+	private static void appendEndTag(final StringBuilder stringBuilder, final String qname) {
+		stringBuilder.append(TAG_START); //<
+		stringBuilder.append(END_TAG_IDENTIFIER_CHAR); //write the ending tag identifier
+		stringBuilder.append(qname); //prefix:localName		
+		stringBuilder.append(TAG_END); //>
+	}
+
+	/**
+	 * Places all the recorded start tags in the string builder before the content of their elements, updating the content begin index of each element. Each
+	 * character of the content is moved only once, regardless of how deeply the elements are nested. This method must only be called when the start tag of every
+	 * element begun since the last placement is known; that is, when each such element has either ended or is being streamed.
+	 */
+	private void placeStartTags() {
+		if(startTagElementStates.isEmpty()) {
+			return;
+		}
+		final StringBuilder depictStringBuilder = getDepictStringBuilder();
+		final int beginIndex = startTagElementStates.get(0).getContentBeginIndex(); //everything before the first element is already in place
+		final int endIndex = depictStringBuilder.length();
+		int length = endIndex - beginIndex;
+		for(final DepictElementState elementState : startTagElementStates) {
+			length += elementState.startTag.length();
+		}
+		final char[] chars = new char[length];
+		int sourceIndex = beginIndex;
+		int destinationIndex = 0;
+		for(final DepictElementState elementState : startTagElementStates) { //the start tags were recorded in document order
+			final int contentBeginIndex = elementState.getContentBeginIndex();
+			depictStringBuilder.getChars(sourceIndex, contentBeginIndex, chars, destinationIndex); //copy the content before this start tag
+			destinationIndex += contentBeginIndex - sourceIndex;
+			sourceIndex = contentBeginIndex;
+			final String startTag = elementState.startTag;
+			startTag.getChars(0, startTag.length(), chars, destinationIndex); //copy the start tag
+			destinationIndex += startTag.length();
+			elementState.contentBeginIndex = beginIndex + destinationIndex; //the content now follows the start tag
+			elementState.startTagIndex = -1; //the start tag is now in place
+		}
+		depictStringBuilder.getChars(sourceIndex, endIndex, chars, destinationIndex); //copy the remaining content
+		depictStringBuilder.setLength(beginIndex);
+		depictStringBuilder.append(chars);
+		startTagElementStates.clear();
+	}
+
+	/**
+	 * Updates a message digest with the content of an element that is ending, without gathering the content into a separate string. The content hash is composed
+	 * Merkle-style: the element's own text is hashed along with the start tag of each child element, which already contains the hashes of the child's attributes
+	 * and content, so the content of descendants is not hashed again. This method therefore requires that hash attributes be generated for all child elements.
+	 * @param messageDigest The message digest to update.
+	 * @param elementState The state of the element the content of which should be hashed.
+	 */
+	private void updateDigestContent(final MessageDigest messageDigest, final DepictElementState elementState) {
+		final StringBuilder depictStringBuilder = getDepictStringBuilder();
+		int index = elementState.getContentBeginIndex();
+		for(int i = elementState.startTagIndex + 1, count = startTagElementStates.size(); i < count;) { //all child elements have already ended
+			final DepictElementState childElementState = startTagElementStates.get(i);
+			updateDigest(messageDigest, depictStringBuilder, index, childElementState.getContentBeginIndex()); //own content before the child start tag
+			final String startTag = childElementState.startTag;
+			updateDigest(messageDigest, startTag, 0, startTag.length()); //child start tag, representing the child attributes and content
+			index = childElementState.contentEndIndex; //skip the child content; the child end tag is part of this element's own content
+			i = childElementState.nextStartTagIndex; //skip the child's descendants
+		}
+		updateDigest(messageDigest, depictStringBuilder, index, depictStringBuilder.length()); //remaining own content
+	}
+
+	/**
+	 * Updates a message digest with the UTF-8 encoding of part of a character sequence.
+	 * @param messageDigest The message digest to update.
+	 * @param charSequence The characters to hash.
+	 * @param start The index of the first character to hash.
+	 * @param end The index after the last character to hash.
+	 */
+	private void updateDigest(final MessageDigest messageDigest, final CharSequence charSequence, final int start, final int end) {
+		if(start == end) {
+			return;
+		}
+		final CharBuffer charBuffer = CharBuffer.wrap(charSequence, start, end); //wrap the characters without copying them
+		digestEncoder.reset();
+		CoderResult coderResult;
+		do {
+			coderResult = digestEncoder.encode(charBuffer, digestByteBuffer, true);
+			digestByteBuffer.flip();
+			messageDigest.update(digestByteBuffer);
+			digestByteBuffer.clear();
+		} while(coderResult.isOverflow()); //keep going as long as the byte buffer filled up
+	}
+
+	@Override
+	public int getElementContentLength() {
+		final StringBuilder depictStringBuilder = getDepictStringBuilder();
+		if(!hasElementState()) { //with no open elements, all the content is in place
+			return depictStringBuilder.length();
+		}
+		final DepictElementState elementState = getElementState();
+		int length = elementState.flushedContentLength + depictStringBuilder.length() - elementState.getContentBeginIndex();
+		for(int i = elementState.startTagIndex + 1, count = startTagElementStates.size(); i < count; ++i) { //add the start tags of the child elements
+			length += startTagElementStates.get(i).startTag.length();
+		}
+		return length;
+	}
+
+	/**
+	 * A position in the depicted text, allowing the text depicted after it to be fingerprinted or discarded.
+	 * @author Garret Wilson
+	 * @see AbstractXMLDepictContext#markDepictText()
+	 */
+	public static final class DepictTextMark {
+
+		/** The length of the depict string builder when the mark was made. */
+		private final int textLength;
+
+		/** The number of elements with unplaced start tags when the mark was made. */
+		private final int startTagCount;
+
+		/** The number of open elements when the mark was made. */
+		private final int openElementCount;
+
+		/** The number of times text had been flushed when the mark was made. */
+		private final int flushCount;
+
+		/**
+		 * Constructor.
+		 * @param textLength The length of the depict string builder when the mark was made.
+		 * @param startTagCount The number of elements with unplaced start tags when the mark was made.
+		 * @param openElementCount The number of open elements when the mark was made.
+		 * @param flushCount The number of times text had been flushed when the mark was made.
+		 */
+		private DepictTextMark(final int textLength, final int startTagCount, final int openElementCount, final int flushCount) {
+			this.textLength = textLength;
+			this.startTagCount = startTagCount;
+			this.openElementCount = openElementCount;
+			this.flushCount = flushCount;
+		}
+	}
+
+	/**
+	 * Marks the current position in the depicted text. Until the text is flushed, the text depicted after the mark may be fingerprinted and/or discarded as long
+	 * as all the elements begun after the mark have ended. Text may be flushed while elements are open once enough has been collected, so the mark must be
+	 * checked using {@link #isDepictTextMarkValid(DepictTextMark)} unless the depiction after it is known to be small.
+	 * @return A mark of the current position in the depicted text.
+	 * @see #getDepictTextFingerprint(DepictTextMark)
+	 * @see #discardDepictText(DepictTextMark)
+	 */
+	public DepictTextMark markDepictText() {
+		return new DepictTextMark(getDepictStringBuilder().length(), startTagElementStates.size(), elementStateStack.size(), getDepictTextFlushCount());
+	}
+
+	/**
+	 * Determines whether the text after a mark is still available and all the elements begun after the mark have ended. The text is no longer available if any
+	 * text has been flushed since the mark was made, even if as much text has since been collected again.
+	 * @param mark The mark to check.
+	 * @return <code>true</code> if the text after the mark may be fingerprinted, retrieved, or discarded.
+	 * @throws NullPointerException if the given mark is <code>null</code>.
+	 */
+	public boolean isDepictTextMarkValid(final DepictTextMark mark) {
+		return getDepictTextFlushCount() == mark.flushCount && elementStateStack.size() == mark.openElementCount
+				&& startTagElementStates.size() >= mark.startTagCount && getDepictStringBuilder().length() >= mark.textLength;
+	}
+
+	/**
+	 * Ensures that the text after a mark is still available and that all the elements begun after the mark have ended.
+	 * @param mark The mark to check.
+	 * @throws NullPointerException if the given mark is <code>null</code>.
+	 * @throws IllegalStateException if the text after the mark is no longer available or there are open elements begun after the mark.
+	 * @see #isDepictTextMarkValid(DepictTextMark)
+	 */
+	private void checkDepictTextMark(final DepictTextMark mark) {
+		if(!isDepictTextMarkValid(mark)) {
+			throw new IllegalStateException("Depict text mark no longer valid.");
+		}
+	}
+
+	/**
+	 * Retrieves the text depicted after the given mark as it will be serialized, with the start tags of the elements begun after the mark in place. The text may
+	 * later be written using {@link #writeLiteral(String)}.
+	 * @param mark The mark after which text was depicted.
+	 * @return The serialized text depicted after the mark.
+	 * @throws NullPointerException if the given mark is <code>null</code>.
+	 * @throws IllegalStateException if the text after the mark is no longer available or there are open elements begun after the mark.
+	 * @see #markDepictText()
+	 */
+	public String getDepictText(final DepictTextMark mark) {
+		checkDepictTextMark(mark);
+		final StringBuilder depictStringBuilder = getDepictStringBuilder();
+		final StringBuilder stringBuilder = new StringBuilder();
+		int index = mark.textLength;
+		for(int i = mark.startTagCount, count = startTagElementStates.size(); i < count; ++i) { //the start tags were recorded in document order
+			final DepictElementState elementState = startTagElementStates.get(i);
+			final int contentBeginIndex = elementState.getContentBeginIndex();
+			stringBuilder.append(depictStringBuilder, index, contentBeginIndex).append(elementState.startTag); //content before this start tag, and the start tag itself
+			index = contentBeginIndex;
+		}
+		return stringBuilder.append(depictStringBuilder, index, depictStringBuilder.length()).toString(); //remaining content
+	}
+
+	/**
+	 * Determines a fingerprint of the text depicted after the given mark, as it will be serialized, using the hash algorithm of this context. The text is not
+	 * gathered into a separate string.
+	 * @param mark The mark after which text was depicted.
+	 * @return A fingerprint of the depicted text after the mark.
+	 * @throws NullPointerException if the given mark is <code>null</code>.
+	 * @throws IllegalStateException if the text after the mark is no longer available or there are open elements begun after the mark.
+	 * @see #markDepictText()
+	 */
+	public byte[] getDepictTextFingerprint(final DepictTextMark mark) {
+		checkDepictTextMark(mark);
+		final StringBuilder depictStringBuilder = getDepictStringBuilder();
+		final MessageDigest messageDigest = getMessageDigest();
+		messageDigest.reset();
+		int index = mark.textLength;
+		for(int i = mark.startTagCount, count = startTagElementStates.size(); i < count; ++i) { //the start tags were recorded in document order
+			final DepictElementState elementState = startTagElementStates.get(i);
+			final int contentBeginIndex = elementState.getContentBeginIndex();
+			updateDigest(messageDigest, depictStringBuilder, index, contentBeginIndex); //content before this start tag
+			final String startTag = elementState.startTag;
+			updateDigest(messageDigest, startTag, 0, startTag.length()); //the start tag itself
+			index = contentBeginIndex;
+		}
+		updateDigest(messageDigest, depictStringBuilder, index, depictStringBuilder.length()); //remaining content
+		return messageDigest.digest();
+	}
+
+	/**
+	 * Discards the text depicted after the given mark, including all elements begun after the mark.
+	 * @param mark The mark after which text was depicted.
+	 * @throws NullPointerException if the given mark is <code>null</code>.
+	 * @throws IllegalStateException if the text after the mark is no longer available or there are open elements begun after the mark.
+	 * @see #markDepictText()
+	 */
+	public void discardDepictText(final DepictTextMark mark) {
+		checkDepictTextMark(mark);
+		getDepictStringBuilder().setLength(mark.textLength);
+		startTagElementStates.subList(mark.startTagCount, startTagElementStates.size()).clear(); //the discarded elements have no start tags to place
+	}
+
+	/**
+	 * A structural recording of depicted elements, attributes, and text, which can be written again to another depiction using
+	 * {@link AbstractXMLDepictContext#writeDepictionRecording(DepictionRecording, UnaryOperator)}. Because the elements and attributes are recorded rather than
+	 * their serialization, attribute values can be replaced reliably, and the start tags, including any hash attributes, are generated anew when the recording is
+	 * written.
+	 * @author Garret Wilson
+	 * @see AbstractXMLDepictContext#beginDepictionRecording()
+	 * @see AbstractXMLDepictContext#endDepictionRecording()
+	 */
+	public static final class DepictionRecording implements DepictionCache.Fragment {
+
+		/**
+		 * The recorded events in order: a {@link String} for literal text as it was collected; a {@link RecordedElement} for the beginning of an element; a
+		 * {@link RecordedAttribute} for an attribute of the current element; and {@link #ELEMENT_END} for the end of the current element.
+		 */
+		private final List<Object> events;
+
+		/** The total length of the recorded text, names, and attribute values. */
+		private final int length;
+
+		@Override
+		public int getLength() {
+			return length;
+		}
+
+		/**
+		 * Events constructor.
+		 * @param events The recorded events in order.
+		 */
+		private DepictionRecording(final List<Object> events) {
+			this.events = events;
+			int length = 0;
+			for(final Object event : events) {
+				if(event instanceof String) {
+					length += ((String)event).length();
+				} else if(event instanceof RecordedElement) {
+					length += ((RecordedElement)event).localName.length();
+				} else if(event instanceof RecordedAttribute) {
+					final RecordedAttribute attribute = (RecordedAttribute)event;
+					length += attribute.localName.length() + (attribute.value != null ? attribute.value.length() : 0);
+				}
+			}
+			this.length = length;
+		}
+
+		/**
+		 * Determines whether the given string appears anywhere in the literal text or attribute values of the recording.
+		 * @param string The string to look for.
+		 * @return <code>true</code> if the string appears in the recorded text or in a recorded attribute value.
+		 */
+		public boolean contains(final String string) {
+			for(final Object event : events) {
+				if(event instanceof String ? ((String)event).contains(string)
+						: event instanceof RecordedAttribute && ((RecordedAttribute)event).value != null && ((RecordedAttribute)event).value.contains(string)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Creates a copy of this recording with each attribute value replaced. The literal text is not changed.
+		 * @param attributeValueReplacement The function returning the replacement for each non-<code>null</code> attribute value.
+		 * @return A recording with the replaced attribute values.
+		 */
+		public DepictionRecording withAttributeValues(final UnaryOperator<String> attributeValueReplacement) {
+			final List<Object> newEvents = new ArrayList<Object>(events.size());
+			for(final Object event : events) {
+				if(event instanceof RecordedAttribute) {
+					final RecordedAttribute attribute = (RecordedAttribute)event;
+					newEvents.add(new RecordedAttribute(attribute.namespaceURI, attribute.localName,
+							attribute.value != null ? attributeValueReplacement.apply(attribute.value) : null));
+				} else {
+					newEvents.add(event);
+				}
+			}
+			return new DepictionRecording(newEvents);
+		}
+	}
+
+	/** A recorded element beginning. */
+	private static final class RecordedElement {
+
+		private final URI namespaceURI;
+		private final String localName;
+		private final boolean emptyElementAllowed;
+
+		private RecordedElement(final URI namespaceURI, final String localName, final boolean emptyElementAllowed) {
+			this.namespaceURI = namespaceURI;
+			this.localName = localName;
+			this.emptyElementAllowed = emptyElementAllowed;
+		}
+	}
+
+	/** A recorded attribute of the current element. */
+	private static final class RecordedAttribute {
+
+		private final URI namespaceURI;
+		private final String localName;
+		private final String value;
+
+		private RecordedAttribute(final URI namespaceURI, final String localName, final String value) {
+			this.namespaceURI = namespaceURI;
+			this.localName = localName;
+			this.value = value;
+		}
+	}
+
+	/** The recorded end of the current element. */
+	private static final Object ELEMENT_END = new Object();
+
+	/** The events recorded so far, or <code>null</code> if no depiction is being recorded. */
+	private List<Object> recordedEvents = null;
+
+	/** Whether all the text depicted since the recording began is still available, so that the recording is complete. */
+	private boolean recordingValid = false;
+
+	/** The index in the depict string builder of the first collected character not yet recorded. */
+	private int recordingTextIndex = 0;
+
+	/** The number of times text had been flushed when the recording began. */
+	private int recordingFlushCount = 0;
+
+	/** The number of open elements when the recording began. */
+	private int recordingOpenElementCount = 0;
+
+	/**
+	 * Begins recording the elements, attributes, and text depicted from this point on, so that the depiction can later be written again using
+	 * {@link #writeDepictionRecording(DepictionRecording, UnaryOperator)}.
+	 * @throws IllegalStateException if a depiction is already being recorded.
+	 * @see #endDepictionRecording()
+	 */
+	public void beginDepictionRecording() {
+		if(recordedEvents != null) {
+			throw new IllegalStateException("Depiction recording already in progress.");
+		}
+		recordedEvents = new ArrayList<Object>();
+		recordingValid = true;
+		recordingTextIndex = getDepictStringBuilder().length();
+		recordingFlushCount = getDepictTextFlushCount();
+		recordingOpenElementCount = elementStateStack.size();
+	}
+
+	/**
+	 * Ends the recording begun with {@link #beginDepictionRecording()}. The recording is incomplete if any text was flushed or cleared while it was being
+	 * recorded, or if not all the elements begun during the recording have ended.
+	 * @return The recording of the depiction, or <code>null</code> if the recording is incomplete.
+	 * @throws IllegalStateException if no depiction is being recorded.
+	 */
+	public DepictionRecording endDepictionRecording() {
+		if(recordedEvents == null) {
+			throw new IllegalStateException("No depiction recording in progress.");
+		}
+		recordText();
+		final boolean isComplete = recordingValid && elementStateStack.size() == recordingOpenElementCount;
+		final List<Object> events = recordedEvents;
+		recordedEvents = null;
+		recordingValid = false;
+		return isComplete ? new DepictionRecording(events) : null;
+	}
+
+	/** Records any text collected since the last recorded event, if a depiction is being recorded and the recording is still complete. */
+	private void recordText() {
+		if(recordedEvents != null && recordingValid) {
+			if(getDepictTextFlushCount() != recordingFlushCount) { //if text has been flushed, the collected text is no longer all available
+				recordingValid = false;
+				return;
+			}
+			final StringBuilder depictStringBuilder = getDepictStringBuilder();
+			if(depictStringBuilder.length() > recordingTextIndex) {
+				recordedEvents.add(depictStringBuilder.substring(recordingTextIndex));
+				recordingTextIndex = depictStringBuilder.length();
+			}
+		}
+	}
+
+	/**
+	 * Writes a recorded depiction, replacing attribute values as needed. The elements and attributes are written just as they were originally, so that their
+	 * start tags and any hash attributes are generated for this depiction.
+	 * @param recording The recorded depiction to write.
+	 * @param attributeValueReplacement The function returning the replacement for each non-<code>null</code> attribute value.
+	 * @throws IOException if there is an error writing the depiction.
+	 * @see #beginDepictionRecording()
+	 */
+	public void writeDepictionRecording(final DepictionRecording recording, final UnaryOperator<String> attributeValueReplacement) throws IOException {
+		final LinkedList<RecordedElement> elements = new LinkedList<RecordedElement>(); //the open recorded elements, so that they can be ended with the correct names
+		for(final Object event : recording.events) {
+			if(event instanceof String) {
+				writeLiteral((String)event);
+			} else if(event instanceof RecordedElement) {
+				final RecordedElement element = (RecordedElement)event;
+				writeElementBegin(element.namespaceURI, element.localName, element.emptyElementAllowed);
+				elements.addLast(element);
+			} else if(event instanceof RecordedAttribute) {
+				final RecordedAttribute attribute = (RecordedAttribute)event;
+				writeAttribute(attribute.namespaceURI, attribute.localName, attribute.value != null ? attributeValueReplacement.apply(attribute.value) : null);
+			} else if(event == ELEMENT_END) {
+				final RecordedElement element = elements.removeLast();
+				writeElementEnd(element.namespaceURI, element.localName);
+			}
+		}
 	}
 
 	/**
@@ -270,6 +875,55 @@ protected String getAttributeValue(final NsQualifiedName elementQualifiedName, f
 		return attributeValue; //return the attribute value with no modifications
 	}
 
+	/**
+	 * The state of an element being depicted, along with the information needed to place its start tag. The content of the element is not collected in the
+	 * string builder of the element state, but in the depict string builder of this context, shared by all elements.
+	 * @author Garret Wilson
+	 */
+	private static class DepictElementState extends ElementState {
+
+		/** The index in the depict string builder at which the content of this element begins. */
+		private int contentBeginIndex;
+
+		/** @return The index in the depict string builder at which the content of this element begins. */
+		public int getContentBeginIndex() {
+			return contentBeginIndex;
+		}
+
+		/**
+		 * The serialized start tag of the element, or the entire serialization of an empty element, to be placed at the content begin index; or <code>null</code>
+		 * if the element has not yet ended.
+		 */
+		private String startTag = null;
+
+		/** The index of this element among the elements whose start tags have not yet been placed in the depict string builder, or -1 if not known. */
+		private int startTagIndex = -1;
+
+		/** The index in the depict string builder at which the content of this element ended, or -1 if the element has not yet ended. */
+		private int contentEndIndex = -1;
+
+		/** The index of the first element begun after this element and all its descendants, or -1 if the element has not yet ended. */
+		private int nextStartTagIndex = -1;
+
+		/** Whether the start tag of the element has been placed and sent to the output while the element was still open. */
+		private boolean streamed = false;
+
+		/** The number of characters of content of this element already sent to the output while the element was open. */
+		private int flushedContentLength = 0;
+
+		/**
+		 * Constructor.
+		 * @param namespaceURI The namespace URI, or <code>null</code> if there is no namespace URI..
+		 * @param qname The combined <var>prefix</var>:<var>localName</var> qualified name.
+		 * @param isEmptyElementAllowed Whether an empty element can be created if there is no content.
+		 * @param contentBeginIndex The index in the depict string builder at which the content of this element begins.
+		 */
+		public DepictElementState(final URI namespaceURI, final String qname, final boolean isEmptyElementAllowed, final int contentBeginIndex) {
+			super(namespaceURI, qname, isEmptyElementAllowed);
+			this.contentBeginIndex = contentBeginIndex;
+		}
+	}
+
 	/**
 	 * Determines whether there is an element state on the stack.
 	 * @return <code>true</code> if the element state stack is not empty.
@@ -283,7 +937,7 @@ private boolean hasElementState() {
 	 * @return The current element state.
 	 * @throws NoSuchElementException if the element state stack is empty.
 	 */
-	private ElementState getElementState() {
+	private DepictElementState getElementState() {
 		return elementStateStack.getLast(); //return the top element state from the stack		
 	}
 
@@ -392,19 +1046,29 @@ public ElementState writeElementBegin(final URI namespaceURI, final String local
 	@Override
 	public ElementState writeElementBegin(final URI namespaceURI, final String localName, final boolean isEmptyElementAllowed) throws IOException {
 		final String qname = getQualifiedName(namespaceURI, localName); //get the qualified name for this namespace and local name
-		final ElementState elementState = new ElementState(namespaceURI, qname, isEmptyElementAllowed); //create a new element state
+		recordText(); //record any text before the element if we are recording
+		final DepictElementState elementState = new DepictElementState(namespaceURI, qname, isEmptyElementAllowed, getDepictStringBuilder().length()); //create a new element state, the content of which begins at the current position
 		pushElementState(elementState); //push the element state onto the top of the stack
+		if(recordedEvents != null) {
+			recordedEvents.add(new RecordedElement(namespaceURI, localName, isEmptyElementAllowed));
+		}
 		return elementState; //return the state of the element we just started
 	}
 
 	@Override
 	public ElementState writeElementEnd(final URI namespaceURI, final String localName) throws IOException {
+		recordText(); //record the element content if we are recording
 		final ElementState elementState = popElementState(); //pop the current element state from the stack
+		if(recordedEvents != null) {
+			recordedEvents.add(ELEMENT_END);
+			recordingTextIndex = getDepictStringBuilder().length(); //the end tag and any placed start tags are not recorded as text
+		}
 		if(!Objects.equals(elementState.getElementName().getNamespaceUri(), namespaceURI) || !elementState.getElementName().getLocalName().equals(localName)) { //if the namespace and/or local name is not what we expect
 			throw new IllegalStateException("Ending namespace " + namespaceURI + " and local name " + localName
 					+ " do not match currently open element with namespace " + elementState.getElementName().getNamespaceUri() + " and local name "
 					+ elementState.getElementName().getLocalName());
 		}
+		checkDepictTextFlushThreshold(); //send the text if we've collected enough, even if there are elements still open
 		return elementState; //return the element state
 	}
 
@@ -413,11 +1077,19 @@ public ElementState writeElementEnd(final URI namespaceURI, final String localNa
 	 * <p>
 	 * This implementation only recognizes the null namespace and the XML namespace, which is assumed to require a prefix of "xml".
 	 * </p>
+	 * @throws IllegalStateException if the start tag of the current element has already been sent because its content reached the flush threshold.
 	 */
 	@Override
 	public void writeAttribute(final URI namespaceURI, final String localName, final String value) throws IOException {
 		final String qname = getQualifiedName(namespaceURI, localName); //get the qualified name for this namespace and local name
-		getElementState().getAttributeMap().put(new NsQualifiedName(namespaceURI, qname), value); //store this attribute, keyed to the qualified name
+		final DepictElementState elementState = getElementState();
+		if(elementState.streamed) { //attributes must be written before the element content grows large enough to be sent
+			throw new IllegalStateException("Start tag of element " + elementState.getElementName() + " has already been sent; attribute " + qname + " cannot be added.");
+		}
+		elementState.getAttributeMap().put(new NsQualifiedName(namespaceURI, qname), value); //store this attribute, keyed to the qualified name
+		if(recordedEvents != null) {
+			recordedEvents.add(new RecordedAttribute(namespaceURI, localName, value));
+		}
 	}
 
 	@Override
@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform;
+
+import java.lang.ref.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.*;
+
+/**
+ * A thread-safe registry of weakly-referenced depicted objects keyed to their depict IDs.
+ * <p>
+ * Entries are kept in an open-addressing table indexed directly by the primitive depict ID, so lookups neither box the ID nor acquire a lock. Registration and
+ * unregistration are synchronized on the registry. Entries of depicted objects that have been garbage-collected are removed as the reference queue reports
+ * them, whenever an object is registered or unregistered.
+ * </p>
+ * @author Garret Wilson
+ * @see DepictedObject#getDepictID()
+ */
+public class DepictedObjectRegistry {
+
+	/** The initial number of table slots; must be a power of two. */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** The weak reference to a depicted object, remembering the depict ID of the object. */
+	private static class Entry extends WeakReference<DepictedObject> {
+
+		/** The depict ID of the referenced object. */
+		private final long depictID;
+
+		/**
+		 * Constructor.
+		 * @param depictID The depict ID of the referenced object.
+		 * @param depictedObject The depicted object to reference, or <code>null</code> if this is a tombstone.
+		 * @param referenceQueue The queue with which the reference is registered, or <code>null</code> if the reference need not be enqueued.
+		 */
+		public Entry(final long depictID, final DepictedObject depictedObject, final ReferenceQueue<? super DepictedObject> referenceQueue) {
+			super(depictedObject, referenceQueue);
+			this.depictID = depictID;
+		}
+	}
+
+	/** The shared entry marking a slot from which an entry was removed, so that probing continues past it. */
+	private static final Entry TOMBSTONE = new Entry(0, null, null);
+
+	/** The table of entries, replaced when it is enlarged or compacted; slots are only written while synchronized on the registry. */
+	private volatile AtomicReferenceArray<Entry> table = new AtomicReferenceArray<Entry>(INITIAL_CAPACITY);
+
+	/** The queue of entries the depicted objects of which have been garbage-collected. */
+	private final ReferenceQueue<DepictedObject> referenceQueue = new ReferenceQueue<DepictedObject>();
+
+	/** The number of entries in the table; access must be synchronized on the registry. */
+	private int liveCount = 0;
+
+	/** The number of tombstones in the table; access must be synchronized on the registry. */
+	private int tombstoneCount = 0;
+
+	/** The total number of entries removed because their depicted objects were garbage-collected; access must be synchronized on the registry. */
+	private long collectedCount = 0;
+
+	/**
+	 * Returns the number of registered depicted objects. This includes objects that have been garbage-collected but not yet reported by the reference queue.
+	 * @return The number of registered depicted objects.
+	 */
+	public synchronized int getLiveCount() {
+		return liveCount;
+	}
+
+	/** @return The total number of registrations removed because their depicted objects were garbage-collected. */
+	public synchronized long getCollectedCount() {
+		return collectedCount;
+	}
+
+	/**
+	 * Determines the table index at which probing should start for a depict ID.
+	 * @param depictID The depict ID.
+	 * @param mask The mask of the table length, which is one less than the table length.
+	 * @return The index of the first slot to probe.
+	 */
+	private static int getIndex(final long depictID, final int mask) {
+		final long hash = depictID * 0x9E3779B97F4A7C15L; //spread the sequential IDs using the 64-bit golden ratio
+		return (int)(hash >>> 32) & mask;
+	}
+
+	/**
+	 * Retrieves the depicted object registered with the given depict ID. This method does not block.
+	 * @param depictID The depict ID of the object.
+	 * @return The depicted object with the given ID, or <code>null</code> if there is no registered depicted object with the given ID or it has been
+	 *         garbage-collected.
+	 */
+	public DepictedObject get(final long depictID) {
+		final AtomicReferenceArray<Entry> table = this.table;
+		final int mask = table.length() - 1;
+		for(int index = getIndex(depictID, mask);; index = (index + 1) & mask) {
+			final Entry entry = table.get(index);
+			if(entry == null) { //an empty slot ends the probe sequence
+				return null;
+			}
+			if(entry != TOMBSTONE && entry.depictID == depictID) {
+				return entry.get();
+			}
+		}
+	}
+
+	/**
+	 * Registers a depicted object with its depict ID, replacing any object registered with the same ID.
+	 * @param depictedObject The depicted object to register.
+	 * @throws NullPointerException if the given depicted object is <code>null</code>.
+	 */
+	public synchronized void register(final DepictedObject depictedObject) {
+		final long depictID = requireNonNull(depictedObject, "Depicted object cannot be null.").getDepictID();
+		expungeCollectedEntries();
+		final AtomicReferenceArray<Entry> table = this.table;
+		final int mask = table.length() - 1;
+		int insertIndex = -1; //the first tombstone we find, which we can reuse if the ID isn't already present
+		for(int index = getIndex(depictID, mask);; index = (index + 1) & mask) {
+			final Entry entry = table.get(index);
+			if(entry == null) {
+				if(insertIndex < 0) {
+					insertIndex = index;
+				} else { //we're reusing a tombstone
+					--tombstoneCount;
+				}
+				table.set(insertIndex, new Entry(depictID, depictedObject, referenceQueue));
+				++liveCount;
+				break;
+			}
+			if(entry == TOMBSTONE) {
+				if(insertIndex < 0) {
+					insertIndex = index;
+				}
+			} else if(entry.depictID == depictID) { //replace the existing registration
+				table.set(index, new Entry(depictID, depictedObject, referenceQueue));
+				break;
+			}
+		}
+		if((liveCount + tombstoneCount) * 2 > table.length()) { //keep the table at most half full so that probe sequences stay short
+			rebuild(liveCount * 4 > table.length() ? table.length() * 2 : table.length()); //if there are mostly tombstones, just compact
+		}
+	}
+
+	/**
+	 * Unregisters the depicted object registered with the given depict ID, if any.
+	 * @param depictID The depict ID of the depicted object to unregister.
+	 */
+	public synchronized void unregister(final long depictID) {
+		expungeCollectedEntries();
+		final AtomicReferenceArray<Entry> table = this.table;
+		final int index = findIndex(table, depictID);
+		if(index >= 0) {
+			removeAt(table, index);
+		}
+	}
+
+	/**
+	 * Finds the slot of the entry with the given depict ID.
+	 * @param table The table to search.
+	 * @param depictID The depict ID of the entry.
+	 * @return The index of the entry, or -1 if there is no entry with the given depict ID.
+	 */
+	private static int findIndex(final AtomicReferenceArray<Entry> table, final long depictID) {
+		final int mask = table.length() - 1;
+		for(int index = getIndex(depictID, mask);; index = (index + 1) & mask) {
+			final Entry entry = table.get(index);
+			if(entry == null) {
+				return -1;
+			}
+			if(entry != TOMBSTONE && entry.depictID == depictID) {
+				return index;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the entry at the given slot with a tombstone. The caller must be synchronized on the registry.
+	 * @param table The table containing the entry.
+	 * @param index The index of the entry to remove.
+	 */
+	private void removeAt(final AtomicReferenceArray<Entry> table, final int index) {
+		table.set(index, TOMBSTONE);
+		--liveCount;
+		++tombstoneCount;
+	}
+
+	/** Removes all entries the depicted objects of which have been reported as garbage-collected. The caller must be synchronized on the registry. */
+	private void expungeCollectedEntries() {
+		Reference<? extends DepictedObject> reference;
+		while((reference = referenceQueue.poll()) != null) {
+			final Entry entry = (Entry)reference;
+			final AtomicReferenceArray<Entry> table = this.table;
+			final int index = findIndex(table, entry.depictID);
+			if(index >= 0 && table.get(index) == entry) { //only remove the entry if it hasn't been replaced by a new registration
+				removeAt(table, index);
+				++collectedCount;
+			}
+		}
+	}
+
+	/**
+	 * Copies all entries into a new table without tombstones and publishes it for readers. The caller must be synchronized on the registry.
+	 * @param capacity The number of slots in the new table; must be a power of two.
+	 */
+	private void rebuild(final int capacity) {
+		final AtomicReferenceArray<Entry> oldTable = this.table;
+		final AtomicReferenceArray<Entry> newTable = new AtomicReferenceArray<Entry>(capacity);
+		final int mask = capacity - 1;
+		for(int oldIndex = oldTable.length() - 1; oldIndex >= 0; --oldIndex) {
+			final Entry entry = oldTable.get(oldIndex);
+			if(entry != null && entry != TOMBSTONE) {
+				int index = getIndex(entry.depictID, mask);
+				while(newTable.get(index) != null) {
+					index = (index + 1) & mask;
+				}
+				newTable.set(index, entry);
+			}
+		}
+		tombstoneCount = 0;
+		this.table = newTable; //readers still probing the old table will finish with it
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.*;
+
+/**
+ * A thread-safe cache of depiction fragments shared across sessions, allowing a depictor to reuse the depiction of an object the state of which is completely
+ * described by a key. The cache is bounded by the total length of the fragments it holds, evicting the least recently used fragments when the bound is
+ * exceeded.
+ * @author Garret Wilson
+ */
+public class DepictionCache {
+
+	/**
+	 * A cached depiction fragment.
+	 * @author Garret Wilson
+	 */
+	public interface Fragment {
+
+		/** @return The approximate length of the fragment, in characters, used to bound the total size of the cache. */
+		public int getLength();
+	}
+
+	/** The default maximum total length of all cached fragments, in characters. */
+	public static final int DEFAULT_CAPACITY = 4 * 1024 * 1024;
+
+	/** The maximum total length of all cached fragments, in characters. */
+	private final int capacity;
+
+	/** @return The maximum total length of all cached fragments, in characters. */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/** The map of fragments keyed to the keys describing them, in least-recently-accessed order; access must be synchronized on the map. */
+	private final LinkedHashMap<Object, Fragment> keyFragmentMap = new LinkedHashMap<Object, Fragment>(16, 0.75f, true);
+
+	/** The total length of all cached fragments; access must be synchronized on the map. */
+	private long length = 0;
+
+	/** The number of times a requested fragment was found. */
+	private final AtomicLong hitCount = new AtomicLong(0);
+
+	/** @return The number of times a requested fragment was found. */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/** The number of times a requested fragment was not found. */
+	private final AtomicLong missCount = new AtomicLong(0);
+
+	/** @return The number of times a requested fragment was not found. */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/** The number of fragments evicted to stay within the capacity. */
+	private final AtomicLong evictionCount = new AtomicLong(0);
+
+	/** @return The number of fragments evicted to stay within the capacity. */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	/** Default constructor with a default capacity. */
+	public DepictionCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Capacity constructor.
+	 * @param capacity The maximum total length of all cached fragments, in characters.
+	 * @throws IllegalArgumentException if the given capacity is not positive.
+	 */
+	public DepictionCache(final int capacity) {
+		if(capacity <= 0) {
+			throw new IllegalArgumentException("Depiction cache capacity must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Retrieves a cached fragment, marking it as recently used.
+	 * @param key The key completely describing the state of the depicted object.
+	 * @return The cached fragment, or <code>null</code> if there is no fragment cached for the given key.
+	 * @throws NullPointerException if the given key is <code>null</code>.
+	 */
+	public Fragment get(final Object key) {
+		requireNonNull(key, "Key cannot be null.");
+		final Fragment fragment;
+		synchronized(keyFragmentMap) {
+			fragment = keyFragmentMap.get(key);
+		}
+		(fragment != null ? hitCount : missCount).incrementAndGet(); //update the statistics
+		return fragment;
+	}
+
+	/**
+	 * Caches a fragment, evicting the least recently used fragments as needed to stay within the capacity. A fragment longer than a sixteenth of the capacity is
+	 * not cached, so that a single fragment cannot flush the cache.
+	 * @param key The key completely describing the state of the depicted object.
+	 * @param fragment The depiction fragment.
+	 * @throws NullPointerException if the given key and/or fragment is <code>null</code>.
+	 */
+	public void put(final Object key, final Fragment fragment) {
+		requireNonNull(key, "Key cannot be null.");
+		final int fragmentLength = fragment.getLength();
+		if(fragmentLength > capacity / 16) { //don't let a single large fragment take over the cache
+			return;
+		}
+		synchronized(keyFragmentMap) {
+			final Fragment oldFragment = keyFragmentMap.put(key, fragment);
+			if(oldFragment != null) {
+				length -= oldFragment.getLength();
+			}
+			length += fragmentLength;
+			final Iterator<Fragment> fragmentIterator = keyFragmentMap.values().iterator(); //the least recently used fragments come first
+			while(length > capacity && fragmentIterator.hasNext()) {
+				length -= fragmentIterator.next().getLength();
+				fragmentIterator.remove();
+				evictionCount.incrementAndGet();
+			}
+		}
+	}
+
+	/** @return The number of fragments currently cached. */
+	public int getCount() {
+		synchronized(keyFragmentMap) {
+			return keyFragmentMap.size();
+		}
+	}
+
+	/** @return The total length of all fragments currently cached, in characters. */
+	public long getLength() {
+		synchronized(keyFragmentMap) {
+			return length;
+		}
+	}
+
+	/** Removes all cached fragments. The statistics are not reset. */
+	public void clear() {
+		synchronized(keyFragmentMap) {
+			keyFragmentMap.clear();
+			length = 0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " fragments: " + getCount() + " length: " + getLength() + " hits: " + getHitCount() + " misses: " + getMissCount()
+				+ " evictions: " + getEvictionCount();
+	}
+
+}
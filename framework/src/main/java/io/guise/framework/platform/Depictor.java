@@ -51,7 +51,8 @@
 
 	/**
 	 * Changes the depictor's updated status. If the new depicted status is <code>true</code>, all modified properties are removed. If the new depicted status is
-	 * <code>false</code>, the {@link Depictor#GENERAL_PROPERTY} property is set as modified.
+	 * <code>false</code>, the {@link Depictor#GENERAL_PROPERTY} property is set as modified, so the entire depiction will be replaced; this is meant for structural
+	 * changes, and changes to specific properties should instead be noted by the depictor marking only those properties as modified.
 	 * @param newDepicted Whether this depictor's representation of the depicted object is up to date.
 	 */
 	public void setDepicted(final boolean newDepicted);
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform;
+
+import java.security.MessageDigest;
+
+/**
+ * A message digest implementing the 64-bit FNV-1a non-cryptographic hash. This hash is much faster than cryptographic digests such as SHA-1 and produces a
+ * shorter result, making it appropriate for detecting changes in depicted content, but it must never be used where resistance to deliberate collisions is
+ * needed.
+ * @author Garret Wilson
+ * @see <a href="http://www.isthe.com/chongo/tech/comp/fnv/">FNV Hash</a>
+ */
+public class FNV1a64MessageDigest extends MessageDigest implements Cloneable {
+
+	/** The name of the FNV-1a 64-bit algorithm. */
+	public static final String ALGORITHM = "FNV-1a-64";
+
+	/** The number of bytes in the digest. */
+	public static final int DIGEST_LENGTH = Long.BYTES;
+
+	/** The 64-bit FNV offset basis. */
+	private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+	/** The 64-bit FNV prime. */
+	private static final long PRIME = 0x100000001b3L;
+
+	/** The current hash value. */
+	private long hash = OFFSET_BASIS;
+
+	/** Default constructor. */
+	public FNV1a64MessageDigest() {
+		super(ALGORITHM);
+	}
+
+	@Override
+	protected int engineGetDigestLength() {
+		return DIGEST_LENGTH;
+	}
+
+	@Override
+	protected void engineUpdate(final byte input) {
+		hash = (hash ^ (input & 0xff)) * PRIME;
+	}
+
+	@Override
+	protected void engineUpdate(final byte[] input, final int offset, final int length) {
+		long hash = this.hash;
+		for(int i = offset, end = offset + length; i < end; ++i) {
+			hash = (hash ^ (input[i] & 0xff)) * PRIME;
+		}
+		this.hash = hash;
+	}
+
+	@Override
+	protected byte[] engineDigest() {
+		final byte[] digest = new byte[DIGEST_LENGTH];
+		long hash = this.hash;
+		for(int i = DIGEST_LENGTH - 1; i >= 0; --i) { //big-endian
+			digest[i] = (byte)hash;
+			hash >>>= 8;
+		}
+		engineReset(); //a digest always resets the hash
+		return digest;
+	}
+
+	@Override
+	protected void engineReset() {
+		hash = OFFSET_BASIS;
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		return super.clone(); //the hash state is a primitive, so a shallow clone is sufficient
+	}
+
+}
@@ -69,6 +69,23 @@ public interface Platform {
 	 */
 	public void unregisterDepictedObject(final DepictedObject depictedObject);
 
+	/**
+	 * Registers a depicted object the depiction of which is no longer up to date. Depicted objects are held weakly, and a depicted object remains registered until
+	 * it is found to be depicted when the dirty depicted objects are retrieved.
+	 * @param depictedObject The depicted object the depiction of which is not up to date.
+	 * @throws NullPointerException if the given depicted object is <code>null</code>.
+	 * @see #getDirtyDepictedObjects()
+	 */
+	public void registerDirtyDepictedObject(final DepictedObject depictedObject);
+
+	/**
+	 * Retrieves the registered depicted objects the depictions of which are not up to date. Any registered depicted objects that have since been depicted are
+	 * unregistered.
+	 * @return A new collection of the depicted objects registered as dirty that are still not depicted.
+	 * @see #registerDirtyDepictedObject(DepictedObject)
+	 */
+	public Collection<DepictedObject> getDirtyDepictedObjects();
+
 	/**
 	 * Retrieves a depicted object that has been registered with the platform by the ID of the depicted object.
 	 * @param depictedObjectID The ID of the depicted object to retrieve.
@@ -83,9 +100,22 @@ public interface Platform {
 	/** @return The thread-safe queue of messages to be delivered to the platform. */
 	public Queue<? extends PlatformMessage> getSendMessageQueue();
 
-	/** @return The lock used for exclusive depiction on the platform. */
+	/**
+	 * Returns the lock used for exclusive depiction on the platform. This lock must be held while depicted objects are modified in response to platform events
+	 * and while they are depicted. It excludes the depict read lock.
+	 * @return The lock used for exclusive depiction on the platform.
+	 * @see #getDepictReadLock()
+	 */
 	public Lock getDepictLock();
 
+	/**
+	 * Returns the lock used for shared access to the depicted objects on the platform, such as when reading platform events or responding to a request that
+	 * neither modifies nor depicts objects. Any number of threads may hold this lock at the same time, but not while the depict lock is held.
+	 * @return The lock used for shared, read-only access to depicted objects on the platform.
+	 * @see #getDepictLock()
+	 */
+	public Lock getDepictReadLock();
+
 	/**
 	 * Retrieves information and functionality related to the current depiction.
 	 * @return A context for the current depiction.
@@ -35,12 +35,56 @@ public interface TextDepictContext extends DepictContext {
 	 */
 	public StringBuilder getDepictStringBuilder();
 
-	/** Clears all data collected for depiction. */
+	/**
+	 * Clears all data collected for depiction.
+	 * @throws IllegalStateException if the depiction text has already been committed.
+	 * @see #commitDepictText()
+	 */
 	public void clearDepictText();
 
-	/** @return The string that holds the current content being collected for depiction. */
+	/**
+	 * @return The string that holds the current content being collected for depiction.
+	 * @throws IllegalStateException if some of the committed depiction text has already been written to the output.
+	 */
 	public String getDepictText();
 
+	/**
+	 * Indicates whether the depiction text has been committed, so that it may be written to the output as it is collected.
+	 * <p>
+	 * This default version returns <code>false</code>, as depiction text cannot be committed by default.
+	 * </p>
+	 * @return Whether the depiction text has been committed.
+	 * @see #commitDepictText()
+	 */
+	public default boolean isDepictTextCommitted() {
+		return false;
+	}
+
+	/**
+	 * Indicates that the text collected so far will never be cleared, so that text may be written to the output as it is collected rather than holding the entire
+	 * depiction in memory. After this method is called, {@link #clearDepictText()} may no longer be called.
+	 * <p>
+	 * This default version throws an {@link UnsupportedOperationException}; the collected text must instead be retrieved using {@link #getDepictText()}.
+	 * </p>
+	 * @throws UnsupportedOperationException if this context does not support writing text to the output as it is collected.
+	 * @throws IOException if there is an error writing collected text to the output.
+	 */
+	public default void commitDepictText() throws IOException {
+		throw new UnsupportedOperationException("Committing depiction text is not supported.");
+	}
+
+	/**
+	 * Writes any remaining committed depiction text to the output and closes the output.
+	 * <p>
+	 * This default version throws an {@link IllegalStateException}, as depiction text cannot be committed by default.
+	 * </p>
+	 * @throws IllegalStateException if the depiction text has not been committed.
+	 * @throws IOException if there is an error writing or closing the output.
+	 */
+	public default void closeDepictText() throws IOException {
+		throw new IllegalStateException("Depiction text has not been committed.");
+	}
+
 	/**
 	 * @return Whether output should be formatted. This version returns <code>true</code>.
 	 */
@@ -118,15 +118,25 @@ public void writeDocType(final boolean writeXMLDeclaration, final URI namespaceU
 	public ElementState writeElementEnd(final URI namespaceURI, final String localName) throws IOException;
 
 	/**
-	 * Writes an attribute of an XML element. The attribute value will be properly encoded for XML.
+	 * Writes an attribute of an XML element. The attribute value will be properly encoded for XML. The attributes of an element must be written before any of its
+	 * content, as once depiction text has been committed the start tag of an element may be sent to the output when its content grows large.
 	 * @param namespaceURI The URI of the XML namespace of the attribute, or <code>null</code> if there is no namespace.
 	 * @param localName The local name of the attribute with no prefix.
 	 * @param value The unencoded value of the attribute.
 	 * @throws NoSuchElementException if the element state stack is empty.
+	 * @throws IllegalStateException if the start tag of the current element has already been sent to the output.
 	 * @throws IOException if there is an error writing the information.
+	 * @see TextDepictContext#commitDepictText()
 	 */
 	public void writeAttribute(final URI namespaceURI, final String localName, final String value) throws IOException;
 
+	/**
+	 * Determines the number of characters of content collected so far for the currently open element, including the serialization of any child elements that
+	 * have ended.
+	 * @return The length of the content of the current element, or the length of all the text collected if there is no open element.
+	 */
+	public int getElementContentLength();
+
 	/**
 	 * Writes the beginning part of an XML comment.
 	 * @throws IllegalStateException if the comment has already been opened but not closed.
@@ -173,14 +183,6 @@ public Map<NsQualifiedName, String> getAttributeMap() {
 			return attributeMap;
 		}
 
-		/** The string builder that holds the element content being collected for depiction. */
-		private final StringBuilder depictStringBuilder = new StringBuilder();
-
-		/** @return The string builder that holds the element content being collected for depiction. */
-		public StringBuilder getDepictStringBuilder() {
-			return depictStringBuilder;
-		}
-
 		/** Whether an empty element can be created if there is no content. */
 		private final boolean emptyElementAllowed;
 
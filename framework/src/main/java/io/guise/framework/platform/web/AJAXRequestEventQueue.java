@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform.web;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.*;
+
+import static java.util.Objects.*;
+
+import io.guise.framework.event.GuiseEvent;
+
+/**
+ * A thread-safe queue of the events of AJAX requests waiting to be processed on a platform. Overlapping AJAX requests from the same session each add their
+ * events to the queue along with a request context, such as the client address and requested URI, describing everything about the request other than its
+ * events. Whichever request next gains exclusive access to the platform removes the events of all pending requests with the same context as a single batch, in
+ * the order in which the requests arrived, and responds with the combined result. Requests the events of which were processed by another request need only
+ * acknowledge the request with an empty response. Requests with different contexts, such as those from different pages of the session open in separate
+ * windows, are never combined, so that each event is processed with the context of the request that sent it.
+ * <p>
+ * As the Guise client sends the AJAX requests of a page one at a time, overlapping requests with the same context usually come from the same page open in more
+ * than one window.
+ * </p>
+ * @author Garret Wilson
+ */
+public class AJAXRequestEventQueue {
+
+	/** The events of a pending request, along with the request context and the order of arrival. */
+	private static final class PendingRequest {
+
+		/** The sequence number indicating the order in which the request arrived. */
+		private final long sequence;
+
+		/** The context of the request. */
+		private final Object context;
+
+		/** The events of the request. */
+		private final List<GuiseEvent> events;
+
+		/**
+		 * Constructor.
+		 * @param sequence The sequence number indicating the order in which the request arrived.
+		 * @param context The context of the request.
+		 * @param events The events of the request.
+		 */
+		private PendingRequest(final long sequence, final Object context, final List<GuiseEvent> events) {
+			this.sequence = sequence;
+			this.context = context;
+			this.events = events;
+		}
+	}
+
+	/** The pending requests. */
+	private final Queue<PendingRequest> pendingRequestQueue = new ConcurrentLinkedQueue<PendingRequest>();
+
+	/** The number of pending requests. */
+	private final AtomicInteger depth = new AtomicInteger(0);
+
+	/** @return The number of requests the events of which are waiting to be processed. */
+	public int getDepth() {
+		return depth.get();
+	}
+
+	/** The largest number of requests that have been pending at the same time. */
+	private final AtomicInteger maxDepth = new AtomicInteger(0);
+
+	/** @return The largest number of requests that have been pending at the same time. */
+	public int getMaxDepth() {
+		return maxDepth.get();
+	}
+
+	/** The source of request sequence numbers. */
+	private final AtomicLong sequence = new AtomicLong(0);
+
+	/**
+	 * Returns a sequence number indicating the order in which a request arrived. This method should be called when a request arrives, before its events are
+	 * read, so that the events of requests are processed in the order the requests arrived even if they are read at different speeds.
+	 * @return The next request sequence number.
+	 */
+	public long nextSequence() {
+		return sequence.incrementAndGet();
+	}
+
+	/** The total number of requests added. */
+	private final AtomicLong requestCount = new AtomicLong(0);
+
+	/** @return The total number of requests the events of which have been added to the queue. */
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/** The total number of batches removed. */
+	private final AtomicLong batchCount = new AtomicLong(0);
+
+	/** @return The total number of batches of events removed for processing. */
+	public long getBatchCount() {
+		return batchCount.get();
+	}
+
+	/** The total number of requests the events of which were processed in a batch with the events of an earlier request. */
+	private final AtomicLong coalescedRequestCount = new AtomicLong(0);
+
+	/** @return The total number of requests the events of which were processed in a batch with the events of an earlier request. */
+	public long getCoalescedRequestCount() {
+		return coalescedRequestCount.get();
+	}
+
+	/**
+	 * Adds the events of a request to the queue.
+	 * @param sequence The sequence number indicating the order in which the request arrived.
+	 * @param context The context of the request; only the events of requests with equal contexts are combined.
+	 * @param requestEvents The events of the request.
+	 * @throws NullPointerException if the given context and/or list of events is <code>null</code>.
+	 * @see #nextSequence()
+	 */
+	public void add(final long sequence, final Object context, final List<GuiseEvent> requestEvents) {
+		pendingRequestQueue.add(new PendingRequest(sequence, requireNonNull(context, "Request context cannot be null."),
+				requireNonNull(requestEvents, "Request events cannot be null.")));
+		requestCount.incrementAndGet();
+		final int newDepth = depth.incrementAndGet();
+		maxDepth.accumulateAndGet(newDepth, Math::max);
+	}
+
+	/**
+	 * Removes the events of all pending requests with the given context as a single batch. Only one thread at a time may poll the queue, such as the thread
+	 * holding exclusive access to the platform.
+	 * @param context The context of the request polling the queue.
+	 * @return The events of all pending requests with the given context, in the order the requests arrived, or <code>null</code> if no requests with the given
+	 *         context are pending.
+	 * @throws NullPointerException if the given context is <code>null</code>.
+	 */
+	public List<GuiseEvent> poll(final Object context) {
+		requireNonNull(context, "Request context cannot be null.");
+		final List<PendingRequest> pendingRequests = new ArrayList<PendingRequest>();
+		final Iterator<PendingRequest> pendingRequestIterator = pendingRequestQueue.iterator();
+		while(pendingRequestIterator.hasNext()) {
+			final PendingRequest pendingRequest = pendingRequestIterator.next();
+			if(pendingRequest.context.equals(context)) {
+				pendingRequestIterator.remove();
+				depth.decrementAndGet();
+				pendingRequests.add(pendingRequest);
+			}
+		}
+		if(pendingRequests.isEmpty()) { //if there are no pending requests with this context
+			return null;
+		}
+		batchCount.incrementAndGet();
+		if(pendingRequests.size() == 1) {
+			return pendingRequests.get(0).events;
+		}
+		coalescedRequestCount.addAndGet(pendingRequests.size() - 1);
+		pendingRequests.sort((pendingRequest1, pendingRequest2) -> Long.compare(pendingRequest1.sequence, pendingRequest2.sequence)); //requests may be added in a different order than they arrived
+		final List<GuiseEvent> requestEvents = new ArrayList<GuiseEvent>();
+		for(final PendingRequest pendingRequest : pendingRequests) {
+			requestEvents.addAll(pendingRequest.events);
+		}
+		return requestEvents;
+	}
+
+}
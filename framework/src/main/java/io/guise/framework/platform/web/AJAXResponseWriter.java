@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform.web;
+
+import java.io.IOException;
+
+import static java.util.Objects.*;
+
+/**
+ * Writes the messages of a Guise AJAX response to a depict context in a particular wire format. Patch content is depicted by components directly to the
+ * depict context between calls to {@link #beginPatch()} and {@link #endPatch()}. Fine-grained changes to already depicted elements are written using the
+ * {@link WebPatchWriter} methods, outside of any patch.
+ * <p>
+ * The response is collected in the depict context, and must therefore be cleared using {@link #clear()} rather than by clearing the depict context directly.
+ * </p>
+ * @author Garret Wilson
+ */
+public abstract class AJAXResponseWriter implements WebPatchWriter {
+
+	/** The depict context to which the response is written. */
+	private final HTTPServletWebDepictContext depictContext;
+
+	/** @return The depict context to which the response is written. */
+	protected HTTPServletWebDepictContext getDepictContext() {
+		return depictContext;
+	}
+
+	/**
+	 * Depict context constructor.
+	 * @param depictContext The depict context to which the response is written.
+	 * @throws NullPointerException if the given depict context is <code>null</code>.
+	 */
+	public AJAXResponseWriter(final HTTPServletWebDepictContext depictContext) {
+		this.depictContext = requireNonNull(depictContext, "Depict context cannot be null.");
+	}
+
+	/** Whether the response has begun. */
+	private boolean begun = false;
+
+	/**
+	 * Clears all the messages written so far. If the response has begun, the beginning of the response is written again.
+	 * @throws IOException if there is an error writing the information.
+	 * @see HTTPServletWebDepictContext#clearDepictText()
+	 */
+	public void clear() throws IOException {
+		getDepictContext().clearDepictText();
+		if(begun) {
+			writeBegin();
+		}
+	}
+
+	/**
+	 * Begins the response, setting the output content type and writing the beginning of the response. This method must be called before any messages are
+	 * written.
+	 * @throws IOException if there is an error writing the information.
+	 * @see #writeBegin()
+	 */
+	public void begin() throws IOException {
+		begun = true;
+		writeBegin();
+	}
+
+	/**
+	 * Sets the output content type and writes the beginning of the response.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	protected abstract void writeBegin() throws IOException;
+
+	/**
+	 * Ends the response after all messages have been written.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public abstract void end() throws IOException;
+
+	/**
+	 * Writes a message requesting navigation to another location.
+	 * @param depictionURI The URI of the location in depiction terms.
+	 * @param viewportID The ID of the viewport in which navigation should occur, or <code>null</code> if the main viewport should be used.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public abstract void writeNavigate(final String depictionURI, final String viewportID) throws IOException;
+
+	/**
+	 * Writes a message requesting that the entire page be reloaded.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public abstract void writeReload() throws IOException;
+
+	/**
+	 * Writes a message requesting that an element be removed.
+	 * @param id The ID of the element to remove.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public abstract void writeRemove(final String id) throws IOException;
+
+	/**
+	 * Writes a message containing a command to a depicted object.
+	 * @param objectID The depict ID of the depicted object, or <code>null</code> if the command is not directed to a particular object.
+	 * @param command The serialization name of the command.
+	 * @param parametersJSON The parameters of the command, serialized in JavaScript Object Notation (JSON).
+	 * @throws IOException if there is an error writing the information.
+	 * @see WebPlatformCommandMessage#getParametersJSON()
+	 */
+	public abstract void writeCommand(final String objectID, final String command, final String parametersJSON) throws IOException;
+
+	/**
+	 * Begins a message for patching depicted content. Components are then depicted to the depict context, after which {@link #endPatch()} must be called.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public abstract void beginPatch() throws IOException;
+
+	/**
+	 * Ends a message for patching depicted content begun with {@link #beginPatch()}.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public abstract void endPatch() throws IOException;
+
+}
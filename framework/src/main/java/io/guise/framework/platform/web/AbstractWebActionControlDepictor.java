@@ -106,6 +106,18 @@ protected Set<String> getBaseStyleIDs(final String prefix, final String suffix)
 		return baseStyleIDs; //return the new style IDs
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version adds whether the component is enabled.
+	 * </p>
+	 */
+	@Override
+	protected void addBaseStyleIDsKeyValues(final List<Object> key) {
+		super.addBaseStyleIDsKeyValues(key);
+		key.add(getDepictedObject().isEnabled());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
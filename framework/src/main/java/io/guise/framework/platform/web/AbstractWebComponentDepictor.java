@@ -16,10 +16,12 @@
 
 package io.guise.framework.platform.web;
 
+import java.beans.PropertyChangeEvent;
 import java.io.IOException;
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.regex.*;
 
 import static java.util.Collections.*;
@@ -29,13 +31,18 @@
 import com.globalmentor.net.MediaType;
 import com.globalmentor.xml.XmlDom;
 
+import io.guise.framework.GuiseApplication;
 import io.guise.framework.GuiseSession;
+import io.guise.framework.LRUCache;
 import io.guise.framework.component.*;
 import io.guise.framework.component.layout.*;
 import io.guise.framework.geometry.*;
 import io.guise.framework.model.*;
 import io.guise.framework.model.ui.PresentationModel;
 import io.guise.framework.platform.AbstractComponentDepictor;
+import io.guise.framework.platform.AbstractXMLDepictContext;
+import io.guise.framework.platform.DepictionCache;
+import io.guise.framework.platform.XMLDepictContext;
 import io.guise.framework.style.Color;
 import io.guise.framework.style.FontStyle;
 
@@ -143,6 +150,157 @@ public String getDepictName() {
 		return getPlatform().getDepictIDString(getDepictedObject().getDepictID()); //return the web platform string version of the component's unique ID by default
 	}
 
+	/** The depict name with which the depicted component is registered with the platform, or <code>null</code> if the component is not registered. */
+	private String registeredDepictName = null;
+
+	/**
+	 * Updates the registration of the depicted component with the platform under its current depict name, so that the component can be found by the name
+	 * used in its depiction. Any registration under a previous depict name is removed.
+	 * @see #getDepictName()
+	 * @see WebPlatform#registerDepictName(String, Component)
+	 */
+	protected void updateDepictNameRegistration() {
+		final C component = getDepictedObject();
+		final String depictName = component != null ? getDepictName() : null;
+		if(!Objects.equals(depictName, registeredDepictName)) { //if the depict name has changed
+			final WebPlatform platform = getPlatform();
+			if(registeredDepictName != null) {
+				platform.unregisterDepictName(registeredDepictName, component);
+			}
+			if(depictName != null) {
+				platform.registerDepictName(depictName, component);
+			}
+			registeredDepictName = depictName;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version registers the component with the platform under its depict name.
+	 * </p>
+	 * @see #updateDepictNameRegistration()
+	 */
+	@Override
+	public void installed(final C component) {
+		super.installed(component);
+		updateDepictNameRegistration();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version unregisters the component from the platform under its depict name.
+	 * </p>
+	 */
+	@Override
+	public void uninstalled(final C component) {
+		if(registeredDepictName != null) {
+			getPlatform().unregisterDepictName(registeredDepictName, component);
+			registeredDepictName = null;
+		}
+		super.uninstalled(component);
+	}
+
+	/** The fingerprint of the depiction last sent to the client, or <code>null</code> if it is not known what depiction the client has. */
+	private byte[] depictionFingerprint = null;
+
+	/** The platform depiction fingerprint generation in which the depiction fingerprint was recorded. */
+	private long depictionFingerprintGeneration;
+
+	@Override
+	public byte[] getDepictionFingerprint() {
+		return depictionFingerprint != null && depictionFingerprintGeneration == getPlatform().getDepictionFingerprintGeneration() ? depictionFingerprint : null;
+	}
+
+	@Override
+	public void setDepictionFingerprint(final byte[] depictionFingerprint) {
+		this.depictionFingerprint = depictionFingerprint;
+		depictionFingerprintGeneration = getPlatform().getDepictionFingerprintGeneration();
+	}
+
+	/** The thread-safe set of properties that can be updated on the client without replacing the entire depiction. */
+	private final Set<String> patchableProperties = new CopyOnWriteArraySet<String>();
+
+	/**
+	 * Returns the depicted object properties that can be updated on the client without replacing the entire depiction. Subclasses that add properties to this
+	 * set must update them in {@link #depictPatch(WebPatchWriter, Set)}.
+	 * @return The depicted object properties that can be patched.
+	 */
+	protected Set<String> getPatchableProperties() {
+		return patchableProperties;
+	}
+
+	/**
+	 * Determines whether the given modified properties can all be updated on the client without replacing the entire depiction.
+	 * @param modifiedProperties The depicted object properties that have been modified.
+	 * @return <code>true</code> if there are modified properties and all of them can be patched.
+	 * @see #getPatchableProperties()
+	 */
+	protected boolean isPatchable(final Set<String> modifiedProperties) {
+		return !modifiedProperties.isEmpty() && getPatchableProperties().containsAll(modifiedProperties);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version only writes changes if all the modified properties are patchable, in which case the modified properties are passed to
+	 * {@link #depictPatch(WebPatchWriter, Set)}.
+	 * </p>
+	 * @see #isPatchable(Set)
+	 */
+	@Override
+	public boolean depictPatch(final WebPatchWriter patchWriter) throws IOException {
+		final Set<String> modifiedProperties = new HashSet<String>(getModifiedProperties()); //get a snapshot of the modified properties
+		if(!isPatchable(modifiedProperties)) { //if the component must be depicted in full
+			return false;
+		}
+		depictionFingerprint = null; //the patched depiction no longer matches any fingerprint
+		depictPatch(patchWriter, modifiedProperties); //write the changes
+		for(final String modifiedProperty : modifiedProperties) { //mark only the patched properties as updated, in case others were modified in the meantime
+			setPropertyModified(modifiedProperty, false);
+		}
+		return true;
+	}
+
+	/**
+	 * Writes fine-grained changes for the given modified properties, all of which are known to be patchable.
+	 * <p>
+	 * This version updates the outer element styles for {@link Displayable#DISPLAYED_PROPERTY} and {@link PresentationModel#VISIBLE_PROPERTY}, if they are
+	 * patchable and modified.
+	 * </p>
+	 * @param patchWriter The writer of fine-grained changes to the depiction already on the client.
+	 * @param modifiedProperties The patchable properties that have been modified.
+	 * @throws IOException if there is an error writing the information.
+	 * @see #getPatchableProperties()
+	 */
+	protected void depictPatch(final WebPatchWriter patchWriter, final Set<String> modifiedProperties) throws IOException {
+		final C component = getDepictedObject();
+		final String id = getPlatform().getDepictIDString(component.getDepictID());
+		if(modifiedProperties.contains(Displayable.DISPLAYED_PROPERTY)) { //display
+			patchWriter.writeStyle(id, CSS_PROP_DISPLAY, component.isDisplayed() ? null : CSS_DISPLAY_NONE);
+		}
+		if(modifiedProperties.contains(VISIBLE_PROPERTY)) { //visibility
+			patchWriter.writeStyle(id, CSS_PROP_VISIBILITY, component.isVisible() ? null : CSS_VISIBILITY_HIDDEN);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version marks the depiction as needing general updates if a patchable property changes on an object other than the depicted object, as only the
+	 * depicted object properties are known to be patchable.
+	 * </p>
+	 */
+	@Override
+	protected void depictedObjectPropertyChange(final PropertyChangeEvent propertyChangeEvent) {
+		super.depictedObjectPropertyChange(propertyChangeEvent);
+		final String propertyName = propertyChangeEvent.getPropertyName();
+		if(propertyChangeEvent.getSource() != getDepictedObject() && getPatchableProperties().contains(propertyName) && !getIgnoredProperties().contains(propertyName)) { //if a related object changed a patchable property
+			setPropertyModified(GENERAL_PROPERTY, true); //the change cannot be patched
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -155,18 +313,180 @@ public String getDepictName() {
 	 * A component for an individual component type should usually not override this method, opting instead to override one of the more fine-grained update view
 	 * methods.
 	 * </p>
+	 * <p>
+	 * This version forgets any depiction fingerprint, as the new depiction may be sent to the client as part of another depiction without being fingerprinted.
+	 * </p>
 	 * @see #depictBegin()
 	 * @see #depictBody()
 	 * @see #depictEnd()
 	 */
 	@Override
 	public void depict() throws IOException {
-		depictBegin(); //begin the rendering process
-		depictBody(); //renders the main part of the component
-		depictEnd(); //end the rendering process
+		depictionFingerprint = null; //we no longer know which depiction the client will have
+		updateDepictNameRegistration(); //the depict name may have changed since it was registered, such as when a check control joins a mutual exclusion group
+		final List<Object> depictionCacheKey = getDepictionCacheKey(); //see if the depiction can be shared with other sessions
+		final WebDepictContext depictContext = getDepictContext();
+		if(depictionCacheKey != null && depictContext instanceof AbstractXMLDepictContext) { //if the depiction is cacheable and we can record the depiction
+			final AbstractXMLDepictContext xmlDepictContext = (AbstractXMLDepictContext)depictContext;
+			final DepictionCache depictionCache = getSession().getApplication().getDepictionCache();
+			final String depictIDString = getPlatform().getDepictIDString(getDepictedObject().getDepictID());
+			final DepictionCache.Fragment template = depictionCache.get(depictionCacheKey); //see if another depiction of an identical component has been cached
+			if(template instanceof AbstractXMLDepictContext.DepictionRecording) { //if we have a cached depiction, write it with our own ID
+				xmlDepictContext.writeDepictionRecording((AbstractXMLDepictContext.DepictionRecording)template,
+						value -> value.replace(String.valueOf(DEPICTION_TEMPLATE_ID_PLACEHOLDER), depictIDString));
+			} else { //if we have no cached depiction, depict the component and cache the depiction
+				xmlDepictContext.beginDepictionRecording();
+				try {
+					depictBegin(); //begin the rendering process
+					depictBody(); //renders the main part of the component
+					depictEnd(); //end the rendering process
+				} finally {
+					final AbstractXMLDepictContext.DepictionRecording recording = xmlDepictContext.endDepictionRecording();
+					if(recording != null) { //if the entire depiction was recorded
+						final AbstractXMLDepictContext.DepictionRecording newTemplate = createDepictionTemplate(recording, depictIDString);
+						if(newTemplate != null) {
+							depictionCache.put(depictionCacheKey, newTemplate);
+						}
+					}
+				}
+			}
+		} else { //if the depiction can't be cached
+			depictBegin(); //begin the rendering process
+			depictBody(); //renders the main part of the component
+			depictEnd(); //end the rendering process
+		}
 		setDepicted(true); //show that the depiction has been updated
 	}
 
+	/** The character used in a cached depiction template in place of the depicted component ID; this character cannot appear in XML. */
+	protected static final char DEPICTION_TEMPLATE_ID_PLACEHOLDER = '\u0000';
+
+	/**
+	 * Creates a template from a recorded depiction by replacing the ID of the depicted component in attribute values with
+	 * {@link #DEPICTION_TEMPLATE_ID_PLACEHOLDER}. The ID is only recognized as an entire attribute value, at the beginning of an attribute value followed by a
+	 * hyphen (as in a decorated ID such as <code>id1-body</code>), or preceded by a fragment identifier (as in a local reference). If the ID appears anywhere
+	 * else, such as in text content, no template is created.
+	 * <p>
+	 * As the template is a structural recording, no hash attributes are cached; they are generated anew each time the template is written.
+	 * </p>
+	 * @param recording The recorded depiction.
+	 * @param depictIDString The platform form of the depicted component ID.
+	 * @return The depiction template, or <code>null</code> if the ID could not be reliably replaced.
+	 */
+	protected static AbstractXMLDepictContext.DepictionRecording createDepictionTemplate(final AbstractXMLDepictContext.DepictionRecording recording,
+			final String depictIDString) {
+		final String placeholder = String.valueOf(DEPICTION_TEMPLATE_ID_PLACEHOLDER);
+		final AbstractXMLDepictContext.DepictionRecording template = recording.withAttributeValues(value -> {
+			if(value.equals(depictIDString)) { //id
+				return placeholder;
+			} else if(value.startsWith(depictIDString + '-')) { //id-suffix
+				return placeholder + value.substring(depictIDString.length());
+			} else if(value.startsWith("#" + depictIDString)
+					&& (value.length() == depictIDString.length() + 1 || value.charAt(depictIDString.length() + 1) == '-')) { //#id or #id-suffix
+				return "#" + placeholder + value.substring(depictIDString.length() + 1);
+			}
+			return value;
+		});
+		return template.contains(depictIDString) ? null : template; //don't cache the depiction if the ID appears in some unrecognized context
+	}
+
+	/** Whether the depiction may be shared with identical components in other sessions using the application depiction cache. */
+	private boolean depictionCacheEnabled = false;
+
+	/**
+	 * Returns whether the depiction may be shared with identical components in other sessions using the application depiction cache. Depiction caching is
+	 * disabled by default.
+	 * @return <code>true</code> if the depiction may be cached, if the depictor supports caching.
+	 * @see GuiseApplication#getDepictionCache()
+	 */
+	public boolean isDepictionCacheEnabled() {
+		return depictionCacheEnabled;
+	}
+
+	/**
+	 * Sets whether the depiction may be shared with identical components in other sessions using the application depiction cache. Caching should only be
+	 * enabled for components that are depicted identically in many sessions.
+	 * @param depictionCacheEnabled <code>true</code> if the depiction may be cached, if the depictor supports caching.
+	 * @see #addDepictionCacheKeyValues(List)
+	 */
+	public void setDepictionCacheEnabled(final boolean depictionCacheEnabled) {
+		this.depictionCacheEnabled = depictionCacheEnabled;
+	}
+
+	/**
+	 * Returns a key that completely describes the depiction of the component, so that the depiction can be shared with identical components in other sessions.
+	 * The key includes the depictor and component classes, the session locale and theme, the component orientation, the element local name, whether the component
+	 * is enabled, the depict name if it is not the component ID, and whether the component is a mouse listener, along with the values added by
+	 * {@link #addDepictionCacheKeyValues(List)}.
+	 * <p>
+	 * This version returns <code>null</code> unless depiction caching has been enabled for this depictor. It also returns <code>null</code> for a composite
+	 * component with children, as the IDs of the child components cannot be reliably replaced, and in debug mode, as resources may then change without notice.
+	 * </p>
+	 * @return A key describing the depiction of the component, or <code>null</code> if the depiction should not be cached.
+	 * @see #isDepictionCacheEnabled()
+	 * @see GuiseApplication#getDepictionCache()
+	 */
+	protected List<Object> getDepictionCacheKey() {
+		if(!isDepictionCacheEnabled()) {
+			return null;
+		}
+		final C component = getDepictedObject();
+		if(component instanceof CompositeComponent && ((CompositeComponent)component).hasChildComponents()) { //child depictions can't be cached with the parent
+			return null;
+		}
+		final GuiseSession session = getSession();
+		if(session.getApplication().isDebug()) { //resources are revalidated in debug mode, so the same key may not always produce the same depiction
+			return null;
+		}
+		final List<Object> key = new ArrayList<Object>();
+		key.add(getClass());
+		key.add(component.getClass());
+		key.add(session.getLocale());
+		key.add(session.getThemeURI());
+		key.add(component.getComponentOrientation());
+		key.add(component.getOrientation());
+		key.add(getLocalName());
+		key.add(component instanceof Enableable ? ((Enableable)component).isEnabled() : null);
+		final String depictName = getDepictName();
+		final boolean isDepictNameID = Objects.equals(depictName, getPlatform().getDepictIDString(component.getDepictID())); //the default depict name is the ID, which is replaced in the template
+		key.add(isDepictNameID);
+		key.add(isDepictNameID ? null : depictName);
+		key.add(isMouseListener());
+		return addDepictionCacheKeyValues(key) ? key : null;
+	}
+
+	/**
+	 * Adds the values of the component that determine its depiction to a depiction cache key. A depictor that caches depictions must add every value that
+	 * affects what it depicts.
+	 * <p>
+	 * This version adds nothing and returns <code>false</code>, indicating that the depiction should not be cached.
+	 * </p>
+	 * @param key The depiction cache key to which values should be added.
+	 * @return <code>true</code> if the depiction may be cached using the key.
+	 * @see #getDepictionCacheKey()
+	 * @see #addPresentationDepictionCacheKeyValues(List)
+	 */
+	protected boolean addDepictionCacheKeyValues(final List<Object> key) {
+		return false;
+	}
+
+	/**
+	 * Adds the values determining the common presentation of the component to a depiction cache key: the outer and body styles, the body style IDs, and the
+	 * advisory information.
+	 * @param key The depiction cache key to which values should be added.
+	 * @see #addDepictionCacheKeyValues(List)
+	 */
+	protected void addPresentationDepictionCacheKeyValues(final List<Object> key) {
+		final C component = getDepictedObject();
+		key.add(getOuterStyles());
+		key.add(getBodyStyles());
+		key.add(getBodyStyleIDs(null, null));
+		key.add(component.isTooltipEnabled());
+		key.add(component.getInfo());
+		key.add(component.getInfoContentType());
+		key.add(component.getNotification());
+	}
+
 	/**
 	 * Begins the depiction process.
 	 * <p>
@@ -209,8 +529,13 @@ protected void depictBegin() throws IOException {
 	 * <p>
 	 * This version increases and decreases the indention level before and after depicting the children, respectively.
 	 * </p>
+	 * <p>
+	 * A subclass adding attributes to the element begun in {@link #depictBegin()} must add them before calling this version, as the start tag of the element may
+	 * be sent to the output once the depicted children grow large.
+	 * </p>
 	 * @throws IOException if there is an error updating the depiction.
 	 * @see AbstractComponentDepictor#depictChildren()
+	 * @see XMLDepictContext#writeAttribute(URI, String, String)
 	 */
 	protected void depictBody() throws IOException {
 		final WebDepictContext depictContext = getDepictContext(); //get the depict context
@@ -319,6 +644,27 @@ protected Set<String> getBaseStyleIDs(final String prefix, final String suffix)
 		return baseStyleIDs; //return the style IDs
 	}
 
+	/**
+	 * Adds the values of the component that determine its base style IDs to a class attribute cache key. A depictor that overrides
+	 * {@link #getBaseStyleIDs(String, String)} must override this method to add every value its version depends upon, or else must indicate that its class
+	 * attribute values cannot be cached.
+	 * <p>
+	 * This version adds the component class, the component style ID, whether the component is valid, the control status if the component is a {@link Control},
+	 * and the selected state if the component is {@link Selectable}.
+	 * </p>
+	 * @param key The class attribute cache key to which values should be added.
+	 * @see #getBaseStyleIDs(String, String)
+	 * @see #isClassAttributeValueCacheable()
+	 */
+	protected void addBaseStyleIDsKeyValues(final List<Object> key) {
+		final C component = getDepictedObject();
+		key.add(component.getClass());
+		key.add(component.getStyleID());
+		key.add(component.isValid());
+		key.add(component instanceof Control ? ((Control)component).getStatus() : null);
+		key.add(component instanceof Selectable && ((Selectable)component).isSelected());
+	}
+
 	/**
 	 * Retrieves the style IDs for the main part of the component.
 	 * <p>
@@ -352,6 +698,26 @@ protected Set<String> getBodyStyleIDs(final String prefix, final String suffix)
 		return styleIDs; //return the complete style IDs
 	}
 
+	/**
+	 * Adds the values of the component that determine its body style IDs to a class attribute cache key. A depictor that overrides
+	 * {@link #getBodyStyleIDs(String, String)} must override this method to add every value its version depends upon, or else must indicate that its class
+	 * attribute values cannot be cached.
+	 * <p>
+	 * This version adds the base style ID values, along with whether the component is a drag source, a drop target, and a mouse listener.
+	 * </p>
+	 * @param key The class attribute cache key to which values should be added.
+	 * @see #getBodyStyleIDs(String, String)
+	 * @see #addBaseStyleIDsKeyValues(List)
+	 * @see #isClassAttributeValueCacheable()
+	 */
+	protected void addBodyStyleIDsKeyValues(final List<Object> key) {
+		final C component = getDepictedObject();
+		addBaseStyleIDsKeyValues(key);
+		key.add(component.isDragEnabled());
+		key.add(component.isDropEnabled());
+		key.add(isMouseListener());
+	}
+
 	/**
 	 * Modifies an ID (such as a component ID or a style ID) by adding a prefix and/or suffix as needed.
 	 * @param id The ID.
@@ -395,6 +761,18 @@ protected Set<String> addFlowStyleIDs(final Set<String> styleIDs, final Flow flo
 		return styleIDs; //return the style IDs
 	}
 
+	/**
+	 * Adds the values determining the flow style IDs for the given flow to a class attribute cache key: the physical flow axis and the line direction.
+	 * @param key The class attribute cache key to which values should be added.
+	 * @param flow The logical flow, which will be converted into a physical flow.
+	 * @see #addFlowStyleIDs(Set, Flow)
+	 */
+	protected void addFlowStyleIDsKeyValues(final List<Object> key, final Flow flow) {
+		final Orientation orientation = getDepictedObject().getComponentOrientation();
+		key.add(orientation.getAxis(flow));
+		key.add(orientation.getDirection(Flow.LINE));
+	}
+
 	/**
 	 * Retrieves the styles for the outer element of the component.
 	 * <p>
@@ -573,9 +951,7 @@ protected void writeIDAttribute(final String prefix, final String suffix) throws
 	 */
 	protected void writeIDClassAttributes(final String prefix, final String suffix, final String... styleIDs) throws IOException {
 		writeIDAttribute(prefix, suffix); //write the ID with the correct prefix and suffix
-		final Set<String> allStyleIDs = getBaseStyleIDs(prefix, suffix); //get the base style IDs with the correct prefixes and suffixes
-		addAll(allStyleIDs, styleIDs); //add the given style IDs to the default style IDs
-		writeClassAttribute(allStyleIDs); //write the style IDs		
+		writeClassAttribute(getClassAttributeValue(false, prefix, suffix, styleIDs)); //write the base style IDs and the given style IDs
 	}
 
 	/**
@@ -588,7 +964,75 @@ protected void writeIDClassAttributes(final String prefix, final String suffix,
 	 */
 	protected void writeBodyIDClassAttributes(final String prefix, final String suffix) throws IOException {
 		getDepictContext().writeAttribute(null, ATTRIBUTE_ID, decorateID(getPlatform().getDepictIDString(getDepictedObject().getDepictID()), prefix, suffix)); //write the ID with the correct prefix and suffix
-		writeClassAttribute(getBodyStyleIDs(prefix, suffix)); //write the base style IDs with the correct prefixes and suffixes		
+		writeClassAttribute(getClassAttributeValue(true, prefix, suffix)); //write the body style IDs with the correct prefixes and suffixes
+	}
+
+	/** The maximum number of class attribute values to cache. */
+	private static final int MAX_CACHED_CLASS_ATTRIBUTE_VALUE_COUNT = 4096;
+
+	/**
+	 * The thread-safe shared cache of class attribute values keyed to lists of the depictor class, the prefix and suffix, the additional style IDs, and the
+	 * component values determining the style IDs.
+	 */
+	private static final LRUCache<List<Object>, String> cachedClassAttributeValues = new LRUCache<List<Object>, String>(MAX_CACHED_CLASS_ATTRIBUTE_VALUE_COUNT);
+
+	/**
+	 * Indicates whether the class attribute values produced by this depictor may be shared among all components with identical style ID key values. This is the
+	 * case if the style ID key values describe everything the base and body style IDs depend upon. A depictor that overrides
+	 * {@link #getBaseStyleIDs(String, String)} or {@link #getBodyStyleIDs(String, String)} without overriding the corresponding key values method must override
+	 * this method to return <code>false</code>.
+	 * <p>
+	 * This version returns <code>true</code>.
+	 * </p>
+	 * @return <code>true</code> if the class attribute values of this depictor may be cached.
+	 * @see #addBaseStyleIDsKeyValues(List)
+	 * @see #addBodyStyleIDsKeyValues(List)
+	 */
+	protected boolean isClassAttributeValueCacheable() {
+		return true;
+	}
+
+	/**
+	 * Retrieves the value of the class attribute for the main part or for the body of the component. The value is shared among all components with identical
+	 * style ID key values if the depictor indicates that its class attribute values may be cached.
+	 * @param body <code>true</code> if the body style IDs should be used, or <code>false</code> if the base style IDs should be used.
+	 * @param prefix The prefix that needs to be added to each, or <code>null</code> if there is no prefix to add.
+	 * @param suffix The suffix that needs to be added to each, or <code>null</code> if there is no suffix to add.
+	 * @param styleIDs Additional style IDs to include, without the given prefix and suffix.
+	 * @return The style IDs separated by spaces.
+	 * @see #isClassAttributeValueCacheable()
+	 * @see #getBaseStyleIDs(String, String)
+	 * @see #getBodyStyleIDs(String, String)
+	 * @see #addBaseStyleIDsKeyValues(List)
+	 * @see #addBodyStyleIDsKeyValues(List)
+	 */
+	protected String getClassAttributeValue(final boolean body, final String prefix, final String suffix, final String... styleIDs) {
+		final boolean cacheable = isClassAttributeValueCacheable();
+		List<Object> key = null;
+		if(cacheable) {
+			key = new ArrayList<Object>();
+			key.add(getClass());
+			key.add(body);
+			key.add(prefix);
+			key.add(suffix);
+			key.add(Arrays.asList(styleIDs));
+			if(body) {
+				addBodyStyleIDsKeyValues(key);
+			} else {
+				addBaseStyleIDsKeyValues(key);
+			}
+			final String classAttributeValue = cachedClassAttributeValues.get(key);
+			if(classAttributeValue != null) {
+				return classAttributeValue;
+			}
+		}
+		final Set<String> allStyleIDs = body ? getBodyStyleIDs(prefix, suffix) : getBaseStyleIDs(prefix, suffix); //get the style IDs with the correct prefixes and suffixes
+		addAll(allStyleIDs, styleIDs); //add the given style IDs
+		final String classAttributeValue = formatList(new StringBuilder(), SPACE_CHAR, allStyleIDs).toString(); //concatenate the style IDs using a space delimiter
+		if(cacheable) {
+			cachedClassAttributeValues.put(key, classAttributeValue);
+		}
+		return classAttributeValue;
 	}
 
 	/**
@@ -637,6 +1081,17 @@ protected void writeClassAttribute(final Set<String> styleIDs) throws IOExceptio
 		}
 	}
 
+	/**
+	 * Writes an XHTML class attribute with the given space-separated style IDs. If the value is empty, the class attribute is not written.
+	 * @param styleClass The style IDs, separated by spaces.
+	 * @throws IOException if there is an error writing the attribute.
+	 */
+	protected void writeClassAttribute(final String styleClass) throws IOException {
+		if(!styleClass.isEmpty()) { //if there is at least one style ID
+			getDepictContext().writeAttribute(null, ATTRIBUTE_CLASS, styleClass); //write the style class attribute
+		}
+	}
+
 	/**
 	 * Writes an XHTML style attribute with the given styles. If no styles are provided, the style attribute is not written.
 	 * @param styles The map of styles to write, each keyed to a CSS style property.
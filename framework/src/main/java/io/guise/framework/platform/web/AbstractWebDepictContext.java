@@ -84,9 +84,95 @@ public AbstractWebDepictContext(final GuiseSession session, final Destination de
 		getXMLNamespacePrefixManager().registerNamespacePrefix(Facebook.NAMESPACE_URI.toString(), Facebook.NAMESPACE_PREFIX); //map the Facebook namespace to the Facebook prefix
 	}
 
+	/** The maximum number of style strings and value strings each to cache. */
+	private static final int MAX_CACHED_CSS_STRING_COUNT = 4096;
+
+	/**
+	 * The thread-safe shared cache of CSS style strings keyed to the maps of styles they represent. Only style maps containing values that are immutable and do
+	 * not depend on the session or orientation are cached.
+	 * @see #isCSSStyleCacheable(Map)
+	 */
+	private static final LRUCache<Map<String, Object>, String> cachedCSSStyleStrings = new LRUCache<Map<String, Object>, String>(MAX_CACHED_CSS_STRING_COUNT);
+
+	/**
+	 * The thread-safe shared cache of CSS value strings keyed to the immutable, session-independent values they represent, such as {@link AbstractModeledColor},
+	 * {@link Extent}, and enum values.
+	 */
+	private static final LRUCache<Object, String> cachedCSSValueStrings = new LRUCache<Object, String>(MAX_CACHED_CSS_STRING_COUNT);
+
+	/**
+	 * Caches a CSS string, discarding the least recently used string if the cache is full.
+	 * @param <K> The type of key.
+	 * @param cache The cache in which to store the string.
+	 * @param key The key representing the string.
+	 * @param string The CSS string.
+	 * @return The given CSS string.
+	 */
+	private static <K> String cacheCSSString(final LRUCache<K, String> cache, final K key, final String string) {
+		cache.put(key, string);
+		return string;
+	}
+
+	/** The string builder reused for constructing style strings; depict contexts are not shared among threads. */
+	private final StringBuilder cssStyleStringBuilder = new StringBuilder();
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation returns a shared style string if an identical map of styles containing only cacheable values has previously been serialized.
+	 * </p>
+	 * @see #isCSSStyleCacheable(Map)
+	 */
 	@Override
 	public String getCSSStyleString(final Map<String, Object> styles, final Orientation orientation) {
-		final StringBuilder stringBuilder = new StringBuilder(); //create a new string builder for style
+		final boolean cacheable = isCSSStyleCacheable(styles);
+		if(cacheable) {
+			final String cssStyleString = cachedCSSStyleStrings.get(styles);
+			if(cssStyleString != null) {
+				return cssStyleString;
+			}
+		}
+		final StringBuilder stringBuilder = cssStyleStringBuilder;
+		stringBuilder.setLength(0);
+		final String cssStyleString = appendCSSStyle(stringBuilder, styles, orientation).toString();
+		return cacheable ? cacheCSSString(cachedCSSStyleStrings, new HashMap<String, Object>(styles), cssStyleString) : cssStyleString; //cache a copy of the styles, as the caller may modify them
+	}
+
+	/**
+	 * Determines whether the serialized form of the given styles may be shared. This is the case if each value is a {@link String}, a {@link Number}, an
+	 * {@link AbstractModeledColor}, an {@link Extent}, a {@link FontStyle}, a {@link LineStyle}, or a list of strings; that is, if the serialized form does not
+	 * depend on the session or on the orientation, and the value is immutable and has value equality.
+	 * @param styles The map of styles, each keyed to a CSS style property.
+	 * @return <code>true</code> if the style string for the given styles may be cached.
+	 */
+	protected static boolean isCSSStyleCacheable(final Map<String, Object> styles) {
+		for(final Object value : styles.values()) {
+			if(value instanceof String || value instanceof Number || value instanceof AbstractModeledColor || value instanceof Extent || value instanceof FontStyle
+					|| value instanceof LineStyle) {
+				continue;
+			}
+			if(value instanceof List) {
+				for(final Object item : (List<?>)value) {
+					if(!(item instanceof String)) {
+						return false;
+					}
+				}
+				continue;
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Appends the CSS declarations of the given styles to a string builder.
+	 * @param stringBuilder The string builder to which the style declarations will be added.
+	 * @param styles The map of styles to write, each keyed to a CSS style property.
+	 * @param orientation The orientation of the component for which the style is being produced.
+	 * @return The provided string builder.
+	 * @see #getCSSStyleString(Map, Orientation)
+	 */
+	protected StringBuilder appendCSSStyle(final StringBuilder stringBuilder, final Map<String, Object> styles, final Orientation orientation) {
 		for(final Map.Entry<String, Object> entry : styles.entrySet()) { //for each style entry
 			String property = entry.getKey(); //get the property
 			Object value = entry.getValue(); //get the value
@@ -116,7 +202,7 @@ public String getCSSStyleString(final Map<String, Object> styles, final Orientat
 			appendCSSValue(stringBuilder, value, orientation); //value
 			stringBuilder.append(DECLARATION_SEPARATOR_CHAR); //;
 		}
-		return stringBuilder.toString(); //return the string we constructed
+		return stringBuilder; //return the string builder
 	}
 
 	/**
@@ -165,6 +251,24 @@ protected StringBuilder appendCSSValue(final StringBuilder stringBuilder, final
 	 * @return The provided string builder.
 	 */
 	protected static StringBuilder appendCSSValue(final StringBuilder stringBuilder, final Color color) {
+		if(color instanceof AbstractModeledColor) { //a modeled color is immutable and doesn't depend on the session, so its CSS form can be shared
+			String cssValue = cachedCSSValueStrings.get(color);
+			if(cssValue == null) {
+				cssValue = cacheCSSString(cachedCSSValueStrings, color, appendRGBCSSValue(new StringBuilder(), color).toString());
+			}
+			return stringBuilder.append(cssValue);
+		}
+		return appendRGBCSSValue(stringBuilder, color);
+	}
+
+	/**
+	 * Appends a CSS string representation of the given color as RGB, without caching.
+	 * @param stringBuilder The string builder to which the style will be added.
+	 * @param color The color to represent in CSS.
+	 * @return The provided string builder.
+	 * @see #appendCSSValue(StringBuilder, Color)
+	 */
+	private static StringBuilder appendRGBCSSValue(final StringBuilder stringBuilder, final Color color) {
 		final RGBColor rgbColor = color.asRGB(); //get the color as RGB
 		if(rgbColor.getAlpha() > 0) { //if there is an alpha value
 			stringBuilder.append(RGB_NUMBER_CHAR); //#
@@ -186,7 +290,7 @@ protected static StringBuilder appendCSSValue(final StringBuilder stringBuilder,
 	 * @throws NullPointerException if the given cursor is <code>null</code>.
 	 */
 	protected static StringBuilder appendCSSValue(final StringBuilder stringBuilder, final Cursor cursor, final Orientation orientation) {
-		return stringBuilder.append(getSerializationName(cursor.getCSSCursor(orientation))); //append the serialized form of the corresponding XML CSS cursor enum value
+		return stringBuilder.append(getCSSValueString(cursor.getCSSCursor(orientation))); //append the serialized form of the corresponding XML CSS cursor enum value
 	}
 
 	/**
@@ -196,6 +300,21 @@ protected static StringBuilder appendCSSValue(final StringBuilder stringBuilder,
 	 * @return The provided string builder.
 	 */
 	protected static StringBuilder appendCSSValue(final StringBuilder stringBuilder, final Extent extent) {
+		String cssValue = cachedCSSValueStrings.get(extent);
+		if(cssValue == null) {
+			cssValue = cacheCSSString(cachedCSSValueStrings, extent, formatCSSValue(new StringBuilder(), extent).toString());
+		}
+		return stringBuilder.append(cssValue);
+	}
+
+	/**
+	 * Appends a CSS string representation of the given extent, without caching.
+	 * @param stringBuilder The string builder to which the style will be added
+	 * @param extent The extent to be represented by a CSS length string.
+	 * @return The provided string builder.
+	 * @see #appendCSSValue(StringBuilder, Extent)
+	 */
+	private static StringBuilder formatCSSValue(final StringBuilder stringBuilder, final Extent extent) {
 		double value = extent.getValue(); //get the value of the extent
 		final Unit unit = extent.getUnit(); //get the unit of measurement
 		final String cssUnit = CSS_UNITS[unit.ordinal()]; //get the corresponding CSS unit
@@ -213,7 +332,7 @@ protected static StringBuilder appendCSSValue(final StringBuilder stringBuilder,
 	 * @throws NullPointerException if the given font style is <code>null</code>.
 	 */
 	protected static StringBuilder appendCSSValue(final StringBuilder stringBuilder, final FontStyle fontStyle) {
-		return stringBuilder.append(getSerializationName(fontStyle)); //append the serialized form of the enum
+		return stringBuilder.append(getCSSValueString(fontStyle)); //append the serialized form of the enum
 	}
 
 	/**
@@ -224,7 +343,19 @@ protected static StringBuilder appendCSSValue(final StringBuilder stringBuilder,
 	 * @throws NullPointerException if the given line style is <code>null</code>.
 	 */
 	protected static StringBuilder appendCSSValue(final StringBuilder stringBuilder, final LineStyle lineStyle) {
-		return stringBuilder.append(getSerializationName(lineStyle)); //append the serialized form of the enum
+		return stringBuilder.append(getCSSValueString(lineStyle)); //append the serialized form of the enum
+	}
+
+	/**
+	 * Returns the serialized CSS form of the given enum value, sharing the string among all depictions.
+	 * @param <E> The type of enum.
+	 * @param value The enum value to represent in CSS.
+	 * @return The serialized form of the enum value.
+	 * @throws NullPointerException if the given value is <code>null</code>.
+	 */
+	protected static <E extends Enum<E>> String getCSSValueString(final E value) {
+		final String cssValue = cachedCSSValueStrings.get(value);
+		return cssValue != null ? cssValue : cacheCSSString(cachedCSSValueStrings, value, getSerializationName(value));
 	}
 
 	/**
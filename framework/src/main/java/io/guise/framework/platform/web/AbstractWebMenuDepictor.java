@@ -111,6 +111,21 @@ protected Set<String> getBaseStyleIDs(final String prefix, final String suffix)
 		return baseStyleIDs; //return the new style IDs
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version adds the values determining the flow style IDs for the menu flow, as well as whether the menu is open and/or in a rollover state.
+	 * </p>
+	 */
+	@Override
+	protected void addBaseStyleIDsKeyValues(final List<Object> key) {
+		super.addBaseStyleIDsKeyValues(key);
+		final C component = getDepictedObject();
+		addFlowStyleIDsKeyValues(key, component.getLayout().getFlow());
+		key.add(component.isOpen());
+		key.add(component.isRollover());
+	}
+
 	/**
 	 * Retrieves the styles for the body element of the component. This version sets the z-index of menus to ensure that they cover normal content.
 	 * @param context Guise context information.
@@ -17,6 +17,7 @@
 package io.guise.framework.platform.web;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Collections.*;
 import static java.util.Objects.*;
@@ -27,6 +28,7 @@
 import com.globalmentor.model.NameValuePair;
 
 import io.guise.framework.GuiseApplication;
+import io.guise.framework.component.Component;
 import io.guise.framework.platform.*;
 
 /**
@@ -46,10 +48,19 @@ public Environment getEnvironment() {
 		return environment;
 	}
 
-	@SuppressWarnings("unchecked")
+	/** The thread-safe queue of messages to be delivered to the platform, which coalesces redundant messages. */
+	private final WebPlatformMessageQueue sendMessageQueue = new WebPlatformMessageQueue();
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version returns a queue that coalesces redundant messages as they are added.
+	 * </p>
+	 * @see WebPlatformCommand#isCoalesced()
+	 */
 	@Override
-	public Queue<WebPlatformMessage> getSendMessageQueue() {
-		return (Queue<WebPlatformMessage>)super.getSendMessageQueue();
+	public WebPlatformMessageQueue getSendMessageQueue() {
+		return sendMessageQueue;
 	}
 
 	/** The map of poll intervals requested for depicted objects. */
@@ -111,6 +122,70 @@ public boolean discontinuePollInterval(final DepictedObject depictedObject) {
 		return false; //indicate that the polling interval did not change
 	}
 
+	/** The components registered by depict name; each set holds its components weakly, so that components are not kept from being collected. */
+	private final Map<String, Set<Component>> depictNameComponentsMap = new HashMap<String, Set<Component>>();
+
+	@Override
+	public void registerDepictName(final String depictName, final Component component) {
+		requireNonNull(depictName, "Depict name cannot be null.");
+		requireNonNull(component, "Component cannot be null.");
+		synchronized(depictNameComponentsMap) {
+			depictNameComponentsMap.computeIfAbsent(depictName, name -> newSetFromMap(new WeakHashMap<Component, Boolean>())).add(component);
+		}
+	}
+
+	@Override
+	public void unregisterDepictName(final String depictName, final Component component) {
+		requireNonNull(depictName, "Depict name cannot be null.");
+		requireNonNull(component, "Component cannot be null.");
+		synchronized(depictNameComponentsMap) {
+			final Set<Component> components = depictNameComponentsMap.get(depictName);
+			if(components != null) {
+				components.remove(component);
+				if(components.isEmpty()) { //don't keep empty sets around
+					depictNameComponentsMap.remove(depictName);
+				}
+			}
+		}
+	}
+
+	@Override
+	public Collection<Component> getComponentsByDepictName(final String depictName) {
+		requireNonNull(depictName, "Depict name cannot be null.");
+		synchronized(depictNameComponentsMap) {
+			final Set<Component> components = depictNameComponentsMap.get(depictName);
+			if(components == null) {
+				return emptySet();
+			}
+			if(components.isEmpty()) { //if all the components have been collected
+				depictNameComponentsMap.remove(depictName);
+				return emptySet();
+			}
+			return unmodifiableList(new ArrayList<Component>(components)); //return a snapshot, as the set may be modified by other threads
+		}
+	}
+
+	/** The current generation of depiction fingerprints; fingerprints recorded in earlier generations are no longer valid. */
+	private final AtomicLong depictionFingerprintGeneration = new AtomicLong(0);
+
+	@Override
+	public long getDepictionFingerprintGeneration() {
+		return depictionFingerprintGeneration.get();
+	}
+
+	@Override
+	public void resetDepictionFingerprints() {
+		depictionFingerprintGeneration.incrementAndGet();
+	}
+
+	/** The queue of events of AJAX requests waiting to be processed on this platform. */
+	private final AJAXRequestEventQueue ajaxRequestEventQueue = new AJAXRequestEventQueue();
+
+	@Override
+	public AJAXRequestEventQueue getAJAXRequestEventQueue() {
+		return ajaxRequestEventQueue;
+	}
+
 	/**
 	 * Application. This version copies the current application environment to a new environment for this platform.
 	 * @param application The Guise application running on this platform.
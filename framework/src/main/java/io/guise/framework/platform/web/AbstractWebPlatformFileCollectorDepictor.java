@@ -63,6 +63,17 @@ public enum WebPlatformFileCollectorCommand implements WebPlatformCommand {
 		/** The property for specifying whether multiple files should be selected. */
 		public static final String MULTIPLE_PROPERTY = "multiple";
 
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Only the latest request to browse for files has any effect.
+		 * </p>
+		 */
+		@Override
+		public boolean isCoalesced() {
+			return this == FILE_BROWSE;
+		}
+
 	}
 
 	/** The concurrent map of web platform files mapped to the IDs assigned to them, either by Flash or (for Google Gears) by Guise. */
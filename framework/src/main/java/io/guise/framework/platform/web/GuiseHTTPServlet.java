@@ -21,9 +21,11 @@
 import java.lang.reflect.UndeclaredThrowableException;
 import java.net.*;
 import java.nio.charset.Charset;
+import java.security.NoSuchAlgorithmException;
 import java.security.Principal;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
 
 import static java.nio.charset.StandardCharsets.*;
 import static java.util.Collections.*;
@@ -31,7 +33,7 @@
 
 import javax.servlet.*;
 import javax.servlet.http.*;
-import javax.xml.parsers.*;
+import javax.xml.stream.*;
 
 import com.globalmentor.collections.CollectionMap;
 import com.globalmentor.collections.Collections;
@@ -49,8 +51,6 @@
 import com.globalmentor.servlet.Servlets;
 import com.globalmentor.servlet.http.*;
 import com.globalmentor.text.elff.*;
-import com.globalmentor.xml.spec.XML;
-import com.globalmentor.xml.xpath.*;
 
 import io.clogr.Clogged;
 import io.guise.framework.*;
@@ -69,9 +69,9 @@
 import static com.globalmentor.html.spec.HTML.*;
 import static com.globalmentor.io.Filenames.*;
 import static com.globalmentor.io.Files.*;
+import static com.globalmentor.java.Conditions.*;
 import static com.globalmentor.java.Enums.*;
 import static com.globalmentor.java.Objects.*;
-import static com.globalmentor.java.Threads.*;
 import static com.globalmentor.net.URIs.*;
 import static com.globalmentor.net.HTTP.*;
 import static com.globalmentor.servlet.Servlets.*;
@@ -87,8 +87,6 @@
 import org.apache.commons.fileupload.disk.DiskFileItemFactory;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
 import org.slf4j.event.Level;
-import org.w3c.dom.*;
-import org.xml.sax.SAXException;
 
 /**
  * The servlet that controls a Guise web applications. Each Guise session's platform will be locked during normal web page generation context will be active at
@@ -111,6 +109,14 @@
  * <dd>Whether HTTP communication is logged.</dd>
  * <dt>{@link #PROFILE_INIT_PARAMETER}</dt>
  * <dd>Whether profiling should occur; should be "true" or "false".</dd>
+ * <dt>{@link #SESSION_THREAD_COUNT_INIT_PARAMETER}</dt>
+ * <dd>The maximum number of threads to run concurrently for each Guise session; if not present, session threads are pooled without bound.</dd>
+ * <dt>{@link #DEPICT_TEXT_FLUSH_THRESHOLD_INIT_PARAMETER}</dt>
+ * <dd>The number of characters of a depiction to collect before sending them to the client; if not present, defaults to
+ * {@link AbstractTextDepictContext#DEFAULT_DEPICT_TEXT_FLUSH_THRESHOLD}.</dd>
+ * <dt>{@link #DEPICT_HASH_ALGORITHM_INIT_PARAMETER}</dt>
+ * <dd>The algorithm for generating the hashes used to detect changes in depicted elements, such as {@value FNV1a64MessageDigest#ALGORITHM}; if not present,
+ * defaults to {@value AbstractXMLDepictContext#DEFAULT_HASH_ALGORITHM}.</dd>
  * </dl>
  * <p>
  * For example, the following Guise servlet context might define a data directory:
@@ -125,6 +131,15 @@ public class GuiseHTTPServlet extends DefaultHTTPServlet implements Clogged {
 	/** The init parameter, "applicationClass", used to specify the Guise application to create. */
 	public static final String APPLICATION_CLASS_INIT_PARAMETER = "applicationClass";
 
+	/** The init parameter, "sessionThreadCount", used to specify the maximum number of threads to run concurrently for each Guise session. */
+	public static final String SESSION_THREAD_COUNT_INIT_PARAMETER = "sessionThreadCount";
+
+	/** The init parameter, "depictTextFlushThreshold", used to specify the number of characters of a depiction to collect before sending them to the client. */
+	public static final String DEPICT_TEXT_FLUSH_THRESHOLD_INIT_PARAMETER = "depictTextFlushThreshold";
+
+	/** The init parameter, "depictHashAlgorithm", used to specify the algorithm for generating hashes of depicted element attributes and content. */
+	public static final String DEPICT_HASH_ALGORITHM_INIT_PARAMETER = "depictHashAlgorithm";
+
 	/** The init parameter prefix, "guise-environment:", used to indicate a Guise environment property. */
 	public static final String GUISE_ENVIRONMENT_INIT_PARAMETER_PREFIX = "guise-environment:";
 
@@ -143,6 +158,22 @@ public class GuiseHTTPServlet extends DefaultHTTPServlet implements Clogged {
 	/** The Guise container that owns the applications. */
 	private HTTPServletGuiseContainer guiseContainer = null;
 
+	/** The number of characters of a depiction to collect before sending them to the client. */
+	private int depictTextFlushThreshold = AbstractTextDepictContext.DEFAULT_DEPICT_TEXT_FLUSH_THRESHOLD;
+
+	/** @return The number of characters of a depiction to collect before sending them to the client. */
+	protected int getDepictTextFlushThreshold() {
+		return depictTextFlushThreshold;
+	}
+
+	/** The algorithm for generating hashes of depicted element attributes and content, or <code>null</code> if the default algorithm should be used. */
+	private String depictHashAlgorithm = null;
+
+	/** @return The algorithm for generating hashes of depicted element attributes and content, or <code>null</code> if the default algorithm should be used. */
+	protected String getDepictHashAlgorithm() {
+		return depictHashAlgorithm;
+	}
+
 	/**
 	 * Returns the Guise container. This method must not be called before a request is processed.
 	 * @return The Guise container that owns the applications.
@@ -235,6 +266,34 @@ public void initialize(ServletConfig servletConfig) throws ServletException, Ill
 		getLogger().info("Initializing {} {} {}", Guise.GUISE_NAME, Guise.getVersion(), Guise.getBuildDate());
 		setReadOnly(true); //make this servlet read-only
 		//TODO turn off directory listings, and/or fix them
+		final String sessionThreadCountInitParameter = servletConfig.getInitParameter(SESSION_THREAD_COUNT_INIT_PARAMETER); //see if the session threads should be bounded
+		if(sessionThreadCountInitParameter != null) {
+			try {
+				Guise.getInstance().setSessionExecutorFactory(GuiseSessionExecutorFactory.bounded(Integer.parseInt(sessionThreadCountInitParameter.trim())));
+			} catch(final IllegalArgumentException illegalArgumentException) { //NumberFormatException is an IllegalArgumentException
+				throw new ServletException("Invalid Guise session thread count \"" + sessionThreadCountInitParameter + "\".", illegalArgumentException);
+			}
+		}
+		final String depictTextFlushThresholdInitParameter = servletConfig.getInitParameter(DEPICT_TEXT_FLUSH_THRESHOLD_INIT_PARAMETER); //see if a depiction flush threshold is given
+		if(depictTextFlushThresholdInitParameter != null) {
+			try {
+				depictTextFlushThreshold = Integer.parseInt(depictTextFlushThresholdInitParameter.trim());
+			} catch(final NumberFormatException numberFormatException) {
+				throw new ServletException("Invalid Guise depict text flush threshold \"" + depictTextFlushThresholdInitParameter + "\".", numberFormatException);
+			}
+			if(depictTextFlushThreshold <= 0) {
+				throw new ServletException("Guise depict text flush threshold must be positive: " + depictTextFlushThreshold);
+			}
+		}
+		final String depictHashAlgorithmInitParameter = servletConfig.getInitParameter(DEPICT_HASH_ALGORITHM_INIT_PARAMETER); //see if a depiction hash algorithm is given
+		if(depictHashAlgorithmInitParameter != null) {
+			try {
+				AbstractXMLDepictContext.newHashMessageDigest(depictHashAlgorithmInitParameter.trim()); //make sure the algorithm is supported
+			} catch(final NoSuchAlgorithmException noSuchAlgorithmException) {
+				throw new ServletException("Unsupported Guise depict hash algorithm \"" + depictHashAlgorithmInitParameter + "\".", noSuchAlgorithmException);
+			}
+			depictHashAlgorithm = depictHashAlgorithmInitParameter.trim();
+		}
 		try {
 			guiseApplication = initGuiseApplication(servletConfig); //initialize the application and frame bindings
 		} catch(final ServletException servletException) {
@@ -414,7 +473,7 @@ public void doGet(final HttpServletRequest request, final HttpServletResponse re
 
 			final GuiseSessionThreadGroup guiseSessionThreadGroup = Guise.getInstance().getThreadGroup(guiseSession); //get the thread group for this session
 			try {
-				call(guiseSessionThreadGroup, new Runnable() { //call the method in a new thread inside the thread group
+				guiseSessionThreadGroup.call(new Runnable() { //call the method in a session thread inside the thread group
 
 					@Override
 					public void run() {
@@ -466,7 +525,7 @@ public void doPut(final HttpServletRequest request, final HttpServletResponse re
 		final GuiseSession guiseSession = HTTPServletGuiseSessionManager.getGuiseSession(guiseContainer, guiseApplication, request); //retrieve the Guise session for this container and request
 		final GuiseSessionThreadGroup guiseSessionThreadGroup = Guise.getInstance().getThreadGroup(guiseSession); //get the thread group for this session
 		try {
-			call(guiseSessionThreadGroup, new Runnable() { //call the method in a new thread inside the thread group
+			guiseSessionThreadGroup.call(new Runnable() { //call the method in a session thread inside the thread group
 
 				@Override
 				public void run() {
@@ -750,10 +809,59 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 				&& guiseRequest.getHTTPServletRequest().getParameter(WebApplicationFrameDepictor.getActionInputID(guiseSession.getApplicationFrame())) != null;
 		final HTTPServletWebDepictContext depictContext = new HTTPServletWebDepictContext(guiseRequest, response, guiseSession, componentDestination); //create a new Guise context
 		depictContext.registerDataAttributeNamespaceURI(GUISE_ML_NAMESPACE_URI); //use HTML5 data attributes for the Guise namespace
+		final String depictHashAlgorithm = getDepictHashAlgorithm();
+		if(depictHashAlgorithm != null) { //if a specific hash algorithm was configured
+			try {
+				depictContext.setHashAlgorithm(depictHashAlgorithm);
+			} catch(final NoSuchAlgorithmException noSuchAlgorithmException) { //the algorithm was verified when the servlet was initialized
+				throw unexpected(noSuchAlgorithmException);
+			}
+		}
+		final AJAXResponseWriter ajaxResponseWriter = createAJAXResponseWriter(guiseRequest, depictContext); //create a writer for the AJAX response in the format of the request
+		final AJAXRequestEventQueue ajaxRequestEventQueue = guisePlatform.getAJAXRequestEventQueue();
+		final long requestSequence = isAJAX ? ajaxRequestEventQueue.nextSequence() : 0; //note the order in which the request arrived before reading its events
+		List<GuiseEvent> requestEvents; //read the events under the shared lock, so that concurrent requests from the session can look up depicted objects
+		final Lock depictReadLock = guisePlatform.getDepictReadLock();
+		depictReadLock.lock();
+		try {
+			requestEvents = getRequestEvents(guiseRequest, guiseSession, depictContext); //get all events from the request
+			getLogger().trace("got control events");
+			if(isAJAX && isIdlePoll(requestEvents, guiseRequest, guiseSession, guisePlatform)) { //if this is only a poll and there is nothing to send back, there is no need for exclusive access
+				synchronizeCookies(guiseRequest.getHTTPServletRequest(), response, guiseSession); //synchronize the cookies going out in the response
+				ajaxResponseWriter.begin();
+				ajaxResponseWriter.end();
+				depictContext.commitDepictText();
+			}
+		} finally {
+			depictReadLock.unlock();
+		}
+		if(depictContext.isDepictTextCommitted()) { //if the request was serviced under the shared lock
+			depictContext.closeDepictText(); //send the response after releasing the lock
+			return;
+		}
+		final Object ajaxRequestContext = isAJAX ? getAJAXRequestContext(guiseRequest.getHTTPServletRequest()) : null;
+		if(isAJAX) { //queue AJAX request events so that overlapping requests with the same context can be processed together
+			ajaxRequestEventQueue.add(requestSequence, ajaxRequestContext, requestEvents);
+		}
 		//Log.trace("setting context");
-		guisePlatform.getDepictLock().lock(); //get the platform depict lock TODO surely reconsider this
+		final Lock depictLock = guisePlatform.getDepictLock();
+		depictLock.lock(); //only modifying and depicting the objects requires exclusive access; writing the response does not
+		if(isAJAX) { //process the events of all pending AJAX requests with this context, including this one unless another request has already processed them
+			requestEvents = ajaxRequestEventQueue.poll(ajaxRequestContext);
+			if(requestEvents == null) { //if another request processed our events, it has sent back the combined response
+				depictLock.unlock();
+				ajaxResponseWriter.begin(); //acknowledge the request with an empty response
+				ajaxResponseWriter.end();
+				depictContext.commitDepictText();
+				depictContext.closeDepictText();
+				return;
+			}
+		}
 		guisePlatform.setDepictContext(depictContext); //set the depict context for this platform
 		try {
+			if(isAJAX) { //if this is an AJAX request, begin the response before anything is written to it
+				ajaxResponseWriter.begin();
+			}
 			/*TODO del modal navigation
 						if(!guiseRequest.isAJAX()) {	//if this is not an AJAX request, see if we need to enforce modal navigation (only do this after we find a navigation panel, as this request might be for a stylesheet or some other non-panel resource, which shouldn't be redirected)
 							final ModalNavigation modalNavigation=guiseSession.getModalNavigation();	//see if we are currently doing modal navigation
@@ -774,9 +882,6 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 			final Component destinationComponent = guiseSession.getDestinationComponent(componentDestination); //get the component bound to the requested destination
 			assert destinationComponent != null : "No component found, even though we found a valid destination.";
 			final ApplicationFrame applicationFrame = guiseSession.getApplicationFrame(); //get the application frame
-			//TODO del Log.trace("ready to get request events");
-			final List<GuiseEvent> requestEvents = getRequestEvents(guiseRequest, guiseSession, depictContext); //get all events from the request
-			getLogger().trace("got control events");
 			if(isAJAX) { //if this is an AJAX request
 				/*TODO tidy when stringbuilder context works
 										guiseContext.setOutputContentType(XML_CONTENT_TYPE);	//switch to the "text/xml" content type
@@ -842,9 +947,9 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 									final String parameterName = parameterListMapEntry.getKey(); //get the parameter name
 
 									if(parameterName.equals(WebApplicationFrameDepictor.getActionInputID(applicationFrame)) && parameterListMapEntry.getValue().size() > 0) { //if this parameter is for an action
-										final Component actionComponent = AbstractComponent.getComponentByID(applicationFrame,
-												guisePlatform.getDepictID(parameterListMapEntry.getValue().get(0).toString())); //get an action component
-										if(actionComponent != null) { //if we found an action component
+										final Component actionComponent = asInstance(
+												guisePlatform.getDepictedObject(guisePlatform.getDepictID(parameterListMapEntry.getValue().get(0).toString())), Component.class).orElse(null); //look up the action component by its ID
+										if(actionComponent != null && (actionComponent == applicationFrame || AbstractComponent.hasAncestor(actionComponent, applicationFrame))) { //if we found an action component in our current hierarchy
 											requestedComponents.add(actionComponent); //add it to the list of requested components
 										}
 									} else { //if this parameter is not a special action parameter
@@ -998,9 +1103,10 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 							entry.setFieldValue(Field.CLIENT_SERVER_REFERER_HEADER_FIELD, referrerURI != null ? referrerURI.toString() : null); //store the referrer URI, if any
 							entry.setFieldValue(Field.DCS_ID_FIELD, guiseApplication.getDCSID()); //get the DCS ID from the application, if there is a DCS ID
 							//log this page
-							final Writer elffWriter = guiseApplication.getLogWriter("elff.log", elffWriterInitializer, elffWriterUninitializer); //get the ELFF log writer for this application TODO use a constant
-							elffWriter.write(getELFF().serializeEntry(entry)); //serialize the ELFF entry to the ELFF writer
-							elffWriter.flush(); //flush the ELFF writer
+							final AsynchronousLog elffLog = guiseApplication.getAsynchronousLog("elff.log", elffWriterInitializer, elffWriterUninitializer); //get the ELFF log for this application TODO use a constant
+							if(!elffLog.log(getELFF().serializeEntry(entry))) { //queue the serialized ELFF entry to be written in the background
+								getLogger().debug("ELFF log queue full; dropped entry ({} total).", elffLog.getDroppedCount());
+							}
 							final WebPlatform platform = (WebPlatform)guiseSession.getPlatform(); //get the current platform
 							final int pollInterval = platform.getPollInterval(); //get the current polling interval
 							final Queue<WebPlatformMessage> sendMessageQueue = platform.getSendMessageQueue(); //get the queue for sending messages
@@ -1026,14 +1132,10 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 					//send the resource if needed
 					final URI sendResourceURI = guisePlatform.getSendResourceURI(); //see if there is a resource to send back
 					if(sendResourceURI != null) { //if there is a resource to send back
-						depictContext.writeElementBegin(null, "navigate"); //<navigate>	//TODO use a constant
-						depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
-						depictContext.writeAttribute(null, "viewportID", SEND_RESOURCE_VIEWPORT_ID); //specify the viewport ID for sending resources
 						//append the "guiseContentDisposition=attachment" query parameter to the URI
 						final URI sendResourceAttachmentURI = appendQueryParameter(sendResourceURI, GUISE_CONTENT_DISPOSITION_URI_QUERY_PARAMETER,
 								getSerializationName(ContentDispositionType.ATTACHMENT));
-						depictContext.write(depictContext.getDepictionURI(sendResourceAttachmentURI).toString()); //write the depict URI of the resource to send
-						depictContext.writeElementEnd(null, "navigate"); //</navigate>
+						ajaxResponseWriter.writeNavigate(depictContext.getDepictionURI(sendResourceAttachmentURI).toString(), SEND_RESOURCE_VIEWPORT_ID); //navigate to the depict URI of the resource to send, in the viewport for sending resources
 						guisePlatform.clearSendResourceURI(); //clear the address of the resource to send so that we won't send it again
 					}
 					final URI requestDepictionURI = guiseRequest.getDepictURI(); //get the request URI
@@ -1062,19 +1164,14 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 						if(!requestDepictionURI.equals(redirectDepictionURI)) { //if the navigation is really changing (i.e. they didn't request to go to where they already were)
 							if(isAJAX) { //if this is an AJAX request
 								isNavigating = true; //show that we're going to navigate; process the other events to make sure the data model is up-to-date (and in case the navigation gets overridden)
-								depictContext.clearDepictText(); //clear all the response data (which at this point should only be navigation information, anyway) TODO improve; this will discard any resources to send
-								depictContext.writeElementBegin(null, "navigate"); //<navigate>	//TODO use a constant
-								depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
-								if(requestedNavigation != null) { //if navigation was requested (i.e. this isn't just a bookmark registration)
-									final String viewportID = requestedNavigation.getViewportID(); //get the requested viewport ID
-									if(viewportID != null) { //if a viewport was requested
-										depictContext.writeAttribute(null, "viewportID", viewportID); //specify the viewport ID TODO use a constant
-										isNavigating = false; //don't consider a viewport-specific navigation to be true navigation, as we still want the main page to be updated (e.g. closed frames still need to be removed)
-									}
+								ajaxResponseWriter.clear(); //clear all the response data (which at this point should only be navigation information, anyway) TODO improve; this will discard any resources to send
+								//get the requested viewport ID if navigation was requested (i.e. this isn't just a bookmark registration)
+								final String viewportID = requestedNavigation != null ? requestedNavigation.getViewportID() : null;
+								if(viewportID != null) { //if a viewport was requested
+									isNavigating = false; //don't consider a viewport-specific navigation to be true navigation, as we still want the main page to be updated (e.g. closed frames still need to be removed)
 								}
 								//Log.trace("telling AJAX to redirect to:", redirectDepictURI);
-								depictContext.write(redirectDepictionURI.toString()); //write the redirect URI
-								depictContext.writeElementEnd(null, "navigate"); //</navigate>
+								ajaxResponseWriter.writeNavigate(redirectDepictionURI.toString(), viewportID); //write the redirect URI
 							} else { //if this is not an AJAX request
 								//Log.trace("HTTP redirecting to:", redirectDepictURI);
 								throw new HTTPMovedTemporarilyException(redirectDepictionURI); //redirect to the new location TODO fix to work with other viewports
@@ -1088,11 +1185,10 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 							guiseSession.fireNavigated(navigationPath.toURI()); //tell the session that navigation has essentially occurred again from the same URI so that it can update things based upon the new principal TODO decide whether this is in depict or logical space
 						}
 						if(isAJAX) { //if this is an AJAX request
-							depictContext.clearDepictText(); //clear all the response data (which at this point should only be navigation information, anyway)
+							ajaxResponseWriter.clear(); //clear all the response data (which at this point should only be navigation information, anyway)
 							//Log.traceStack("ready to reload");
-							depictContext.writeElementBegin(null, "reload", true); //<reload>	//TODO use a constant
-							depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
-							depictContext.writeElementEnd(null, "reload"); //</reload>
+							ajaxResponseWriter.writeReload();
+							guisePlatform.resetDepictionFingerprints(); //the client will have none of the current depictions after reloading
 							isNavigating = true; //show that we're navigating, so there's no need to update views
 						} else { //if this is not an AJAX request
 							throw new HTTPMovedTemporarilyException(depictContext.getDepictionURI()); //redirect to the same page with the same query, which will generate a new request with no POST parameters, which would likely change the principal again)
@@ -1108,6 +1204,7 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 				}
 
 				if(isAJAX && !isNavigating && requestEvent instanceof WebInitializeEvent) { //if this is an AJAX initialization event (if we're navigating, there's no need to initialize this page) TODO maybe just dirty all the frames so this happens automatically
+					guisePlatform.resetDepictionFingerprints(); //the page may have been restored by the browser without being depicted, so we don't know which depictions the client has
 					//close all the flyover frames to get rid of stuck flyover frames, such as those left from refreshing the page during flyover TODO fix; this is a workaround to keep refreshing the page from leaving stuck flyover frames; maybe do something better
 					final Iterator<Frame> flyoverFrameIterator = guiseSession.getApplicationFrame().getChildFrames().iterator(); //get an iterator to all the frames
 					while(flyoverFrameIterator.hasNext()) { //while there are more frames
@@ -1119,18 +1216,17 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 					//send back any open frames
 					final Iterator<Frame> frameIterator = guiseSession.getApplicationFrame().getChildFrames().iterator(); //get an iterator to all the frames
 					if(frameIterator.hasNext()) { //if there are open frames
-						depictContext.writeElementBegin(XHTML_NAMESPACE_URI, "patch"); //<xhtml:patch>	//TODO use a constant TODO don't use the XHTML namespace if we can help it
-						depictContext.writeAttribute(null, ATTRIBUTE_XMLNS.getLocalName(), XHTML_NAMESPACE_URI.toString()); //xmlns="http://www.w3.org/1999/xhtml"; note that we pass the wrong namespace to get the effectively correct prefix
-						depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
+						final ThemeApplicationPass frameThemeApplicationPass = new ThemeApplicationPass(); //later events may still change the frames, so only use this pass for depicting them now
+						ajaxResponseWriter.beginPatch();
 						do {
 							final Frame frame = frameIterator.next(); //get the next frame
 							if(frame != guiseSession.getApplicationFrame()) { //don't send back the application frame
 								//							TODO fix							else	//if the component is not visible, remove the component's elements
-								frame.updateTheme(); //make sure a theme has been applied to this frame
-								frame.depict(); //tell the component to update its view
+								frameThemeApplicationPass.updateTheme(frame); //make sure a theme has been applied to this frame
+								depictPatchComponent(frame, depictContext); //tell the component to update its view
 							}
 						} while(frameIterator.hasNext()); //keep sending back frames as long as there are more frames
-						depictContext.writeElementEnd(XHTML_NAMESPACE_URI, "patch"); //</xhtml:patch>
+						ajaxResponseWriter.endPatch();
 					}
 				}
 			}
@@ -1138,9 +1234,15 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 			//TODO move this to the bottom of the processing, as cookies only need to be updated before they go back
 			synchronizeCookies(guiseRequest.getHTTPServletRequest(), response, guiseSession); //synchronize the cookies going out in the response; do this before anything is written back to the client
 
+			//the events can no longer cause the depiction to be discarded, so send the depiction once it is produced rather than collecting it all in memory (only depictions larger than the threshold begin to be sent while the depict lock is held)
+			depictContext.setDepictTextFlushThreshold(getDepictTextFlushThreshold());
+			depictContext.commitDepictText();
+
+			final ThemeApplicationPass themeApplicationPass = new ThemeApplicationPass(); //now that the events have been processed, apply themes to each component hierarchy at most once during depiction
+
 			if(!isNavigating) { //we'll only update the views if we're not navigating (if we're navigating, we're changing pages, anyway)
 				if(isAJAX) { //if this is an AJAX request
-					final Collection<Component> dirtyComponents = AbstractComponent.getDirtyComponents(guiseSession.getApplicationFrame()); //get all dirty components
+					final Collection<Component> dirtyComponents = AbstractComponent.getRegisteredDirtyComponents(guiseSession.getApplicationFrame(), guiseApplication.isDebug()); //get all dirty components from the registry, verifying them in debug mode
 
 					Collections.removeAll(removedFrames, guiseSession.getApplicationFrame().getChildFrames().iterator()); //remove all the ending frames, leaving us the frames that were removed TODO improve all this
 					//TODO fix					dirtyComponents.addAll(frames);	//add all the frames that were removed
@@ -1152,27 +1254,23 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 					if(dirtyComponents.contains(applicationFrame)) { //if the application frame itself was affected, we might as well reload the page
 						//TODO del Log.trace("dirty because:", CollectionUtilities.toString(((AbstractDepictor)applicationFrame.getDepictor()).getModifiedProperties(), ','));
 						//Log.traceStack("ready to reload");
-						depictContext.writeElementBegin(null, "reload", true); //<reload>	//TODO use a constant
-						depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
-						depictContext.writeElementEnd(null, "reload"); //</reload>
+						ajaxResponseWriter.writeReload();
+						guisePlatform.resetDepictionFingerprints(); //the client will have none of the current depictions after reloading
 					} else { //if the application frame wasn't affected
-						if(!dirtyComponents.isEmpty()) { //if components were affected by this update cycle
-							depictContext.writeElementBegin(XHTML_NAMESPACE_URI, "patch"); //<xhtml:patch>	//TODO use a constant TODO don't use the XHTML namespace if we can help it
-							depictContext.writeAttribute(null, ATTRIBUTE_XMLNS.getLocalName(), XHTML_NAMESPACE_URI.toString()); //xmlns="http://www.w3.org/1999/xhtml"; note that we pass the wrong namespace to get the effectively correct prefix
-							depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
-							for(final Component dirtyComponent : dirtyComponents) { //for each component affected by this update cycle
+						final Collection<Component> replacedComponents = patchDirtyComponents(dirtyComponents, applicationFrame, ajaxResponseWriter, themeApplicationPass,
+								guiseApplication.isDebug()); //send fine-grained changes where possible
+						if(!replacedComponents.isEmpty()) { //if components need to be depicted in full
+							themeApplicationPass.updateThemes(replacedComponents); //make sure a theme has been applied to all the components before depicting any of them
+							ajaxResponseWriter.beginPatch();
+							for(final Component dirtyComponent : replacedComponents) { //for each component needing to be replaced
 								//TODO fix							if(dirtyComponent.isVisible())	//if the component is visible
 								//TODO fix							else	//if the component is not visible, remove the component's elements
-								dirtyComponent.updateTheme(); //make sure a theme has been applied to this component
-								dirtyComponent.depict(); //tell the component to update its view
+								depictPatchComponent(dirtyComponent, depictContext); //tell the component to update its view, unless the client already has the same depiction
 							}
-							depictContext.writeElementEnd(XHTML_NAMESPACE_URI, "patch"); //</xhtml:patch>
+							ajaxResponseWriter.endPatch();
 						}
 						for(final Frame frame : removedFrames) { //for each removed frame
-							depictContext.writeElementBegin(XHTML_NAMESPACE_URI, "remove"); //<xhtml:remove>	//TODO use a constant TODO don't use the XHTML namespace if we can help it
-							depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
-							depictContext.writeAttribute(null, "id", guisePlatform.getDepictIDString(frame.getDepictID())); //TODO fix
-							depictContext.writeElementEnd(XHTML_NAMESPACE_URI, "remove"); //</xhtml:remove>
+							ajaxResponseWriter.writeRemove(guisePlatform.getDepictIDString(frame.getDepictID())); //TODO fix
 						}
 					}
 					//send any platform events
@@ -1182,50 +1280,73 @@ private void serviceGuiseComponentDestinationRequest(/*TODO del final HttpServle
 					while(webPlatformMessage != null) { //while there are messages to send to the platform
 						if(webPlatformMessage instanceof WebPlatformCommandMessage) { //if this is a web command message
 							final WebPlatformCommandMessage<?> webCommandMessage = (WebPlatformCommandMessage<?>)webPlatformMessage; //get the web command
-							depictContext.writeElementBegin(XHTML_NAMESPACE_URI, "command"); //<xhtml:command>	//TODO use a constant TODO don't use the XHTML namespace if we can help it
-							depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
-							if(webCommandMessage instanceof WebDepictEvent) { //if this is a depict message
-								final WebDepictEvent webDepictEvent = (WebDepictEvent)webCommandMessage; //get the depict event
-								depictContext.writeAttribute(null, "objectID", platform.getDepictIDString(webDepictEvent.getDepictedObject().getDepictID())); //objectID="depictedObjectID" TODO use a constant
-							}
-							depictContext.writeAttribute(null, "command", getSerializationName(webCommandMessage.getCommand())); //command="webCommand" TODO use a constant
-							/*TODO del if not needed
-														final Map<String, Object> depictParameters=new HashMap<String, Object>(webCommandMessage.getParameters().size());	//create a new map of depiction parameters
-														for(final Map.Entry<String, Object> parameterEntry:webCommandMessage.getParameters().entrySet()) {	//look at all the parameters
-															Object value=parameterEntry.getValue();	//get the parameter value
-															if(value instanceof URI) {	//if this is a URI
-																value=depictContext.getDepictURI((URI)value);	//get the depict URI
-															}
-															depictParameters.put(parameterEntry.getKey(), value);	//store the parameter in the depict parameter map
-														}
-														depictContext.write(JSON.serialize(depictParameters));	//{parameters...}
-							*/
-							depictContext.write(JSON.serialize(webCommandMessage.getParameters())); //{parameters...}
-							depictContext.writeElementEnd(XHTML_NAMESPACE_URI, "command"); //</xhtml:command>
+							final String objectID = webCommandMessage instanceof WebDepictEvent
+									? platform.getDepictIDString(((WebDepictEvent)webCommandMessage).getDepictedObject().getDepictID()) : null; //if this is a depict message, direct it to the depicted object
+							ajaxResponseWriter.writeCommand(objectID, getSerializationName(webCommandMessage.getCommand()), webCommandMessage.getParametersJSON());
 						}
 						webPlatformMessage = sendMessageQueue.poll(); //get the next event to send to the platform
 					}
 				} else { //if this is not an AJAX request
-					applicationFrame.updateTheme(); //make sure a theme has been applied to the application frame
+					guisePlatform.resetDepictionFingerprints(); //the client is loading an entirely new depiction
+					themeApplicationPass.updateTheme(applicationFrame); //make sure a theme has been applied to the application frame
 					applicationFrame.depict(); //tell the application frame to update its view
 				}
 			}
 
-			String text = depictContext.getDepictText(); //get the text to output
 			if(isAJAX) { //if this is an AJAX request
-				depictContext.setOutputContentType(XML.MEDIA_TYPE); //switch to the "text/xml" content type TODO verify UTF-8 in a consistent, elegant way
-				text = "<response>" + text + "</response>"; //wrap the text in a response element
-			}
-			//			Log.debug("response length:", text.length());
-			//			Log.debug("response text:", text);
-			final byte[] bytes = text.getBytes(UTF_8); //write the content we collected in the context as series of bytes encoded in UTF-8
-			final OutputStream outputStream = getCompressedOutputStream(guiseRequest.getHTTPServletRequest(), response); //get a compressed output stream, if possible
-			outputStream.write(bytes); //write the bytes
-			outputStream.close(); //close the output stream, finishing writing the compressed contents (don't put this in a finally block, as it will attempt to write more data and raise another exception)
+				ajaxResponseWriter.end(); //finish the response
+			}
 		} finally {
 			guisePlatform.setDepictContext(null); //remove the depict context from this platform
-			guisePlatform.getDepictLock().unlock(); //always release the platform depict lock
+			depictLock.unlock(); //always release the platform depict lock
 		}
+		depictContext.closeDepictText(); //write the remaining content and close the output after releasing the lock, compressing the contents (don't put this in a finally block, as it will attempt to write more data and raise another exception)
+	}
+
+	/**
+	 * Returns the context of an AJAX request: everything about the request other than its events that may be used while its events are processed or logged,
+	 * such as the client address and user, the requested URI and query, and the user agent. Only the events of overlapping AJAX requests with equal contexts
+	 * are processed together, so that each event is processed with the context of the request that sent it.
+	 * @param request The HTTP request.
+	 * @return An object describing the context of the request, suitable for comparing with the context of other requests.
+	 * @see AJAXRequestEventQueue
+	 */
+	protected static Object getAJAXRequestContext(final HttpServletRequest request) {
+		return Arrays.asList(request.getRemoteAddr(), request.getRemoteUser(), request.getRequestURI(), request.getQueryString(), getUserAgent(request));
+	}
+
+	/**
+	 * Determines whether the given request events represent an idle poll: a request consisting only of poll events when there is nothing that processing the
+	 * request would send back. Such a request needs no exclusive access to the platform, as it changes nothing and has nothing to depict. A poll is not idle if
+	 * any of the following is pending, as each of them would be sent back after the request events are processed:
+	 * <ul>
+	 * <li>dirty depicted objects,</li>
+	 * <li>messages waiting to be sent to the platform,</li>
+	 * <li>a resource to send,</li>
+	 * <li>requested navigation, or</li>
+	 * <li>a session bookmark that differs from the bookmark of the request.</li>
+	 * </ul>
+	 * <p>
+	 * The principal is not checked: a principal change is only detected while request events are processed, and an idle poll processes no events.
+	 * </p>
+	 * @param requestEvents The events of the request.
+	 * @param guiseRequest The request.
+	 * @param guiseSession The Guise session.
+	 * @param platform The platform of the request.
+	 * @return <code>true</code> if the request events consist only of poll events and there is nothing to send back to the platform.
+	 */
+	protected static boolean isIdlePoll(final List<GuiseEvent> requestEvents, final HTTPServletGuiseRequest guiseRequest, final GuiseSession guiseSession,
+			final HTTPServletWebPlatform platform) {
+		if(requestEvents.isEmpty()) { //an AJAX request without events isn't a poll
+			return false;
+		}
+		for(final GuiseEvent requestEvent : requestEvents) {
+			if(!(requestEvent instanceof WebPollEvent)) {
+				return false;
+			}
+		}
+		return platform.getDirtyDepictedObjects().isEmpty() && platform.getSendMessageQueue().isEmpty() && platform.getSendResourceURI() == null
+				&& guiseSession.getRequestedNavigation() == null && Objects.equals(guiseRequest.getBookmark(), guiseSession.getBookmark());
 	}
 
 	/**
@@ -1431,33 +1552,647 @@ protected void serveResource(final HttpServletRequest request, final HttpServlet
 	}
 
 	/**
-	 * Retrieves all descendant components, including the given component, that have a given depict name.
+	 * Retrieves all descendant components, including the given component, that have a given depict name. Components are looked up in the depict name index of
+	 * the platform rather than by searching the component hierarchy.
 	 * @param component The component to check, along with all descendants, for components with the given depict name.
 	 * @param depictName The name for which to check.
 	 * @param componentSet The set of components collecting the components with the given depict name.
 	 * @throws NullPointerException if the given depict name is <code>null</code>.
 	 * @see WebComponentDepictor#getDepictName()
+	 * @see WebPlatform#getComponentsByDepictName(String)
 	 */
 	protected void getComponentsByDepictName(final Component component, final String depictName, final Set<Component> componentSet) {
-		if(depictName.equals(((WebComponentDepictor<?>)component.getDepictor()).getDepictName())) { //if the depictor for this component indicates the given depict name
-			componentSet.add(component); //collect this component
+		final WebPlatform platform = (WebPlatform)component.getSession().getPlatform(); //get the web platform
+		for(final Component depictNameComponent : platform.getComponentsByDepictName(depictName)) { //for each component depicted using the name
+			if(depictNameComponent == component
+					|| (component instanceof CompositeComponent && AbstractComponent.hasAncestor(depictNameComponent, (CompositeComponent)component))) { //only collect components in the given hierarchy
+				componentSet.add(depictNameComponent); //collect this component
+			}
+		}
+	}
+
+	/** The shared factory for reading AJAX requests, configured not to process DTDs or expand entities. */
+	private static final XMLInputFactory AJAX_REQUEST_XML_INPUT_FACTORY = createAJAXRequestXMLInputFactory();
+
+	/**
+	 * Creates a factory for reading AJAX requests. The factory does not support DTDs or external entities, so that no entities can be declared or expanded. The
+	 * factory is configured only once and is afterwards only used to create readers, so it may be shared among threads.
+	 * @return A new factory for reading AJAX requests.
+	 */
+	private static XMLInputFactory createAJAXRequestXMLInputFactory() {
+		final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+		xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE); //don't allow entity declarations
+		xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE); //never retrieve external entities
+		return xmlInputFactory;
+	}
+
+	/**
+	 * The information describing a single event received in an AJAX request, independent of how the request was serialized.
+	 * @author Garret Wilson
+	 */
+	protected static class AJAXRequestEvent {
+
+		/** The type of event, determined by the element name or the type property of the serialized event. */
+		private final WebPlatformEventType eventType;
+
+		/** @return The type of event. */
+		public WebPlatformEventType getEventType() {
+			return eventType;
+		}
+
+		/** The attributes of the event, keyed to their names. */
+		private final Map<String, String> attributes = new HashMap<String, String>();
+
+		/** @return The attributes of the event, keyed to their names. */
+		public Map<String, String> getAttributes() {
+			return attributes;
+		}
+
+		/**
+		 * Retrieves an attribute of the event.
+		 * @param name The name of the attribute.
+		 * @return The value of the attribute, or the empty string if there is no such attribute.
+		 */
+		public String getAttribute(final String name) {
+			final String value = attributes.get(name);
+			return value != null ? value : "";
+		}
+
+		/** The attributes of the event's child elements such as "component" and "mouse", keyed to the child element names. */
+		private final Map<String, Map<String, String>> childAttributes = new HashMap<String, Map<String, String>>();
+
+		/** @return The attributes of the event's child elements such as "component" and "mouse", keyed to the child element names. */
+		public Map<String, Map<String, String>> getChildAttributes() {
+			return childAttributes;
+		}
+
+		/**
+		 * Retrieves an attribute of a child of the event.
+		 * @param childName The name of the child, such as "component" or "mouse".
+		 * @param name The name of the attribute.
+		 * @return The value of the attribute, or the empty string if there is no such child or attribute.
+		 */
+		public String getChildAttribute(final String childName, final String name) {
+			final Map<String, String> attributes = childAttributes.get(childName);
+			final String value = attributes != null ? attributes.get(name) : null;
+			return value != null ? value : "";
+		}
+
+		/** The changed property values, keyed to property names. */
+		private final Map<String, Object> properties = new HashMap<String, Object>();
+
+		/** @return The changed property values, keyed to property names. */
+		public Map<String, Object> getProperties() {
+			return properties;
+		}
+
+		/** The text content of the event, such as the text of a log event. */
+		private String text = "";
+
+		/** @return The text content of the event, such as the text of a log event. */
+		public String getText() {
+			return text;
+		}
+
+		/**
+		 * Sets the text content of the event.
+		 * @param text The text content of the event.
+		 * @throws NullPointerException if the given text is <code>null</code>.
+		 */
+		public void setText(final String text) {
+			this.text = requireNonNull(text, "Text cannot be null.");
+		}
+
+		/**
+		 * Event type constructor.
+		 * @param eventType The type of event.
+		 * @throws NullPointerException if the given event type is <code>null</code>.
+		 */
+		public AJAXRequestEvent(final WebPlatformEventType eventType) {
+			this.eventType = requireNonNull(eventType, "Event type cannot be null.");
 		}
-		if(component instanceof CompositeComponent) { //if this is a composite component
-			for(final Component childComponent : ((CompositeComponent)component).getChildComponents()) { //for each child
-				getComponentsByDepictName(childComponent, depictName, componentSet); //collect components from this child branch
+	}
+
+	/**
+	 * Writes fine-grained changes for those dirty components whose modified properties can be patched without replacing their depictions. As a patched component
+	 * is no longer dirty, any of its descendants that are dirty are then checked as well.
+	 * @param dirtyComponents The dirty components, none of which has a dirty ancestor.
+	 * @param rootComponent The component the hierarchy of which contains the dirty components.
+	 * @param patchWriter The writer of fine-grained changes.
+	 * @param themeApplicationPass The pass making sure a theme has been applied to the components of this request.
+	 * @param debug Whether the registered dirty components should be verified.
+	 * @return The dirty components that must still be depicted in full.
+	 * @throws IOException if there is an error writing the changes.
+	 * @see WebDepictor#depictPatch(WebPatchWriter)
+	 */
+	protected Collection<Component> patchDirtyComponents(Collection<Component> dirtyComponents, final Component rootComponent, final WebPatchWriter patchWriter,
+			final ThemeApplicationPass themeApplicationPass, final boolean debug) throws IOException {
+		boolean patched;
+		do {
+			patched = false;
+			for(final Component dirtyComponent : dirtyComponents) {
+				final WebDepictor<?> webDepictor = asInstance(dirtyComponent.getDepictor(), WebDepictor.class).orElse(null);
+				if(webDepictor != null) {
+					themeApplicationPass.updateTheme(dirtyComponent); //make sure a theme has been applied to this component, which may modify other properties
+					if(webDepictor.depictPatch(patchWriter)) {
+						patched = true;
+					}
+				}
+			}
+			if(patched) { //if components were patched, their dirty descendants are now the top-level dirty components
+				dirtyComponents = AbstractComponent.getRegisteredDirtyComponents(rootComponent, debug);
 			}
+		} while(patched);
+		return dirtyComponents;
+	}
+
+	/**
+	 * Depicts a component within a patch. If the component has a web depictor, the depiction is fingerprinted; if the fingerprint matches that of the depiction
+	 * the client already has, the depiction is discarded, as sending it would not change anything on the client.
+	 * @param component The component to depict.
+	 * @param depictContext The depict context, within an open patch.
+	 * @return <code>true</code> if the depiction was included in the patch, or <code>false</code> if the depiction was suppressed.
+	 * @throws IOException if there is an error depicting the component.
+	 * @see WebDepictor#getDepictionFingerprint()
+	 */
+	protected boolean depictPatchComponent(final Component component, final HTTPServletWebDepictContext depictContext) throws IOException {
+		final WebDepictor<?> webDepictor = asInstance(component.getDepictor(), WebDepictor.class).orElse(null);
+		if(webDepictor == null) { //if we can't remember depictions, just depict the component
+			component.depict();
+			return true;
+		}
+		final byte[] oldDepictionFingerprint = webDepictor.getDepictionFingerprint(); //get the fingerprint before depicting, which forgets it
+		final AbstractXMLDepictContext.DepictTextMark depictTextMark = depictContext.markDepictText();
+		component.depict(); //tell the component to update its view
+		if(!depictContext.isDepictTextMarkValid(depictTextMark)) { //if the depiction was large enough that it has already begun to be sent, it can't be fingerprinted
+			webDepictor.setDepictionFingerprint(null);
+			return true;
+		}
+		final byte[] depictionFingerprint = depictContext.getDepictTextFingerprint(depictTextMark);
+		webDepictor.setDepictionFingerprint(depictionFingerprint); //either way, the client will now have this depiction
+		if(oldDepictionFingerprint != null && Arrays.equals(oldDepictionFingerprint, depictionFingerprint)) { //if the client already has this exact depiction
+			depictContext.discardDepictText(depictTextMark);
+			getLogger().trace("suppressed unchanged depiction of component {}", component);
+			return false;
 		}
+		return true;
 	}
 
-	private static final PathExpression AJAX_REQUEST_EVENTS_WILDCARD_XPATH_EXPRESSION = new PathExpression("request", "events", "*"); //TODO use constants; comment
-	private static final PathExpression AJAX_REQUEST_CONTROL_XPATH_EXPRESSION = new PathExpression("control"); //TODO use constants; comment
-	//TODO del	private final PathExpression AJAX_REQUEST_CONTROL_NAME_XPATH_EXPRESSION=new PathExpression("control", "name");	//TODO use constants; comment
-	//TODO del	private final PathExpression AJAX_REQUEST_CONTROL_VALUE_XPATH_EXPRESSION=new PathExpression("control", "value");	//TODO use constants; comment
-	private static final PathExpression AJAX_REQUEST_SOURCE_XPATH_EXPRESSION = new PathExpression("source"); //TODO use constants; comment
-	private static final PathExpression AJAX_REQUEST_TARGET_XPATH_EXPRESSION = new PathExpression("target"); //TODO use constants; comment
-	private static final PathExpression AJAX_REQUEST_COMPONENT_XPATH_EXPRESSION = new PathExpression("component"); //TODO use constants; comment
-	private static final PathExpression AJAX_REQUEST_MOUSE_XPATH_EXPRESSION = new PathExpression("mouse"); //TODO use constants; comment
-	private static final PathExpression AJAX_REQUEST_VIEWPORT_XPATH_EXPRESSION = new PathExpression("viewport"); //TODO use constants; comment
+	/**
+	 * Creates a writer for the response to an AJAX request, in the same format as the request.
+	 * @param guiseRequest The HTTP request.
+	 * @param depictContext The depict context to which the response will be written.
+	 * @return A writer for the AJAX response.
+	 * @see HTTPServletGuiseRequest#isAJAXJSON()
+	 */
+	protected AJAXResponseWriter createAJAXResponseWriter(final HTTPServletGuiseRequest guiseRequest, final HTTPServletWebDepictContext depictContext) {
+		return guiseRequest.isAJAXJSON() ? new JSONAJAXResponseWriter(depictContext) : new XMLAJAXResponseWriter(depictContext);
+	}
+
+	/**
+	 * Reads the events of a JSON AJAX request. The request is an object with an <code>events</code> array, each event being an object with a <code>type</code>
+	 * property identifying the event type. The other scalar properties of each event are the equivalent of the attributes in the XML format; object properties
+	 * are the equivalent of child elements, except for the <code>properties</code> object of a change event, which holds the changed property values, and the
+	 * <code>text</code> property of a log event.
+	 * @param inputStream The input stream containing the JSON request.
+	 * @param charset The character encoding of the request.
+	 * @return The events in the request.
+	 * @throws IOException if there is an error reading the request or if the request is not valid.
+	 * @throws IllegalArgumentException if an event type is not recognized.
+	 * @see WebPlatform#GUISE_AJAX_JSON_REQUEST_MEDIA_TYPE
+	 */
+	protected List<AJAXRequestEvent> readJSONAJAXRequestEvents(final InputStream inputStream, final Charset charset) throws IOException {
+		final Object request;
+		try {
+			request = JSON.parseValue(new String(inputStream.readAllBytes(), charset));
+		} catch(final IllegalArgumentException illegalArgumentException) {
+			throw new IOException("Error reading AJAX request: " + illegalArgumentException.getMessage(), illegalArgumentException);
+		}
+		if(!(request instanceof Map)) {
+			throw new IOException("AJAX request is not a JSON object.");
+		}
+		final List<AJAXRequestEvent> ajaxRequestEvents = new ArrayList<AJAXRequestEvent>();
+		for(final Object event : asJSONArray(((Map<?, ?>)request).get(JSON_AJAX_REQUEST_EVENTS_PROPERTY))) { //for each event
+			if(!(event instanceof Map)) {
+				throw new IOException("AJAX request event is not a JSON object.");
+			}
+			final Map<?, ?> eventProperties = (Map<?, ?>)event;
+			final AJAXRequestEvent ajaxRequestEvent = new AJAXRequestEvent(
+					getSerializedEnum(WebPlatformEventType.class, String.valueOf(eventProperties.get(JSON_AJAX_EVENT_TYPE_PROPERTY)))); //get this event type, throwing an IllegalArgumentException if the event type is not recognized
+			for(final Map.Entry<?, ?> eventProperty : eventProperties.entrySet()) {
+				final String name = String.valueOf(eventProperty.getKey());
+				final Object value = eventProperty.getValue();
+				if(value == null || name.equals(JSON_AJAX_EVENT_TYPE_PROPERTY)) {
+					continue;
+				}
+				if(name.equals(JSON_AJAX_EVENT_PROPERTIES_PROPERTY) && value instanceof Map) { //changed property values
+					for(final Map.Entry<?, ?> property : ((Map<?, ?>)value).entrySet()) {
+						ajaxRequestEvent.getProperties().put(String.valueOf(property.getKey()), property.getValue());
+					}
+				} else if(name.equals(JSON_AJAX_EVENT_TEXT_PROPERTY)) { //log text
+					ajaxRequestEvent.setText(value.toString());
+				} else if(value instanceof Map) { //child information such as "component" and "mouse"
+					final Map<String, String> childAttributes = new HashMap<String, String>();
+					for(final Map.Entry<?, ?> childProperty : ((Map<?, ?>)value).entrySet()) {
+						if(childProperty.getValue() != null) {
+							childAttributes.put(String.valueOf(childProperty.getKey()), toAJAXAttributeValue(childProperty.getValue()));
+						}
+					}
+					ajaxRequestEvent.getChildAttributes().put(name, childAttributes);
+				} else {
+					ajaxRequestEvent.getAttributes().put(name, toAJAXAttributeValue(value));
+				}
+			}
+			ajaxRequestEvents.add(ajaxRequestEvent);
+		}
+		return ajaxRequestEvents;
+	}
+
+	/**
+	 * Returns the elements of a parsed JSON array.
+	 * @param value The parsed JSON value, which may be <code>null</code>.
+	 * @return The elements of the array, or an empty list if the value is <code>null</code>.
+	 * @throws IOException if the value is not an array.
+	 */
+	private static List<?> asJSONArray(final Object value) throws IOException {
+		if(value == null) {
+			return emptyList();
+		} else if(value instanceof List) {
+			return (List<?>)value;
+		} else if(value instanceof Object[]) {
+			return Arrays.asList((Object[])value);
+		}
+		throw new IOException("Expected JSON array: " + value);
+	}
+
+	/**
+	 * Converts a parsed JSON value to the string form it would have as an attribute in the XML request format. Integral numbers are represented without a
+	 * fractional part, regardless of how they were parsed.
+	 * @param value The parsed JSON value.
+	 * @return The attribute string form of the value.
+	 */
+	private static String toAJAXAttributeValue(final Object value) {
+		if(value instanceof Number) {
+			final Number number = (Number)value;
+			final double doubleValue = number.doubleValue();
+			if(doubleValue == Math.rint(doubleValue) && !Double.isInfinite(doubleValue)) { //if this is an integral value
+				return Long.toString(number.longValue());
+			}
+		}
+		return value.toString();
+	}
+
+	/**
+	 * Reads the events of an XML AJAX request using a streaming parser, without building a document tree. The events are the children of the
+	 * <code>&lt;request&gt;&lt;events&gt;</code> element. Document type declarations and entity references are rejected.
+	 * @param inputStream The input stream containing the XML request.
+	 * @return The events in the request.
+	 * @throws IOException if there is an error reading the request, if the request is not well-formed, or if the request contains a document type declaration or
+	 *           an entity reference.
+	 * @throws IllegalArgumentException if an event type is not recognized.
+	 */
+	protected List<AJAXRequestEvent> readAJAXRequestEvents(final InputStream inputStream) throws IOException {
+		final List<AJAXRequestEvent> ajaxRequestEvents = new ArrayList<AJAXRequestEvent>();
+		try {
+			final XMLStreamReader reader = AJAX_REQUEST_XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+			try {
+				if(nextTag(reader) == XMLStreamConstants.START_ELEMENT && XML_AJAX_REQUEST_ELEMENT.equals(reader.getLocalName())) { //<request>
+					while(nextTag(reader) == XMLStreamConstants.START_ELEMENT) { //for each child of the request
+						if(XML_AJAX_REQUEST_EVENTS_ELEMENT.equals(reader.getLocalName())) { //<events>
+							while(nextTag(reader) == XMLStreamConstants.START_ELEMENT) { //for each event
+								ajaxRequestEvents.add(readAJAXRequestEvent(reader));
+							}
+						} else {
+							skipElement(reader);
+						}
+					}
+				}
+			} finally {
+				reader.close(); //this does not close the underlying input stream
+			}
+		} catch(final XMLStreamException xmlStreamException) {
+			throw new IOException("Error reading AJAX request: " + xmlStreamException.getMessage(), xmlStreamException);
+		}
+		return ajaxRequestEvents;
+	}
+
+	/**
+	 * Reads a single AJAX request event from an XML reader positioned at the start of the event element. When this method returns the reader will be positioned
+	 * at the end of the event element.
+	 * @param reader The XML reader.
+	 * @return The event information read.
+	 * @throws XMLStreamException if there is an error reading the event.
+	 * @throws IllegalArgumentException if the event type is not recognized.
+	 */
+	private static AJAXRequestEvent readAJAXRequestEvent(final XMLStreamReader reader) throws XMLStreamException {
+		final WebPlatformEventType eventType = getSerializedEnum(WebPlatformEventType.class, reader.getLocalName()); //get this event type, throwing an IllegalArgumentException if the event type is not recognized
+		final AJAXRequestEvent ajaxRequestEvent = new AJAXRequestEvent(eventType);
+		readAttributes(reader, ajaxRequestEvent.getAttributes());
+		if(eventType == WebPlatformEventType.LOG) { //the log event has only text content
+			ajaxRequestEvent.setText(readTextContent(reader));
+			return ajaxRequestEvent;
+		}
+		final Map<String, Map<String, String>> childAttributes = ajaxRequestEvent.getChildAttributes();
+		int depth = 1;
+		while(depth > 0) {
+			switch(reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					{
+						final String localName = reader.getLocalName();
+						if(XML_AJAX_EVENT_PROPERTY_ELEMENT.equals(localName)) { //<property>
+							final String propertyName = reader.getAttributeValue(null, XML_AJAX_EVENT_PROPERTY_NAME_ATTRIBUTE); //get the name of the property
+							final Object propertyValue = JSON.parseValue(readTextContent(reader)); //get the value of the property
+							ajaxRequestEvent.getProperties().putIfAbsent(propertyName != null ? propertyName : "", propertyValue); //the first property with a given name wins
+						} else {
+							if(depth == 1 && !childAttributes.containsKey(localName)) { //only the first child with a given name is used
+								final Map<String, String> attributes = new HashMap<String, String>();
+								readAttributes(reader, attributes);
+								childAttributes.put(localName, attributes);
+							}
+							++depth;
+						}
+					}
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					--depth;
+					break;
+			}
+		}
+		return ajaxRequestEvent;
+	}
+
+	/**
+	 * Reads the attributes of the current element into a map.
+	 * @param reader The XML reader positioned at the start of an element.
+	 * @param attributes The map to receive the attributes, keyed to their local names.
+	 */
+	private static void readAttributes(final XMLStreamReader reader, final Map<String, String> attributes) {
+		for(int i = 0, count = reader.getAttributeCount(); i < count; ++i) {
+			attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+		}
+	}
+
+	/**
+	 * Reads all the text within the current element, including that of any descendant elements. When this method returns the reader will be positioned at the
+	 * end of the element.
+	 * @param reader The XML reader positioned at the start of an element.
+	 * @return The text content of the element.
+	 * @throws XMLStreamException if there is an error reading the element.
+	 */
+	private static String readTextContent(final XMLStreamReader reader) throws XMLStreamException {
+		StringBuilder stringBuilder = null; //most elements have a single text node, so don't create a string builder unless needed
+		String text = "";
+		int depth = 1;
+		while(depth > 0) {
+			switch(reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					++depth;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					--depth;
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					if(text.isEmpty()) {
+						text = reader.getText();
+					} else {
+						if(stringBuilder == null) {
+							stringBuilder = new StringBuilder(text);
+						}
+						stringBuilder.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+					}
+					break;
+			}
+		}
+		return stringBuilder != null ? stringBuilder.toString() : text;
+	}
+
+	/**
+	 * Skips the current element and all its content. When this method returns the reader will be positioned at the end of the element.
+	 * @param reader The XML reader positioned at the start of an element.
+	 * @throws XMLStreamException if there is an error reading the element.
+	 */
+	private static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while(depth > 0) {
+			switch(reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					++depth;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					--depth;
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Advances to the next start or end element, skipping any text, comments, or processing instructions. A document type declaration is not allowed, as AJAX
+	 * requests have no need of a DTD.
+	 * @param reader The XML reader.
+	 * @return The type of the event reached: {@link XMLStreamConstants#START_ELEMENT}, {@link XMLStreamConstants#END_ELEMENT}, or
+	 *         {@link XMLStreamConstants#END_DOCUMENT}.
+	 * @throws XMLStreamException if there is an error reading the document or if a document type declaration is encountered.
+	 */
+	private static int nextTag(final XMLStreamReader reader) throws XMLStreamException {
+		int eventType;
+		do {
+			eventType = reader.next();
+			if(eventType == XMLStreamConstants.DTD) {
+				throw new XMLStreamException("Document type declarations are not allowed.", reader.getLocation());
+			}
+		} while(eventType != XMLStreamConstants.START_ELEMENT && eventType != XMLStreamConstants.END_ELEMENT && eventType != XMLStreamConstants.END_DOCUMENT);
+		return eventType;
+	}
+
+	/**
+	 * Creates a Guise event from the information of an event received in an AJAX request.
+	 * @param ajaxRequestEvent The information of the event in the AJAX request.
+	 * @param guiseSession The Guise session object.
+	 * @param depictContext The platform depict object.
+	 * @return The Guise event, or <code>null</code> if the request event does not result in a Guise event, such as a log event or an event for an unknown
+	 *         depicted object.
+	 * @throws NumberFormatException if a numeric value of the event is not in the correct format.
+	 * @throws IllegalArgumentException if a value of the event is not valid.
+	 */
+	protected GuiseEvent createRequestEvent(final AJAXRequestEvent ajaxRequestEvent, final GuiseSession guiseSession, final DepictContext depictContext) {
+		final WebPlatform platform = (WebPlatform)guiseSession.getPlatform(); //get the web platform
+		final WebPlatformEventType eventType = ajaxRequestEvent.getEventType();
+		if(eventType != WebPlatformEventType.LOG) { //if this is not a log event (there's no use logging a log even)
+			getLogger().debug("AJAX event: {}", eventType);
+		}
+		switch(eventType) { //see which type of event this is
+			case ACTION:
+				{
+					final String depictedObjectID = ajaxRequestEvent.getAttribute("objectID"); //get the ID of the depicted object TODO use a constant
+					if(depictedObjectID.length() > 0) { //if there is an object TODO add better event handling, to throw an error and send back that error
+						final DepictedObject depictedObject = platform.getDepictedObject(platform.getDepictID(depictedObjectID)); //look up the depicted object
+						if(depictedObject != null) { //if we know the depicted object
+							final String targetID = ajaxRequestEvent.getAttribute("targetID"); //get the ID of the target element TODO use a constant
+							final String actionID = ajaxRequestEvent.getAttribute("actionID"); //get the action identifier TODO use a constant
+							final int option = Integer.parseInt(ajaxRequestEvent.getAttribute("option")); //TODO tidy; improve; check for errors; comment
+							return new WebActionDepictEvent(depictedObject, targetID, actionID, option); //create the event
+						}
+					}
+				}
+				return null;
+			case CHANGE:
+				{
+					final String depictedObjectID = ajaxRequestEvent.getAttribute("objectID"); //get the ID of the depicted object TODO use a constant
+					if(depictedObjectID.length() > 0) { //if there is an object TODO add better event handling, to throw an error and send back that error
+						final DepictedObject depictedObject = platform.getDepictedObject(platform.getDepictID(depictedObjectID)); //look up the depicted object
+						if(depictedObject != null) { //if we know the depicted object
+							return new WebChangeDepictEvent(depictedObject, new HashMap<String, Object>(ajaxRequestEvent.getProperties())); //create a change event
+						}
+					}
+				}
+				return null;
+			case DROP:
+				{
+					final String dropTargetID = ajaxRequestEvent.getAttribute("objectID"); //get the ID of the depicted object TODO use a constant
+					final String dragSourceID = ajaxRequestEvent.getAttribute("dragSourceID"); //get the ID of the drag source TODO use a constant
+					if(dropTargetID.length() > 0 && dragSourceID.length() > 0) { //if there is a drag source and a drop target TODO add better event handling, to throw an error and send back that error
+						final DepictedObject dragSource = platform.getDepictedObject(platform.getDepictID(dragSourceID)); //look up the drag srouce
+						final DepictedObject dropTarget = platform.getDepictedObject(platform.getDepictID(dropTargetID)); //look up the drop target
+						if(dragSource != null && dropTarget != null) { //if we know the drag source and the drop target
+							return new PlatformDropEvent(dragSource, dropTarget); //create a drop event
+						}
+					}
+				}
+				return null;
+			case FOCUS:
+				{
+					final String depictedObjectID = ajaxRequestEvent.getAttribute("objectID"); //get the ID of the depicted object TODO use a constant
+					if(depictedObjectID.length() > 0) { //if there is an object TODO add better event handling, to throw an error and send back that error
+						final DepictedObject depictedObject = platform.getDepictedObject(platform.getDepictID(depictedObjectID)); //look up the depicted object
+						if(depictedObject != null) { //if we know the depicted object
+							return new PlatformFocusEvent(depictedObject); //create a focus event
+						}
+					}
+				}
+				return null;
+			case INIT:
+				{
+					final String hour = ajaxRequestEvent.getAttribute("hour");
+					final String utcOffset = ajaxRequestEvent.getAttribute("utcOffset");
+					final String utcOffset01 = ajaxRequestEvent.getAttribute("utcOffset01");
+					final String utcOffset06 = ajaxRequestEvent.getAttribute("utcOffset06");
+					final String timezone = ajaxRequestEvent.getAttribute("timezone");
+					final String language = ajaxRequestEvent.getAttribute("language");
+					final String colorDepth = ajaxRequestEvent.getAttribute("colorDepth");
+					final String screenWidth = ajaxRequestEvent.getAttribute("screenWidth");
+					final String screenHeight = ajaxRequestEvent.getAttribute("screenHeight");
+					final String browserWidth = ajaxRequestEvent.getAttribute("browserWidth");
+					final String browserHeight = ajaxRequestEvent.getAttribute("browserHeight");
+					final String javascriptVersion = ajaxRequestEvent.getAttribute("javascriptVersion"); //get the JavaScript version TODO use a constant
+					final String javaEnabled = ajaxRequestEvent.getAttribute("javaEnabled");
+					final String referrer = ajaxRequestEvent.getAttribute("referrer");
+					URI referrerURI = null; //assume we can't get a referrer URI
+					if(referrer.length() > 0) { //if there is a referrer
+						try {
+							referrerURI = new URI(referrer); //create a URI object from the referrer string
+						} catch(final URISyntaxException uriSyntaxException) { //if there is a problem with the URI syntax
+							getLogger().warn("Invalid referrer URI syntax: {}" + referrer);
+						}
+					}
+					return new WebInitializeEvent(depictContext, hour.length() > 0 ? Integer.parseInt(hour) : 0, /*TODO del timezone.length()>0 ? Integer.parseInt(timezone) : 0,*/
+							utcOffset.length() > 0 ? Integer.parseInt(utcOffset) : 0, utcOffset.length() > 0 ? Integer.parseInt(utcOffset01) : 0,
+							utcOffset06.length() > 0 ? Integer.parseInt(utcOffset06) : 0, language.length() > 0 ? language : "en-US",
+							colorDepth.length() > 0 ? Integer.parseInt(colorDepth) : 24, screenWidth.length() > 0 ? Integer.parseInt(screenWidth) : 1024,
+							screenHeight.length() > 0 ? Integer.parseInt(screenHeight) : 768, browserWidth.length() > 0 ? Integer.parseInt(browserWidth) : 1024,
+							browserHeight.length() > 0 ? Integer.parseInt(browserHeight) : 768, javascriptVersion.length() > 0 ? javascriptVersion : null,
+							javaEnabled.length() > 0 ? Boolean.valueOf(javaEnabled) : false, referrerURI); //create a new initialization event TODO check for NumberFormatException
+				}
+			case KEYPRESS:
+			case KEYRELEASE:
+				{
+					final int code = Integer.parseInt(ajaxRequestEvent.getAttribute("code")); //get the key code TODO use a constant
+					final Key[] keys = getModifierKeys(ajaxRequestEvent); //find any modifier keys that were pressed
+					switch(eventType) { //see which type of keypress this is
+						case KEYPRESS:
+							return new KeyPressEvent(platform, KeyCode.valueOf(code).getKey(), keys); //create a new key press event
+						case KEYRELEASE:
+							return new KeyReleaseEvent(platform, KeyCode.valueOf(code).getKey(), keys); //create a new key release event
+						default:
+							throw new AssertionError("Unrecognized key event type: " + eventType);
+					}
+				}
+			case LOG:
+				{
+					final Level logLevel = getSerializedEnum(Level.class, ajaxRequestEvent.getAttribute("level")); //get the log level
+					getLogger().atLevel(logLevel).log("Guise AJAX: {}", ajaxRequestEvent.getText()); //log this information
+				}
+				return null;
+			case MOUSECLICK:
+			case MOUSEENTER:
+			case MOUSEEXIT:
+				{
+					final String componentID = ajaxRequestEvent.getChildAttribute("component", "id"); //TODO tidy; improve; comment
+					final int componentX = Integer.parseInt(ajaxRequestEvent.getChildAttribute("component", "x")); //TODO tidy; improve; check for errors; comment
+					final int componentY = Integer.parseInt(ajaxRequestEvent.getChildAttribute("component", "y")); //TODO tidy; improve; check for errors; comment
+					final int componentWidth = Integer.parseInt(ajaxRequestEvent.getChildAttribute("component", "width")); //TODO tidy; improve; check for errors; comment
+					final int componentHeight = Integer.parseInt(ajaxRequestEvent.getChildAttribute("component", "height")); //TODO tidy; improve; check for errors; comment
+
+					final int viewportX = Integer.parseInt(ajaxRequestEvent.getChildAttribute("viewport", "x")); //TODO tidy; improve; check for errors; comment
+					final int viewportY = Integer.parseInt(ajaxRequestEvent.getChildAttribute("viewport", "y")); //TODO tidy; improve; check for errors; comment
+					final int viewportWidth = Integer.parseInt(ajaxRequestEvent.getChildAttribute("viewport", "width")); //TODO tidy; improve; check for errors; comment
+					final int viewportHeight = Integer.parseInt(ajaxRequestEvent.getChildAttribute("viewport", "height")); //TODO tidy; improve; check for errors; comment
+
+					final int mouseX = Integer.parseInt(ajaxRequestEvent.getChildAttribute("mouse", "x")); //TODO tidy; improve; check for errors; comment
+					final int mouseY = Integer.parseInt(ajaxRequestEvent.getChildAttribute("mouse", "y")); //TODO tidy; improve; check for errors; comment
+
+					final Key[] keys = getModifierKeys(ajaxRequestEvent); //find any modifier keys that were pressed
+					if(componentID.length() > 0) { //if there is a component ID TODO add better event handling, to throw an error and send back that error
+						final Component component = asInstance(platform.getDepictedObject(platform.getDepictID(componentID)), Component.class).orElse(null); //get the component by its ID
+						if(component != null && AbstractComponent.hasAncestor(component, guiseSession.getApplicationFrame())) { //if there is a target component in our current hierarchy
+							final Rectangle componentBounds = new Rectangle(componentX, componentY, componentWidth, componentHeight);
+							final Rectangle viewportBounds = new Rectangle(viewportX, viewportY, viewportWidth, viewportHeight);
+							final Point mousePosition = new Point(mouseX, mouseY);
+							switch(eventType) { //see which type of event this is
+								case MOUSECLICK:
+									{
+										final int buttonCode = Integer.parseInt(ajaxRequestEvent.getAttribute("button")); //get the button code TODO use a constant
+										final int clickCount = Integer.parseInt(ajaxRequestEvent.getAttribute("clickCount")); //get the click count TODO use a constant
+										return new MouseClickEvent(platform, component, componentBounds, viewportBounds, mousePosition, Button.valueOf(buttonCode).getMouseButton(),
+												clickCount, keys); //create a new mouse click event
+									}
+								case MOUSEENTER:
+									return new MouseEnterEvent(platform, component, componentBounds, viewportBounds, mousePosition, keys); //create a new mouse enter event
+								case MOUSEEXIT:
+									return new MouseExitEvent(platform, component, componentBounds, viewportBounds, mousePosition, keys); //create a new mouse exit event
+								default:
+									throw new AssertionError("Unrecognized mouse event type: " + eventType);
+							}
+						}
+					}
+				}
+				return null;
+			case POLL:
+				return new WebPollEvent(platform); //create a new poll event
+			default:
+				throw new IllegalArgumentException("Unrecognized event type: " + eventType);
+		}
+	}
+
+	/**
+	 * Determines the modifier keys indicated as pressed by an AJAX request event.
+	 * @param ajaxRequestEvent The information of the event in the AJAX request.
+	 * @return The modifier keys that were pressed.
+	 */
+	private static Key[] getModifierKeys(final AJAXRequestEvent ajaxRequestEvent) {
+		final Set<Key> keys = EnumSet.noneOf(Key.class); //we'll find any keys that were pressed
+		if(Boolean.valueOf(ajaxRequestEvent.getAttribute("altKey")).booleanValue()) { //if Alt was pressed TODO use a constant
+			keys.add(Key.ALT_LEFT); //note the Alt key
+		}
+		if(Boolean.valueOf(ajaxRequestEvent.getAttribute("controlKey")).booleanValue()) { //if Control was pressed TODO use a constant
+			keys.add(Key.CONTROL_LEFT); //note the Control key
+		}
+		if(Boolean.valueOf(ajaxRequestEvent.getAttribute("shiftKey")).booleanValue()) { //if Shiftwas pressed TODO use a constant
+			keys.add(Key.SHIFT_LEFT); //note the Shift key
+		}
+		return keys.toArray(new Key[keys.size()]);
+	}
 
 	/**
 	 * Retrieves events from the HTTP request.
@@ -1477,239 +2212,20 @@ protected List<GuiseEvent> getRequestEvents(/*TODO del final HttpServletRequest
 				final ContentType contentType=contentTypeString!=null ? createContentType(contentTypeString) : null;	//create a content type object from the request content type, if there is one
 		*/
 		if(guiseRequest.isAJAX()) { //if this is a Guise AJAX request
-			//		TODO del Log.trace("Guise AJAX request");
-			try {
-				final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance(); //create a document builder factory TODO create a shared document builder factory, maybe---but make sure it is used by only one thread
-				final DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder(); //create a new document builder
-				final Document document = documentBuilder.parse(guiseRequest.getHTTPServletRequest().getInputStream()); //read the document from the request
-				//Log.trace("request XML:", XMLUtilities.toString(document));
-				@SuppressWarnings("unchecked")
-				final List<Node> eventNodes = (List<Node>)XPathDom.evaluatePathExpression(document, AJAX_REQUEST_EVENTS_WILDCARD_XPATH_EXPRESSION); //get all the events
-				for(final Node eventNode : eventNodes) { //for each event node
-					if(eventNode.getNodeType() == Node.ELEMENT_NODE) { //if this is an event element
-						final Element eventElement = (Element)eventNode; //cast the node to an element
-						final String eventName = eventNode.getNodeName(); //get the event name
-						final WebPlatformEventType eventType = getSerializedEnum(WebPlatformEventType.class, eventName); //get this event type, throwing an IllegalArgumentException if the event type is not recognized
-						if(eventType != WebPlatformEventType.LOG) { //if this is not a log event (there's no use logging a log even)
-							getLogger().debug("AJAX event: {}", eventType);
-						}
-						switch(eventType) { //see which type of event this is
-							case ACTION:
-								{
-									final String depictedObjectID = eventElement.getAttribute("objectID"); //get the ID of the depicted object TODO use a constant
-									if(depictedObjectID.length() > 0) { //if there is an object TODO add better event handling, to throw an error and send back that error
-										final DepictedObject depictedObject = platform.getDepictedObject(platform.getDepictID(depictedObjectID)); //look up the depicted object
-										if(depictedObject != null) { //if we know the depicted object
-											final String targetID = eventElement.getAttribute("targetID"); //get the ID of the target element TODO use a constant
-											final String actionID = eventElement.getAttribute("actionID"); //get the action identifier TODO use a constant
-											final int option = Integer.parseInt(eventElement.getAttribute("option")); //TODO tidy; improve; check for errors; comment
-											requestEventList.add(new WebActionDepictEvent(depictedObject, targetID, actionID, option)); //create and add the event to the list
-										}
-									}
-								}
-								break;
-							case CHANGE:
-								{
-									final String depictedObjectID = eventElement.getAttribute("objectID"); //get the ID of the depicted object TODO use a constant
-									if(depictedObjectID.length() > 0) { //if there is an object TODO add better event handling, to throw an error and send back that error
-										final DepictedObject depictedObject = platform.getDepictedObject(platform.getDepictID(depictedObjectID)); //look up the depicted object
-										if(depictedObject != null) { //if we know the depicted object
-											final Map<String, Object> properties = new HashMap<String, Object>(); //create a map of properties
-											final NodeList propertyElementList = eventElement.getElementsByTagName("property"); //get a list of property elements
-											for(int propertyIndex = propertyElementList.getLength() - 1; propertyIndex >= 0; --propertyIndex) { //for each property element
-												final Element propertyElement = (Element)propertyElementList.item(propertyIndex); //get this property element
-												final String propertyName = propertyElement.getAttribute("name"); //get the name of the property TODO use a constant
-												final Object propertyValue = JSON.parseValue(propertyElement.getTextContent()); //get the value of the property
-												properties.put(propertyName, propertyValue); //add this property name and value to the event
-											}
-											requestEventList.add(new WebChangeDepictEvent(depictedObject, properties)); //create and add a change event to the list
-										}
-									}
-								}
-								break;
-							case DROP:
-								{
-									final String dropTargetID = eventElement.getAttribute("objectID"); //get the ID of the depicted object TODO use a constant
-									final String dragSourceID = eventElement.getAttribute("dragSourceID"); //get the ID of the drag source TODO use a constant
-									if(dropTargetID.length() > 0 && dragSourceID.length() > 0) { //if there is a drag source and a drop target TODO add better event handling, to throw an error and send back that error
-										final DepictedObject dragSource = platform.getDepictedObject(platform.getDepictID(dragSourceID)); //look up the drag srouce
-										final DepictedObject dropTarget = platform.getDepictedObject(platform.getDepictID(dropTargetID)); //look up the drop target
-										if(dragSource != null && dropTarget != null) { //if we know the drag source and the drop target
-											requestEventList.add(new PlatformDropEvent(dragSource, dropTarget)); //create and add a drop event to the list
-										}
-									}
-								}
-								break;
-							case FOCUS:
-								{
-									final String depictedObjectID = eventElement.getAttribute("objectID"); //get the ID of the depicted object TODO use a constant
-									if(depictedObjectID.length() > 0) { //if there is an object TODO add better event handling, to throw an error and send back that error
-										final DepictedObject depictedObject = platform.getDepictedObject(platform.getDepictID(depictedObjectID)); //look up the depicted object
-										if(depictedObject != null) { //if we know the depicted object
-											requestEventList.add(new PlatformFocusEvent(depictedObject)); //create and add a focus event to the list
-										}
-									}
-								}
-								break;
-							case INIT:
-								{
-									final String hour = eventElement.getAttribute("hour");
-									final String utcOffset = eventElement.getAttribute("utcOffset");
-									final String utcOffset01 = eventElement.getAttribute("utcOffset01");
-									final String utcOffset06 = eventElement.getAttribute("utcOffset06");
-									final String timezone = eventElement.getAttribute("timezone");
-									final String language = eventElement.getAttribute("language");
-									final String colorDepth = eventElement.getAttribute("colorDepth");
-									final String screenWidth = eventElement.getAttribute("screenWidth");
-									final String screenHeight = eventElement.getAttribute("screenHeight");
-									final String browserWidth = eventElement.getAttribute("browserWidth");
-									final String browserHeight = eventElement.getAttribute("browserHeight");
-									final String javascriptVersion = eventElement.getAttribute("javascriptVersion"); //get the JavaScript version TODO use a constant
-									final String javaEnabled = eventElement.getAttribute("javaEnabled");
-									final String referrer = eventElement.getAttribute("referrer");
-									URI referrerURI = null; //assume we can't get a referrer URI
-									if(referrer.length() > 0) { //if there is a referrer
-										try {
-											referrerURI = new URI(referrer); //create a URI object from the referrer string
-										} catch(final URISyntaxException uriSyntaxException) { //if there is a problem with the URI syntax
-											getLogger().warn("Invalid referrer URI syntax: {}" + referrer);
-										}
-									}
-									final WebInitializeEvent initEvent = new WebInitializeEvent(depictContext,
-											hour.length() > 0 ? Integer.parseInt(hour) : 0, /*TODO del timezone.length()>0 ? Integer.parseInt(timezone) : 0,*/
-											utcOffset.length() > 0 ? Integer.parseInt(utcOffset) : 0, utcOffset.length() > 0 ? Integer.parseInt(utcOffset01) : 0,
-											utcOffset06.length() > 0 ? Integer.parseInt(utcOffset06) : 0, language.length() > 0 ? language : "en-US",
-											colorDepth.length() > 0 ? Integer.parseInt(colorDepth) : 24, screenWidth.length() > 0 ? Integer.parseInt(screenWidth) : 1024,
-											screenHeight.length() > 0 ? Integer.parseInt(screenHeight) : 768, browserWidth.length() > 0 ? Integer.parseInt(browserWidth) : 1024,
-											browserHeight.length() > 0 ? Integer.parseInt(browserHeight) : 768, javascriptVersion.length() > 0 ? javascriptVersion : null,
-											javaEnabled.length() > 0 ? Boolean.valueOf(javaEnabled) : false, referrerURI); //create a new initialization event TODO check for NumberFormatException
-									requestEventList.add(initEvent); //add the event to the list
-								}
-								break;
-							case KEYPRESS:
-							case KEYRELEASE:
-								{
-									final int code = Integer.parseInt(eventElement.getAttribute("code")); //get the key code TODO use a constant
-									final Set<Key> keys = EnumSet.noneOf(Key.class); //we'll find any keys that were pressed
-									if(Boolean.valueOf(eventElement.getAttribute("altKey")).booleanValue()) { //if Alt was pressed TODO use a constant
-										keys.add(Key.ALT_LEFT); //note the Alt key
-									}
-									if(Boolean.valueOf(eventElement.getAttribute("controlKey")).booleanValue()) { //if Control was pressed TODO use a constant
-										keys.add(Key.CONTROL_LEFT); //note the Control key
-									}
-									if(Boolean.valueOf(eventElement.getAttribute("shiftKey")).booleanValue()) { //if Shiftwas pressed TODO use a constant
-										keys.add(Key.SHIFT_LEFT); //note the Shift key
-									}
-									final KeyboardEvent keyEvent;
-									switch(eventType) { //see which type of keypress this is
-										case KEYPRESS:
-											keyEvent = new KeyPressEvent(platform, KeyCode.valueOf(code).getKey(), keys.toArray(new Key[keys.size()])); //create a new key press event
-											break;
-										case KEYRELEASE:
-											keyEvent = new KeyReleaseEvent(platform, KeyCode.valueOf(code).getKey(), keys.toArray(new Key[keys.size()])); //create a new key release event
-											break;
-										default:
-											throw new AssertionError("Unrecognized key event type: " + eventType);
-									}
-									requestEventList.add(keyEvent); //add the event to the list
-								}
-								break;
-							case LOG:
-								{
-									final Level logLevel = getSerializedEnum(Level.class, eventElement.getAttribute("level")); //get the log level
-									final String text = eventElement.getTextContent(); //get the log text
-									getLogger().atLevel(logLevel).log("Guise AJAX: {}", text); //log this information
-								}
-								break;
-							case MOUSECLICK:
-							case MOUSEENTER:
-							case MOUSEEXIT:
-								{
-									final Node componentNode = XPathDom.getNode(eventNode, AJAX_REQUEST_COMPONENT_XPATH_EXPRESSION); //get the component node
-									final String componentID = ((Element)componentNode).getAttribute("id"); //TODO tidy; improve; comment
-									final int componentX = Integer.parseInt(((Element)componentNode).getAttribute("x")); //TODO tidy; improve; check for errors; comment
-									final int componentY = Integer.parseInt(((Element)componentNode).getAttribute("y")); //TODO tidy; improve; check for errors; comment
-									final int componentWidth = Integer.parseInt(((Element)componentNode).getAttribute("width")); //TODO tidy; improve; check for errors; comment
-									final int componentHeight = Integer.parseInt(((Element)componentNode).getAttribute("height")); //TODO tidy; improve; check for errors; comment
-
-									final Node targetNode = XPathDom.getNode(eventNode, AJAX_REQUEST_TARGET_XPATH_EXPRESSION); //get the target node
-									final String targetID = ((Element)targetNode).getAttribute("id"); //TODO tidy; improve; comment
-									final int targetX = Integer.parseInt(((Element)targetNode).getAttribute("x")); //TODO tidy; improve; check for errors; comment
-									final int targetY = Integer.parseInt(((Element)targetNode).getAttribute("y")); //TODO tidy; improve; check for errors; comment
-									final int targetWidth = Integer.parseInt(((Element)targetNode).getAttribute("width")); //TODO tidy; improve; check for errors; comment
-									final int targetHeight = Integer.parseInt(((Element)targetNode).getAttribute("height")); //TODO tidy; improve; check for errors; comment
-
-									final Node viewportNode = XPathDom.getNode(eventNode, AJAX_REQUEST_VIEWPORT_XPATH_EXPRESSION); //get the viewport node
-									final int viewportX = Integer.parseInt(((Element)viewportNode).getAttribute("x")); //TODO tidy; improve; check for errors; comment
-									final int viewportY = Integer.parseInt(((Element)viewportNode).getAttribute("y")); //TODO tidy; improve; check for errors; comment
-									final int viewportWidth = Integer.parseInt(((Element)viewportNode).getAttribute("width")); //TODO tidy; improve; check for errors; comment
-									final int viewportHeight = Integer.parseInt(((Element)viewportNode).getAttribute("height")); //TODO tidy; improve; check for errors; comment
-
-									final Node mouseNode = XPathDom.getNode(eventNode, AJAX_REQUEST_MOUSE_XPATH_EXPRESSION); //get the mouse node
-									final int mouseX = Integer.parseInt(((Element)mouseNode).getAttribute("x")); //TODO tidy; improve; check for errors; comment
-									final int mouseY = Integer.parseInt(((Element)mouseNode).getAttribute("y")); //TODO tidy; improve; check for errors; comment
-
-									final Set<Key> keys = EnumSet.noneOf(Key.class); //we'll find any keys that were pressed
-									if(Boolean.valueOf(eventElement.getAttribute("altKey")).booleanValue()) { //if Alt was pressed TODO use a constant
-										keys.add(Key.ALT_LEFT); //note the Alt key
-									}
-									if(Boolean.valueOf(eventElement.getAttribute("controlKey")).booleanValue()) { //if Control was pressed TODO use a constant
-										keys.add(Key.CONTROL_LEFT); //note the Control key
-									}
-									if(Boolean.valueOf(eventElement.getAttribute("shiftKey")).booleanValue()) { //if Shiftwas pressed TODO use a constant
-										keys.add(Key.SHIFT_LEFT); //note the Shift key
-									}
-									if(componentID != null) { //if there is a component ID TODO add better event handling, to throw an error and send back that error
-										final Component component = asInstance(platform.getDepictedObject(platform.getDepictID(componentID)), Component.class).orElse(null); //get the component by its ID
-										if(component != null && AbstractComponent.hasAncestor(component, guiseSession.getApplicationFrame())) { //if there is a target component in our current hierarchy
-											final MouseEvent mouseEvent;
-											switch(eventType) { //see which type of event this is
-												case MOUSECLICK:
-													{
-														final int buttonCode = Integer.parseInt(eventElement.getAttribute("button")); //get the button code TODO use a constant
-														final int clickCount = Integer.parseInt(eventElement.getAttribute("clickCount")); //get the click count TODO use a constant
-														mouseEvent = new MouseClickEvent(platform, component, new Rectangle(componentX, componentY, componentWidth, componentHeight),
-																new Rectangle(viewportX, viewportY, viewportWidth, viewportHeight), new Point(mouseX, mouseY),
-																Button.valueOf(buttonCode).getMouseButton(), clickCount, keys.toArray(new Key[keys.size()])); //create a new mouse enter event
-													}
-													break;
-												case MOUSEENTER:
-													mouseEvent = new MouseEnterEvent(platform, component, new Rectangle(componentX, componentY, componentWidth, componentHeight),
-															new Rectangle(viewportX, viewportY, viewportWidth, viewportHeight), new Point(mouseX, mouseY),
-															keys.toArray(new Key[keys.size()])); //create a new mouse enter event
-													break;
-												case MOUSEEXIT:
-													mouseEvent = new MouseExitEvent(platform, component, new Rectangle(componentX, componentY, componentWidth, componentHeight),
-															new Rectangle(viewportX, viewportY, viewportWidth, viewportHeight), new Point(mouseX, mouseY),
-															keys.toArray(new Key[keys.size()])); //create a new mouse exit event
-													break;
-												default:
-													throw new AssertionError("Unrecognized mouse event type: " + eventType);
-											}
-											//Log.trace("mouse event bound for component", ((Component<?>)mouseEvent.getTarget()).getID());
-											requestEventList.add(mouseEvent); //add the event to the list
-											//Log.trace("mouse event; targetXY:", targetX, targetY, "viewportXY:", viewportX, viewportY, "mouseXY:", mouseX, mouseY);
-										}
-									}
-								}
-								break;
-							case POLL:
-								{
-									final WebPollEvent pollEvent = new WebPollEvent(platform); //create a new poll event
-									requestEventList.add(pollEvent); //add the event to the list
-								}
-								break;
-							default:
-								throw new IllegalArgumentException("Unrecognized event type: " + eventType);
-						}
-					}
+			final HttpServletRequest request = guiseRequest.getHTTPServletRequest();
+			final InputStream inputStream = request.getInputStream();
+			final List<AJAXRequestEvent> ajaxRequestEvents;
+			if(guiseRequest.isAJAXJSON()) { //read the events in the format of the request
+				final String characterEncoding = request.getCharacterEncoding(); //JSON is UTF-8 unless the request says otherwise
+				ajaxRequestEvents = readJSONAJAXRequestEvents(inputStream, characterEncoding != null ? Charset.forName(characterEncoding) : UTF_8);
+			} else {
+				ajaxRequestEvents = readAJAXRequestEvents(inputStream); //the XML parser determines the encoding from the document itself
+			}
+			for(final AJAXRequestEvent ajaxRequestEvent : ajaxRequestEvents) { //for each event in the request
+				final GuiseEvent requestEvent = createRequestEvent(ajaxRequestEvent, guiseSession, depictContext); //create an event from the request information
+				if(requestEvent != null) { //if the AJAX event results in a Guise event
+					requestEventList.add(requestEvent); //add the event to the list
 				}
-			} catch(final ParserConfigurationException parserConfigurationException) { //we don't expect parser configuration errors
-				throw new AssertionError(parserConfigurationException);
-			} catch(final SAXException saxException) { //we don't expect parsing errors
-				throw new AssertionError(saxException); //TODO maybe change to throwing an IOException
-			} catch(final IOException ioException) { //if there is an I/O exception
-				throw new AssertionError(ioException); //TODO fix better
 			}
 		} else { //if this is not a Guise AJAX request
 			final HttpServletRequest request = guiseRequest.getHTTPServletRequest(); //get the HTTP servlet request
@@ -1960,7 +2476,7 @@ protected boolean exists(final HttpServletRequest request, final URI resourceURI
 			final ObjectHolder<Boolean> resourceExistsHolder = new ObjectHolder<Boolean>(); //create an object holder to receive the existence result
 			final GuiseSessionThreadGroup guiseSessionThreadGroup = Guise.getInstance().getThreadGroup(guiseSession); //get the thread group for this session
 			try {
-				call(guiseSessionThreadGroup, new Runnable() { //call the method in a new thread inside the thread group
+				guiseSessionThreadGroup.call(new Runnable() { //call the method in a session thread inside the thread group
 
 					@Override
 					public void run() {
@@ -2027,7 +2543,7 @@ protected HTTPServletResource getResource(final HttpServletRequest request, fina
 				final ObjectHolder<UrfResourceDescription> destinationResourceDescriptionHolder = new ObjectHolder<>(); //create an object holder to receive the result of asking for the resource description
 				final GuiseSessionThreadGroup guiseSessionThreadGroup = Guise.getInstance().getThreadGroup(guiseSession); //get the thread group for this session
 				try {
-					call(guiseSessionThreadGroup, new Runnable() { //call the method in a new thread inside the thread group
+					guiseSessionThreadGroup.call(new Runnable() { //call the method in a session thread inside the thread group
 
 						@Override
 						public void run() {
@@ -2160,7 +2676,7 @@ public InputStream getInputStream(final HttpServletRequest request) throws IOExc
 			final ObjectHolder<InputStream> inputStreamHolder = new ObjectHolder<InputStream>(); //create an object holder to receive the result of asking for the input stream
 			final GuiseSessionThreadGroup guiseSessionThreadGroup = Guise.getInstance().getThreadGroup(guiseSession); //get the thread group for this session
 			try {
-				call(guiseSessionThreadGroup, new Runnable() { //call the method in a new thread inside the thread group
+				guiseSessionThreadGroup.call(new Runnable() { //call the method in a session thread inside the thread group
 
 					@Override
 					public void run() {
@@ -93,6 +93,17 @@ public boolean isAJAX() {
 		return ajax;
 	}
 
+	/** Whether this is an AJAX request using the compact JSON format rather than the default XML format. */
+	private final boolean ajaxJSON;
+
+	/**
+	 * @return Whether this is an AJAX request using the compact JSON format rather than the default XML format.
+	 * @see WebPlatform#GUISE_AJAX_JSON_REQUEST_MEDIA_TYPE
+	 */
+	public boolean isAJAXJSON() {
+		return ajaxJSON;
+	}
+
 	/** The bookmark represented by the request, or <code>null</code> if no bookmark is contained in the request. */
 	private final Bookmark bookmark;
 
@@ -156,7 +167,8 @@ public HTTPServletGuiseRequest(final HttpServletRequest request, /*TODO del fina
 		navigationPath = guiseApplication.getNavigationPath(depictURI); //get the logical version of the the path
 		final String contentTypeString = request.getContentType(); //get the request content type
 		requestContentType = contentTypeString != null ? MediaType.parse(contentTypeString) : null; //create a content type object from the request content type, if there is one
-		ajax = requestContentType != null && GUISE_AJAX_REQUEST_MEDIA_TYPE.hasBaseType(requestContentType); //see if this is a Guise AJAX request
+		ajaxJSON = requestContentType != null && GUISE_AJAX_JSON_REQUEST_MEDIA_TYPE.hasBaseType(requestContentType); //see if this is a Guise AJAX request in JSON
+		ajax = ajaxJSON || (requestContentType != null && GUISE_AJAX_REQUEST_MEDIA_TYPE.hasBaseType(requestContentType)); //see if this is a Guise AJAX request
 	}
 
 	@Override
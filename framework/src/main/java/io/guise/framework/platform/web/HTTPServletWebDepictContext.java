@@ -144,4 +144,15 @@ public void setOutputContentType(final MediaType contentType) {
 		getResponse().setContentType(this.outputContentType.toString()); //set the content type of the response, including the current character set
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation encodes text in UTF-8 directly to the response output stream, compressed if the client allows it.
+	 * </p>
+	 */
+	@Override
+	protected Writer openDepictWriter() throws IOException {
+		return new OutputStreamWriter(HTTPServlets.getCompressedOutputStream(getGuiseRequest().getHTTPServletRequest(), getResponse()), UTF_8); //get a compressed output stream, if possible
+	}
+
 }
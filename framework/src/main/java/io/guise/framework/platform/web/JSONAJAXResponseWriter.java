@@ -0,0 +1,217 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform.web;
+
+import java.io.IOException;
+
+import com.globalmentor.javascript.JSON;
+
+import static io.guise.framework.platform.web.WebPlatform.*;
+
+/**
+ * Writes a Guise AJAX response in the compact JSON format. The response is an array of messages, each of which is itself an array beginning with the message
+ * name:
+ * <ul>
+ * <li><code>["navigate", "<var>uri</var>"]</code> or <code>["navigate", "<var>uri</var>", "<var>viewportID</var>"]</code></li>
+ * <li><code>["reload"]</code></li>
+ * <li><code>["remove", "<var>id</var>"]</code></li>
+ * <li><code>["command", "<var>objectID</var>"|null, "<var>command</var>", {<var>parameters</var>}]</code></li>
+ * <li><code>["attribute", "<var>id</var>", "<var>name</var>", "<var>value</var>"|null]</code></li>
+ * <li><code>["value", "<var>id</var>", "<var>value</var>"]</code></li>
+ * <li><code>["class", "<var>id</var>", "<var>name</var>", true|false]</code></li>
+ * <li><code>["style", "<var>id</var>", "<var>name</var>", "<var>value</var>"|null]</code></li>
+ * <li><code>["patch", "<var>markup</var>"]</code>, the markup being the same <code>&lt;xhtml:patch&gt;</code> element sent in the XML format.</li>
+ * </ul>
+ * @author Garret Wilson
+ * @see WebPlatform#GUISE_AJAX_JSON_RESPONSE_MEDIA_TYPE
+ */
+public class JSONAJAXResponseWriter extends XMLAJAXResponseWriter {
+
+	/** The number of messages written so far, used to determine whether a message separator is needed. */
+	private int messageCount = 0;
+
+	/** Whether a patch is in progress. */
+	private boolean patching = false;
+
+	/**
+	 * Depict context constructor.
+	 * @param depictContext The depict context to which the response is written.
+	 * @throws NullPointerException if the given depict context is <code>null</code>.
+	 */
+	public JSONAJAXResponseWriter(final HTTPServletWebDepictContext depictContext) {
+		super(depictContext);
+	}
+
+	@Override
+	public void clear() throws IOException {
+		messageCount = 0;
+		super.clear();
+	}
+
+	@Override
+	protected void writeBegin() throws IOException {
+		getDepictContext().setOutputContentType(GUISE_AJAX_JSON_RESPONSE_MEDIA_TYPE);
+		getDepictContext().writeLiteral("["); //begin the array of messages
+	}
+
+	@Override
+	public void end() throws IOException {
+		getDepictContext().writeLiteral("]"); //end the array of messages
+	}
+
+	/**
+	 * Begins a message, writing the message array start and message name, preceded by a separator if this is not the first message.
+	 * @param name The name of the message.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	protected void writeMessageBegin(final String name) throws IOException {
+		final StringBuilder stringBuilder = new StringBuilder();
+		if(messageCount++ > 0) {
+			stringBuilder.append(',');
+		}
+		stringBuilder.append('[').append(JSON.serialize(name));
+		getDepictContext().writeLiteral(stringBuilder.toString());
+	}
+
+	/**
+	 * Writes a parameter of the current message, preceded by a separator.
+	 * @param value The value to write, which will be serialized as JSON.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	protected void writeMessageParameter(final Object value) throws IOException {
+		getDepictContext().writeLiteral("," + JSON.serialize(value));
+	}
+
+	/**
+	 * Ends the current message.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	protected void writeMessageEnd() throws IOException {
+		getDepictContext().writeLiteral("]");
+	}
+
+	@Override
+	public void writeNavigate(final String depictionURI, final String viewportID) throws IOException {
+		writeMessageBegin(JSON_AJAX_MESSAGE_NAVIGATE);
+		writeMessageParameter(depictionURI);
+		if(viewportID != null) {
+			writeMessageParameter(viewportID);
+		}
+		writeMessageEnd();
+	}
+
+	@Override
+	public void writeReload() throws IOException {
+		writeMessageBegin(JSON_AJAX_MESSAGE_RELOAD);
+		writeMessageEnd();
+	}
+
+	@Override
+	public void writeRemove(final String id) throws IOException {
+		writeMessageBegin(JSON_AJAX_MESSAGE_REMOVE);
+		writeMessageParameter(id);
+		writeMessageEnd();
+	}
+
+	@Override
+	public void writeCommand(final String objectID, final String command, final String parametersJSON) throws IOException {
+		writeMessageBegin(JSON_AJAX_MESSAGE_COMMAND);
+		writeMessageParameter(objectID);
+		writeMessageParameter(command);
+		getDepictContext().writeLiteral("," + parametersJSON); //the parameters are already serialized
+		writeMessageEnd();
+	}
+
+	@Override
+	public void writeAttribute(final String id, final String name, final String value) throws IOException {
+		writeMessageBegin(JSON_AJAX_MESSAGE_ATTRIBUTE);
+		writeMessageParameter(id);
+		writeMessageParameter(name);
+		writeMessageParameter(value);
+		writeMessageEnd();
+	}
+
+	@Override
+	public void writeValue(final String id, final String value) throws IOException {
+		writeMessageBegin(JSON_AJAX_MESSAGE_VALUE);
+		writeMessageParameter(id);
+		writeMessageParameter(value);
+		writeMessageEnd();
+	}
+
+	@Override
+	public void writeClass(final String id, final String className, final boolean present) throws IOException {
+		writeMessageBegin(JSON_AJAX_MESSAGE_CLASS);
+		writeMessageParameter(id);
+		writeMessageParameter(className);
+		writeMessageParameter(Boolean.valueOf(present));
+		writeMessageEnd();
+	}
+
+	@Override
+	public void writeStyle(final String id, final String name, final String value) throws IOException {
+		writeMessageBegin(JSON_AJAX_MESSAGE_STYLE);
+		writeMessageParameter(id);
+		writeMessageParameter(name);
+		writeMessageParameter(value);
+		writeMessageEnd();
+	}
+
+	/**
+	 * Encodes text as the content of a JSON string, without the surrounding quotation marks. As each character is encoded separately, text may be encoded in
+	 * arbitrary pieces.
+	 * @param text The text to encode.
+	 * @return The text encoded for inclusion in a JSON string.
+	 */
+	protected static String encodeJSONStringContent(final String text) {
+		final String string = JSON.serialize(text);
+		return string.substring(1, string.length() - 1); //remove the quotation marks
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version depicts the patch as XML markup, which is placed in the message as a string. The markup is encoded as it is written to the output, so that
+	 * committed markup can still be sent as it is collected.
+	 * </p>
+	 * @see HTTPServletWebDepictContext#beginDepictTextOutputEncoding(java.util.function.UnaryOperator)
+	 */
+	@Override
+	public void beginPatch() throws IOException {
+		if(patching) {
+			throw new IllegalStateException("Patch already in progress.");
+		}
+		writeMessageBegin(JSON_AJAX_MESSAGE_PATCH);
+		getDepictContext().writeLiteral(",\""); //begin the markup string
+		getDepictContext().beginDepictTextOutputEncoding(JSONAJAXResponseWriter::encodeJSONStringContent);
+		patching = true;
+		super.beginPatch();
+	}
+
+	@Override
+	public void endPatch() throws IOException {
+		if(!patching) {
+			throw new IllegalStateException("No patch in progress.");
+		}
+		super.endPatch();
+		getDepictContext().endDepictTextOutputEncoding();
+		patching = false;
+		getDepictContext().writeLiteral("\""); //end the markup string
+		writeMessageEnd();
+	}
+
+}
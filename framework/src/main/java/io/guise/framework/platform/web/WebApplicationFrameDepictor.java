@@ -478,7 +478,7 @@ protected void depictEnd() throws IOException {
 		depictContext.writeElementEnd(XHTML_NAMESPACE_URI, ELEMENT_IFRAME); //</xhtml:iframe>
 		//<xhtml:script> (internal)
 		//this script sets up the body length property 
-		final int bodyLength = depictContext.getDepictStringBuilder().length(); //get the length of the body
+		final int bodyLength = depictContext.getElementContentLength(); //get the length of the body
 		depictContext.write("\t");
 		depictContext.writeElementBegin(XHTML_NAMESPACE_URI, ELEMENT_SCRIPT, false); //<xhtml:script> (explicitly don't create an empty <xhtml:script> element, otherwise IE wouldn't recognize it)
 		depictContext.writeAttribute(null, ELEMENT_SCRIPT_ATTRIBUTE_TYPE, OBSOLETE_MEDIA_TYPE.toString()); //type="text/javascript"
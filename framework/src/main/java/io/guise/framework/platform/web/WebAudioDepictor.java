@@ -65,6 +65,17 @@ public enum AudioCommand implements WebPlatformCommand {
 		/** The property for specifying the position of the audio. */
 		public static final String POSITION_PROPERTY = "position";
 
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Only the latest audio position has any effect.
+		 * </p>
+		 */
+		@Override
+		public boolean isCoalesced() {
+			return this == AUDIO_POSITION;
+		}
+
 	}
 
 	@SuppressWarnings("unchecked")
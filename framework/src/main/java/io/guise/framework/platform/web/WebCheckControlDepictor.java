@@ -22,6 +22,7 @@
 
 import io.guise.framework.component.*;
 import io.guise.framework.model.*;
+import io.guise.framework.model.ui.PresentationModel;
 import io.guise.framework.platform.DepictEvent;
 import io.guise.framework.platform.PlatformEvent;
 
@@ -108,6 +109,29 @@ protected Map<String, Object> getOuterStyles() {
 	/** Default constructor using the XHTML <code>&lt;span&gt;</code> element. */
 	public WebCheckControlDepictor() {
 		super(XHTML_NAMESPACE_URI, ELEMENT_SPAN); //represent <xhtml:span>
+		getPatchableProperties().add(Displayable.DISPLAYED_PROPERTY); //the display, visibility, enabled status, and value can be patched
+		getPatchableProperties().add(PresentationModel.VISIBLE_PROPERTY);
+		getPatchableProperties().add(Enableable.ENABLED_PROPERTY);
+		getPatchableProperties().add(ValueModel.VALUE_PROPERTY);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version updates the <code>disabled</code> and <code>checked</code> attributes of the check input.
+	 * </p>
+	 */
+	@Override
+	protected void depictPatch(final WebPatchWriter patchWriter, final Set<String> modifiedProperties) throws IOException {
+		super.depictPatch(patchWriter, modifiedProperties); //patch the default properties
+		final C component = getDepictedObject(); //get the component
+		final String bodyID = decorateID(getPlatform().getDepictIDString(component.getDepictID()), null, COMPONENT_BODY_CLASS_SUFFIX); //the check input is the body
+		if(modifiedProperties.contains(Enableable.ENABLED_PROPERTY)) { //if the enabled status changed
+			patchWriter.writeAttribute(bodyID, ELEMENT_INPUT_ATTRIBUTE_DISABLED, component.isEnabled() ? null : INPUT_DISABLED_DISABLED); //disabled="disabled"
+		}
+		if(modifiedProperties.contains(ValueModel.VALUE_PROPERTY)) { //if the value changed
+			patchWriter.writeAttribute(bodyID, ELEMENT_INPUT_ATTRIBUTE_CHECKED, booleanValue(component.getValue()) ? INPUT_CHECKED_CHECKED : null); //checked="checked"
+		}
 	}
 
 	/**
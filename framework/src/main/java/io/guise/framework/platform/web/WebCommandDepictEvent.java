@@ -23,6 +23,7 @@
 
 import static com.globalmentor.collections.Maps.*;
 
+import com.globalmentor.javascript.JSON;
 import com.globalmentor.model.NameValuePair;
 
 import io.guise.framework.platform.DepictedObject;
@@ -53,6 +54,24 @@ public Map<String, Object> getParameters() {
 		return parameters;
 	}
 
+	/** The JSON serialization of the parameters, or <code>null</code> if the parameters have not yet been serialized. */
+	private transient String parametersJSON = null;
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation serializes the parameters only once; the race condition is benign, as the parameters are read-only.
+	 * </p>
+	 */
+	@Override
+	public String getParametersJSON() {
+		String parametersJSON = this.parametersJSON;
+		if(parametersJSON == null) {
+			parametersJSON = this.parametersJSON = JSON.serialize(parameters);
+		}
+		return parametersJSON;
+	}
+
 	/**
 	 * Depicted object, command, and parameters constructor.
 	 * @param depictedObject The depicted object on which the event initially occurred.
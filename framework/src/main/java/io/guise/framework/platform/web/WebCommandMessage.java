@@ -21,6 +21,7 @@
 import static java.util.Collections.*;
 import static java.util.Objects.*;
 
+import com.globalmentor.javascript.JSON;
 import com.globalmentor.model.NameValuePair;
 
 import static com.globalmentor.collections.Maps.*;
@@ -49,6 +50,24 @@ public Map<String, Object> getParameters() {
 		return parameters;
 	}
 
+	/** The JSON serialization of the parameters, or <code>null</code> if the parameters have not yet been serialized. */
+	private String parametersJSON = null;
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation serializes the parameters only once; the race condition is benign, as the parameters are read-only.
+	 * </p>
+	 */
+	@Override
+	public String getParametersJSON() {
+		String parametersJSON = this.parametersJSON;
+		if(parametersJSON == null) {
+			parametersJSON = this.parametersJSON = JSON.serialize(parameters);
+		}
+		return parametersJSON;
+	}
+
 	/**
 	 * Command and parameters constructor.
 	 * @param command The command.
@@ -16,6 +16,8 @@
 
 package io.guise.framework.platform.web;
 
+import java.io.IOException;
+
 import io.guise.framework.platform.*;
 
 /**
@@ -30,4 +32,27 @@
 
 	@Override
 	public WebDepictContext getDepictContext();
+
+	/**
+	 * Returns the fingerprint of the depiction last sent to the client, which allows an identical depiction to be suppressed. The fingerprint is no longer
+	 * available once the object is depicted again until a new fingerprint is recorded, or after the platform depiction fingerprints are reset.
+	 * @return The fingerprint of the depiction the client has, or <code>null</code> if it is not known what depiction the client has.
+	 * @see WebPlatform#resetDepictionFingerprints()
+	 */
+	public byte[] getDepictionFingerprint();
+
+	/**
+	 * Records the fingerprint of the depiction that was sent to the client.
+	 * @param depictionFingerprint The fingerprint of the depiction the client has, or <code>null</code> if it is not known what depiction the client has.
+	 */
+	public void setDepictionFingerprint(final byte[] depictionFingerprint);
+
+	/**
+	 * Writes fine-grained changes for the modified properties of the depicted object if they can be updated without replacing the entire depiction. If the
+	 * changes are written, the depiction is marked as updated.
+	 * @param patchWriter The writer of fine-grained changes to the depiction already on the client.
+	 * @return <code>true</code> if the changes were written, or <code>false</code> if the object must be depicted again in full.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public boolean depictPatch(final WebPatchWriter patchWriter) throws IOException;
 }
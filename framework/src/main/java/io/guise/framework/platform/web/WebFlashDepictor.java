@@ -85,7 +85,6 @@ public WebFlashDepictor() {
 
 	@Override
 	protected void depictBody() throws IOException {
-		super.depictBody(); //render the default main part of the component
 		final WebDepictContext depictContext = getDepictContext(); //get the depict context
 		final GuiseSession session = getSession(); //get the session
 		final C component = getDepictedObject(); //get the component
@@ -102,6 +101,7 @@ protected void depictBody() throws IOException {
 				depictContext.writeAttribute(null, ELEMENT_OBJECT_ATTRIBUTE_DATA, flashDepictURI.toString()); //data="flashURI"; don't write the data attribute in IE, because it will prevent the Flash movie from showing its preloader
 			}
 		}
+		super.depictBody(); //render the default main part of the component after the attributes, as the start tag may be sent once the content grows large
 		if(flashDepictURI != null) { //if there is a flash URI
 			//param movie="flashURI" (necessary for IE)
 			depictContext.writeElementBegin(XHTML_NAMESPACE_URI, ELEMENT_PARAM); //<xhtml:param>
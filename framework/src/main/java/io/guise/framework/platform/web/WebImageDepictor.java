@@ -134,7 +134,6 @@ protected URI getImageURI() {
 
 	@Override
 	protected void depictBody() throws IOException {
-		super.depictBody(); //render the default main part of the component
 		final WebDepictContext depictContext = getDepictContext(); //get the depict context
 		final GuiseSession session = getSession(); //get the session
 		final C component = getDepictedObject(); //get the component
@@ -154,6 +153,7 @@ protected void depictBody() throws IOException {
 			}
 		}
 		depictContext.writeAttribute(null, ELEMENT_IMG_ATTRIBUTE_ALT, alt); //alt="alt"
+		super.depictBody(); //render the default main part of the component after the attributes, as the start tag may be sent once the content grows large
 	}
 
 }
@@ -17,8 +17,10 @@
 package io.guise.framework.platform.web;
 
 import java.io.IOException;
+import java.net.URI;
+import java.util.List;
 
-import io.guise.framework.component.LabelComponent;
+import io.guise.framework.component.*;
 
 import static com.globalmentor.html.spec.HTML.*;
 
@@ -40,4 +42,28 @@ protected void depictBody() throws IOException {
 		writeLabelContent(); //write the content of the label
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version adds the presentation values along with the label, its styles, and its icon, allowing the depiction to be cached if
+	 * {@link #isDepictionCacheEnabled() depiction caching has been enabled}.
+	 * </p>
+	 */
+	@Override
+	protected boolean addDepictionCacheKeyValues(final List<Object> key) {
+		final C component = getDepictedObject();
+		addPresentationDepictionCacheKeyValues(key);
+		key.add(component.getLabel());
+		key.add(component.getLabelContentType());
+		final URI glyphURI = component.getGlyphURI();
+		key.add(glyphURI != null ? getDepictContext().getDepictionURI(glyphURI) : null); //the icon reference is resolved for the session
+		key.add(getLabelStyles(component, component));
+		if(component instanceof LabelDisplayableComponent) {
+			final LabelDisplayableComponent labelDisplayableComponent = (LabelDisplayableComponent)component;
+			key.add(labelDisplayableComponent.isLabelDisplayed());
+			key.add(labelDisplayableComponent.isIconDisplayed());
+		}
+		return true;
+	}
+
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform.web;
+
+import java.io.IOException;
+
+/**
+ * Writes fine-grained changes to elements already depicted on the client, allowing a depictor to update a modified property without replacing its entire
+ * depiction.
+ * @author Garret Wilson
+ */
+public interface WebPatchWriter {
+
+	/**
+	 * Writes a change to an attribute of a depicted element.
+	 * @param id The ID of the element to change.
+	 * @param name The name of the attribute.
+	 * @param value The new value of the attribute, or <code>null</code> if the attribute should be removed.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public void writeAttribute(final String id, final String name, final String value) throws IOException;
+
+	/**
+	 * Writes a change to the value of a depicted form control.
+	 * @param id The ID of the form control to change.
+	 * @param value The new value of the form control.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public void writeValue(final String id, final String value) throws IOException;
+
+	/**
+	 * Writes the addition or removal of a style class of a depicted element.
+	 * @param id The ID of the element to change.
+	 * @param className The style class to add or remove.
+	 * @param present <code>true</code> if the class should be added, or <code>false</code> if it should be removed.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public void writeClass(final String id, final String className, final boolean present) throws IOException;
+
+	/**
+	 * Writes a change to an inline style property of a depicted element.
+	 * @param id The ID of the element to change.
+	 * @param name The name of the style property.
+	 * @param value The new value of the style property, or <code>null</code> if the style property should be removed.
+	 * @throws IOException if there is an error writing the information.
+	 */
+	public void writeStyle(final String id, final String name, final String value) throws IOException;
+
+}
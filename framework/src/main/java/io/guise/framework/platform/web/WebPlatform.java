@@ -17,6 +17,7 @@
 package io.guise.framework.platform.web;
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.Queue;
 
 import static com.globalmentor.xml.spec.XML.*;
@@ -25,6 +26,7 @@
 import com.globalmentor.net.URIPath;
 
 import io.guise.framework.GuiseApplication;
+import io.guise.framework.component.Component;
 import io.guise.framework.platform.*;
 
 /**
@@ -57,6 +59,60 @@ public interface WebPlatform extends Platform {
 	public static final MediaType GUISE_AJAX_RESPONSE_MEDIA_TYPE = MediaType.of(MediaType.APPLICATION_PRIMARY_TYPE,
 			MediaType.SUBTYPE_EXTENSION_PREFIX + "guise-ajax-response" + MediaType.SUBTYPE_SUFFIX_DELIMITER_CHAR + XML_SUBTYPE_SUFFIX);
 
+	/** The subtype suffix of the JSON variants of the Guise AJAX media types. */
+	public static final String GUISE_AJAX_JSON_SUBTYPE_SUFFIX = "json";
+
+	/**
+	 * The media type of a Guise AJAX request in the compact JSON format, <code>application/x-guise-ajax-request+json</code>. A request in this format will
+	 * receive a response in {@link #GUISE_AJAX_JSON_RESPONSE_MEDIA_TYPE}.
+	 */
+	public static final MediaType GUISE_AJAX_JSON_REQUEST_MEDIA_TYPE = MediaType.of(MediaType.APPLICATION_PRIMARY_TYPE,
+			MediaType.SUBTYPE_EXTENSION_PREFIX + "guise-ajax-request" + MediaType.SUBTYPE_SUFFIX_DELIMITER_CHAR + GUISE_AJAX_JSON_SUBTYPE_SUFFIX);
+
+	/** The media type of a Guise AJAX response in the compact JSON format, <code>application/x-guise-ajax-response+json</code>. */
+	public static final MediaType GUISE_AJAX_JSON_RESPONSE_MEDIA_TYPE = MediaType.of(MediaType.APPLICATION_PRIMARY_TYPE,
+			MediaType.SUBTYPE_EXTENSION_PREFIX + "guise-ajax-response" + MediaType.SUBTYPE_SUFFIX_DELIMITER_CHAR + GUISE_AJAX_JSON_SUBTYPE_SUFFIX);
+
+	//JSON AJAX request
+	/** The property of a JSON AJAX request object holding the array of event objects. */
+	public static final String JSON_AJAX_REQUEST_EVENTS_PROPERTY = "events";
+	/** The property of a JSON AJAX request event object holding the serialized event type. */
+	public static final String JSON_AJAX_EVENT_TYPE_PROPERTY = "type";
+	/** The property of a JSON AJAX request event object holding an object of changed property values. */
+	public static final String JSON_AJAX_EVENT_PROPERTIES_PROPERTY = "properties";
+	/** The property of a JSON AJAX request event object holding text, such as that of a log event. */
+	public static final String JSON_AJAX_EVENT_TEXT_PROPERTY = "text";
+
+	//XML AJAX request
+	/** The root element of an XML AJAX request. */
+	public static final String XML_AJAX_REQUEST_ELEMENT = "request";
+	/** The element of an XML AJAX request containing the event elements. */
+	public static final String XML_AJAX_REQUEST_EVENTS_ELEMENT = "events";
+	/** The element of an XML AJAX request event holding a changed property value as JSON text content. */
+	public static final String XML_AJAX_EVENT_PROPERTY_ELEMENT = "property";
+	/** The attribute of an XML AJAX request event property element holding the name of the property. */
+	public static final String XML_AJAX_EVENT_PROPERTY_NAME_ATTRIBUTE = "name";
+
+	//JSON AJAX response message names
+	/** The JSON AJAX response message to navigate to a URI. */
+	public static final String JSON_AJAX_MESSAGE_NAVIGATE = "navigate";
+	/** The JSON AJAX response message to reload the page. */
+	public static final String JSON_AJAX_MESSAGE_RELOAD = "reload";
+	/** The JSON AJAX response message to remove an element. */
+	public static final String JSON_AJAX_MESSAGE_REMOVE = "remove";
+	/** The JSON AJAX response message to perform a command. */
+	public static final String JSON_AJAX_MESSAGE_COMMAND = "command";
+	/** The JSON AJAX response message to set or remove an element attribute. */
+	public static final String JSON_AJAX_MESSAGE_ATTRIBUTE = "attribute";
+	/** The JSON AJAX response message to set the value of a control. */
+	public static final String JSON_AJAX_MESSAGE_VALUE = "value";
+	/** The JSON AJAX response message to add or remove a style class. */
+	public static final String JSON_AJAX_MESSAGE_CLASS = "class";
+	/** The JSON AJAX response message to set or remove a style property. */
+	public static final String JSON_AJAX_MESSAGE_STYLE = "style";
+	/** The JSON AJAX response message to patch elements with new markup. */
+	public static final String JSON_AJAX_MESSAGE_PATCH = "patch";
+
 	/** The types of JavaScript-based HTML editors available. */
 	public enum HTMLEditor {
 		/** @see <a href="http://www.tinymce.com/">TinyMCE</a> */
@@ -153,6 +209,17 @@ public enum PollCommand implements WebPlatformCommand {
 
 		/** The property for specifying the poll interval in milliseconds. */
 		public static final String INTERVAL_PROPERTY = "interval";
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Only the latest poll interval has any effect.
+		 * </p>
+		 */
+		@Override
+		public boolean isCoalesced() {
+			return true;
+		}
 	}
 
 	/**
@@ -220,4 +287,56 @@ public enum PollCommand implements WebPlatformCommand {
 	 */
 	public boolean discontinuePollInterval(final DepictedObject depictedObject);
 
+	/**
+	 * Registers a component as being depicted using the given depict name, so that it may be found by that name when information is submitted from the platform.
+	 * @param depictName The name used in the depiction of the component.
+	 * @param component The component depicted using the name.
+	 * @throws NullPointerException if the given depict name and/or component is <code>null</code>.
+	 * @see WebComponentDepictor#getDepictName()
+	 * @see #getComponentsByDepictName(String)
+	 */
+	public void registerDepictName(final String depictName, final Component component);
+
+	/**
+	 * Unregisters a component as being depicted using the given depict name. If the component is not registered with the given name, no action occurs.
+	 * @param depictName The name used in the depiction of the component.
+	 * @param component The component depicted using the name.
+	 * @throws NullPointerException if the given depict name and/or component is <code>null</code>.
+	 * @see #registerDepictName(String, Component)
+	 */
+	public void unregisterDepictName(final String depictName, final Component component);
+
+	/**
+	 * Retrieves the components registered as being depicted using the given depict name. Several components may share a depict name, such as radio buttons in
+	 * the same mutual exclusion group.
+	 * @param depictName The depict name for which to find components.
+	 * @return A read-only collection of the components registered with the given depict name.
+	 * @throws NullPointerException if the given depict name is <code>null</code>.
+	 * @see #registerDepictName(String, Component)
+	 */
+	public Collection<Component> getComponentsByDepictName(final String depictName);
+
+	/**
+	 * Returns the current generation of depiction fingerprints. A fingerprint recorded by a depictor is only valid during the generation in which it was
+	 * recorded.
+	 * @return The current depiction fingerprint generation.
+	 * @see WebDepictor#getDepictionFingerprint()
+	 * @see #resetDepictionFingerprints()
+	 */
+	public long getDepictionFingerprintGeneration();
+
+	/**
+	 * Invalidates the depiction fingerprints of all depictors on this platform, indicating that the client no longer has any of the depictions the fingerprints
+	 * represent. This should be called whenever the client reloads its entire depiction.
+	 * @see WebDepictor#setDepictionFingerprint(byte[])
+	 */
+	public void resetDepictionFingerprints();
+
+	/**
+	 * Returns the queue of events of AJAX requests waiting to be processed on this platform. Overlapping AJAX requests add their events to the queue, and the
+	 * request that gains exclusive access to the platform processes the events of all pending requests in a single batch.
+	 * @return The thread-safe queue of pending AJAX request events, which also reports queue depth metrics.
+	 */
+	public AJAXRequestEventQueue getAJAXRequestEventQueue();
+
 }
@@ -23,4 +23,17 @@
  * @see WebCommandDepictEvent
  */
 public interface WebPlatformCommand extends PlatformCommand {
+
+	/**
+	 * Indicates whether a message with this command supersedes any earlier message with the same command for the same depicted object that has not yet been
+	 * sent, because only the latest such message has any effect on the platform.
+	 * <p>
+	 * This default version returns <code>false</code>.
+	 * </p>
+	 * @return <code>true</code> if only the latest unsent message with this command for a depicted object need be sent.
+	 */
+	public default boolean isCoalesced() {
+		return false;
+	}
+
 }
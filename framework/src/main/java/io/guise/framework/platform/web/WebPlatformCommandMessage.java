@@ -33,4 +33,7 @@
 	/** @return The read-only map of parameters. */
 	public Map<String, Object> getParameters();
 
+	/** @return The parameters serialized in JavaScript Object Notation (JSON), which may be cached by the message. */
+	public String getParametersJSON();
+
 }
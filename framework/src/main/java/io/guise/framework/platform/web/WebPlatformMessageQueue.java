@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform.web;
+
+import java.util.*;
+
+import static java.util.Objects.*;
+
+import io.guise.framework.platform.DepictedObject;
+
+/**
+ * A thread-safe queue of messages to be sent to the web platform that coalesces redundant messages as they are added. When a command message is added with a
+ * command that indicates that it is coalesced, any message with the same command for the same depicted object still in the queue is removed, and the new
+ * message is added to the end of the queue.
+ * @author Garret Wilson
+ * @see WebPlatformCommand#isCoalesced()
+ */
+public class WebPlatformMessageQueue extends AbstractQueue<WebPlatformMessage> {
+
+	/**
+	 * The messages in the queue, in the order they were added, keyed to their coalescing keys; messages that are not coalesced are keyed to unique objects. Access
+	 * must be synchronized on the map.
+	 */
+	private final LinkedHashMap<Object, WebPlatformMessage> keyMessageMap = new LinkedHashMap<Object, WebPlatformMessage>();
+
+	/** The total number of messages removed because they were superseded by later messages; access must be synchronized on the map. */
+	private long coalescedMessageCount = 0;
+
+	/** @return The total number of messages removed because they were superseded by later messages. */
+	public long getCoalescedMessageCount() {
+		synchronized(keyMessageMap) {
+			return coalescedMessageCount;
+		}
+	}
+
+	/**
+	 * Determines the key by which a message is coalesced with earlier messages.
+	 * @param message The message being added.
+	 * @return The key identifying the messages the given message supersedes, or a new unique object if the message supersedes no other message.
+	 */
+	protected static Object getCoalescingKey(final WebPlatformMessage message) {
+		if(message instanceof WebPlatformCommandMessage) {
+			final WebPlatformCommand command = ((WebPlatformCommandMessage<?>)message).getCommand();
+			if(command.isCoalesced()) {
+				final DepictedObject depictedObject = message instanceof WebDepictEvent ? ((WebDepictEvent)message).getDepictedObject() : null;
+				return Arrays.asList(command, depictedObject);
+			}
+		}
+		return new Object();
+	}
+
+	@Override
+	public boolean offer(final WebPlatformMessage message) {
+		final Object key = getCoalescingKey(requireNonNull(message, "Message cannot be null."));
+		synchronized(keyMessageMap) {
+			if(keyMessageMap.remove(key) != null) { //remove any superseded message, so that the new message is placed at the end
+				++coalescedMessageCount;
+			}
+			keyMessageMap.put(key, message);
+		}
+		return true;
+	}
+
+	@Override
+	public WebPlatformMessage poll() {
+		synchronized(keyMessageMap) {
+			final Iterator<WebPlatformMessage> messageIterator = keyMessageMap.values().iterator();
+			if(!messageIterator.hasNext()) {
+				return null;
+			}
+			final WebPlatformMessage message = messageIterator.next();
+			messageIterator.remove();
+			return message;
+		}
+	}
+
+	@Override
+	public WebPlatformMessage peek() {
+		synchronized(keyMessageMap) {
+			final Iterator<WebPlatformMessage> messageIterator = keyMessageMap.values().iterator();
+			return messageIterator.hasNext() ? messageIterator.next() : null;
+		}
+	}
+
+	@Override
+	public int size() {
+		synchronized(keyMessageMap) {
+			return keyMessageMap.size();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation returns an iterator to a snapshot of the queue, which does not support removal.
+	 * </p>
+	 */
+	@Override
+	public Iterator<WebPlatformMessage> iterator() {
+		synchronized(keyMessageMap) {
+			return Collections.unmodifiableList(new ArrayList<WebPlatformMessage>(keyMessageMap.values())).iterator();
+		}
+	}
+
+}
@@ -27,6 +27,7 @@
 import io.clogr.Clogr;
 import io.guise.framework.component.*;
 import io.guise.framework.model.*;
+import io.guise.framework.model.ui.PresentationModel;
 import io.guise.framework.platform.*;
 import io.guise.framework.validator.*;
 
@@ -46,6 +47,52 @@
 	/** Default constructor using the XHTML <code>&lt;select&gt;</code> element. */
 	public WebSelectDepictor() {
 		super(XHTML_NAMESPACE_URI, ELEMENT_SELECT); //represent <xhtml:select>
+		getPatchableProperties().add(Displayable.DISPLAYED_PROPERTY); //the display, visibility, enabled status, and value can be patched
+		getPatchableProperties().add(PresentationModel.VISIBLE_PROPERTY);
+		getPatchableProperties().add(Enableable.ENABLED_PROPERTY);
+		getPatchableProperties().add(ValueModel.VALUE_PROPERTY);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * A value change can only be patched for a non-empty single selection control that requires no value, as only then are the same options depicted regardless
+	 * of the selection.
+	 * </p>
+	 */
+	@Override
+	protected boolean isPatchable(final Set<String> modifiedProperties) {
+		if(!super.isPatchable(modifiedProperties)) {
+			return false;
+		}
+		if(modifiedProperties.contains(ValueModel.VALUE_PROPERTY)) { //if the value changed, make sure the dummy null option is always present
+			final C component = getDepictedObject(); //get the component
+			final Validator<V> validator = component.getValidator(); //get the model's validator
+			final boolean valueRequired = validator instanceof AbstractValidator && ((AbstractValidator<V>)validator).isValueRequired(); //see if a value is required
+			return component.getSelectionPolicy() instanceof SingleListSelectionPolicy && !valueRequired && !component.isEmpty();
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version updates the <code>disabled</code> attribute and the selected option of the select element.
+	 * </p>
+	 */
+	@Override
+	protected void depictPatch(final WebPatchWriter patchWriter, final Set<String> modifiedProperties) throws IOException {
+		super.depictPatch(patchWriter, modifiedProperties); //patch the default properties
+		final C component = getDepictedObject(); //get the component
+		final String bodyID = decorateID(getPlatform().getDepictIDString(component.getDepictID()), null, COMPONENT_BODY_CLASS_SUFFIX); //the select element is the body
+		if(modifiedProperties.contains(Enableable.ENABLED_PROPERTY)) { //if the enabled status changed
+			patchWriter.writeAttribute(bodyID, ELEMENT_INPUT_ATTRIBUTE_DISABLED, component.isEnabled() ? null : INPUT_DISABLED_DISABLED); //disabled="disabled"
+		}
+		if(modifiedProperties.contains(ValueModel.VALUE_PROPERTY)) { //if the selection changed
+			final V selectedValue = component.getSelectedValue(); //get the selected value, if any
+			patchWriter.writeValue(bodyID,
+					selectedValue != null ? getPlatform().getDepictIDString(component.getComponent(selectedValue).getDepictID()) : GUISE_DUMMY_NULL_VALUE); //select the option representing the value, or the dummy null option
+		}
 	}
 
 	@Override
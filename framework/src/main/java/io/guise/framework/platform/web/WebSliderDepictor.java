@@ -26,7 +26,8 @@
 import io.guise.framework.component.*;
 import io.guise.framework.component.layout.*;
 import io.guise.framework.geometry.Axis;
-import io.guise.framework.model.Notification;
+import io.guise.framework.model.*;
+import io.guise.framework.model.ui.PresentationModel;
 import io.guise.framework.platform.*;
 import io.guise.framework.validator.*;
 
@@ -49,6 +50,38 @@
 	/** Default constructor using the XHTML <code>&lt;div&gt;</code> element. */
 	public WebSliderDepictor() {
 		super(XHTML_NAMESPACE_URI, ELEMENT_DIV); //represent <xhtml:div>
+		getPatchableProperties().add(Displayable.DISPLAYED_PROPERTY); //the display, visibility, value, and sliding status can be patched
+		getPatchableProperties().add(PresentationModel.VISIBLE_PROPERTY);
+		getPatchableProperties().add(ValueModel.VALUE_PROPERTY);
+		getPatchableProperties().add(SliderControl.SLIDING_PROPERTY);
+	}
+
+	/** The suffixes of the IDs of the slider elements that carry the base style IDs. */
+	private static final String[] STYLED_ID_SUFFIXES = {null, COMPONENT_LABEL_CLASS_SUFFIX, COMPONENT_BODY_CLASS_SUFFIX, SLIDER_TRACK_CLASS_SUFFIX,
+			SLIDER_THUMB_CLASS_SUFFIX, COMPONENT_ERROR_CLASS_SUFFIX};
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version updates the position input with a new value, and adds or removes the sliding class on each slider element when sliding changes.
+	 * </p>
+	 * @see GuiseCSSStyleConstants#SLIDER_SLIDING_CLASS
+	 */
+	@Override
+	protected void depictPatch(final WebPatchWriter patchWriter, final Set<String> modifiedProperties) throws IOException {
+		super.depictPatch(patchWriter, modifiedProperties); //patch the default properties
+		final C component = getDepictedObject(); //get the component
+		final String id = getPlatform().getDepictIDString(component.getDepictID()); //get the component ID
+		if(modifiedProperties.contains(ValueModel.VALUE_PROPERTY)) { //if the value changed
+			final String position = getPositionString(); //get the new relative position
+			patchWriter.writeValue(decorateID(id, null, "-position"), position != null ? position : ""); //update the slider position input TODO use a constant
+		}
+		if(modifiedProperties.contains(SliderControl.SLIDING_PROPERTY)) { //if sliding started or stopped
+			final boolean sliding = component.isSliding();
+			for(final String suffix : STYLED_ID_SUFFIXES) {
+				patchWriter.writeClass(decorateID(id, null, suffix), SLIDER_SLIDING_CLASS, sliding);
+			}
+		}
 	}
 
 	@Override
@@ -169,6 +202,20 @@ protected Set<String> getBaseStyleIDs(final String prefix, final String suffix)
 		return baseStyleIDs; //return the new style IDs
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version adds the values determining the flow style IDs for the slider flow, as well as whether the slider is sliding.
+	 * </p>
+	 */
+	@Override
+	protected void addBaseStyleIDsKeyValues(final List<Object> key) {
+		super.addBaseStyleIDsKeyValues(key);
+		final C component = getDepictedObject();
+		addFlowStyleIDsKeyValues(key, component.getFlow());
+		key.add(component.isSliding());
+	}
+
 	/*
 	 * Retrieves the styles for the outer element of the component.
 	 * @param context Guise context information.
@@ -184,6 +231,41 @@ protected Map<String, String> getBodyStyles(final GC context, final C component)
 		}
 	*/
 
+	/**
+	 * Determines the relative position of the slider as sent to the web platform.
+	 * @return The string form of the relative position of the slider from 0.0 to 1.0, or <code>null</code> if the slider has no value.
+	 */
+	protected String getPositionString() {
+		final C component = getDepictedObject(); //get the component
+		final V value = component.getValue(); //get the current value
+		if(value == null) { //if there is no value
+			return null;
+		}
+		final Validator<V> validator = component.getValidator(); //get the component's validator
+		final RangeValidator<V> rangeValidator = validator instanceof RangeValidator ? (RangeValidator<V>)validator : null; //get the validator as a range validator, if it is one
+		final V rangeMinimum = rangeValidator != null ? rangeValidator.getMinimum() : null; //find the minumum, if there is one
+		final V rangeMaximum = rangeValidator != null ? rangeValidator.getMaximum() : null; //find the maximum, if there is one
+		final double position; //we'll determine the position as a number from 0.0 to 1.0
+		final Class<V> valueClass = component.getValueClass(); //see what type of class is represented in the model
+		if(Integer.class.isAssignableFrom(valueClass) || Long.class.isAssignableFrom(valueClass)) { //integer or long
+			final long minimum = rangeMinimum != null ? rangeMinimum.longValue() : 0; //get the minimum to use for calculations 
+			final long maximum = rangeMaximum != null ? rangeMaximum.longValue() : 100; //get the maximum to use for calculations 
+			final long range = maximum - minimum; //calculate the range
+			//TODO check for divide by zero
+			//TODO del if not needed				final int step=rangeStep!=null ? rangeStep.intValue() : 1;	//get the step to use for calculations
+			position = range != 0 ? ((value.longValue() - minimum) / (double)range) : 0; //calculate the fractional position, defaulting to a zero position if there is no range
+		} else if(Float.class.isAssignableFrom(valueClass) || Double.class.isAssignableFrom(valueClass)) { //float or double
+			final double minimum = rangeMinimum != null ? rangeMinimum.doubleValue() : 0; //get the minimum to use for calculations 
+			final double maximum = rangeMaximum != null ? rangeMaximum.doubleValue() : 100; //get the maximum to use for calculations 
+			final double range = maximum - minimum; //calculate the range
+			//TODO del if not needed				final int step=rangeStep!=null ? rangeStep.intValue() : 1;	//get the step to use for calculations
+			position = range != 0 ? ((value.doubleValue() - minimum) / range) : 0; //calculate the fractional position, defaulting to a zero position if there is no range
+		} else { //if we don't support this type TODO add support for new types
+			throw new AssertionError("XHTML slider controller does not yet support value type " + valueClass);
+		}
+		return Double.toString(position);
+	}
+
 	@Override
 	protected void depictBegin() throws IOException {
 		super.depictBegin(); //do the default beginning rendering
@@ -211,28 +293,9 @@ protected void depictBody() throws IOException {
 		final RangeValidator<V> rangeValidator = validator instanceof RangeValidator ? (RangeValidator<V>)validator : null; //get the validator as a range validator, if it is one
 		final V rangeMinimum = rangeValidator != null ? rangeValidator.getMinimum() : null; //find the minumum, if there is one
 		final V rangeMaximum = rangeValidator != null ? rangeValidator.getMaximum() : null; //find the maximum, if there is one
-		final V rangeStep = rangeValidator != null ? rangeValidator.getStep() : null; //find the step, if there is one
-		final V value = component.getValue(); //get the current value
-		if(value != null) { //if there is a value TODO decide what to do with a slider with no initial value
-			final double position; //we'll determine the position as a number from 0.0 to 1.0
-			final Class<V> valueClass = component.getValueClass(); //see what type of class is represented in the model
-			if(Integer.class.isAssignableFrom(valueClass) || Long.class.isAssignableFrom(valueClass)) { //integer or long
-				final long minimum = rangeMinimum != null ? rangeMinimum.longValue() : 0; //get the minimum to use for calculations 
-				final long maximum = rangeMaximum != null ? rangeMaximum.longValue() : 100; //get the maximum to use for calculations 
-				final long range = maximum - minimum; //calculate the range
-				//TODO check for divide by zero
-				//TODO del if not needed				final int step=rangeStep!=null ? rangeStep.intValue() : 1;	//get the step to use for calculations
-				position = range != 0 ? ((value.longValue() - minimum) / (double)range) : 0; //calculate the fractional position, defaulting to a zero position if there is no range
-			} else if(Float.class.isAssignableFrom(valueClass) || Double.class.isAssignableFrom(valueClass)) { //float or double
-				final double minimum = rangeMinimum != null ? rangeMinimum.doubleValue() : 0; //get the minimum to use for calculations 
-				final double maximum = rangeMaximum != null ? rangeMaximum.doubleValue() : 100; //get the maximum to use for calculations 
-				final double range = maximum - minimum; //calculate the range
-				//TODO del if not needed				final int step=rangeStep!=null ? rangeStep.intValue() : 1;	//get the step to use for calculations
-				position = range != 0 ? ((value.doubleValue() - minimum) / range) : 0; //calculate the fractional position, defaulting to a zero position if there is no range
-			} else { //if we don't support this type TODO add support for new types
-				throw new AssertionError("XHTML slider controller does not yet support value type " + valueClass);
-			}
-			depictContext.writeAttribute(null, ATTRIBUTE_VALUE, Double.toString(position)); //value="position"
+		final String position = getPositionString(); //get the relative position of the slider
+		if(position != null) { //if there is a value TODO decide what to do with a slider with no initial value
+			depictContext.writeAttribute(null, ATTRIBUTE_VALUE, position); //value="position"
 		}
 		depictContext.writeElementEnd(XHTML_NAMESPACE_URI, ELEMENT_INPUT); //</xhtml:input>		
 		depictContext.writeElementBegin(XHTML_NAMESPACE_URI, ELEMENT_DIV); //<xhtml:div> (component-body)
@@ -98,6 +98,27 @@ protected Set<String> getBaseStyleIDs(final String prefix, final String suffix)
 		return baseStyleIDs; //return the new style IDs
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version adds the values determining the flow style IDs for the tab control axis.
+	 * </p>
+	 */
+	@Override
+	protected void addBaseStyleIDsKeyValues(final List<Object> key) {
+		super.addBaseStyleIDsKeyValues(key);
+		final C component = getDepictedObject();
+		final Flow flow;
+		if(component instanceof TabControl) {
+			flow = ((TabControl<?>)component).getAxis();
+		} else if(component instanceof TabContainerControl) {
+			flow = ((TabContainerControl)component).getAxis();
+		} else {
+			flow = Flow.LINE;
+		}
+		addFlowStyleIDsKeyValues(key, flow);
+	}
+
 	@Override
 	protected void depictBody() throws IOException {
 		super.depictBody(); //render the default main part of the component
@@ -25,7 +25,8 @@
 
 import io.guise.framework.component.*;
 import io.guise.framework.converter.*;
-import io.guise.framework.model.Notification;
+import io.guise.framework.model.*;
+import io.guise.framework.model.ui.PresentationModel;
 import io.guise.framework.platform.*;
 
 import static com.globalmentor.text.Text.*;
@@ -54,6 +55,44 @@
 	/** Default constructor using the XHTML <code>&lt;input&gt;</code> element. */
 	public WebTextControlDepictor() {
 		super(XHTML_NAMESPACE_URI, ELEMENT_INPUT, true); //represent <xhtml:input>, allowing an empty element if possible; this may be modified at render time based upon whether an <input> or or <textarea> element is being used
+		getPatchableProperties().add(Displayable.DISPLAYED_PROPERTY); //the display, visibility, enabled status, and text can be patched
+		getPatchableProperties().add(PresentationModel.VISIBLE_PROPERTY);
+		getPatchableProperties().add(Enableable.ENABLED_PROPERTY);
+		getPatchableProperties().add(TextControl.PROVISIONAL_TEXT_PROPERTY);
+		getPatchableProperties().add(TextControl.TEXT_PROPERTY);
+		getPatchableProperties().add(ValueModel.VALUE_PROPERTY);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version never allows patching of HTML content, which is managed by a client-side editor.
+	 * </p>
+	 */
+	@Override
+	protected boolean isPatchable(final Set<String> modifiedProperties) {
+		return !isHTML(getDepictedObject().getValueContentType()) && super.isPatchable(modifiedProperties);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This version updates the <code>disabled</code> attribute and the text of the control. As with a full depiction, a change to the provisional text alone is
+	 * not sent, as the provisional text came from the client.
+	 * </p>
+	 */
+	@Override
+	protected void depictPatch(final WebPatchWriter patchWriter, final Set<String> modifiedProperties) throws IOException {
+		super.depictPatch(patchWriter, modifiedProperties); //patch the default properties
+		final C component = getDepictedObject(); //get the component
+		final String bodyID = decorateID(getPlatform().getDepictIDString(component.getDepictID()), null, COMPONENT_BODY_CLASS_SUFFIX); //the form control is the body
+		if(modifiedProperties.contains(Enableable.ENABLED_PROPERTY)) { //if the enabled status changed
+			patchWriter.writeAttribute(bodyID, ELEMENT_INPUT_ATTRIBUTE_DISABLED, component.isEnabled() ? null : INPUT_DISABLED_DISABLED); //disabled="disabled"
+		}
+		if(modifiedProperties.contains(TextControl.TEXT_PROPERTY) || modifiedProperties.contains(ValueModel.VALUE_PROPERTY)) { //if the actual text changed
+			final String text = ELEMENT_TEXTAREA.equals(getBodyLocalName()) ? component.getText() : component.getProvisionalText(); //use the same text as a full depiction
+			patchWriter.writeValue(bodyID, text != null ? text : "");
+		}
 	}
 
 	/**
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform.web;
+
+import java.io.IOException;
+
+import com.globalmentor.xml.spec.XML;
+
+import static com.globalmentor.html.spec.HTML.*;
+import static com.globalmentor.xml.spec.XML.*;
+import static io.guise.framework.platform.web.WebPlatform.*;
+
+/**
+ * Writes a Guise AJAX response in the default XML format, with messages contained in a <code>&lt;response&gt;</code> element.
+ * @author Garret Wilson
+ */
+public class XMLAJAXResponseWriter extends AJAXResponseWriter {
+
+	/**
+	 * Depict context constructor.
+	 * @param depictContext The depict context to which the response is written.
+	 * @throws NullPointerException if the given depict context is <code>null</code>.
+	 */
+	public XMLAJAXResponseWriter(final HTTPServletWebDepictContext depictContext) {
+		super(depictContext);
+	}
+
+	@Override
+	protected void writeBegin() throws IOException {
+		getDepictContext().setOutputContentType(XML.MEDIA_TYPE); //switch to the "text/xml" content type TODO verify UTF-8 in a consistent, elegant way
+		getDepictContext().writeLiteral("<response>"); //begin the response element
+	}
+
+	@Override
+	public void end() throws IOException {
+		getDepictContext().writeLiteral("</response>"); //finish the response element
+	}
+
+	@Override
+	public void writeNavigate(final String depictionURI, final String viewportID) throws IOException {
+		final HTTPServletWebDepictContext depictContext = getDepictContext();
+		depictContext.writeElementBegin(null, "navigate"); //<navigate>	//TODO use a constant
+		depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
+		if(viewportID != null) { //if a viewport was requested
+			depictContext.writeAttribute(null, "viewportID", viewportID); //specify the viewport ID TODO use a constant
+		}
+		depictContext.write(depictionURI); //write the navigation URI
+		depictContext.writeElementEnd(null, "navigate"); //</navigate>
+	}
+
+	@Override
+	public void writeReload() throws IOException {
+		final HTTPServletWebDepictContext depictContext = getDepictContext();
+		depictContext.writeElementBegin(null, "reload", true); //<reload>	//TODO use a constant
+		depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
+		depictContext.writeElementEnd(null, "reload"); //</reload>
+	}
+
+	@Override
+	public void writeRemove(final String id) throws IOException {
+		final HTTPServletWebDepictContext depictContext = getDepictContext();
+		depictContext.writeElementBegin(XHTML_NAMESPACE_URI, "remove"); //<xhtml:remove>	//TODO use a constant TODO don't use the XHTML namespace if we can help it
+		depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
+		depictContext.writeAttribute(null, "id", id); //TODO fix
+		depictContext.writeElementEnd(XHTML_NAMESPACE_URI, "remove"); //</xhtml:remove>
+	}
+
+	@Override
+	public void writeCommand(final String objectID, final String command, final String parametersJSON) throws IOException {
+		final HTTPServletWebDepictContext depictContext = getDepictContext();
+		depictContext.writeElementBegin(XHTML_NAMESPACE_URI, "command"); //<xhtml:command>	//TODO use a constant TODO don't use the XHTML namespace if we can help it
+		depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
+		if(objectID != null) { //if the command is for a depicted object
+			depictContext.writeAttribute(null, "objectID", objectID); //objectID="depictedObjectID" TODO use a constant
+		}
+		depictContext.writeAttribute(null, "command", command); //command="webCommand" TODO use a constant
+		depictContext.write(parametersJSON); //{parameters...}
+		depictContext.writeElementEnd(XHTML_NAMESPACE_URI, "command"); //</xhtml:command>
+	}
+
+	@Override
+	public void writeAttribute(final String id, final String name, final String value) throws IOException {
+		final HTTPServletWebDepictContext depictContext = getDepictContext();
+		depictContext.writeElementBegin(null, "attribute", true); //<attribute>	//TODO use a constant
+		depictContext.writeAttribute(null, "id", id); //id="id"
+		depictContext.writeAttribute(null, "name", name); //name="name"
+		if(value != null) { //if the attribute is not being removed
+			depictContext.writeAttribute(null, "value", value); //value="value"
+		} else { //if the attribute is being removed, say so explicitly, as an empty value is a valid attribute value
+			depictContext.writeAttribute(null, "remove", Boolean.TRUE.toString()); //remove="true"
+		}
+		depictContext.writeElementEnd(null, "attribute"); //</attribute>
+	}
+
+	@Override
+	public void writeValue(final String id, final String value) throws IOException {
+		final HTTPServletWebDepictContext depictContext = getDepictContext();
+		depictContext.writeElementBegin(null, "value"); //<value>	//TODO use a constant
+		depictContext.writeAttribute(null, "id", id); //id="id"
+		depictContext.write(value); //write the value
+		depictContext.writeElementEnd(null, "value"); //</value>
+	}
+
+	@Override
+	public void writeClass(final String id, final String className, final boolean present) throws IOException {
+		final HTTPServletWebDepictContext depictContext = getDepictContext();
+		depictContext.writeElementBegin(null, "class", true); //<class>	//TODO use a constant
+		depictContext.writeAttribute(null, "id", id); //id="id"
+		depictContext.writeAttribute(null, "name", className); //name="className"
+		depictContext.writeAttribute(null, "present", Boolean.toString(present)); //present="true|false"
+		depictContext.writeElementEnd(null, "class"); //</class>
+	}
+
+	@Override
+	public void writeStyle(final String id, final String name, final String value) throws IOException {
+		final HTTPServletWebDepictContext depictContext = getDepictContext();
+		depictContext.writeElementBegin(null, "style", true); //<style>	//TODO use a constant
+		depictContext.writeAttribute(null, "id", id); //id="id"
+		depictContext.writeAttribute(null, "name", name); //name="name"
+		if(value != null) { //if the style is not being removed
+			depictContext.writeAttribute(null, "value", value); //value="value"
+		}
+		depictContext.writeElementEnd(null, "style"); //</style>
+	}
+
+	@Override
+	public void beginPatch() throws IOException {
+		final HTTPServletWebDepictContext depictContext = getDepictContext();
+		depictContext.writeElementBegin(XHTML_NAMESPACE_URI, "patch"); //<xhtml:patch>	//TODO use a constant TODO don't use the XHTML namespace if we can help it
+		depictContext.writeAttribute(null, ATTRIBUTE_XMLNS.getLocalName(), XHTML_NAMESPACE_URI.toString()); //xmlns="http://www.w3.org/1999/xhtml"; note that we pass the wrong namespace to get the effectively correct prefix
+		depictContext.writeAttribute(XMLNS_NAMESPACE_URI, GUISE_ML_NAMESPACE_PREFIX, GUISE_ML_NAMESPACE_URI.toString()); //xmlns:guise="https://guise.io/framework/id/ml#"
+	}
+
+	@Override
+	public void endPatch() throws IOException {
+		getDepictContext().writeElementEnd(XHTML_NAMESPACE_URI, "patch"); //</xhtml:patch>
+	}
+
+}
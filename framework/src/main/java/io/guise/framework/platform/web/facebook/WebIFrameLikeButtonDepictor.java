@@ -47,7 +47,6 @@ public WebIFrameLikeButtonDepictor() {
 
 	@Override
 	protected void depictBody() throws IOException {
-		super.depictBody(); //render the default main part of the component
 		final WebDepictContext depictContext = getDepictContext(); //get the depict context
 		final GuiseSession session = getSession(); //get the session
 		final LikeButton component = getDepictedObject(); //get the component
@@ -71,6 +70,7 @@ protected void depictBody() throws IOException {
 		if(getPlatform().getClientProduct().getBrand() == WebUserAgentProduct.Brand.INTERNET_EXPLORER) { //if the user agent is IE, use the special attributes
 			depictContext.writeAttribute(null, ELEMENT_IFRAME_ATTRIBUTE_ALLOW_TRANSPARENCY, Boolean.toString(true)); //allowTransparency="true"
 		}
+		super.depictBody(); //render the default main part of the component after the attributes, as the start tag may be sent once the content grows large
 
 		/*TODO del
 				<iframe src="http://www.facebook.com/plugins/like.php?href=http%3A%2F%2Fwww.garretwilson.com%2F&amp;send=true&amp;layout=standard&amp;width=450&amp;show_faces=true&amp;action=like&amp;" +
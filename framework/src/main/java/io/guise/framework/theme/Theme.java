@@ -19,6 +19,7 @@
 import java.net.URI;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.*;
 
@@ -85,32 +86,109 @@ public Theme getParent() {
 	 */
 	public void setParent(final Theme newParent) {
 		parent = newParent;
+		releaseCachedClassRules(); //the rules to apply now come from a different parent
 	} //TODO maybe remove and create custom ThemeIO
 
 	/** The map of sets of rules that have selectors selecting classes. */
 	private final CollectionMap<Class<?>, Rule, Set<Rule>> classRuleMap = new HashSetHashMap<Class<?>, Rule>(); //TODO make this store a sorted set, and use a comparator based on order
 
+	/** The thread-safe map of unmodifiable sets of rules of this theme selecting a class or any of its ancestor classes, keyed to the class. */
+	private final Map<Class<?>, Set<Rule>> cachedClassRules = new ConcurrentHashMap<Class<?>, Set<Rule>>();
+
+	/**
+	 * The thread-safe map of arrays of the rules to apply to instances of a class, including the rules of the parent themes, in the order they should be applied,
+	 * keyed to the class.
+	 */
+	private final Map<Class<?>, Rule[]> cachedAppliedClassRules = new ConcurrentHashMap<Class<?>, Rule[]>();
+
+	/** The shared array indicating that there are no rules to apply. */
+	private static final Rule[] NO_RULES = new Rule[0];
+
+	/**
+	 * Indicates that a rule selects instances of the given class and its subclasses, so that it will be applied to them. The rule must already be one of the
+	 * rules of this theme.
+	 * @param selectClass The class selected by the rule.
+	 * @param rule The rule selecting the class.
+	 * @throws NullPointerException if the given class and/or rule is <code>null</code>.
+	 */
+	protected void addClassRule(final Class<?> selectClass, final Rule rule) {
+		classRuleMap.addItem(requireNonNull(selectClass, "Class cannot be null."), requireNonNull(rule, "Rule cannot be null."));
+		releaseCachedClassRules(); //the rules for each class will need to be determined anew
+	}
+
+	/**
+	 * Discards the rules that have been determined for each class, so that they will be determined anew. As themes cache the rules of their parent themes, a
+	 * theme should not be modified after it has been set as the parent of another theme.
+	 */
+	protected void releaseCachedClassRules() {
+		cachedClassRules.clear();
+		cachedAppliedClassRules.clear();
+	}
+
 	/**
 	 * Retrieves the set of rules that selects the class of the given object, including parent classes. It is not guaranteed that the object will match all or any
 	 * of the returned rules; only that the object's class is used as part of the selections of the returned rules.
 	 * @param object The object for which class-selected rules should be returned.
-	 * @return A set of all rules that reference a class that selects the given object's class.
+	 * @return A read-only set of all rules that reference a class that selects the given object's class.
 	 * @throws NullPointerException if the given object is <code>null</code>.
 	 */
 	public Set<Rule> getClassRules(final Object object) {
-		final Class<?> objectClass = requireNonNull(object, "Object cannot be null").getClass(); //get the object's class
-		Set<Rule> combinedRuleSet = null; //we'll create the rule set only if needed
-		final List<Class<?>> ancestorClasses = getAncestorClasses(objectClass); //get the class ancestor hierarchy of this class TODO cache these
-		for(final Class<?> ancestorClass : ancestorClasses) { //for each ancestor class TODO iterate the list in the correct order; send back the rules in the correct order
-			final Set<Rule> ruleSet = classRuleMap.get(ancestorClass); //try to get a rule for the object's ancestor class
-			if(ruleSet != null) { //if we found a rule set
-				if(combinedRuleSet == null) { //if we haven't yet created the combined rule set
-					combinedRuleSet = new HashSet<Rule>(); //create a new hash set
+		return getClassRules(requireNonNull(object, "Object cannot be null").getClass()); //get the rules for the object's class
+	}
+
+	/**
+	 * Retrieves the set of rules that selects the given class, including parent classes. The set is determined only once for each class.
+	 * @param objectClass The class for which class-selected rules should be returned.
+	 * @return A read-only set of all rules that reference a class that selects the given class.
+	 */
+	protected Set<Rule> getClassRules(final Class<?> objectClass) {
+		Set<Rule> classRules = cachedClassRules.get(objectClass);
+		if(classRules == null) { //if we haven't determined the rules for this class; the race condition is benign, and at worst will cause the rules to be determined more than once
+			Set<Rule> combinedRuleSet = null; //we'll create the rule set only if needed
+			final List<Class<?>> ancestorClasses = getAncestorClasses(objectClass); //get the class ancestor hierarchy of this class
+			for(final Class<?> ancestorClass : ancestorClasses) { //for each ancestor class
+				final Set<Rule> ruleSet = classRuleMap.get(ancestorClass); //try to get a rule for the object's ancestor class
+				if(ruleSet != null) { //if we found a rule set
+					if(combinedRuleSet == null) { //if we haven't yet created the combined rule set
+						combinedRuleSet = new HashSet<Rule>(); //create a new hash set
+					}
+					combinedRuleSet.addAll(ruleSet); //add all the rules for the ancestor class to the combined rule set
 				}
-				combinedRuleSet.addAll(ruleSet); //add all the rules for the ancestor class to the combined rule set
 			}
+			classRules = combinedRuleSet != null ? Collections.unmodifiableSet(combinedRuleSet) : Collections.<Rule>emptySet(); //(Java won't allow emptySet() to be used in this context, but a warning here is better than alternate, less-efficient methods)
+			cachedClassRules.put(objectClass, classRules);
 		}
-		return combinedRuleSet != null ? combinedRuleSet : Collections.<Rule>emptySet(); //return the combined set of rules we've found (Java won't allow emptySet() to be used in this context, but a warning here is better than alternate, less-efficient methods)
+		return classRules;
+	}
+
+	/**
+	 * Retrieves the rules to apply to instances of the given class, including the rules of all parent themes. The rules of parent themes come first, and the
+	 * rules of each theme are in the order they appear in the theme. The array is determined only once for each class, and must not be modified.
+	 * @param objectClass The class for which rules should be returned.
+	 * @return The rules that reference a class that selects the given class, in the order they should be applied.
+	 * @see #getClassRules(Class)
+	 */
+	protected Rule[] getAppliedClassRules(final Class<?> objectClass) {
+		Rule[] appliedRules = cachedAppliedClassRules.get(objectClass);
+		if(appliedRules == null) { //if we haven't determined the rules for this class; the race condition is benign, and at worst will cause the rules to be determined more than once
+			final Theme parent = getParent();
+			final Rule[] parentRules = parent != null ? parent.getAppliedClassRules(objectClass) : NO_RULES; //the parent rules are applied first
+			final Set<Rule> classRules = getClassRules(objectClass);
+			if(classRules.isEmpty()) { //if this theme adds no rules, share the parent's array
+				appliedRules = parentRules;
+			} else {
+				final List<Rule> appliedRuleList = new ArrayList<Rule>(parentRules.length + classRules.size());
+				Collections.addAll(appliedRuleList, parentRules);
+				for(final Rule rule : this) { //add our rules in theme order
+					if(classRules.contains(rule)) {
+						appliedRuleList.add(rule);
+					}
+				}
+				appliedRules = appliedRuleList.toArray(new Rule[appliedRuleList.size()]);
+			}
+			cachedAppliedClassRules.put(objectClass, appliedRules);
+		}
+		return appliedRules;
 	}
 
 	//TODO delete legacy URF
@@ -223,6 +301,7 @@ public Iterable<URFResource> getStyles() {
 	 */
 	//TODO fix for new URF	 * @see PropertySelector#getSelector()
 	public void updateRules() throws ClassNotFoundException {
+		releaseCachedClassRules(); //the rules for each class will need to be determined anew
 		/*TODO fix for new URF
 		classRuleMap.clear(); //clear the map of rules
 		for(final Rule rule : this) { //for each rule in this theme
@@ -249,7 +328,7 @@ protected void updateRules(final Rule rule, final Selector selector) throws Clas
 		if(selector instanceof ObjectClassSelector) { //if this is a class selector
 			final Class<?> selectClass = ((ObjectClassSelector)selector).getSelectClass(); //get the class selected by the selector
 			if(selectClass != null) { //if we have a selected class
-				classRuleMap.addItem(selectClass, rule); //add this rule to our map
+				addClassRule(selectClass, rule); //add this rule to our map
 			} else {
 				throw new IllegalStateException("Object class selector missing class selection property.");
 			}
@@ -262,7 +341,8 @@ protected void updateRules(final Rule rule, final Selector selector) throws Clas
 	*/
 
 	/**
-	 * Applies this theme to the given object. Any parent theme is first applied to the object before this theme is applied.
+	 * Applies this theme to the given object. Any parent theme is first applied to the object before this theme is applied. The rules applied to each class,
+	 * including those of the parent themes, are determined only once.
 	 * @param object The object to which this theme should be applied.
 	 * @throws NullPointerException if the given object is <code>null</code>.
 	 * @throws IllegalStateException if a resource is a Java-typed resource the class of which cannot be found.
@@ -273,13 +353,8 @@ protected void updateRules(final Rule rule, final Selector selector) throws Clas
 	public void apply(final Object object) {
 		/*TODO fix for new URF
 		try {
-			final Theme parent = getParent(); //get the parent theme
-			if(parent != null) { //if there is a parent theme
-				parent.apply(object); //first apply the ancestor hierarchy to this object
-			}
-			final PLOOPURFProcessor ploopProcessor = new PLOOPURFProcessor(); //use the same PLOOP processor for all the rules of this theme
-			final Set<Rule> classRules = getClassRules(object); //get all the rules applying to the object class
-			for(final Rule rule : classRules) { //for each rule
+			final PLOOPURFProcessor ploopProcessor = new PLOOPURFProcessor(); //use the same PLOOP processor for all the rules
+			for(final Rule rule : getAppliedClassRules(object.getClass())) { //for each rule applying to the object class, including those of the ancestor hierarchy
 				rule.apply(object, ploopProcessor); //apply the rule to the component, if the rule is applicable
 			}
 		} catch(final DataException dataException) {
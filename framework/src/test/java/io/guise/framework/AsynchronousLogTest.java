@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests of {@link AsynchronousLog}.
+ * @author Garret Wilson
+ */
+public class AsynchronousLogTest {
+
+	/** The directory in which log files are created. */
+	private File logDirectory;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		logDirectory = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		for(final File logFile : logDirectory.listFiles()) {
+			logFile.delete();
+		}
+		logDirectory.delete();
+	}
+
+	/** Tests that entries waiting when the log is closed are written, and that entries logged after closing are dropped. */
+	@Test
+	public void testCloseWritesWaitingEntries() {
+		final AsynchronousLog log = new AsynchronousLog(Thread.currentThread().getThreadGroup(), logDirectory, "test.log", null, null, 100, 100,
+				TimeUnit.HOURS.toMillis(1));
+		assertThat(log.log("one\n"), is(true));
+		assertThat(log.log("two\n"), is(true));
+		log.close();
+		assertThat(log.getWrittenCount(), is(2L));
+		assertThat(log.log("three\n"), is(false));
+		assertThat(log.getDroppedCount(), is(1L));
+	}
+
+	/** Tests that entries are dropped rather than waiting when the queue is full. */
+	@Test
+	public void testFullQueueDropsEntries() {
+		final AsynchronousLog log = new AsynchronousLog(Thread.currentThread().getThreadGroup(), logDirectory, "test.log", null, null, 2, 100,
+				TimeUnit.HOURS.toMillis(1));
+		assertThat(log.log("one\n"), is(true));
+		assertThat(log.log("two\n"), is(true));
+		assertThat(log.log("three\n"), is(false));
+		log.close();
+		assertThat(log.getWrittenCount(), is(2L));
+		assertThat(log.getDroppedCount(), is(1L));
+	}
+
+	/** Tests that every entry logged while the log is being closed concurrently is either written or counted as dropped. */
+	@Test
+	public void testConcurrentCloseLosesNoEntries() throws Exception {
+		final int threadCount = 4;
+		final int entryCount = 10000;
+		final AsynchronousLog log = new AsynchronousLog(Thread.currentThread().getThreadGroup(), logDirectory, "test.log", null, null, threadCount * entryCount,
+				100, 1);
+		final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		try {
+			final CountDownLatch startLatch = new CountDownLatch(1);
+			for(int i = 0; i < threadCount; ++i) {
+				executorService.submit(() -> {
+					startLatch.await();
+					for(int j = 0; j < entryCount; ++j) {
+						log.log("entry\n");
+					}
+					return null;
+				});
+			}
+			startLatch.countDown();
+			log.close();
+		} finally {
+			executorService.shutdown();
+			assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS), is(true));
+		}
+		assertThat(log.getWrittenCount() + log.getDroppedCount(), is((long)threadCount * entryCount));
+		assertThat(log.getQueuedCount(), is(0));
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests of {@link LRUCache}.
+ * @author Garret Wilson
+ */
+public class LRUCacheTest {
+
+	/** Tests that a full cache keeps accepting new values, discarding the least recently used value. */
+	@Test
+	public void testFullCacheDiscardsLeastRecentlyUsed() {
+		final LRUCache<String, String> cache = new LRUCache<String, String>(2);
+		cache.put("a", "A");
+		cache.put("b", "B");
+		assertThat(cache.get("a"), is("A")); //"b" is now the least recently used
+		cache.put("c", "C");
+		assertThat(cache.size(), is(2));
+		assertThat(cache.get("b"), is(nullValue()));
+		assertThat(cache.get("a"), is("A"));
+		assertThat(cache.get("c"), is("C"));
+	}
+
+	/** Tests that clearing the cache removes all values. */
+	@Test
+	public void testClear() {
+		final LRUCache<String, String> cache = new LRUCache<String, String>(2);
+		cache.put("a", "A");
+		cache.clear();
+		assertThat(cache.size(), is(0));
+		assertThat(cache.get("a"), is(nullValue()));
+	}
+
+}
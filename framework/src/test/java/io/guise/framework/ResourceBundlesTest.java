@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.file.Files;
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests of the resource bundle cache of {@link ResourceBundles}.
+ * @author Garret Wilson
+ */
+@SuppressWarnings("deprecation")
+public class ResourceBundlesTest {
+
+	/** The directory containing the resource files. */
+	private File resourceDirectory;
+
+	/** The class loader loading resources from the resource directory. */
+	private URLClassLoader loader;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		resourceDirectory = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+		writeProperties("parent", "key=parent", 1000000000000L);
+		writeProperties("child", "key=child", 1000000000000L);
+		writeProperties("other", "key=other", 1000000000000L);
+		loader = new URLClassLoader(new URL[] {resourceDirectory.toURI().toURL()}, null);
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		loader.close();
+		for(final File file : resourceDirectory.listFiles()) {
+			file.delete();
+		}
+		resourceDirectory.delete();
+	}
+
+	/**
+	 * Writes a properties file to the resource directory.
+	 * @param baseName The base name of the resource bundle.
+	 * @param content The content of the properties file.
+	 * @param lastModified The modification time to give the file.
+	 * @throws IOException if there is an error writing the file.
+	 */
+	private void writeProperties(final String baseName, final String content, final long lastModified) throws IOException {
+		final File file = new File(resourceDirectory, baseName + ".properties");
+		Files.write(file.toPath(), content.getBytes(ISO_8859_1));
+		file.setLastModified(lastModified);
+	}
+
+	/** Tests that a resource bundle is loaded once and then shared. */
+	@Test
+	public void testCachedResourceBundleShared() {
+		final ResourceBundles.Cache cache = new ResourceBundles.Cache();
+		final ResourceBundle resourceBundle = cache.getResourceBundle("parent", Locale.ROOT, loader, null, null, false);
+		assertThat(resourceBundle.getString("key"), is("parent"));
+		assertThat(cache.getResourceBundle("parent", Locale.ROOT, loader, null, null, false), is(sameInstance(resourceBundle)));
+		assertThat(ResourceBundles.getResourceBundle("parent", Locale.ROOT, loader, null, null), not(sameInstance(resourceBundle))); //the static method doesn't cache
+	}
+
+	/** Tests that the cache holds no more than its capacity, discarding the least recently used resource bundles. */
+	@Test
+	public void testCacheBounded() {
+		final ResourceBundles.Cache cache = new ResourceBundles.Cache(2, 0);
+		final ResourceBundle parent = cache.getResourceBundle("parent", Locale.ROOT, loader, null, null, false);
+		cache.getResourceBundle("child", Locale.ROOT, loader, null, null, false);
+		cache.getResourceBundle("parent", Locale.ROOT, loader, null, null, false); //the child is now the least recently used
+		cache.getResourceBundle("other", Locale.ROOT, loader, null, null, false);
+		assertThat(cache.size(), is(2));
+		assertThat(cache.getResourceBundle("parent", Locale.ROOT, loader, null, null, false), is(sameInstance(parent)));
+	}
+
+	/** Tests that a modified resource is reloaded when revalidating, and that the resource bundles cached with the stale resource bundle as parent are discarded. */
+	@Test
+	public void testRevalidationReplacesStaleResourceBundles() throws IOException {
+		final ResourceBundles.Cache cache = new ResourceBundles.Cache(16, 0);
+		final ResourceBundle parent = cache.getResourceBundle("parent", Locale.ROOT, loader, null, null, true);
+		cache.getResourceBundle("child", Locale.ROOT, loader, parent, null, true);
+		assertThat(cache.size(), is(2));
+		assertThat(cache.getResourceBundle("parent", Locale.ROOT, loader, null, null, true), is(sameInstance(parent))); //unchanged
+		writeProperties("parent", "key=changed", 1000000060000L);
+		final ResourceBundle newParent = cache.getResourceBundle("parent", Locale.ROOT, loader, null, null, true);
+		assertThat(newParent, not(sameInstance(parent)));
+		assertThat(newParent.getString("key"), is("changed"));
+		assertThat(cache.size(), is(1)); //the child of the stale parent was discarded
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.component;
+
+import static java.util.Arrays.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+import io.guise.framework.*;
+import io.guise.framework.platform.*;
+
+/**
+ * Tests of the dirty component lookup of {@link AbstractComponent}, comparing the dirty components found using the dirty depicted object registry of the
+ * platform with those found by traversing the component hierarchy.
+ * @author Garret Wilson
+ * @see AbstractComponent#getRegisteredDirtyComponents(Component)
+ * @see AbstractComponent#getDirtyComponents(Component)
+ */
+public class AbstractComponentTest {
+
+	/** The platform holding the real dirty depicted object registry. */
+	private AbstractPlatform platform;
+
+	/** The session of all the test components. */
+	private GuiseSession session;
+
+	/** The depictors of the test components, keyed to their components. */
+	private Map<Component, Depictor<Component>> depictors;
+
+	/** The root of the test hierarchy. */
+	private CompositeComponent root;
+
+	/** A composite child of the root. */
+	private CompositeComponent panel;
+
+	/** A child of the panel. */
+	private Component panelLabel;
+
+	/** Another child of the panel. */
+	private Component panelButton;
+
+	/** A leaf child of the root. */
+	private Component label;
+
+	/** A component outside the test hierarchy. */
+	private Component other;
+
+	@BeforeEach
+	public void setUp() {
+		platform = mock(AbstractPlatform.class, withSettings().useConstructor(mock(GuiseApplication.class)).defaultAnswer(CALLS_REAL_METHODS));
+		session = mock(GuiseSession.class);
+		doReturn(platform).when(session).getPlatform();
+		depictors = new HashMap<>();
+		root = mockComponent(CompositeComponent.class, null);
+		panel = mockComponent(CompositeComponent.class, root);
+		panelLabel = mockComponent(Component.class, panel);
+		panelButton = mockComponent(Component.class, panel);
+		label = mockComponent(Component.class, root);
+		doReturn(asList(panel, label)).when(root).getChildComponents();
+		doReturn(asList(panelLabel, panelButton)).when(panel).getChildComponents();
+		other = mockComponent(Component.class, null);
+	}
+
+	/**
+	 * Creates a mock component in the test session with a depictor that indicates the component has been depicted.
+	 * @param <C> The type of component.
+	 * @param componentClass The class of component to mock.
+	 * @param parent The parent of the component, or <code>null</code> if the component has no parent.
+	 * @return The new mock component.
+	 */
+	@SuppressWarnings("unchecked")
+	private <C extends Component> C mockComponent(final Class<C> componentClass, final CompositeComponent parent) {
+		final C component = mock(componentClass);
+		final Depictor<Component> depictor = mock(Depictor.class);
+		when(depictor.isDepicted()).thenReturn(true);
+		doReturn(depictor).when(component).getDepictor();
+		doReturn(session).when(component).getSession();
+		doReturn(parent).when(component).getParent();
+		depictors.put(component, depictor);
+		return component;
+	}
+
+	/**
+	 * Marks components as needing to be depicted, registering them with the platform just as their depictors would.
+	 * @param components The components to mark as dirty.
+	 */
+	private void setDirty(final Component... components) {
+		for(final Component component : components) {
+			when(depictors.get(component).isDepicted()).thenReturn(false);
+			platform.registerDirtyDepictedObject(component);
+		}
+	}
+
+	/**
+	 * Marks components as depicted, without telling the platform.
+	 * @param components The components to mark as depicted.
+	 */
+	private void setDepicted(final Component... components) {
+		for(final Component component : components) {
+			when(depictors.get(component).isDepicted()).thenReturn(true);
+		}
+	}
+
+	/**
+	 * Verifies that the registered dirty components of the test hierarchy are the same as those found by traversal, and returns them.
+	 * @return The registered dirty components of the test hierarchy.
+	 */
+	private List<Component> getVerifiedRegisteredDirtyComponents() {
+		final List<Component> registeredDirtyComponents = AbstractComponent.getRegisteredDirtyComponents(root);
+		assertThat(registeredDirtyComponents, containsInAnyOrder(AbstractComponent.getDirtyComponents(root).toArray()));
+		return registeredDirtyComponents;
+	}
+
+	/** Tests that there are no dirty components if nothing has been registered. */
+	@Test
+	public void testNoDirtyComponents() {
+		assertThat(getVerifiedRegisteredDirtyComponents(), is(empty()));
+	}
+
+	/** Tests that dirty components are found at different levels of the hierarchy. */
+	@Test
+	public void testDirtyComponents() {
+		setDirty(panelButton, label);
+		assertThat(getVerifiedRegisteredDirtyComponents(), containsInAnyOrder(panelButton, label));
+	}
+
+	/** Tests that a dirty component is not returned if it has a dirty ancestor, which will be depicted instead. */
+	@Test
+	public void testDirtyComponentWithDirtyAncestor() {
+		setDirty(panelLabel, panel);
+		assertThat(getVerifiedRegisteredDirtyComponents(), contains(panel));
+	}
+
+	/** Tests that the dirty root component is returned by itself. */
+	@Test
+	public void testDirtyRoot() {
+		setDirty(label, root, panelButton);
+		assertThat(getVerifiedRegisteredDirtyComponents(), contains(root));
+	}
+
+	/** Tests that dirty components outside the hierarchy are ignored. */
+	@Test
+	public void testDirtyComponentOutsideHierarchy() {
+		setDirty(other, label);
+		assertThat(getVerifiedRegisteredDirtyComponents(), contains(label));
+	}
+
+	/** Tests that depicted objects that are not components are ignored. */
+	@Test
+	public void testDirtyDepictedObjectNotComponent() {
+		final DepictedObject depictedObject = mock(DepictedObject.class);
+		@SuppressWarnings("unchecked")
+		final Depictor<DepictedObject> depictor = mock(Depictor.class);
+		doReturn(depictor).when(depictedObject).getDepictor();
+		platform.registerDirtyDepictedObject(depictedObject);
+		setDirty(panelLabel);
+		assertThat(getVerifiedRegisteredDirtyComponents(), contains(panelLabel));
+	}
+
+	/** Tests that components depicted since they were registered are no longer considered dirty. */
+	@Test
+	public void testDepictedComponentsForgotten() {
+		setDirty(panelLabel, panelButton, label);
+		setDepicted(panelButton, label);
+		assertThat(getVerifiedRegisteredDirtyComponents(), contains(panelLabel));
+		assertThat(platform.getDirtyDepictedObjects(), contains(panelLabel));
+	}
+
+	/** Tests that a dirty child becomes a top-level dirty component once its dirty parent has been depicted. */
+	@Test
+	public void testDirtyChildAfterParentDepicted() {
+		setDirty(panel, panelButton);
+		assertThat(getVerifiedRegisteredDirtyComponents(), contains(panel));
+		setDepicted(panel);
+		assertThat(getVerifiedRegisteredDirtyComponents(), contains(panelButton));
+	}
+
+	/**
+	 * Tests that verification does not throw an exception if a dirty component was never registered, but still returns the registered dirty components, so that
+	 * debugging does not change the behavior being verified.
+	 */
+	@Test
+	public void testVerifyUnregisteredDirtyComponent() {
+		setDirty(label);
+		when(depictors.get(panelButton).isDepicted()).thenReturn(false); //dirty, but not registered
+		assertThat(AbstractComponent.getDirtyComponents(root), containsInAnyOrder(panelButton, label));
+		assertThat(AbstractComponent.getRegisteredDirtyComponents(root, true), contains(label));
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.component;
+
+import static java.util.Arrays.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests that {@link ThemeApplicationPass} updates the theme of each component hierarchy once using {@link Component#updateTheme()}.
+ * @author Garret Wilson
+ */
+public class ThemeApplicationPassTest {
+
+	/** The root of the hierarchy. */
+	private CompositeComponent root;
+
+	/** A child of the root. */
+	private Component child;
+
+	/** Another component in a separate hierarchy. */
+	private Component other;
+
+	@BeforeEach
+	public void setUp() {
+		root = mock(CompositeComponent.class);
+		child = mock(Component.class);
+		when(child.getParent()).thenReturn(root);
+		other = mock(Component.class);
+	}
+
+	/** Tests that each hierarchy is updated through the component itself, and only once, even if a descendant is requested later. */
+	@Test
+	public void testUpdateThemeOncePerHierarchy() throws IOException {
+		final ThemeApplicationPass pass = new ThemeApplicationPass();
+		pass.updateTheme(root);
+		pass.updateThemes(asList(child, root, other));
+		verify(root, times(1)).updateTheme();
+		verify(child, never()).updateTheme(); //the root updates its own children
+		verify(other, times(1)).updateTheme();
+		verify(root, never()).applyTheme(); //the pass leaves it to each component how to apply its theme
+	}
+
+	/** Tests that a descendant updated first doesn't prevent its ancestor from being updated. */
+	@Test
+	public void testDescendantBeforeAncestor() throws IOException {
+		final ThemeApplicationPass pass = new ThemeApplicationPass();
+		pass.updateTheme(child);
+		pass.updateTheme(root);
+		verify(child, times(1)).updateTheme();
+		verify(root, times(1)).updateTheme();
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.*;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.*;
+
+import io.guise.framework.*;
+
+/**
+ * Tests of the streaming and output encoding of collected text in {@link AbstractTextDepictContext}.
+ * @author Garret Wilson
+ */
+public class AbstractTextDepictContextTest {
+
+	/** A simple encoding that escapes quotation marks, which can be applied to text in arbitrary pieces. */
+	private static final UnaryOperator<String> QUOTE_ENCODING = text -> text.replace("\"", "\\\"");
+
+	/** The output of the depict context. */
+	private StringWriter output;
+
+	/** The depict context being tested. */
+	private AbstractTextDepictContext depictContext;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		final GuiseSession session = mock(GuiseSession.class);
+		when(session.getApplication()).thenReturn(mock(GuiseApplication.class));
+		depictContext = mock(AbstractTextDepictContext.class,
+				withSettings().useConstructor(session, mock(Destination.class)).defaultAnswer(CALLS_REAL_METHODS));
+		output = new StringWriter();
+		doReturn(output).when(depictContext).openDepictWriter();
+	}
+
+	/** Tests that committed text is written to the output as soon as the flush threshold is reached. */
+	@Test
+	public void testCommittedTextStreamed() throws IOException {
+		depictContext.setDepictTextFlushThreshold(4);
+		depictContext.commitDepictText();
+		depictContext.writeLiteral("abc");
+		assertThat(output.toString(), is(""));
+		depictContext.writeLiteral("def");
+		assertThat(output.toString(), is("abcdef"));
+		depictContext.writeLiteral("g");
+		depictContext.closeDepictText();
+		assertThat(output.toString(), is("abcdefg"));
+	}
+
+	/** Tests that only text collected while an output encoding is in effect is encoded, even when the text is streamed in several pieces. */
+	@Test
+	public void testOutputEncodingStreamed() throws IOException {
+		depictContext.setDepictTextFlushThreshold(4);
+		depictContext.commitDepictText();
+		depictContext.writeLiteral("[\"");
+		depictContext.beginDepictTextOutputEncoding(QUOTE_ENCODING);
+		depictContext.writeLiteral("<p id=\"x\">"); //reaches the threshold while encoding
+		assertThat(output.toString(), is("[\"<p id=\\\"x\\\">"));
+		depictContext.writeLiteral("\"");
+		depictContext.endDepictTextOutputEncoding();
+		depictContext.writeLiteral("\"]");
+		depictContext.closeDepictText();
+		assertThat(output.toString(), is("[\"<p id=\\\"x\\\">\\\"\"]"));
+	}
+
+	/** Tests that ending an output encoding before the text is written encodes the collected text in place. */
+	@Test
+	public void testOutputEncodingNotStreamed() throws IOException {
+		depictContext.writeLiteral("\"");
+		depictContext.beginDepictTextOutputEncoding(QUOTE_ENCODING);
+		depictContext.writeLiteral("a\"b");
+		depictContext.endDepictTextOutputEncoding();
+		depictContext.writeLiteral("\"");
+		assertThat(depictContext.getDepictText(), is("\"a\\\"b\""));
+		assertThat(output.toString(), is(""));
+	}
+
+	/** Tests that output encodings cannot be nested or ended without being begun. */
+	@Test
+	public void testOutputEncodingState() {
+		assertThrows(IllegalStateException.class, () -> depictContext.endDepictTextOutputEncoding());
+		depictContext.beginDepictTextOutputEncoding(QUOTE_ENCODING);
+		assertThrows(IllegalStateException.class, () -> depictContext.beginDepictTextOutputEncoding(QUOTE_ENCODING));
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.*;
+
+import org.junit.jupiter.api.*;
+
+import com.globalmentor.xml.spec.NsQualifiedName;
+
+import io.guise.framework.*;
+
+/**
+ * Tests of the recording of depictions in {@link AbstractXMLDepictContext}.
+ * @author Garret Wilson
+ */
+public class AbstractXMLDepictContextTest {
+
+	/**
+	 * Creates a depict context that generates hash attributes.
+	 * @return A new depict context.
+	 * @throws IOException if there is an error creating the depict context.
+	 */
+	private static AbstractXMLDepictContext createDepictContext() throws IOException {
+		final GuiseSession session = mock(GuiseSession.class);
+		when(session.getApplication()).thenReturn(mock(GuiseApplication.class));
+		final AbstractXMLDepictContext depictContext = mock(AbstractXMLDepictContext.class,
+				withSettings().useConstructor(session, mock(Destination.class)).defaultAnswer(CALLS_REAL_METHODS));
+		doReturn(new StringWriter()).when(depictContext).openDepictWriter();
+		doReturn(new NsQualifiedName(null, "attributeHash")).when(depictContext).getAttributeHashAttributeQualifiedName();
+		doReturn(new NsQualifiedName(null, "contentHash")).when(depictContext).getContentHashAttributeQualifiedName();
+		depictContext.setHashAttributesGenerated(true);
+		return depictContext;
+	}
+
+	/**
+	 * Depicts a simple component with the given ID.
+	 * @param depictContext The depict context in which to depict the component.
+	 * @param id The ID of the component.
+	 * @throws IOException if there is an error writing the depiction.
+	 */
+	private static void depict(final AbstractXMLDepictContext depictContext, final String id) throws IOException {
+		depictContext.writeElementBegin(null, "div");
+		depictContext.writeAttribute(null, "id", id);
+		depictContext.writeLiteral("label");
+		depictContext.writeElementBegin(null, "input", true);
+		depictContext.writeAttribute(null, "id", id + "-body");
+		depictContext.writeAttribute(null, "name", id);
+		depictContext.writeElementEnd(null, "input");
+		depictContext.writeElementEnd(null, "div");
+	}
+
+	/** Tests that a recorded depiction written with replaced attribute values is identical to a depiction made with those values, including the hashes. */
+	@Test
+	public void testWriteDepictionRecording() throws IOException {
+		final AbstractXMLDepictContext recordingDepictContext = createDepictContext();
+		recordingDepictContext.beginDepictionRecording();
+		depict(recordingDepictContext, "id1");
+		final AbstractXMLDepictContext.DepictionRecording recording = recordingDepictContext.endDepictionRecording();
+		assertThat(recording, is(notNullValue()));
+		assertThat(recording.contains("id1"), is(true));
+		final AbstractXMLDepictContext.DepictionRecording template = recording.withAttributeValues(value -> value.replace("id1", "\u0000"));
+		assertThat(template.contains("id1"), is(false));
+
+		final AbstractXMLDepictContext replayDepictContext = createDepictContext();
+		replayDepictContext.writeDepictionRecording(template, value -> value.replace("\u0000", "id2"));
+		final AbstractXMLDepictContext expectedDepictContext = createDepictContext();
+		depict(expectedDepictContext, "id2");
+		assertThat(replayDepictContext.getDepictText(), is(expectedDepictContext.getDepictText()));
+		assertThat(replayDepictContext.getDepictText(), containsString("contentHash="));
+		assertThat(replayDepictContext.getDepictText(), not(containsString("id1")));
+	}
+
+	/** Tests that a recording is incomplete if the text collected during the recording was flushed. */
+	@Test
+	public void testDepictionRecordingIncompleteAfterFlush() throws IOException {
+		final AbstractXMLDepictContext depictContext = createDepictContext();
+		depictContext.setDepictTextFlushThreshold(4);
+		depictContext.commitDepictText();
+		depictContext.beginDepictionRecording();
+		depict(depictContext, "id1");
+		assertThat(depictContext.endDepictionRecording(), is(nullValue()));
+	}
+
+	/** Tests that a recording is incomplete if the collected text was cleared during the recording. */
+	@Test
+	public void testDepictionRecordingIncompleteAfterClear() throws IOException {
+		final AbstractXMLDepictContext depictContext = createDepictContext();
+		depictContext.beginDepictionRecording();
+		depictContext.writeLiteral("text");
+		depictContext.clearDepictText();
+		depict(depictContext, "id1");
+		assertThat(depictContext.endDepictionRecording(), is(nullValue()));
+	}
+
+	/** Tests that recordings cannot be nested or ended without being begun. */
+	@Test
+	public void testDepictionRecordingState() throws IOException {
+		final AbstractXMLDepictContext depictContext = createDepictContext();
+		assertThrows(IllegalStateException.class, () -> depictContext.endDepictionRecording());
+		depictContext.beginDepictionRecording();
+		assertThrows(IllegalStateException.class, () -> depictContext.beginDepictionRecording());
+	}
+
+}
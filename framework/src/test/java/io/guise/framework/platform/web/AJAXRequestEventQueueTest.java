@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform.web;
+
+import static java.util.Arrays.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import io.guise.framework.event.GuiseEvent;
+
+/**
+ * Tests of the combining of the events of overlapping AJAX requests by {@link AJAXRequestEventQueue}.
+ * @author Garret Wilson
+ */
+public class AJAXRequestEventQueueTest {
+
+	/** The context of requests from one page. */
+	private static final Object CONTEXT_A = asList("127.0.0.1", null, "/a", null, "agent");
+
+	/** The context of requests from another page. */
+	private static final Object CONTEXT_B = asList("127.0.0.1", null, "/b", null, "agent");
+
+	/** The queue being tested. */
+	private AJAXRequestEventQueue queue;
+
+	@BeforeEach
+	public void setUp() {
+		queue = new AJAXRequestEventQueue();
+	}
+
+	/** Tests that the events of requests with the same context are combined in the order the requests arrived, not the order they were added. */
+	@Test
+	public void testSameContextCombinedInArrivalOrder() {
+		final GuiseEvent event1 = mock(GuiseEvent.class);
+		final GuiseEvent event2 = mock(GuiseEvent.class);
+		final GuiseEvent event3 = mock(GuiseEvent.class);
+		final long sequence1 = queue.nextSequence();
+		final long sequence2 = queue.nextSequence();
+		queue.add(sequence2, CONTEXT_A, asList(event2, event3)); //the second request was read first
+		queue.add(sequence1, asList("127.0.0.1", null, "/a", null, "agent"), asList(event1));
+		assertThat(queue.getDepth(), is(2));
+		final List<GuiseEvent> events = queue.poll(CONTEXT_A);
+		assertThat(events, contains(event1, event2, event3));
+		assertThat(queue.poll(CONTEXT_A), is(nullValue())); //the other request has nothing left to process
+		assertThat(queue.getDepth(), is(0));
+		assertThat(queue.getMaxDepth(), is(2));
+		assertThat(queue.getRequestCount(), is(2L));
+		assertThat(queue.getBatchCount(), is(1L));
+		assertThat(queue.getCoalescedRequestCount(), is(1L));
+	}
+
+	/** Tests that the events of requests with different contexts are not combined, so that each is processed with its own request. */
+	@Test
+	public void testDifferentContextsNotCombined() {
+		final GuiseEvent eventA = mock(GuiseEvent.class);
+		final GuiseEvent eventB = mock(GuiseEvent.class);
+		queue.add(queue.nextSequence(), CONTEXT_A, asList(eventA));
+		queue.add(queue.nextSequence(), CONTEXT_B, asList(eventB));
+		assertThat(queue.poll(CONTEXT_B), contains(eventB));
+		assertThat(queue.getDepth(), is(1));
+		assertThat(queue.poll(CONTEXT_A), contains(eventA));
+		assertThat(queue.getBatchCount(), is(2L));
+		assertThat(queue.getCoalescedRequestCount(), is(0L));
+	}
+
+	/** Tests that polling an empty queue returns <code>null</code>. */
+	@Test
+	public void testPollEmpty() {
+		assertThat(queue.poll(CONTEXT_A), is(nullValue()));
+		assertThat(queue.getBatchCount(), is(0L));
+	}
+
+}
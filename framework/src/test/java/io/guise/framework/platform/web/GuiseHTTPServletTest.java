@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform.web;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.*;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.jupiter.api.*;
+
+import io.guise.framework.platform.web.GuiseHTTPServlet.AJAXRequestEvent;
+
+/**
+ * Tests of the reading of AJAX requests by {@link GuiseHTTPServlet}.
+ * @author Garret Wilson
+ */
+public class GuiseHTTPServletTest {
+
+	/** The servlet reading the requests. */
+	private GuiseHTTPServlet servlet;
+
+	@BeforeEach
+	public void setUp() {
+		servlet = new GuiseHTTPServlet();
+	}
+
+	/** Tests reading the events of a JSON request, including event properties, child information and text. */
+	@Test
+	public void testReadJSONAJAXRequestEvents() throws IOException {
+		final String json = "{\"events\":[" //
+				+ "{\"type\":\"action\",\"objectID\":\"id1\",\"targetID\":\"id1-button\",\"actionID\":null,\"option\":0}," //
+				+ "{\"type\":\"change\",\"objectID\":\"id2\",\"properties\":{\"value\":\"text\",\"selected\":true}}," //
+				+ "{\"type\":\"mouseclick\",\"altKey\":false,\"button\":1,\"clickCount\":2,\"component\":{\"id\":\"id3\",\"x\":10,\"y\":20.5},\"mouse\":{\"x\":15,\"y\":25}}," //
+				+ "{\"type\":\"log\",\"level\":\"info\",\"text\":\"message\"}," //
+				+ "{\"type\":\"poll\"}" //
+				+ "]}";
+		final List<AJAXRequestEvent> events = servlet.readJSONAJAXRequestEvents(new ByteArrayInputStream(json.getBytes(UTF_8)), UTF_8);
+		assertThat(events, hasSize(5));
+		final AJAXRequestEvent actionEvent = events.get(0);
+		assertThat(actionEvent.getEventType(), is(WebPlatformEventType.ACTION));
+		assertThat(actionEvent.getAttribute("objectID"), is("id1"));
+		assertThat(actionEvent.getAttribute("targetID"), is("id1-button"));
+		assertThat(actionEvent.getAttribute("actionID"), is(nullValue()));
+		assertThat(actionEvent.getAttribute("option"), is("0"));
+		final AJAXRequestEvent changeEvent = events.get(1);
+		assertThat(changeEvent.getEventType(), is(WebPlatformEventType.CHANGE));
+		assertThat(changeEvent.getAttribute("objectID"), is("id2"));
+		assertThat(changeEvent.getProperties(), hasEntry("value", (Object)"text"));
+		assertThat(changeEvent.getProperties(), hasEntry("selected", (Object)Boolean.TRUE));
+		final AJAXRequestEvent mouseEvent = events.get(2);
+		assertThat(mouseEvent.getEventType(), is(WebPlatformEventType.MOUSECLICK));
+		assertThat(mouseEvent.getAttribute("altKey"), is("false"));
+		assertThat(mouseEvent.getAttribute("button"), is("1"));
+		assertThat(mouseEvent.getAttribute("clickCount"), is("2"));
+		assertThat(mouseEvent.getChildAttribute("component", "id"), is("id3"));
+		assertThat(mouseEvent.getChildAttribute("component", "x"), is("10"));
+		assertThat(mouseEvent.getChildAttribute("component", "y"), is("20.5"));
+		assertThat(mouseEvent.getChildAttribute("mouse", "y"), is("25"));
+		final AJAXRequestEvent logEvent = events.get(3);
+		assertThat(logEvent.getEventType(), is(WebPlatformEventType.LOG));
+		assertThat(logEvent.getAttribute("level"), is("info"));
+		assertThat(logEvent.getText(), is("message"));
+		assertThat(events.get(4).getEventType(), is(WebPlatformEventType.POLL));
+	}
+
+	/** Tests that a JSON request is decoded using the given character encoding rather than always as UTF-8. */
+	@Test
+	public void testReadJSONAJAXRequestEventsCharset() throws IOException {
+		final String json = "{\"events\":[{\"type\":\"log\",\"level\":\"info\",\"text\":\"café ☕\"}]}";
+		final List<AJAXRequestEvent> events = servlet.readJSONAJAXRequestEvents(new ByteArrayInputStream(json.getBytes(UTF_16)), UTF_16);
+		assertThat(events, hasSize(1));
+		assertThat(events.get(0).getText(), is("café ☕"));
+	}
+
+	/** Tests that a JSON request that is not an object with an array of event objects is rejected. */
+	@Test
+	public void testReadJSONAJAXRequestEventsInvalid() {
+		assertThrows(IOException.class, () -> servlet.readJSONAJAXRequestEvents(new ByteArrayInputStream("[]".getBytes(UTF_8)), UTF_8));
+		assertThrows(IOException.class, () -> servlet.readJSONAJAXRequestEvents(new ByteArrayInputStream("{\"events\":{}}".getBytes(UTF_8)), UTF_8));
+		assertThrows(IOException.class, () -> servlet.readJSONAJAXRequestEvents(new ByteArrayInputStream("{\"events\":[1]}".getBytes(UTF_8)), UTF_8));
+	}
+
+	/** Tests that a JSON request event with an unknown type is rejected. */
+	@Test
+	public void testReadJSONAJAXRequestEventsUnknownType() {
+		assertThrows(IllegalArgumentException.class,
+				() -> servlet.readJSONAJAXRequestEvents(new ByteArrayInputStream("{\"events\":[{\"type\":\"bogus\"}]}".getBytes(UTF_8)), UTF_8));
+	}
+
+	/** Tests reading the events of an XML request, including event properties, child information and text. */
+	@Test
+	public void testReadAJAXRequestEvents() throws IOException {
+		final String xml = "<request><events>" //
+				+ "<action objectID=\"id1\" targetID=\"id1-button\" option=\"0\"/>" //
+				+ "<change objectID=\"id2\"><property name=\"value\">\"text\"</property><property name=\"selected\">true</property></change>" //
+				+ "<mouseclick altKey=\"false\" button=\"1\" clickCount=\"2\"><component id=\"id3\" x=\"10\" y=\"20.5\"/><mouse x=\"15\" y=\"25\"/></mouseclick>" //
+				+ "<log level=\"info\">message</log>" //
+				+ "<poll/>" //
+				+ "</events></request>";
+		final List<AJAXRequestEvent> events = servlet.readAJAXRequestEvents(new ByteArrayInputStream(xml.getBytes(UTF_8)));
+		assertThat(events, hasSize(5));
+		final AJAXRequestEvent actionEvent = events.get(0);
+		assertThat(actionEvent.getEventType(), is(WebPlatformEventType.ACTION));
+		assertThat(actionEvent.getAttribute("objectID"), is("id1"));
+		assertThat(actionEvent.getAttribute("targetID"), is("id1-button"));
+		assertThat(actionEvent.getAttribute("option"), is("0"));
+		final AJAXRequestEvent changeEvent = events.get(1);
+		assertThat(changeEvent.getEventType(), is(WebPlatformEventType.CHANGE));
+		assertThat(changeEvent.getProperties(), hasEntry("value", (Object)"text"));
+		assertThat(changeEvent.getProperties(), hasEntry("selected", (Object)Boolean.TRUE));
+		final AJAXRequestEvent mouseEvent = events.get(2);
+		assertThat(mouseEvent.getEventType(), is(WebPlatformEventType.MOUSECLICK));
+		assertThat(mouseEvent.getAttribute("clickCount"), is("2"));
+		assertThat(mouseEvent.getChildAttribute("component", "id"), is("id3"));
+		assertThat(mouseEvent.getChildAttribute("component", "y"), is("20.5"));
+		assertThat(mouseEvent.getChildAttribute("mouse", "y"), is("25"));
+		final AJAXRequestEvent logEvent = events.get(3);
+		assertThat(logEvent.getEventType(), is(WebPlatformEventType.LOG));
+		assertThat(logEvent.getAttribute("level"), is("info"));
+		assertThat(logEvent.getText(), is("message"));
+		assertThat(events.get(4).getEventType(), is(WebPlatformEventType.POLL));
+	}
+
+	/** Tests that an XML request that is not well-formed is rejected. */
+	@Test
+	public void testReadAJAXRequestEventsMalformed() {
+		assertThrows(IOException.class, () -> servlet.readAJAXRequestEvents(new ByteArrayInputStream("<request><events><poll></events>".getBytes(UTF_8))));
+	}
+
+	/** Tests that an XML request referencing an external entity is rejected without the entity being retrieved. */
+	@Test
+	public void testReadAJAXRequestEventsRejectsExternalEntity() {
+		final String xml = "<!DOCTYPE request [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>" //
+				+ "<request><events><log level=\"info\">&xxe;</log></events></request>";
+		assertThrows(IOException.class, () -> servlet.readAJAXRequestEvents(new ByteArrayInputStream(xml.getBytes(UTF_8))));
+	}
+
+	/** Tests that an XML request with a document type declaration is rejected, even if it declares nothing that is used. */
+	@Test
+	public void testReadAJAXRequestEventsRejectsDTD() {
+		assertThrows(IOException.class, () -> servlet.readAJAXRequestEvents(
+				new ByteArrayInputStream("<!DOCTYPE request SYSTEM \"http://example.com/request.dtd\"><request><events><poll/></events></request>".getBytes(UTF_8))));
+		assertThrows(IOException.class, () -> servlet.readAJAXRequestEvents(
+				new ByteArrayInputStream("<!DOCTYPE request [<!ENTITY x \"expanded\">]><request><events><poll/></events></request>".getBytes(UTF_8))));
+	}
+
+	/**
+	 * Creates a mock request.
+	 * @param remoteAddress The address of the client.
+	 * @param requestURI The requested URI path.
+	 * @param queryString The query string, or <code>null</code> if there is no query.
+	 * @return The mock request.
+	 */
+	private static HttpServletRequest mockRequest(final String remoteAddress, final String requestURI, final String queryString) {
+		final HttpServletRequest request = mock(HttpServletRequest.class);
+		when(request.getRemoteAddr()).thenReturn(remoteAddress);
+		when(request.getRequestURI()).thenReturn(requestURI);
+		when(request.getQueryString()).thenReturn(queryString);
+		return request;
+	}
+
+	/** Tests that AJAX requests have the same context only if they come from the same client for the same URI and query. */
+	@Test
+	public void testGetAJAXRequestContext() {
+		final Object context = GuiseHTTPServlet.getAJAXRequestContext(mockRequest("192.0.2.1", "/page", "q=1"));
+		assertThat(GuiseHTTPServlet.getAJAXRequestContext(mockRequest("192.0.2.1", "/page", "q=1")), is(context));
+		assertThat(GuiseHTTPServlet.getAJAXRequestContext(mockRequest("192.0.2.2", "/page", "q=1")), not(context));
+		assertThat(GuiseHTTPServlet.getAJAXRequestContext(mockRequest("192.0.2.1", "/other", "q=1")), not(context));
+		assertThat(GuiseHTTPServlet.getAJAXRequestContext(mockRequest("192.0.2.1", "/page", "q=2")), not(context));
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform.web;
+
+import static java.util.Collections.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.*;
+
+import io.guise.framework.*;
+import io.guise.framework.component.*;
+import io.guise.framework.component.layout.*;
+import io.guise.framework.model.Enableable;
+
+/**
+ * Tests that the depiction cache key of {@link WebLabelDepictor} distinguishes two labels in two sessions that differ in any value affecting the depiction.
+ * @author Garret Wilson
+ * @see AbstractWebComponentDepictor#getDepictionCacheKey()
+ */
+public class WebLabelDepictorTest {
+
+	/** The session thread groups in which the depictors are created. */
+	private final List<GuiseSessionThreadGroup> sessionThreadGroups = new ArrayList<GuiseSessionThreadGroup>();
+
+	/** A depicted label along with its session, application, and depictor. */
+	private static class DepictedLabel {
+		private GuiseApplication application;
+		private GuiseSession session;
+		private Label label;
+		private WebLabelDepictor<Label> depictor;
+	}
+
+	/**
+	 * Creates a label depicted in a new session, with depiction caching enabled. Each label has a different ID.
+	 * @param depictID The ID of the label.
+	 * @return The depicted label.
+	 */
+	@SuppressWarnings("unchecked")
+	private DepictedLabel createDepictedLabel(final long depictID) {
+		final DepictedLabel depictedLabel = new DepictedLabel();
+		final WebPlatform platform = mock(WebPlatform.class);
+		when(platform.getDepictIDString(anyLong())).thenAnswer(invocation -> "id" + invocation.getArgument(0));
+		depictedLabel.application = mock(GuiseApplication.class);
+		depictedLabel.session = mock(GuiseSession.class);
+		doReturn(platform).when(depictedLabel.session).getPlatform();
+		when(depictedLabel.session.getApplication()).thenReturn(depictedLabel.application);
+		when(depictedLabel.session.getLocale()).thenReturn(Locale.ENGLISH);
+		when(depictedLabel.session.getThemeURI()).thenReturn(URI.create("theme.turf"));
+		depictedLabel.label = mock(Label.class, withSettings().extraInterfaces(Enableable.class));
+		when(depictedLabel.label.getDepictID()).thenReturn(depictID);
+		when(depictedLabel.label.getComponentOrientation()).thenReturn(Orientation.LEFT_TO_RIGHT_TOP_TO_BOTTOM);
+		when(depictedLabel.label.getLabel()).thenReturn("label");
+		when(((Enableable)depictedLabel.label).isEnabled()).thenReturn(true);
+		final GuiseSessionThreadGroup sessionThreadGroup = new GuiseSessionThreadGroup(depictedLabel.session);
+		sessionThreadGroups.add(sessionThreadGroup);
+		final WebLabelDepictor<Label>[] depictors = new WebLabelDepictor[1];
+		sessionThreadGroup.call(() -> depictors[0] = new WebLabelDepictor<Label>()); //depictors must be created within a session
+		depictedLabel.depictor = spy(depictors[0]);
+		depictedLabel.depictor.installed(depictedLabel.label);
+		doReturn(emptyMap()).when(depictedLabel.depictor).getOuterStyles();
+		doReturn(emptyMap()).when(depictedLabel.depictor).getBodyStyles();
+		doReturn(emptySet()).when(depictedLabel.depictor).getBodyStyleIDs(null, null);
+		doReturn(emptyMap()).when(depictedLabel.depictor).getLabelStyles(any(), any());
+		depictedLabel.depictor.setDepictionCacheEnabled(true);
+		return depictedLabel;
+	}
+
+	/** The first label, in its own session. */
+	private DepictedLabel label1;
+
+	/** The second label, in its own session. */
+	private DepictedLabel label2;
+
+	@BeforeEach
+	public void setUp() {
+		label1 = createDepictedLabel(1);
+		label2 = createDepictedLabel(2);
+	}
+
+	@AfterEach
+	public void tearDown() throws InterruptedException {
+		for(final GuiseSessionThreadGroup sessionThreadGroup : sessionThreadGroups) {
+			sessionThreadGroup.shutdown(10, TimeUnit.SECONDS);
+		}
+	}
+
+	/** Tests that identical labels in two sessions have the same key, even though their IDs differ. */
+	@Test
+	public void testIdenticalLabelsSameKey() {
+		assertThat(label1.depictor.getDepictionCacheKey(), is(notNullValue()));
+		assertThat(label1.depictor.getDepictionCacheKey(), is(label2.depictor.getDepictionCacheKey()));
+	}
+
+	/** Tests that the keys differ for labels in sessions with different locales. */
+	@Test
+	public void testLocaleDiffers() {
+		when(label2.session.getLocale()).thenReturn(Locale.FRENCH);
+		assertThat(label1.depictor.getDepictionCacheKey(), not(label2.depictor.getDepictionCacheKey()));
+	}
+
+	/** Tests that the keys differ for labels in sessions with different themes. */
+	@Test
+	public void testThemeDiffers() {
+		when(label2.session.getThemeURI()).thenReturn(URI.create("other.turf"));
+		assertThat(label1.depictor.getDepictionCacheKey(), not(label2.depictor.getDepictionCacheKey()));
+	}
+
+	/** Tests that the keys differ for labels with different component orientations. */
+	@Test
+	public void testComponentOrientationDiffers() {
+		when(label2.label.getComponentOrientation()).thenReturn(Orientation.RIGHT_TO_LEFT_TOP_TO_BOTTOM);
+		assertThat(label1.depictor.getDepictionCacheKey(), not(label2.depictor.getDepictionCacheKey()));
+	}
+
+	/** Tests that the keys differ for labels that differ in whether they are enabled. */
+	@Test
+	public void testEnabledDiffers() {
+		when(((Enableable)label2.label).isEnabled()).thenReturn(false);
+		assertThat(label1.depictor.getDepictionCacheKey(), not(label2.depictor.getDepictionCacheKey()));
+	}
+
+	/** Tests that the keys differ for labels with different depict names, even though default depict names, being IDs, don't affect the key. */
+	@Test
+	public void testDepictNameDiffers() {
+		doReturn("group").when(label2.depictor).getDepictName();
+		assertThat(label1.depictor.getDepictionCacheKey(), not(label2.depictor.getDepictionCacheKey()));
+		doReturn("group").when(label1.depictor).getDepictName();
+		assertThat(label1.depictor.getDepictionCacheKey(), is(label2.depictor.getDepictionCacheKey()));
+	}
+
+	/** Tests that the keys differ for labels that differ in whether they are mouse listeners. */
+	@Test
+	public void testMouseListenerDiffers() {
+		when(label2.label.hasMouseListeners()).thenReturn(true);
+		assertThat(label1.depictor.getDepictionCacheKey(), not(label2.depictor.getDepictionCacheKey()));
+	}
+
+	/** Tests that the keys differ for labels with different label text. */
+	@Test
+	public void testLabelDiffers() {
+		when(label2.label.getLabel()).thenReturn("other");
+		assertThat(label1.depictor.getDepictionCacheKey(), not(label2.depictor.getDepictionCacheKey()));
+	}
+
+	/** Tests that there is no key unless depiction caching has been enabled for the depictor. */
+	@Test
+	public void testNoKeyUnlessEnabled() {
+		label1.depictor.setDepictionCacheEnabled(false);
+		assertThat(label1.depictor.getDepictionCacheKey(), is(nullValue()));
+	}
+
+	/** Tests that there is no key in debug mode, in which resources may change. */
+	@Test
+	public void testNoKeyInDebugMode() {
+		when(label1.application.isDebug()).thenReturn(true);
+		assertThat(label1.depictor.getDepictionCacheKey(), is(nullValue()));
+	}
+
+}
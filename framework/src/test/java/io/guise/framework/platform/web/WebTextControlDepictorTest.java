@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.platform.web;
+
+import static com.globalmentor.css.spec.CSS.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.beans.*;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+
+import com.globalmentor.beans.PropertyBindable;
+import com.globalmentor.text.Text;
+
+import io.guise.framework.*;
+import io.guise.framework.component.*;
+
+/**
+ * Tests that changes to a text control are patched with fine-grained messages rather than by replacing the entire depiction.
+ * @author Garret Wilson
+ * @see WebTextControlDepictor
+ */
+public class WebTextControlDepictorTest {
+
+	/** The session thread group in which the depictor is created. */
+	private GuiseSessionThreadGroup sessionThreadGroup;
+
+	/** The text control being depicted. */
+	private TextControl<Object> textControl;
+
+	/** The value of the text control, which supports bound properties. */
+	private PropertyBindable value;
+
+	/** The depictor of the text control. */
+	private WebTextControlDepictor<Object, TextControl<Object>> depictor;
+
+	/** The listener the depictor installed to hear of text control property changes. */
+	private PropertyChangeListener textControlListener;
+
+	/** The listener the depictor installed to hear of value property changes. */
+	private PropertyChangeListener valueListener;
+
+	/** The writer receiving the fine-grained changes. */
+	private WebPatchWriter patchWriter;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		final WebPlatform platform = mock(WebPlatform.class);
+		when(platform.getDepictIDString(anyLong())).thenAnswer(invocation -> "id" + invocation.getArgument(0));
+		final GuiseSession session = mock(GuiseSession.class);
+		doReturn(platform).when(session).getPlatform();
+		textControl = mock(TextControl.class);
+		when(textControl.getDepictID()).thenReturn(1L);
+		when(textControl.getRowCount()).thenReturn(1);
+		when(textControl.getValueContentType()).thenReturn(Text.PLAIN_MEDIA_TYPE);
+		when(textControl.isDisplayed()).thenReturn(true);
+		when(textControl.isVisible()).thenReturn(true);
+		when(textControl.isEnabled()).thenReturn(true);
+		value = mock(PropertyBindable.class);
+		doReturn(value).when(textControl).getValue();
+		sessionThreadGroup = new GuiseSessionThreadGroup(session);
+		sessionThreadGroup.call(() -> depictor = new WebTextControlDepictor<Object, TextControl<Object>>()); //depictors must be created within a session
+		depictor.installed(textControl);
+		final ArgumentCaptor<PropertyChangeListener> textControlListenerCaptor = ArgumentCaptor.forClass(PropertyChangeListener.class);
+		verify(textControl, atLeastOnce()).addPropertyChangeListener(textControlListenerCaptor.capture());
+		textControlListener = textControlListenerCaptor.getAllValues().get(0); //the general depicted object listener is installed first
+		final ArgumentCaptor<PropertyChangeListener> valueListenerCaptor = ArgumentCaptor.forClass(PropertyChangeListener.class);
+		verify(value).addPropertyChangeListener(valueListenerCaptor.capture());
+		valueListener = valueListenerCaptor.getValue();
+		depictor.setDepicted(true); //start out as if the text control had been depicted in full
+		patchWriter = mock(WebPatchWriter.class);
+	}
+
+	@AfterEach
+	public void tearDown() throws InterruptedException {
+		sessionThreadGroup.shutdown(10, TimeUnit.SECONDS);
+	}
+
+	/** Tests that a change in a property of the value of the text control is patched with a value message. */
+	@Test
+	public void testValuePropertyChangePatchesValue() throws Exception {
+		when(textControl.getProvisionalText()).thenReturn("changed");
+		valueListener.propertyChange(new PropertyChangeEvent(value, "name", "old", "new"));
+		assertThat(depictor.isDepicted(), is(false));
+		assertThat(depictor.depictPatch(patchWriter), is(true));
+		verify(patchWriter).writeValue("id1-body", "changed");
+		verifyNoMoreInteractions(patchWriter);
+		assertThat(depictor.isDepicted(), is(true));
+	}
+
+	/** Tests that a change in the displayed status of the text control is patched with a style message. */
+	@Test
+	public void testDisplayedChangePatchesStyle() throws Exception {
+		when(textControl.isDisplayed()).thenReturn(false);
+		textControlListener.propertyChange(new PropertyChangeEvent(textControl, Displayable.DISPLAYED_PROPERTY, true, false));
+		assertThat(depictor.depictPatch(patchWriter), is(true));
+		verify(patchWriter).writeStyle("id1", CSS_PROP_DISPLAY, CSS_DISPLAY_NONE);
+		verifyNoMoreInteractions(patchWriter);
+		assertThat(depictor.isDepicted(), is(true));
+	}
+
+	/** Tests that a change in the enabled status of the text control is patched with an attribute message. */
+	@Test
+	public void testEnabledChangePatchesAttribute() throws Exception {
+		when(textControl.isEnabled()).thenReturn(false);
+		textControlListener.propertyChange(new PropertyChangeEvent(textControl, Enableable.ENABLED_PROPERTY, true, false));
+		assertThat(depictor.depictPatch(patchWriter), is(true));
+		verify(patchWriter).writeAttribute(eq("id1-body"), eq("disabled"), anyString());
+		verifyNoMoreInteractions(patchWriter);
+	}
+
+	/** Tests that a general change to the text control is not patched, so that the depiction will be replaced. */
+	@Test
+	public void testGeneralChangeNotPatched() throws Exception {
+		depictor.setDepicted(false);
+		assertThat(depictor.depictPatch(patchWriter), is(false));
+		verifyNoInteractions(patchWriter);
+		assertThat(depictor.isDepicted(), is(false));
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2005-2008 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.guise.framework.theme;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.*;
+
+import io.urf.model.UrfResourceDescription;
+
+/**
+ * Tests of the determination of the rules {@link Theme} applies to each class.
+ * @author Garret Wilson
+ */
+public class ThemeTest {
+
+	/** A class selected by theme rules. */
+	private static class Base {
+	}
+
+	/** A subclass of a class selected by theme rules. */
+	private static class Derived extends Base {
+	}
+
+	/** The parent theme. */
+	private Theme parent;
+
+	/** The rule of the parent theme selecting the base class. */
+	private Rule parentBaseRule;
+
+	/** The child theme. */
+	private Theme theme;
+
+	/** The rule of the child theme selecting the derived class. */
+	private Rule derivedRule;
+
+	/** The rule of the child theme selecting the base class. */
+	private Rule baseRule;
+
+	@BeforeEach
+	public void setUp() {
+		parent = new Theme(URI.create("https://example.com/parent.guisetheme"), mock(UrfResourceDescription.class));
+		parentBaseRule = new Rule();
+		parent.add(parentBaseRule);
+		parent.addClassRule(Base.class, parentBaseRule);
+		theme = new Theme(URI.create("https://example.com/theme.guisetheme"), mock(UrfResourceDescription.class));
+		derivedRule = new Rule();
+		baseRule = new Rule();
+		theme.add(derivedRule);
+		theme.add(baseRule);
+		theme.addClassRule(Base.class, baseRule); //the index order differs from the theme order
+		theme.addClassRule(Derived.class, derivedRule);
+		theme.setParent(parent);
+	}
+
+	/** Tests that the rules selecting a class include those selecting its ancestor classes, but not those of the parent theme. */
+	@Test
+	public void testGetClassRules() {
+		assertThat(theme.getClassRules(new Derived()), containsInAnyOrder(derivedRule, baseRule));
+		assertThat(theme.getClassRules(new Base()), contains(baseRule));
+		assertThat(theme.getClassRules(new Object()), is(empty()));
+	}
+
+	/** Tests that the applied rules of a class come first from the parent theme and then from this theme in theme order, and are determined only once. */
+	@Test
+	public void testGetAppliedClassRules() {
+		final Rule[] derivedRules = theme.getAppliedClassRules(Derived.class);
+		assertThat(derivedRules, arrayContaining(parentBaseRule, derivedRule, baseRule));
+		assertThat(theme.getAppliedClassRules(Derived.class), is(sameInstance(derivedRules)));
+		assertThat(theme.getAppliedClassRules(Base.class), arrayContaining(parentBaseRule, baseRule));
+		assertThat(theme.getAppliedClassRules(Object.class), is(emptyArray()));
+		assertThat(theme.getAppliedClassRules(Object.class), is(sameInstance(parent.getAppliedClassRules(Object.class)))); //no rules are added, so the parent's are shared
+	}
+
+	/** Tests that changing the rules or the parent discards the rules previously determined for each class. */
+	@Test
+	public void testCachedRulesReleased() {
+		assertThat(theme.getAppliedClassRules(Derived.class), arrayContaining(parentBaseRule, derivedRule, baseRule));
+		theme.setParent(null);
+		assertThat(theme.getAppliedClassRules(Derived.class), arrayContaining(derivedRule, baseRule));
+		final Rule newDerivedRule = new Rule();
+		theme.add(newDerivedRule);
+		theme.addClassRule(Derived.class, newDerivedRule);
+		assertThat(theme.getAppliedClassRules(Derived.class), arrayContaining(derivedRule, baseRule, newDerivedRule));
+		assertThat(theme.getAppliedClassRules(Base.class), arrayContaining(baseRule));
+	}
+
+}